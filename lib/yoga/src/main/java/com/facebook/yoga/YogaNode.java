@@ -213,6 +213,12 @@ public abstract class YogaNode {
 
   public abstract void print();
 
+  /**
+   * Applies a batch of style inputs encoded as described by {@link YogaStyleInputs}: each input is
+   * its id followed by its arguments (an edge, then a value, for edge based inputs).
+   */
+  public abstract void setStyleInputs(float[] styleInputs, int size);
+
   public abstract YogaNode cloneWithoutChildren();
 
   public abstract YogaNode cloneWithChildren();
@@ -10,6 +10,7 @@ package com.facebook.yoga;
 import com.facebook.proguard.annotations.DoNotStrip;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 
 @DoNotStrip
@@ -32,6 +33,8 @@ public abstract class YogaNodeJNIBase extends YogaNode implements Cloneable {
   private static final byte LAYOUT_PADDING_START_INDEX = 10;
   private static final byte LAYOUT_BORDER_START_INDEX = 14;
 
+  private static final AtomicLong sNativeNodeCount = new AtomicLong();
+
   @Nullable private YogaNodeJNIBase mOwner;
   @Nullable private List<YogaNodeJNIBase> mChildren;
   @Nullable private YogaMeasureFunction mMeasureFunction;
@@ -50,6 +53,16 @@ public abstract class YogaNodeJNIBase extends YogaNode implements Cloneable {
       throw new IllegalStateException("Failed to allocate native memory");
     }
     mNativePointer = nativePointer;
+    sNativeNodeCount.incrementAndGet();
+  }
+
+  /** @return the number of native nodes allocated by Java YogaNodes that were not freed yet. */
+  public static long getNativeNodeCount() {
+    return sNativeNodeCount.get();
+  }
+
+  static void onNativeNodeFreed() {
+    sNativeNodeCount.decrementAndGet();
   }
 
   YogaNodeJNIBase() {
@@ -117,6 +130,7 @@ public abstract class YogaNodeJNIBase extends YogaNode implements Cloneable {
     try {
       YogaNodeJNIBase clonedYogaNode = (YogaNodeJNIBase) super.clone();
       long clonedNativePointer = YogaNative.jni_YGNodeCloneJNI(mNativePointer);
+      sNativeNodeCount.incrementAndGet();
       clonedYogaNode.mOwner = null;
       clonedYogaNode.mNativePointer = clonedNativePointer;
       for (int i = 0; i < clonedYogaNode.getChildCount(); i++) {
@@ -135,6 +149,7 @@ public abstract class YogaNodeJNIBase extends YogaNode implements Cloneable {
     try {
       YogaNodeJNIBase clonedYogaNode = (YogaNodeJNIBase) super.clone();
       long clonedNativePointer = YogaNative.jni_YGNodeCloneJNI(mNativePointer);
+      sNativeNodeCount.incrementAndGet();
       clonedYogaNode.mOwner = null;
       clonedYogaNode.mNativePointer = clonedNativePointer;
       clonedYogaNode.clearChildren();
@@ -539,6 +554,12 @@ public abstract class YogaNodeJNIBase extends YogaNode implements Cloneable {
     YogaNative.jni_YGNodePrintJNI(mNativePointer);
   }
 
+  /** Applies the first {@code size} floats of a {@link YogaStyleInputs} batch in one JNI call. */
+  @Override
+  public void setStyleInputs(float[] styleInputs, int size) {
+    YogaNative.jni_YGNodeSetStyleInputsJNI(mNativePointer, styleInputs, size);
+  }
+
   /**
    * This method replaces the child at childIndex position with the newNode received by parameter.
    * This is different than calling removeChildAt and addChildAt because this method ONLY replaces
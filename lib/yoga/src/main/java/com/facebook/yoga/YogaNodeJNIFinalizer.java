@@ -30,6 +30,7 @@ public class YogaNodeJNIFinalizer extends YogaNodeJNIBase {
       long nativePointer = mNativePointer;
       mNativePointer = 0;
       YogaNative.jni_YGNodeFreeJNI(nativePointer);
+      onNativeNodeFreed();
     }
   }
 }
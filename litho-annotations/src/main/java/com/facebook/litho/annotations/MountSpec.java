@@ -108,6 +108,14 @@ public @interface MountSpec {
   /** @return whether the component generated from this MountSpec will be preallocated. */
   boolean canPreallocate() default false;
 
+  /**
+   * @return whether the mount content of this MountSpec can be acquired and mounted on a background
+   *     thread as soon as a layout is calculated, leaving only attaching and binding it to the UI
+   *     thread. Only enable for MountSpecs whose onMount and onUnmount don't touch attached Views
+   *     or any state that requires the main thread.
+   */
+  boolean canPremount() default false;
+
   /**
    * @return List of trigger POJOs this component can dispatch. Used to generate trigger creation
    *     methods.
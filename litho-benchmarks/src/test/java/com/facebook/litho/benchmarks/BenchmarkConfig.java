@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.benchmarks;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Configuration of a benchmark run, read from system properties so that the same suite can be run
+ * with different tree shapes and iteration counts from the command line.
+ */
+public final class BenchmarkConfig {
+
+  static final String PROP_DEPTH = "litho.benchmark.depth";
+  static final String PROP_WIDTH = "litho.benchmark.width";
+  static final String PROP_WARMUP_ITERATIONS = "litho.benchmark.warmupIterations";
+  static final String PROP_ITERATIONS = "litho.benchmark.iterations";
+  static final String PROP_OUTPUT_DIR = "litho.benchmark.outputDir";
+  static final String PROP_BASELINE_DIR = "litho.benchmark.baselineDir";
+  static final String PROP_REGRESSION_THRESHOLD = "litho.benchmark.regressionThreshold";
+
+  /** Depth of the synthetic component trees. */
+  public final int depth;
+
+  /** Number of children of every non-leaf node of the synthetic component trees. */
+  public final int width;
+
+  public final int warmupIterations;
+  public final int iterations;
+
+  /** Directory the JSON results are written to. */
+  public final String outputDir;
+
+  /** Directory containing baseline JSON results to compare against, or null to skip. */
+  public final @Nullable String baselineDir;
+
+  /** Allowed relative slowdown of the median compared to the baseline, e.g. 0.1 for 10%. */
+  public final double regressionThreshold;
+
+  BenchmarkConfig(
+      int depth,
+      int width,
+      int warmupIterations,
+      int iterations,
+      String outputDir,
+      @Nullable String baselineDir,
+      double regressionThreshold) {
+    this.depth = depth;
+    this.width = width;
+    this.warmupIterations = warmupIterations;
+    this.iterations = iterations;
+    this.outputDir = outputDir;
+    this.baselineDir = baselineDir;
+    this.regressionThreshold = regressionThreshold;
+  }
+
+  public static BenchmarkConfig fromSystemProperties() {
+    return new BenchmarkConfig(
+        Integer.getInteger(PROP_DEPTH, 4),
+        Integer.getInteger(PROP_WIDTH, 4),
+        Integer.getInteger(PROP_WARMUP_ITERATIONS, 20),
+        Integer.getInteger(PROP_ITERATIONS, 50),
+        System.getProperty(PROP_OUTPUT_DIR, "build/benchmarks"),
+        System.getProperty(PROP_BASELINE_DIR),
+        Double.parseDouble(System.getProperty(PROP_REGRESSION_THRESHOLD, "0.15")));
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.benchmarks;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/** Timings collected for a single benchmark, all durations are in nanoseconds. */
+public final class BenchmarkResult {
+
+  public final String name;
+  public final Map<String, Object> params;
+  public final int iterations;
+  public final long minNs;
+  public final long medianNs;
+  public final long p90Ns;
+  public final long maxNs;
+  public final long meanNs;
+
+  BenchmarkResult(String name, Map<String, Object> params, long[] samples) {
+    final long[] sorted = Arrays.copyOf(samples, samples.length);
+    Arrays.sort(sorted);
+
+    long total = 0;
+    for (long sample : sorted) {
+      total += sample;
+    }
+
+    this.name = name;
+    this.params = params;
+    this.iterations = sorted.length;
+    this.minNs = sorted[0];
+    this.medianNs = sorted[sorted.length / 2];
+    this.p90Ns = sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.9))];
+    this.maxNs = sorted[sorted.length - 1];
+    this.meanNs = total / sorted.length;
+  }
+
+  String toJson() {
+    final StringBuilder sb = new StringBuilder();
+    sb.append("{\n");
+    sb.append("  \"name\": \"").append(name).append("\",\n");
+    sb.append("  \"params\": {");
+    boolean first = true;
+    for (Map.Entry<String, Object> param : params.entrySet()) {
+      sb.append(first ? "" : ", ");
+      sb.append('"').append(param.getKey()).append("\": ");
+      if (param.getValue() instanceof Number || param.getValue() instanceof Boolean) {
+        sb.append(param.getValue());
+      } else {
+        sb.append('"').append(param.getValue()).append('"');
+      }
+      first = false;
+    }
+    sb.append("},\n");
+    sb.append("  \"iterations\": ").append(iterations).append(",\n");
+    sb.append("  \"minNs\": ").append(minNs).append(",\n");
+    sb.append("  \"medianNs\": ").append(medianNs).append(",\n");
+    sb.append("  \"p90Ns\": ").append(p90Ns).append(",\n");
+    sb.append("  \"maxNs\": ").append(maxNs).append(",\n");
+    sb.append("  \"meanNs\": ").append(meanNs).append("\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+
+  @Override
+  public String toString() {
+    return name
+        + " "
+        + params
+        + ": median="
+        + medianNs / 1000
+        + "us p90="
+        + p90Ns / 1000
+        + "us min="
+        + minNs / 1000
+        + "us ("
+        + iterations
+        + " iterations)";
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Minimal repeatable benchmark harness. JMH cannot drive code that needs the Robolectric runtime,
+ * so the harness runs inside a regular Robolectric test: it performs warmup iterations, times the
+ * measured iterations with {@link System#nanoTime()}, writes the result as JSON and, when a
+ * baseline directory is configured, fails if the median regressed beyond the allowed threshold.
+ */
+public final class BenchmarkRunner {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /** A single benchmarked operation. Only {@link #iteration()} is timed. */
+  public abstract static class Case {
+
+    /** Called before every iteration, not timed. */
+    protected void beforeIteration() {}
+
+    /** The operation being measured. */
+    protected abstract void iteration();
+
+    /** Called after every iteration, not timed. */
+    protected void afterIteration() {}
+  }
+
+  private final BenchmarkConfig mConfig;
+
+  public BenchmarkRunner(BenchmarkConfig config) {
+    mConfig = config;
+  }
+
+  public BenchmarkConfig getConfig() {
+    return mConfig;
+  }
+
+  public BenchmarkResult run(String name, Case benchmarkCase) {
+    return run(name, new LinkedHashMap<String, Object>(), benchmarkCase);
+  }
+
+  public BenchmarkResult run(String name, Map<String, Object> params, Case benchmarkCase) {
+    for (int i = 0; i < mConfig.warmupIterations; i++) {
+      benchmarkCase.beforeIteration();
+      benchmarkCase.iteration();
+      benchmarkCase.afterIteration();
+    }
+
+    final long[] samples = new long[mConfig.iterations];
+    for (int i = 0; i < mConfig.iterations; i++) {
+      benchmarkCase.beforeIteration();
+      final long start = System.nanoTime();
+      benchmarkCase.iteration();
+      samples[i] = System.nanoTime() - start;
+      benchmarkCase.afterIteration();
+    }
+
+    final BenchmarkResult result = new BenchmarkResult(name, params, samples);
+    System.out.println(result);
+
+    writeResult(result);
+    compareWithBaseline(result);
+
+    return result;
+  }
+
+  private void writeResult(BenchmarkResult result) {
+    final File outputDir = new File(mConfig.outputDir);
+    if (!outputDir.exists() && !outputDir.mkdirs()) {
+      throw new IllegalStateException("Could not create benchmark output dir " + outputDir);
+    }
+
+    final File outputFile = new File(outputDir, result.name + ".json");
+    try (OutputStream out = new FileOutputStream(outputFile)) {
+      out.write(result.toJson().getBytes(UTF_8));
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not write benchmark result " + outputFile, e);
+    }
+  }
+
+  private void compareWithBaseline(BenchmarkResult result) {
+    if (mConfig.baselineDir == null) {
+      return;
+    }
+
+    final File baselineFile = new File(mConfig.baselineDir, result.name + ".json");
+    if (!baselineFile.exists()) {
+      System.out.println("No baseline for " + result.name + " at " + baselineFile);
+      return;
+    }
+
+    final long baselineMedianNs;
+    try {
+      baselineMedianNs = new JSONObject(readFile(baselineFile)).getLong("medianNs");
+    } catch (IOException | JSONException e) {
+      throw new IllegalStateException("Could not read benchmark baseline " + baselineFile, e);
+    }
+
+    final long allowedNs = (long) (baselineMedianNs * (1 + mConfig.regressionThreshold));
+    if (result.medianNs > allowedNs) {
+      throw new AssertionError(
+          "Benchmark "
+              + result.name
+              + " regressed: median "
+              + result.medianNs
+              + "ns, baseline "
+              + baselineMedianNs
+              + "ns, allowed "
+              + allowedNs
+              + "ns");
+    }
+  }
+
+  private static String readFile(File file) throws IOException {
+    try (InputStream in = new FileInputStream(file)) {
+      final byte[] bytes = new byte[(int) file.length()];
+      int offset = 0;
+      while (offset < bytes.length) {
+        final int read = in.read(bytes, offset, bytes.length - offset);
+        if (read < 0) {
+          break;
+        }
+        offset += read;
+      }
+      return new String(bytes, 0, offset, UTF_8);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.benchmarks;
+
+import androidx.test.core.app.ApplicationProvider;
+import com.facebook.litho.sections.SectionContext;
+import com.facebook.litho.sections.SectionTree;
+import com.facebook.litho.testing.sections.TestGroupSection;
+import com.facebook.litho.testing.sections.TestTarget;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks {@link com.facebook.litho.sections.common.DataDiffSectionSpec} diffing through a
+ * {@link SectionTree} for common feed update patterns.
+ */
+@RunWith(LithoTestRunner.class)
+public class DataDiffSectionBenchmark {
+
+  private static final int ITEMS_PER_WIDTH = 250;
+
+  private SectionContext mSectionContext;
+  private BenchmarkRunner mRunner;
+
+  @Before
+  public void setup() {
+    mSectionContext = new SectionContext(ApplicationProvider.getApplicationContext());
+    mRunner = new BenchmarkRunner(BenchmarkConfig.fromSystemProperties());
+  }
+
+  @Test
+  public void benchmarkAppend() {
+    final int itemCount = mRunner.getConfig().width * ITEMS_PER_WIDTH;
+    final List<String> oldData = generateData(0, itemCount);
+    final List<String> newData = new ArrayList<>(oldData);
+    newData.addAll(generateData(itemCount, itemCount / 10));
+
+    runDiff("DataDiffSection.append", oldData, newData);
+  }
+
+  @Test
+  public void benchmarkSingleUpdate() {
+    final int itemCount = mRunner.getConfig().width * ITEMS_PER_WIDTH;
+    final List<String> oldData = generateData(0, itemCount);
+    final List<String> newData = new ArrayList<>(oldData);
+    newData.set(itemCount / 2, "updated");
+
+    runDiff("DataDiffSection.singleUpdate", oldData, newData);
+  }
+
+  @Test
+  public void benchmarkShuffle() {
+    final int itemCount = mRunner.getConfig().width * ITEMS_PER_WIDTH / 10;
+    final List<String> oldData = generateData(0, itemCount);
+    final List<String> newData = new ArrayList<>(oldData);
+    Collections.shuffle(newData, new Random(42));
+
+    runDiff("DataDiffSection.shuffle", oldData, newData);
+  }
+
+  private void runDiff(String name, final List<String> oldData, final List<String> newData) {
+    final Map<String, Object> params = new LinkedHashMap<>();
+    params.put("oldSize", oldData.size());
+    params.put("newSize", newData.size());
+
+    mRunner.run(
+        name,
+        params,
+        new BenchmarkRunner.Case() {
+          private SectionTree mSectionTree;
+
+          @Override
+          protected void beforeIteration() {
+            mSectionTree = SectionTree.create(mSectionContext, new TestTarget()).build();
+            mSectionTree.setRoot(TestGroupSection.create(mSectionContext).data(oldData).build());
+          }
+
+          @Override
+          protected void iteration() {
+            mSectionTree.setRoot(TestGroupSection.create(mSectionContext).data(newData).build());
+          }
+
+          @Override
+          protected void afterIteration() {
+            mSectionTree.release();
+          }
+        });
+  }
+
+  private static List<String> generateData(int start, int count) {
+    final List<String> data = new ArrayList<>(count);
+    for (int i = start; i < start + count; i++) {
+      data.add("Item " + i);
+    }
+    return data;
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.benchmarks;
+
+import com.facebook.litho.Component;
+import com.facebook.litho.ComponentUtils;
+import com.facebook.litho.annotations.Comparable;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks the reflection based equivalence check of components without a generated
+ * isEquivalentTo, against a reference that looks the fields up on every comparison.
+ */
+@RunWith(LithoTestRunner.class)
+public class EquivalenceBenchmark {
+
+  private static final int COMPARISONS_PER_WIDTH = 2500;
+
+  private BenchmarkRunner mRunner;
+  private int mComparisons;
+  private BenchmarkComponent mFirst;
+  private BenchmarkComponent mSecond;
+
+  @Before
+  public void setup() {
+    mRunner = new BenchmarkRunner(BenchmarkConfig.fromSystemProperties());
+    mComparisons = mRunner.getConfig().width * COMPARISONS_PER_WIDTH;
+    mFirst = new BenchmarkComponent();
+    mSecond = new BenchmarkComponent();
+  }
+
+  @Test
+  public void benchmarkHasEquivalentFields() {
+    mRunner.run(
+        "Equivalence.hasEquivalentFields",
+        params(),
+        new BenchmarkRunner.Case() {
+          @Override
+          protected void iteration() {
+            for (int i = 0; i < mComparisons; i++) {
+              if (!ComponentUtils.hasEquivalentFields(mFirst, mSecond)) {
+                throw new AssertionError("Components should be equivalent");
+              }
+            }
+          }
+        });
+  }
+
+  @Test
+  public void benchmarkUncachedReflection() {
+    mRunner.run(
+        "Equivalence.uncachedReflection",
+        params(),
+        new BenchmarkRunner.Case() {
+          @Override
+          protected void iteration() {
+            for (int i = 0; i < mComparisons; i++) {
+              if (!hasEquivalentFieldsUncached(mFirst, mSecond)) {
+                throw new AssertionError("Components should be equivalent");
+              }
+            }
+          }
+        });
+  }
+
+  private Map<String, Object> params() {
+    final Map<String, Object> params = new LinkedHashMap<>();
+    params.put("comparisons", mComparisons);
+    return params;
+  }
+
+  /** Looks up and reads every field on each call, as equivalence checks used to. */
+  private static boolean hasEquivalentFieldsUncached(Object obj1, Object obj2) {
+    for (Field field : obj1.getClass().getDeclaredFields()) {
+      if (!field.isAnnotationPresent(Comparable.class)) {
+        continue;
+      }
+
+      final Object val1;
+      final Object val2;
+      try {
+        field.setAccessible(true);
+        val1 = field.get(obj1);
+        val2 = field.get(obj2);
+        field.setAccessible(false);
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      }
+
+      if (field.getAnnotation(Comparable.class).type() == Comparable.ARRAY) {
+        if (!Arrays.equals((int[]) val1, (int[]) val2)) {
+          return false;
+        }
+      } else if (val1 != null ? !val1.equals(val2) : val2 != null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static class BenchmarkComponent extends Component {
+    @Comparable(type = Comparable.PRIMITIVE)
+    int propInt = 42;
+
+    @Comparable(type = Comparable.PRIMITIVE)
+    boolean propBoolean = true;
+
+    @Comparable(type = Comparable.FLOAT)
+    float propFloat = 1.5f;
+
+    @Comparable(type = Comparable.OTHER)
+    String propString = "label";
+
+    @Comparable(type = Comparable.ARRAY)
+    int[] propArray = new int[] {1, 2, 3};
+
+    @Comparable(type = Comparable.COLLECTION_COMPLEVEL_0)
+    List<String> propList = Arrays.asList("a", "b", "c");
+
+    BenchmarkComponent() {
+      super("BenchmarkComponent");
+    }
+  }
+}
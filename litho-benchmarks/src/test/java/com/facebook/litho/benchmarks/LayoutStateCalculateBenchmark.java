@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.benchmarks;
+
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.UNSPECIFIED;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+
+import androidx.test.core.app.ApplicationProvider;
+import com.facebook.litho.BenchmarkTestHelper;
+import com.facebook.litho.Component;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Benchmarks {@link com.facebook.litho.LayoutState#calculate} over synthetic trees. */
+@RunWith(LithoTestRunner.class)
+public class LayoutStateCalculateBenchmark {
+
+  private ComponentContext mContext;
+  private BenchmarkRunner mRunner;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(ApplicationProvider.getApplicationContext());
+    mRunner = new BenchmarkRunner(BenchmarkConfig.fromSystemProperties());
+  }
+
+  @Test
+  public void benchmarkLayoutStateCalculate() {
+    final BenchmarkConfig config = mRunner.getConfig();
+    final Map<String, Object> params = new LinkedHashMap<>();
+    params.put("depth", config.depth);
+    params.put("width", config.width);
+
+    mRunner.run(
+        "LayoutState.calculate",
+        params,
+        new BenchmarkRunner.Case() {
+          private Component mComponent;
+
+          @Override
+          protected void beforeIteration() {
+            // A new tree every iteration so that no cached measurement is reused.
+            mComponent = SyntheticTrees.create(mContext, config.depth, config.width);
+          }
+
+          @Override
+          protected void iteration() {
+            BenchmarkTestHelper.calculateLayoutState(
+                mContext,
+                mComponent,
+                makeSizeSpec(1080, EXACTLY),
+                makeSizeSpec(0, UNSPECIFIED));
+          }
+        });
+  }
+}
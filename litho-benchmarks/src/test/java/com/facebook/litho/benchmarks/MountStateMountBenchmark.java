@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.benchmarks;
+
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.UNSPECIFIED;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+
+import androidx.test.core.app.ApplicationProvider;
+import com.facebook.litho.BenchmarkTestHelper;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.LithoView;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Benchmarks mounting a precomputed layout of a synthetic tree into a {@link LithoView}. */
+@RunWith(LithoTestRunner.class)
+public class MountStateMountBenchmark {
+
+  private ComponentContext mContext;
+  private BenchmarkRunner mRunner;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(ApplicationProvider.getApplicationContext());
+    mRunner = new BenchmarkRunner(BenchmarkConfig.fromSystemProperties());
+  }
+
+  @Test
+  public void benchmarkMountStateMount() {
+    final BenchmarkConfig config = mRunner.getConfig();
+    final Map<String, Object> params = new LinkedHashMap<>();
+    params.put("depth", config.depth);
+    params.put("width", config.width);
+
+    mRunner.run(
+        "MountState.mount",
+        params,
+        new BenchmarkRunner.Case() {
+          private LithoView mLithoView;
+
+          @Override
+          protected void beforeIteration() {
+            mLithoView =
+                BenchmarkTestHelper.createAndMeasureLithoView(
+                    mContext,
+                    SyntheticTrees.create(mContext, config.depth, config.width),
+                    makeSizeSpec(1080, EXACTLY),
+                    makeSizeSpec(0, UNSPECIFIED));
+          }
+
+          @Override
+          protected void iteration() {
+            BenchmarkTestHelper.mountLithoView(mLithoView);
+          }
+
+          @Override
+          protected void afterIteration() {
+            BenchmarkTestHelper.unmountLithoView(mLithoView);
+            mLithoView.release();
+          }
+        });
+  }
+}
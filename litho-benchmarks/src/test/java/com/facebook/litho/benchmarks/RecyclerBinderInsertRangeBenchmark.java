@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.benchmarks;
+
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+
+import androidx.test.core.app.ApplicationProvider;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.Size;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.ComponentRenderInfo;
+import com.facebook.litho.widget.RecyclerBinder;
+import com.facebook.litho.widget.RenderInfo;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Benchmarks {@link RecyclerBinder#insertRangeAt} on a measured binder. */
+@RunWith(LithoTestRunner.class)
+public class RecyclerBinderInsertRangeBenchmark {
+
+  private static final int ITEM_DEPTH = 2;
+  private static final int ITEMS_PER_WIDTH = 25;
+
+  private ComponentContext mContext;
+  private BenchmarkRunner mRunner;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(ApplicationProvider.getApplicationContext());
+    mRunner = new BenchmarkRunner(BenchmarkConfig.fromSystemProperties());
+  }
+
+  @Test
+  public void benchmarkInsertRangeAt() {
+    final BenchmarkConfig config = mRunner.getConfig();
+    final int itemCount = config.width * ITEMS_PER_WIDTH;
+    final Map<String, Object> params = new LinkedHashMap<>();
+    params.put("itemCount", itemCount);
+    params.put("itemDepth", ITEM_DEPTH);
+    params.put("width", config.width);
+
+    mRunner.run(
+        "RecyclerBinder.insertRangeAt",
+        params,
+        new BenchmarkRunner.Case() {
+          private RecyclerBinder mRecyclerBinder;
+          private List<RenderInfo> mRenderInfos;
+
+          @Override
+          protected void beforeIteration() {
+            mRecyclerBinder = new RecyclerBinder.Builder().rangeRatio(2).build(mContext);
+            mRecyclerBinder.measure(
+                new Size(), makeSizeSpec(1080, EXACTLY), makeSizeSpec(1920, EXACTLY), null);
+
+            mRenderInfos = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+              mRenderInfos.add(
+                  ComponentRenderInfo.create()
+                      .component(SyntheticTrees.create(mContext, ITEM_DEPTH, config.width))
+                      .build());
+            }
+          }
+
+          @Override
+          protected void iteration() {
+            mRecyclerBinder.insertRangeAt(0, mRenderInfos);
+          }
+        });
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.benchmarks;
+
+import androidx.test.core.app.ApplicationProvider;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.ComponentRenderInfo;
+import com.facebook.litho.widget.RecyclerBinder;
+import com.facebook.litho.widget.RenderInfo;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmarks prepending items to a long {@link RecyclerBinder}, like new stories arriving at the
+ * top of a feed, with its ComponentTreeHolders kept in an ArrayList and in a chunked list.
+ */
+@RunWith(LithoTestRunner.class)
+public class RecyclerBinderPrependBenchmark {
+
+  private static final int FEED_SIZE = 10000;
+  private static final int PREPENDS = 50;
+  private static final int ITEMS_PER_PREPEND = 5;
+
+  private ComponentContext mContext;
+  private BenchmarkRunner mRunner;
+  private boolean mDefaultUseChunkedList;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(ApplicationProvider.getApplicationContext());
+    mRunner = new BenchmarkRunner(BenchmarkConfig.fromSystemProperties());
+    mDefaultUseChunkedList = ComponentsConfiguration.useChunkedComponentTreeHolderList;
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.useChunkedComponentTreeHolderList = mDefaultUseChunkedList;
+  }
+
+  @Test
+  public void benchmarkPrependWithArrayList() {
+    ComponentsConfiguration.useChunkedComponentTreeHolderList = false;
+    runPrependBenchmark("RecyclerBinder.prepend.ArrayList");
+  }
+
+  @Test
+  public void benchmarkPrependWithChunkedList() {
+    ComponentsConfiguration.useChunkedComponentTreeHolderList = true;
+    runPrependBenchmark("RecyclerBinder.prepend.ChunkedList");
+  }
+
+  private void runPrependBenchmark(String name) {
+    final Map<String, Object> params = new LinkedHashMap<>();
+    params.put("feedSize", FEED_SIZE);
+    params.put("prepends", PREPENDS);
+    params.put("itemsPerPrepend", ITEMS_PER_PREPEND);
+
+    mRunner.run(
+        name,
+        params,
+        new BenchmarkRunner.Case() {
+          private RecyclerBinder mRecyclerBinder;
+          private List<List<RenderInfo>> mPrepends;
+
+          @Override
+          protected void beforeIteration() {
+            // The binder is not measured, so only the holder list operations are measured and no
+            // layout is computed.
+            mRecyclerBinder = new RecyclerBinder.Builder().rangeRatio(2).build(mContext);
+            mRecyclerBinder.insertRangeAt(0, createRenderInfos(FEED_SIZE));
+
+            mPrepends = new ArrayList<>(PREPENDS);
+            for (int i = 0; i < PREPENDS; i++) {
+              mPrepends.add(createRenderInfos(ITEMS_PER_PREPEND));
+            }
+          }
+
+          @Override
+          protected void iteration() {
+            for (int i = 0; i < PREPENDS; i++) {
+              mRecyclerBinder.insertRangeAt(0, mPrepends.get(i));
+            }
+          }
+        });
+  }
+
+  private static List<RenderInfo> createRenderInfos(int count) {
+    final List<RenderInfo> renderInfos = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      renderInfos.add(ComponentRenderInfo.createEmpty());
+    }
+    return renderInfos;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.benchmarks;
+
+import com.facebook.litho.Column;
+import com.facebook.litho.Component;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.Row;
+import com.facebook.litho.widget.SolidColor;
+import com.facebook.litho.widget.Text;
+import com.facebook.yoga.YogaEdge;
+
+/** Builds synthetic component trees of a given depth and width for benchmarking. */
+public final class SyntheticTrees {
+
+  private SyntheticTrees() {}
+
+  /**
+   * Creates a tree alternating between {@link Column} and {@link Row} containers. Every container
+   * has {@code width} children and leaves are a mix of {@link Text} (drawable mount content) and
+   * {@link SolidColor} components.
+   */
+  public static Component create(ComponentContext c, int depth, int width) {
+    return create(c, depth, width, 0);
+  }
+
+  /** Number of leaves in a tree created with the given depth and width. */
+  public static int leafCount(int depth, int width) {
+    int count = 1;
+    for (int i = 0; i < depth; i++) {
+      count *= width;
+    }
+    return count;
+  }
+
+  private static Component create(ComponentContext c, int depth, int width, int index) {
+    if (depth <= 0) {
+      return createLeaf(c, index);
+    }
+
+    final Component.ContainerBuilder<?> container;
+    if (depth % 2 == 0) {
+      container = Column.create(c).paddingPx(YogaEdge.ALL, 2);
+    } else {
+      container = Row.create(c).flexGrow(1);
+    }
+    for (int i = 0; i < width; i++) {
+      container.child(create(c, depth - 1, width, index * width + i));
+    }
+    return container.build();
+  }
+
+  private static Component createLeaf(ComponentContext c, int index) {
+    if (index % 3 == 0) {
+      return SolidColor.create(c).color(0xFF000000 | index).widthPx(10).heightPx(10).build();
+    }
+    return Text.create(c).text("Item " + index).textSizePx(14).build();
+  }
+}
@@ -16,8 +16,6 @@
 
 package com.facebook.litho
 
-import java.lang.reflect.Modifier
-
 /** Base class for Kotlin Components. */
 open class KComponent private constructor(
     private val content: (DslScope.() -> Component?)? = null,
@@ -76,20 +74,6 @@ open class KComponent private constructor(
   /**
    * Compare all private final fields in the components.
    */
-  private fun hasEquivalentFields(other: KComponent): Boolean {
-    for (field in javaClass.declaredFields) {
-      if (Modifier.isPrivate(field.modifiers) && Modifier.isFinal(field.modifiers)) {
-        field.isAccessible = true
-        val field1 = field.get(this)
-        val field2 = field.get(other)
-        field.isAccessible = false
-
-        if (!EquivalenceUtils.areObjectsEquivalent(field1, field2)) {
-          return false
-        }
-      }
-    }
-
-    return true
-  }
+  private fun hasEquivalentFields(other: KComponent): Boolean =
+      ComparableFields.getPrivateFinalFields(javaClass).areEquivalent(this, other, true)
 }
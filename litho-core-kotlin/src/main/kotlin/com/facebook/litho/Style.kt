@@ -19,205 +19,380 @@ package com.facebook.litho
 import com.facebook.yoga.YogaAlign
 import com.facebook.yoga.YogaEdge
 import com.facebook.yoga.YogaPositionType
-
+import java.lang.Long.bitCount
+import java.lang.Long.numberOfTrailingZeros
+
+/**
+ * A set of layout properties to apply to a component. Only the properties that are set are stored:
+ * [mask] has the bit `1 shl prop` set for each of them, and [values] holds their values in the
+ * order of those bits. Dimensions are stored in dips and enums by their int value, so combining and
+ * applying Styles is proportional to the number of properties set and doesn't box anything.
+ */
 // TODO should be `data` if we want to consider it for comparison as a Prop.
-class Style(
-    val width: Dp? = null,
-    val height: Dp? = null,
-    val widthPercent: Float? = null,
-    val heightPercent: Float? = null,
-    val minWidth: Dp? = null,
-    val minHeight: Dp? = null,
-    val maxWidth: Dp? = null,
-    val maxHeight: Dp? = null,
-    val minWidthPercent: Float? = null,
-    val minHeightPercent: Float? = null,
-    val maxWidthPercent: Float? = null,
-    val maxHeightPercent: Float? = null,
-
-    val alignSelf: YogaAlign? = null,
-
-    val flex: Float? = null,
-    val flexGrow: Float? = null,
-    val flexShrink: Float? = null,
-    val flexBasis: Dp? = null,
-
-    val aspectRatio: Float? = null,
-
-    val paddingStart: Dp? = null,
-    val paddingTop: Dp? = null,
-    val paddingEnd: Dp? = null,
-    val paddingBottom: Dp? = null,
-    val paddingHorizontal: Dp? = null,
-    val paddingVertical: Dp? = null,
-    val paddingAll: Dp? = null,
-
-    val marginStart: Dp? = null,
-    val marginTop: Dp? = null,
-    val marginEnd: Dp? = null,
-    val marginBottom: Dp? = null,
-    val marginHorizontal: Dp? = null,
-    val marginVertical: Dp? = null,
-    val marginAll: Dp? = null,
-
-    val positionStart: Dp? = null,
-    val positionTop: Dp? = null,
-    val positionEnd: Dp? = null,
-    val positionBottom: Dp? = null,
-    val positionType: YogaPositionType? = null
-) {
+class Style internal constructor(internal val mask: Long, internal val values: FloatArray) {
 
+  /**
+   * Combines this Style with [other]. Paddings and margins set by both are added up, other
+   * properties set by both take the value of [other].
+   */
   operator fun plus(other: Style): Style {
-    return Style(
-        width = other.width ?: width,
-        height = other.height ?: height,
-        widthPercent = other.widthPercent ?: widthPercent,
-        heightPercent = other.heightPercent ?: heightPercent,
-        minWidth = other.minWidth ?: minWidth,
-        minHeight = other.minHeight ?: minHeight,
-        maxWidth = other.maxWidth ?: maxWidth,
-        maxHeight = other.maxHeight ?: maxHeight,
-        minWidthPercent = other.minWidthPercent ?: minWidthPercent,
-        minHeightPercent = other.minHeightPercent ?: minHeightPercent,
-        maxWidthPercent = other.maxWidthPercent ?: maxWidthPercent,
-        maxHeightPercent = other.maxHeightPercent ?: maxHeightPercent,
-
-        alignSelf = other.alignSelf ?: alignSelf,
-
-        flex = other.flex ?: flex,
-        flexGrow = other.flexGrow ?: flexGrow,
-        flexShrink = other.flexShrink ?: flexShrink,
-        flexBasis = other.flexBasis ?: flexBasis,
-
-        aspectRatio = other.aspectRatio ?: aspectRatio,
-
-        paddingStart = paddingStart plus other.paddingStart,
-        paddingTop = paddingTop plus other.paddingTop,
-        paddingEnd = paddingEnd plus other.paddingEnd,
-        paddingBottom = paddingBottom plus other.paddingBottom,
-        paddingHorizontal = paddingHorizontal plus other.paddingHorizontal,
-        paddingVertical = paddingVertical plus other.paddingVertical,
-        paddingAll = paddingAll plus other.paddingAll,
-
-        marginStart = marginStart plus other.marginStart,
-        marginTop = marginTop plus other.marginTop,
-        marginEnd = marginEnd plus other.marginEnd,
-        marginBottom = marginBottom plus other.marginBottom,
-        marginHorizontal = marginHorizontal plus other.marginHorizontal,
-        marginVertical = marginVertical plus other.marginVertical,
-        marginAll = marginAll plus other.marginAll,
-
-        positionStart = other.positionStart ?: positionStart,
-        positionTop = other.positionTop ?: positionTop,
-        positionEnd = other.positionEnd ?: positionEnd,
-        positionBottom = other.positionBottom ?: positionBottom,
-        positionType = other.positionType ?: positionType
-    )
+    if (other.mask == 0L) {
+      return this
+    }
+    if (mask == 0L) {
+      return other
+    }
+
+    val mergedMask = mask or other.mask
+    val mergedValues = FloatArray(bitCount(mergedMask))
+    var remaining = mergedMask
+    var index = 0
+    while (remaining != 0L) {
+      val bit = remaining and -remaining
+      mergedValues[index++] =
+          when {
+            other.mask and bit == 0L -> valueOf(bit)
+            mask and bit == 0L -> other.valueOf(bit)
+            ADDITIVE_PROPS and bit != 0L -> valueOf(bit) + other.valueOf(bit)
+            else -> other.valueOf(bit)
+          }
+      remaining = remaining xor bit
+    }
+    return Style(mergedMask, mergedValues)
+  }
+
+  private fun valueOf(bit: Long): Float = values[bitCount(mask and (bit - 1))]
+
+  /** Calls [action] with each property set by this Style and its value, in property order. */
+  internal inline fun forEachProp(action: (prop: Int, value: Float) -> Unit) {
+    var remaining = mask
+    var index = 0
+    while (remaining != 0L) {
+      val bit = remaining and -remaining
+      action(numberOfTrailingZeros(bit), values[index++])
+      remaining = remaining xor bit
+    }
+  }
+
+  internal companion object {
+    const val WIDTH = 0
+    const val HEIGHT = 1
+    const val WIDTH_PERCENT = 2
+    const val HEIGHT_PERCENT = 3
+    const val MIN_WIDTH = 4
+    const val MIN_HEIGHT = 5
+    const val MAX_WIDTH = 6
+    const val MAX_HEIGHT = 7
+    const val MIN_WIDTH_PERCENT = 8
+    const val MIN_HEIGHT_PERCENT = 9
+    const val MAX_WIDTH_PERCENT = 10
+    const val MAX_HEIGHT_PERCENT = 11
+    const val ALIGN_SELF = 12
+    const val FLEX = 13
+    const val FLEX_GROW = 14
+    const val FLEX_SHRINK = 15
+    const val FLEX_BASIS = 16
+    const val ASPECT_RATIO = 17
+    const val PADDING_START = 18
+    const val PADDING_TOP = 19
+    const val PADDING_END = 20
+    const val PADDING_BOTTOM = 21
+    const val PADDING_HORIZONTAL = 22
+    const val PADDING_VERTICAL = 23
+    const val PADDING_ALL = 24
+    const val MARGIN_START = 25
+    const val MARGIN_TOP = 26
+    const val MARGIN_END = 27
+    const val MARGIN_BOTTOM = 28
+    const val MARGIN_HORIZONTAL = 29
+    const val MARGIN_VERTICAL = 30
+    const val MARGIN_ALL = 31
+    const val POSITION_START = 32
+    const val POSITION_TOP = 33
+    const val POSITION_END = 34
+    const val POSITION_BOTTOM = 35
+    const val POSITION_TYPE = 36
+    const val PROP_COUNT = 37
+
+    /** The paddings and margins, which are added up when combining Styles. */
+    private const val ADDITIVE_PROPS =
+        ((1L shl (MARGIN_ALL + 1)) - 1) xor ((1L shl PADDING_START) - 1)
+
+    val EMPTY = Style(0L, FloatArray(0))
+
+    /**
+     * Creates a Style from up to five properties, given in increasing order. A property whose value
+     * is NaN isn't set.
+     */
+    fun of(
+        prop1: Int,
+        value1: Float,
+        prop2: Int = -1,
+        value2: Float = Float.NaN,
+        prop3: Int = -1,
+        value3: Float = Float.NaN,
+        prop4: Int = -1,
+        value4: Float = Float.NaN,
+        prop5: Int = -1,
+        value5: Float = Float.NaN
+    ): Style {
+      var mask = 0L
+      if (!value1.isNaN()) mask = mask or (1L shl prop1)
+      if (!value2.isNaN()) mask = mask or (1L shl prop2)
+      if (!value3.isNaN()) mask = mask or (1L shl prop3)
+      if (!value4.isNaN()) mask = mask or (1L shl prop4)
+      if (!value5.isNaN()) mask = mask or (1L shl prop5)
+      if (mask == 0L) {
+        return EMPTY
+      }
+
+      val values = FloatArray(bitCount(mask))
+      var index = 0
+      if (!value1.isNaN()) values[index++] = value1
+      if (!value2.isNaN()) values[index++] = value2
+      if (!value3.isNaN()) values[index++] = value3
+      if (!value4.isNaN()) values[index++] = value4
+      if (!value5.isNaN()) values[index] = value5
+      return Style(mask, values)
+    }
   }
 }
 
+/** Creates a Style from any combination of properties. */
+@Suppress("FunctionName")
+fun Style(
+    width: Dp? = null,
+    height: Dp? = null,
+    widthPercent: Float? = null,
+    heightPercent: Float? = null,
+    minWidth: Dp? = null,
+    minHeight: Dp? = null,
+    maxWidth: Dp? = null,
+    maxHeight: Dp? = null,
+    minWidthPercent: Float? = null,
+    minHeightPercent: Float? = null,
+    maxWidthPercent: Float? = null,
+    maxHeightPercent: Float? = null,
+
+    alignSelf: YogaAlign? = null,
+
+    flex: Float? = null,
+    flexGrow: Float? = null,
+    flexShrink: Float? = null,
+    flexBasis: Dp? = null,
+
+    aspectRatio: Float? = null,
+
+    paddingStart: Dp? = null,
+    paddingTop: Dp? = null,
+    paddingEnd: Dp? = null,
+    paddingBottom: Dp? = null,
+    paddingHorizontal: Dp? = null,
+    paddingVertical: Dp? = null,
+    paddingAll: Dp? = null,
+
+    marginStart: Dp? = null,
+    marginTop: Dp? = null,
+    marginEnd: Dp? = null,
+    marginBottom: Dp? = null,
+    marginHorizontal: Dp? = null,
+    marginVertical: Dp? = null,
+    marginAll: Dp? = null,
+
+    positionStart: Dp? = null,
+    positionTop: Dp? = null,
+    positionEnd: Dp? = null,
+    positionBottom: Dp? = null,
+    positionType: YogaPositionType? = null
+): Style {
+  // Values in property order, NaN for the ones that aren't set.
+  val values =
+      floatArrayOf(
+          width.orNaN(),
+          height.orNaN(),
+          widthPercent ?: Float.NaN,
+          heightPercent ?: Float.NaN,
+          minWidth.orNaN(),
+          minHeight.orNaN(),
+          maxWidth.orNaN(),
+          maxHeight.orNaN(),
+          minWidthPercent ?: Float.NaN,
+          minHeightPercent ?: Float.NaN,
+          maxWidthPercent ?: Float.NaN,
+          maxHeightPercent ?: Float.NaN,
+          alignSelf?.intValue()?.toFloat() ?: Float.NaN,
+          flex ?: Float.NaN,
+          flexGrow ?: Float.NaN,
+          flexShrink ?: Float.NaN,
+          flexBasis.orNaN(),
+          aspectRatio ?: Float.NaN,
+          paddingStart.orNaN(),
+          paddingTop.orNaN(),
+          paddingEnd.orNaN(),
+          paddingBottom.orNaN(),
+          paddingHorizontal.orNaN(),
+          paddingVertical.orNaN(),
+          paddingAll.orNaN(),
+          marginStart.orNaN(),
+          marginTop.orNaN(),
+          marginEnd.orNaN(),
+          marginBottom.orNaN(),
+          marginHorizontal.orNaN(),
+          marginVertical.orNaN(),
+          marginAll.orNaN(),
+          positionStart.orNaN(),
+          positionTop.orNaN(),
+          positionEnd.orNaN(),
+          positionBottom.orNaN(),
+          positionType?.intValue()?.toFloat() ?: Float.NaN)
+
+  var mask = 0L
+  for (prop in values.indices) {
+    if (!values[prop].isNaN()) {
+      mask = mask or (1L shl prop)
+    }
+  }
+
+  val setValues = FloatArray(java.lang.Long.bitCount(mask))
+  var index = 0
+  for (value in values) {
+    if (!value.isNaN()) {
+      setValues[index++] = value
+    }
+  }
+  return Style(mask, setValues)
+}
+
+private fun Dp?.orNaN(): Float = this?.value ?: Float.NaN
+
 infix fun Dp?.plus(other: Dp?) = (this ?: 0.dp) + (other ?: 0.dp)
 
 internal fun DslScope.copyStyleToProps(style: Style, props: CommonProps) {
-  props.apply {
-    style.width?.let { widthPx(if (it == Dp.Hairline) 1 else it.toPx().value) }
-    style.height?.let { heightPx(if (it == Dp.Hairline) 1 else it.toPx().value) }
-    style.widthPercent?.let { widthPercent(it) }
-    style.heightPercent?.let { heightPercent(it) }
-
-    style.minWidth?.let { minWidthPx(it.toPx().value) }
-    style.minHeight?.let { minHeightPx(it.toPx().value) }
-    style.maxWidth?.let { maxWidthPx(it.toPx().value) }
-    style.maxHeight?.let { maxHeightPx(it.toPx().value) }
-    style.minWidthPercent?.let { minWidthPercent(it) }
-    style.minHeightPercent?.let { minHeightPercent(it) }
-    style.maxWidthPercent?.let { maxWidthPercent(it) }
-    style.maxHeightPercent?.let { maxHeightPercent(it) }
-
-    style.alignSelf?.let { alignSelf(it) }
-
-    style.flex?.let { flex(it) }
-    style.flexGrow?.let { flexGrow(it) }
-    style.flexShrink?.let { flexShrink(it) }
-    style.flexBasis?.let { flexBasisPx(it.toPx().value) }
-
-    style.aspectRatio?.let { aspectRatio(it) }
-
-    style.paddingStart?.let { paddingPx(YogaEdge.START, it.toPx().value) }
-    style.paddingTop?.let { paddingPx(YogaEdge.TOP, it.toPx().value) }
-    style.paddingEnd?.let { paddingPx(YogaEdge.END, it.toPx().value) }
-    style.paddingBottom?.let { paddingPx(YogaEdge.BOTTOM, it.toPx().value) }
-    style.paddingHorizontal?.let { paddingPx(YogaEdge.HORIZONTAL, it.toPx().value) }
-    style.paddingVertical?.let { paddingPx(YogaEdge.VERTICAL, it.toPx().value) }
-    style.paddingAll?.let { paddingPx(YogaEdge.ALL, it.toPx().value) }
-
-    style.marginStart?.let { marginPx(YogaEdge.START, it.toPx().value) }
-    style.marginTop?.let { marginPx(YogaEdge.TOP, it.toPx().value) }
-    style.marginEnd?.let { marginPx(YogaEdge.END, it.toPx().value) }
-    style.marginBottom?.let { marginPx(YogaEdge.BOTTOM, it.toPx().value) }
-    style.marginHorizontal?.let { marginPx(YogaEdge.HORIZONTAL, it.toPx().value) }
-    style.marginVertical?.let { marginPx(YogaEdge.VERTICAL, it.toPx().value) }
-    style.marginAll?.let { marginPx(YogaEdge.ALL, it.toPx().value) }
-
-    style.positionStart?.let { positionPx(YogaEdge.START, it.toPx().value) }
-    style.positionTop?.let { positionPx(YogaEdge.TOP, it.toPx().value) }
-    style.positionEnd?.let { positionPx(YogaEdge.END, it.toPx().value) }
-    style.positionBottom?.let { positionPx(YogaEdge.BOTTOM, it.toPx().value) }
-    style.positionType?.let { positionType(it) }
+  style.forEachProp { prop, value ->
+    when (prop) {
+      Style.WIDTH -> props.widthPx(if (value == Dp.Hairline.value) 1 else Dp(value).toPx().value)
+      Style.HEIGHT -> props.heightPx(if (value == Dp.Hairline.value) 1 else Dp(value).toPx().value)
+      Style.WIDTH_PERCENT -> props.widthPercent(value)
+      Style.HEIGHT_PERCENT -> props.heightPercent(value)
+
+      Style.MIN_WIDTH -> props.minWidthPx(Dp(value).toPx().value)
+      Style.MIN_HEIGHT -> props.minHeightPx(Dp(value).toPx().value)
+      Style.MAX_WIDTH -> props.maxWidthPx(Dp(value).toPx().value)
+      Style.MAX_HEIGHT -> props.maxHeightPx(Dp(value).toPx().value)
+      Style.MIN_WIDTH_PERCENT -> props.minWidthPercent(value)
+      Style.MIN_HEIGHT_PERCENT -> props.minHeightPercent(value)
+      Style.MAX_WIDTH_PERCENT -> props.maxWidthPercent(value)
+      Style.MAX_HEIGHT_PERCENT -> props.maxHeightPercent(value)
+
+      Style.ALIGN_SELF -> props.alignSelf(YogaAlign.fromInt(value.toInt()))
+
+      Style.FLEX -> props.flex(value)
+      Style.FLEX_GROW -> props.flexGrow(value)
+      Style.FLEX_SHRINK -> props.flexShrink(value)
+      Style.FLEX_BASIS -> props.flexBasisPx(Dp(value).toPx().value)
+
+      Style.ASPECT_RATIO -> props.aspectRatio(value)
+
+      Style.PADDING_START -> props.paddingPx(YogaEdge.START, Dp(value).toPx().value)
+      Style.PADDING_TOP -> props.paddingPx(YogaEdge.TOP, Dp(value).toPx().value)
+      Style.PADDING_END -> props.paddingPx(YogaEdge.END, Dp(value).toPx().value)
+      Style.PADDING_BOTTOM -> props.paddingPx(YogaEdge.BOTTOM, Dp(value).toPx().value)
+      Style.PADDING_HORIZONTAL -> props.paddingPx(YogaEdge.HORIZONTAL, Dp(value).toPx().value)
+      Style.PADDING_VERTICAL -> props.paddingPx(YogaEdge.VERTICAL, Dp(value).toPx().value)
+      Style.PADDING_ALL -> props.paddingPx(YogaEdge.ALL, Dp(value).toPx().value)
+
+      Style.MARGIN_START -> props.marginPx(YogaEdge.START, Dp(value).toPx().value)
+      Style.MARGIN_TOP -> props.marginPx(YogaEdge.TOP, Dp(value).toPx().value)
+      Style.MARGIN_END -> props.marginPx(YogaEdge.END, Dp(value).toPx().value)
+      Style.MARGIN_BOTTOM -> props.marginPx(YogaEdge.BOTTOM, Dp(value).toPx().value)
+      Style.MARGIN_HORIZONTAL -> props.marginPx(YogaEdge.HORIZONTAL, Dp(value).toPx().value)
+      Style.MARGIN_VERTICAL -> props.marginPx(YogaEdge.VERTICAL, Dp(value).toPx().value)
+      Style.MARGIN_ALL -> props.marginPx(YogaEdge.ALL, Dp(value).toPx().value)
+
+      Style.POSITION_START -> props.positionPx(YogaEdge.START, Dp(value).toPx().value)
+      Style.POSITION_TOP -> props.positionPx(YogaEdge.TOP, Dp(value).toPx().value)
+      Style.POSITION_END -> props.positionPx(YogaEdge.END, Dp(value).toPx().value)
+      Style.POSITION_BOTTOM -> props.positionPx(YogaEdge.BOTTOM, Dp(value).toPx().value)
+      Style.POSITION_TYPE -> props.positionType(YogaPositionType.fromInt(value.toInt()))
+    }
   }
 }
 
-fun size(size: Dp) = Style(width = size, height = size)
+fun size(size: Dp) = Style.of(Style.WIDTH, size.value, Style.HEIGHT, size.value)
 
-fun size(width: Dp? = null, height: Dp? = null) = Style(width, height)
+fun size(width: Dp? = null, height: Dp? = null) =
+    Style.of(Style.WIDTH, width.orNaN(), Style.HEIGHT, height.orNaN())
 
 fun width(minWidth: Dp? = null, maxWidth: Dp? = null) =
-    Style(minWidth = minWidth, maxWidth = maxWidth)
+    Style.of(Style.MIN_WIDTH, minWidth.orNaN(), Style.MAX_WIDTH, maxWidth.orNaN())
 
 fun height(minHeight: Dp? = null, maxHeight: Dp? = null) =
-    Style(minHeight = minHeight, maxHeight = maxHeight)
+    Style.of(Style.MIN_HEIGHT, minHeight.orNaN(), Style.MAX_HEIGHT, maxHeight.orNaN())
 
 fun flex(grow: Float? = null, shrink: Float? = null, basis: Dp? = null) =
-    Style(flexGrow = grow, flexShrink = shrink, flexBasis = basis)
+    Style.of(
+        Style.FLEX_GROW,
+        grow ?: Float.NaN,
+        Style.FLEX_SHRINK,
+        shrink ?: Float.NaN,
+        Style.FLEX_BASIS,
+        basis.orNaN())
 
-fun aspectRatio(aspectRatio: Float) = Style(aspectRatio = aspectRatio)
+fun aspectRatio(aspectRatio: Float) = Style.of(Style.ASPECT_RATIO, aspectRatio)
 
-fun padding(all: Dp) = Style(paddingAll = all)
+fun padding(all: Dp) = Style.of(Style.PADDING_ALL, all.value)
 
 fun padding(horizontal: Dp? = null, vertical: Dp? = null) =
-    Style(
-        paddingStart = horizontal,
-        paddingTop = vertical,
-        paddingEnd = horizontal,
-        paddingBottom = vertical)
+    padding(start = horizontal, top = vertical, end = horizontal, bottom = vertical)
 
 fun padding(start: Dp? = null, top: Dp? = null, end: Dp? = null, bottom: Dp? = null) =
-    Style(paddingStart = start, paddingTop = top, paddingEnd = end, paddingBottom = bottom)
-
-fun margin(all: Dp) = Style(marginAll = all)
+    Style.of(
+        Style.PADDING_START,
+        start.orNaN(),
+        Style.PADDING_TOP,
+        top.orNaN(),
+        Style.PADDING_END,
+        end.orNaN(),
+        Style.PADDING_BOTTOM,
+        bottom.orNaN())
+
+fun margin(all: Dp) = Style.of(Style.MARGIN_ALL, all.value)
 
 fun margin(horizontal: Dp? = null, vertical: Dp? = null) =
-    Style(
-        marginStart = horizontal,
-        marginTop = vertical,
-        marginEnd = horizontal,
-        marginBottom = vertical)
+    margin(start = horizontal, top = vertical, end = horizontal, bottom = vertical)
 
 fun margin(start: Dp? = null, top: Dp? = null, end: Dp? = null, bottom: Dp? = null) =
-    Style(marginStart = start, marginTop = top, marginEnd = end, marginBottom = bottom)
+    Style.of(
+        Style.MARGIN_START,
+        start.orNaN(),
+        Style.MARGIN_TOP,
+        top.orNaN(),
+        Style.MARGIN_END,
+        end.orNaN(),
+        Style.MARGIN_BOTTOM,
+        bottom.orNaN())
 
 fun position(start: Dp? = null, top: Dp? = null, end: Dp? = null, bottom: Dp? = null) =
-    Style(
-        positionStart = start,
-        positionTop = top,
-        positionEnd = end,
-        positionBottom = bottom,
-        positionType = YogaPositionType.ABSOLUTE)
+    positionOf(start, top, end, bottom, YogaPositionType.ABSOLUTE)
 
 fun positionRelative(start: Dp? = null, top: Dp? = null, end: Dp? = null, bottom: Dp? = null) =
-    Style(
-        positionStart = start,
-        positionTop = top,
-        positionEnd = end,
-        positionBottom = bottom,
-        positionType = YogaPositionType.RELATIVE)
+    positionOf(start, top, end, bottom, YogaPositionType.RELATIVE)
+
+private fun positionOf(
+    start: Dp?,
+    top: Dp?,
+    end: Dp?,
+    bottom: Dp?,
+    positionType: YogaPositionType
+) =
+    Style.of(
+        Style.POSITION_START,
+        start.orNaN(),
+        Style.POSITION_TOP,
+        top.orNaN(),
+        Style.POSITION_END,
+        end.orNaN(),
+        Style.POSITION_BOTTOM,
+        bottom.orNaN(),
+        Style.POSITION_TYPE,
+        positionType.intValue().toFloat())
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho
+
+import com.facebook.litho.testing.testrunner.LithoTestRunner
+import com.facebook.yoga.YogaAlign
+import com.facebook.yoga.YogaPositionType
+import java.lang.management.ManagementFactory
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.entry
+import org.junit.Assume.assumeTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/** Unit tests for [Style]. */
+@Suppress("MagicNumber")
+@RunWith(LithoTestRunner::class)
+class StyleTest {
+
+  @Test
+  fun styleOnlyHoldsTheSetProperties() {
+    assertThat(propsOf(size(width = 10.dp))).containsOnly(entry(Style.WIDTH, 10f))
+    assertThat(propsOf(Style())).isEmpty()
+    assertThat(
+            propsOf(
+                Style(
+                    alignSelf = YogaAlign.CENTER,
+                    flex = 2f,
+                    positionType = YogaPositionType.ABSOLUTE)))
+        .containsOnly(
+            entry(Style.ALIGN_SELF, YogaAlign.CENTER.intValue().toFloat()),
+            entry(Style.FLEX, 2f),
+            entry(Style.POSITION_TYPE, YogaPositionType.ABSOLUTE.intValue().toFloat()))
+  }
+
+  @Test
+  fun combiningStylesOverridesPropertiesSetByBoth() {
+    val style = size(10.dp) + size(width = 20.dp) + aspectRatio(1f) + aspectRatio(2f)
+
+    assertThat(propsOf(style))
+        .containsOnly(
+            entry(Style.WIDTH, 20f), entry(Style.HEIGHT, 10f), entry(Style.ASPECT_RATIO, 2f))
+  }
+
+  @Test
+  fun combiningStylesAddsUpPaddingsAndMargins() {
+    val style =
+        padding(start = 2.dp) + padding(start = 3.dp, top = 1.dp) + margin(all = 4.dp) +
+            margin(all = 1.dp)
+
+    assertThat(propsOf(style))
+        .containsOnly(
+            entry(Style.PADDING_START, 5f),
+            entry(Style.PADDING_TOP, 1f),
+            entry(Style.MARGIN_ALL, 5f))
+  }
+
+  @Test
+  fun combiningWithAnEmptyStyleReturnsTheSameStyle() {
+    val style = size(10.dp)
+
+    assertThat(style + Style()).isSameAs(style)
+    assertThat(Style() + style).isSameAs(style)
+  }
+
+  @Test
+  fun combiningStylesOnlyAllocatesTheCombinedProperties() {
+    val threadBean = ManagementFactory.getThreadMXBean()
+    assumeTrue(threadBean is com.sun.management.ThreadMXBean)
+    val allocations = threadBean as com.sun.management.ThreadMXBean
+    val threadId = Thread.currentThread().id
+
+    val first = size(10.dp) + flex(grow = 1f)
+    val second = padding(all = 4.dp) + margin(horizontal = 8.dp)
+    var combined = first
+    repeat(COMBINATIONS) { combined = first + second }
+
+    val before = allocations.getThreadAllocatedBytes(threadId)
+    repeat(COMBINATIONS) { combined = first + second }
+    val bytesPerCombination =
+        (allocations.getThreadAllocatedBytes(threadId) - before) / COMBINATIONS
+
+    assertThat(propsOf(combined)).hasSize(6)
+    // One Style and its array of 6 floats, well below a copy of every property.
+    assertThat(bytesPerCombination).isLessThan(128)
+  }
+
+  private fun propsOf(style: Style): Map<Int, Float> {
+    val props = LinkedHashMap<Int, Float>()
+    style.forEachProp { prop, value -> props[prop] = value }
+    return props
+  }
+
+  private companion object {
+    const val COMBINATIONS = 100_000
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import androidx.annotation.VisibleForTesting;
+import com.facebook.infer.annotation.ThreadSafe;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link LockFreeMountContentPool} whose capacity follows the observed demand instead of being
+ * fixed by {@link ComponentLifecycle#poolSize()}.
+ *
+ * <p>The pool looks at windows of {@link #WINDOW_SIZE} acquires. If too many acquires of a window
+ * missed, the capacity grows towards the peak number of concurrently used items. If the peak usage
+ * of a window stayed well below the capacity, the capacity shrinks and excess content is dropped.
+ * The capacity always stays within the given bounds.
+ */
+@ThreadSafe
+public class AdaptiveMountContentPool extends LockFreeMountContentPool {
+
+  @VisibleForTesting static final int WINDOW_SIZE = 32;
+
+  /** Grow if more than 1 / MISS_RATIO_DIVISOR of the acquires of a window missed. */
+  private static final int MISS_RATIO_DIVISOR = 4;
+
+  private final int mMinSize;
+  private final int mMaxSize;
+
+  private volatile int mCapacity;
+
+  private final AtomicInteger mInUseCount = new AtomicInteger(0);
+  private final AtomicInteger mPeakInUseCount = new AtomicInteger(0);
+  private final AtomicInteger mWindowAcquireCount = new AtomicInteger(0);
+  private final AtomicInteger mWindowMissCount = new AtomicInteger(0);
+
+  public AdaptiveMountContentPool(String name, int initialSize, int minSize, int maxSize) {
+    super(name, maxSize);
+    if (minSize < 0 || minSize > maxSize) {
+      throw new IllegalArgumentException(
+          "Invalid bounds for pool " + name + ": min=" + minSize + ", max=" + maxSize);
+    }
+    mMinSize = minSize;
+    mMaxSize = maxSize;
+    mCapacity = clamp(initialSize);
+  }
+
+  @Override
+  protected int getCapacity() {
+    return mCapacity;
+  }
+
+  @Override
+  protected void onAcquired(boolean isHit) {
+    final int inUse = mInUseCount.incrementAndGet();
+    int peak;
+    do {
+      peak = mPeakInUseCount.get();
+    } while (inUse > peak && !mPeakInUseCount.compareAndSet(peak, inUse));
+
+    if (!isHit) {
+      mWindowMissCount.incrementAndGet();
+    }
+
+    if (mWindowAcquireCount.incrementAndGet() % WINDOW_SIZE == 0) {
+      resize();
+    }
+  }
+
+  @Override
+  protected void onReleased() {
+    int inUse;
+    do {
+      inUse = mInUseCount.get();
+      // Content which was not acquired from this pool can be released into it too.
+      if (inUse == 0) {
+        return;
+      }
+    } while (!mInUseCount.compareAndSet(inUse, inUse - 1));
+  }
+
+  private void resize() {
+    final int misses = mWindowMissCount.getAndSet(0);
+    final int peak = mPeakInUseCount.getAndSet(mInUseCount.get());
+    final int capacity = mCapacity;
+
+    if (misses * MISS_RATIO_DIVISOR > WINDOW_SIZE) {
+      mCapacity = clamp(Math.max(capacity * 2, peak));
+    } else if (peak < capacity / 2) {
+      final int newCapacity = clamp(Math.max(peak, capacity / 2));
+      mCapacity = newCapacity;
+      trim(newCapacity);
+    }
+  }
+
+  private int clamp(int size) {
+    return Math.max(mMinSize, Math.min(mMaxSize, size));
+  }
+}
@@ -106,7 +106,11 @@ public final class Column extends Component {
       node.wrap(wrap);
     }
 
-    if (children != null) {
+    if (ParallelChildLayout.shouldCreateInParallel(c, children)) {
+      if (!ParallelChildLayout.createChildren(c, node, children)) {
+        return ComponentContext.NULL_LAYOUT;
+      }
+    } else if (children != null) {
       for (Component child : children) {
         if (c.wasLayoutCanceled()) {
           return ComponentContext.NULL_LAYOUT;
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import com.facebook.litho.annotations.Comparable;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.drawable.ComparableDrawable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * The fields of a class that take part in its equivalence check, resolved once per class.
+ *
+ * <p>Listing the declared fields of a class, reading their {@link Comparable} annotation or generic
+ * type and making them accessible costs far more than reading their values, so {@link
+ * ComponentUtils#hasEquivalentFields(Object, Object)} and {@code KComponent} resolve how to compare
+ * each field the first time a class is compared and only read the field values afterwards.
+ */
+public final class ComparableFields {
+
+  /** The annotation of the field could not be read, so the field is never equivalent. */
+  private static final int UNRESOLVED = -1;
+
+  /** The field is compared with {@link EquivalenceUtils#areObjectsEquivalent(Object, Object)}. */
+  private static final int OBJECT = -2;
+
+  private static final Map<Class<?>, ComparableFields> sAnnotatedFields =
+      new ConcurrentHashMap<>();
+  private static final Map<Class<?>, ComparableFields> sTypedFields = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, ComparableFields> sPrivateFinalFields =
+      new ConcurrentHashMap<>();
+
+  private final Field[] mFields;
+  private final int[] mTypes;
+  private final int[] mCollectionLevels;
+  private final boolean mIsResolved;
+
+  private ComparableFields(List<Field> fields, int[] types, int[] collectionLevels) {
+    mFields = fields.toArray(new Field[fields.size()]);
+    mTypes = types;
+    mCollectionLevels = collectionLevels;
+
+    boolean isResolved = true;
+    for (int type : types) {
+      isResolved &= type != UNRESOLVED;
+    }
+    mIsResolved = isResolved;
+  }
+
+  /**
+   * @return the fields of the given class annotated with {@link Comparable}, compared the way the
+   *     generated isEquivalentTo of a spec compares its props and state.
+   */
+  static ComparableFields getComparableFields(Class<?> clazz) {
+    final boolean useAnnotation = !ComponentsConfiguration.disableGetAnnotationUsage;
+    final Map<Class<?>, ComparableFields> cache = useAnnotation ? sAnnotatedFields : sTypedFields;
+
+    ComparableFields fields = cache.get(clazz);
+    if (fields == null) {
+      fields = createComparableFields(clazz, useAnnotation);
+      // A field whose annotation couldn't be read may be readable next time.
+      if (fields.mIsResolved) {
+        cache.put(clazz, fields);
+      }
+    }
+
+    return fields;
+  }
+
+  /**
+   * @return the private final fields of the given class, compared with {@link
+   *     EquivalenceUtils#areObjectsEquivalent(Object, Object)}.
+   */
+  public static ComparableFields getPrivateFinalFields(Class<?> clazz) {
+    ComparableFields fields = sPrivateFinalFields.get(clazz);
+    if (fields == null) {
+      final List<Field> privateFinalFields = new ArrayList<>();
+      for (Field field : clazz.getDeclaredFields()) {
+        final int modifiers = field.getModifiers();
+        if (Modifier.isPrivate(modifiers) && Modifier.isFinal(modifiers)) {
+          field.setAccessible(true);
+          privateFinalFields.add(field);
+        }
+      }
+
+      final int[] types = new int[privateFinalFields.size()];
+      for (int i = 0; i < types.length; i++) {
+        types[i] = OBJECT;
+      }
+
+      fields = new ComparableFields(privateFinalFields, types, new int[types.length]);
+      sPrivateFinalFields.put(clazz, fields);
+    }
+
+    return fields;
+  }
+
+  private static ComparableFields createComparableFields(Class<?> clazz, boolean useAnnotation) {
+    final List<Field> fields = new ArrayList<>();
+    for (Field field : clazz.getDeclaredFields()) {
+      if (field.isAnnotationPresent(Comparable.class)) {
+        field.setAccessible(true);
+        fields.add(field);
+      }
+    }
+
+    final int[] types = new int[fields.size()];
+    final int[] collectionLevels = new int[fields.size()];
+    for (int i = 0, size = fields.size(); i < size; i++) {
+      final Field field = fields.get(i);
+      if (useAnnotation) {
+        types[i] = getAnnotatedType(field);
+        if (types[i] >= Comparable.COLLECTION_COMPLEVEL_0
+            && types[i] <= Comparable.COLLECTION_COMPLEVEL_4) {
+          // N.B. This relies on the IntDef to be in increasing order.
+          collectionLevels[i] = types[i] - Comparable.COLLECTION_COMPLEVEL_0;
+        }
+      } else {
+        types[i] = getTypeFromFieldType(field);
+        if (types[i] == Comparable.COLLECTION_COMPLEVEL_0) {
+          collectionLevels[i] =
+              ComponentUtils.levelOfComponentsInCollection(field.getGenericType());
+        }
+      }
+    }
+
+    return new ComparableFields(fields, types, collectionLevels);
+  }
+
+  private static int getAnnotatedType(Field field) {
+    try {
+      return field.getAnnotation(Comparable.class).type();
+    } catch (IncompatibleClassChangeError | NullPointerException ignore) {
+      /**
+       * Libraries which uses annotations is facing this intermittently in Lollypop 5.0, 5.0.1 &
+       * 5.0.2). Google closed this saying it is infeasible to fix this in older OS versions.
+       *
+       * <p>https://issuetracker.google.com/issues/37045084
+       * https://github.com/google/gson/issues/726
+       */
+      return UNRESOLVED;
+    }
+  }
+
+  private static int getTypeFromFieldType(Field field) {
+    final Class<?> classType = field.getType();
+    final Type type = field.getGenericType();
+
+    if (classType.isArray()) {
+      return Comparable.ARRAY;
+    } else if (Double.TYPE.isAssignableFrom(classType)) {
+      return Comparable.DOUBLE;
+    } else if (Float.TYPE.isAssignableFrom(classType)) {
+      return Comparable.FLOAT;
+    } else if (classType.isPrimitive()) {
+      return Comparable.PRIMITIVE;
+    } else if (ComparableDrawable.class.isAssignableFrom(classType)) {
+      return Comparable.COMPARABLE_DRAWABLE;
+    } else if (Collection.class.isAssignableFrom(classType)) {
+      return Comparable.COLLECTION_COMPLEVEL_0;
+      // Sections & Components implement Equivalence interface.
+    } else if (Equivalence.class.isAssignableFrom(classType)) {
+      return Comparable.COMPONENT;
+    } else if (EventHandler.class.isAssignableFrom(classType)
+        || (type instanceof ParameterizedType
+            && EventHandler.class.isAssignableFrom(
+                (Class) ((ParameterizedType) type).getRawType()))) {
+      return Comparable.EVENT_HANDLER;
+      // StateContainers have also fields that we need to check for being equivalent.
+    } else if (StateContainer.class.isAssignableFrom(classType)) {
+      return Comparable.STATE_CONTAINER;
+    }
+    return Comparable.OTHER;
+  }
+
+  /** @return true if all the fields of the two instances of the class are equivalent. */
+  public boolean areEquivalent(
+      final Object obj1, final Object obj2, final boolean shouldCompareStateContainers) {
+    try {
+      for (int i = 0; i < mFields.length; i++) {
+        if (!isFieldEquivalent(i, obj1, obj2, shouldCompareStateContainers)) {
+          return false;
+        }
+      }
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Unable to get fields by reflection.", e);
+    }
+
+    return true;
+  }
+
+  private boolean isFieldEquivalent(
+      int index, Object obj1, Object obj2, boolean shouldCompareStateContainers)
+      throws IllegalAccessException {
+    final Field field = mFields[index];
+    final Class<?> classType = field.getType();
+
+    // Primitives are read without boxing them.
+    if (classType.isPrimitive()) {
+      switch (mTypes[index]) {
+        case Comparable.FLOAT:
+          return Float.compare(field.getFloat(obj1), field.getFloat(obj2)) == 0;
+
+        case Comparable.DOUBLE:
+          return Double.compare(field.getDouble(obj1), field.getDouble(obj2)) == 0;
+
+        case Comparable.PRIMITIVE:
+          return classType == Boolean.TYPE
+              ? field.getBoolean(obj1) == field.getBoolean(obj2)
+              : field.getLong(obj1) == field.getLong(obj2);
+      }
+    }
+
+    final Object val1 = field.get(obj1);
+    final Object val2 = field.get(obj2);
+    switch (mTypes[index]) {
+      case UNRESOLVED:
+        return false;
+
+      case OBJECT:
+        return EquivalenceUtils.areObjectsEquivalent(val1, val2);
+
+      case Comparable.FLOAT:
+        return Float.compare((Float) val1, (Float) val2) == 0;
+
+      case Comparable.DOUBLE:
+        return Double.compare((Double) val1, (Double) val2) == 0;
+
+      case Comparable.PRIMITIVE:
+        return val1.equals(val2);
+
+      case Comparable.ARRAY:
+        return ComponentUtils.areArraysEquals(classType, val1, val2);
+
+      case Comparable.COMPARABLE_DRAWABLE:
+        return val1 != null
+            ? ((ComparableDrawable) val1).isEquivalentTo((ComparableDrawable) val2)
+            : val2 == null;
+
+      case Comparable.COLLECTION_COMPLEVEL_0:
+      case Comparable.COLLECTION_COMPLEVEL_1:
+      case Comparable.COLLECTION_COMPLEVEL_2:
+      case Comparable.COLLECTION_COMPLEVEL_3:
+      case Comparable.COLLECTION_COMPLEVEL_4:
+        return areCollectionsEquivalent(
+            mCollectionLevels[index], (Collection) val1, (Collection) val2);
+
+      case Comparable.COMPONENT:
+      case Comparable.SECTION:
+        return val1 != null ? ((Equivalence) val1).isEquivalentTo(val2) : val2 == null;
+
+      case Comparable.EVENT_HANDLER:
+      case Comparable.EVENT_HANDLER_IN_PARAMETERIZED_TYPE:
+        return val1 != null
+            ? ((EventHandler) val1).isEquivalentTo((EventHandler) val2)
+            : val2 == null;
+
+      case Comparable.STATE_CONTAINER:
+        // If we have a state container field, we need to recursively check its state fields.
+        return !shouldCompareStateContainers
+            || ComponentUtils.hasEquivalentFields(
+                val1, val2, /* shouldCompareStateContainers */ true);
+
+      case Comparable.OTHER:
+      default:
+        return val1 != null ? val1.equals(val2) : val2 == null;
+    }
+  }
+
+  private static boolean areCollectionsEquivalent(
+      int level, @Nullable Collection c1, @Nullable Collection c2) {
+    if (level > 0) {
+      return ComponentUtils.areComponentCollectionsEquals(level, c1, c2);
+    }
+    return c1 != null ? c1.equals(c2) : c2 == null;
+  }
+}
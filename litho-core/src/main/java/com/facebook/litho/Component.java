@@ -94,6 +94,8 @@ public abstract class Component extends ComponentLifecycle
   private int mId = sIdGenerator.getAndIncrement();
   @Nullable private String mOwnerGlobalKey;
   private String mGlobalKey;
+  private long mGlobalKeyHash;
+  private boolean mHasGlobalKeyHash;
   @Nullable private String mKey;
   private boolean mHasManualKey;
   @Nullable private Handle mHandle;
@@ -248,6 +250,8 @@ public abstract class Component extends ComponentLifecycle
       final Component component = (Component) super.clone();
 
       component.mGlobalKey = null;
+      component.mGlobalKeyHash = 0;
+      component.mHasGlobalKeyHash = false;
       component.mIsLayoutStarted = false;
       component.mLayoutVersionGenerator = new AtomicBoolean();
       component.mScopedContext = null;
@@ -376,9 +380,26 @@ public abstract class Component extends ComponentLifecycle
    * @return
    */
   String getGlobalKey() {
+    if (mGlobalKey == null && mHasGlobalKeyHash) {
+      // Hashed global keys are only materialized as Strings when requested.
+      mGlobalKey = ComponentKeyUtils.getKeyForHash(mGlobalKeyHash);
+    }
     return mGlobalKey;
   }
 
+  /** @return whether this component has a hashed global key, see {@link #getGlobalKeyHash()}. */
+  boolean hasGlobalKeyHash() {
+    return mHasGlobalKeyHash;
+  }
+
+  /**
+   * Get the 64-bit hash of the key that is unique to this component within its tree. Only set when
+   * {@link ComponentsConfiguration#useHashedGlobalKeys} is enabled.
+   */
+  long getGlobalKeyHash() {
+    return mGlobalKeyHash;
+  }
+
   /**
    * Set a key for this component that is unique within its tree.
    *
@@ -388,6 +409,34 @@ public abstract class Component extends ComponentLifecycle
   @ThreadSafe(enableChecks = false)
   void setGlobalKey(String key) {
     mGlobalKey = key;
+    mGlobalKeyHash = 0;
+    mHasGlobalKeyHash = false;
+  }
+
+  /**
+   * Set the hash of a key for this component that is unique within its tree. The String global key
+   * is derived from it lazily.
+   */
+  // thread-safe because the one write is before all the reads
+  @ThreadSafe(enableChecks = false)
+  void setGlobalKeyHash(long keyHash) {
+    mGlobalKey = null;
+    mGlobalKeyHash = keyHash;
+    mHasGlobalKeyHash = true;
+  }
+
+  /** Copies the global key, hashed or not, of the given component to this one. */
+  void copyGlobalKey(Component other) {
+    if (other.mHasGlobalKeyHash) {
+      setGlobalKeyHash(other.mGlobalKeyHash);
+    } else {
+      setGlobalKey(other.getGlobalKey());
+    }
+  }
+
+  /** @return whether a global key, hashed or not, was assigned to this component. */
+  boolean hasGlobalKey() {
+    return mHasGlobalKeyHash || mGlobalKey != null;
   }
 
   /** @return a handle that is unique to this component. */
@@ -481,7 +530,7 @@ public abstract class Component extends ComponentLifecycle
     final Component clone = makeShallowCopy();
 
     // set the global key so that it is not generated again and overridden.
-    clone.setGlobalKey(getGlobalKey());
+    clone.copyGlobalKey(this);
 
     // copy the inter-stage props so that they are set again.
     clone.copyInterStageImpl(this);
@@ -549,14 +598,26 @@ public abstract class Component extends ComponentLifecycle
   @VisibleForTesting(otherwise = VisibleForTesting.PACKAGE_PRIVATE)
   protected void updateInternalChildState(ComponentContext parentContext) {
     if (ComponentsConfiguration.isDebugModeEnabled || ComponentsConfiguration.useGlobalKeys) {
-      if (getGlobalKey() == null) {
-        final String globalKey;
-        if (ComponentsConfiguration.useNewGenerateMechanismForGlobalKeys) {
-          globalKey = LayoutState.generateGlobalKey(parentContext, this);
+      if (!hasGlobalKey()) {
+        if (ComponentsConfiguration.useHashedGlobalKeys) {
+          final long globalKeyHash;
+          if (ComponentsConfiguration.useNewGenerateMechanismForGlobalKeys) {
+            globalKeyHash = LayoutState.generateGlobalKeyHash(parentContext, this);
+          } else {
+            globalKeyHash =
+                ComponentKeyUtils.generateGlobalKeyHash(parentContext.getComponentScope(), this);
+          }
+          setGlobalKeyHash(globalKeyHash);
         } else {
-          globalKey = ComponentKeyUtils.generateGlobalKey(parentContext.getComponentScope(), this);
+          final String globalKey;
+          if (ComponentsConfiguration.useNewGenerateMechanismForGlobalKeys) {
+            globalKey = LayoutState.generateGlobalKey(parentContext, this);
+          } else {
+            globalKey =
+                ComponentKeyUtils.generateGlobalKey(parentContext.getComponentScope(), this);
+          }
+          setGlobalKey(globalKey);
         }
-        setGlobalKey(globalKey);
       }
     }
 
@@ -23,6 +23,12 @@ public class ComponentKeyUtils {
   private static final String NULL_PARENT_KEY = "ComponentKeyUtils:NullParentKey";
 
   private static final String SEPARATOR = ",";
+  private static final String HASHED_KEY_PREFIX = "#";
+
+  private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+  private static final long FNV_PRIME = 0x100000001B3L;
+  private static final long MANUAL_KEY_SEED = 0x2545F4914F6CDD1DL;
+  private static final long CHILD_POSITION_SEED = 0x9E3779B97F4A7C15L;
 
   /**
    * @param keyParts a list of objects that will be concatenated to form another component's key
@@ -60,6 +66,103 @@ public class ComponentKeyUtils {
     return sb.toString();
   }
 
+  /** @return a 64-bit hash of the given key, computed without allocating. */
+  public static long getKeyHash(String key) {
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = 0, length = key.length(); i < length; i++) {
+      hash ^= key.charAt(i);
+      hash *= FNV_PRIME;
+    }
+    return hash;
+  }
+
+  /**
+   * The hashed counterpart of {@link #getKeyWithSeparator(String, String)}: combines the hash of a
+   * parent's global key with the hash of a child's local key.
+   */
+  public static long getKeyHashWithSeparator(long parentGlobalKeyHash, long keyHash) {
+    return mix(parentGlobalKeyHash * FNV_PRIME + keyHash);
+  }
+
+  /** The hashed counterpart of {@link #getKeyForChildPosition(String, int)}. */
+  public static long getKeyHashForChildPosition(long currentKeyHash, int index) {
+    if (index == 0) {
+      return currentKeyHash;
+    }
+
+    return mix(currentKeyHash ^ (index * CHILD_POSITION_SEED));
+  }
+
+  /**
+   * @return the hash of the local key of the given component. Components without a manual key use
+   *     their type id directly, so no String key is created for them.
+   */
+  static long getLocalKeyHash(Component component) {
+    if (component.hasManualKey()) {
+      return getKeyHash(component.getKey()) ^ MANUAL_KEY_SEED;
+    }
+    return component.getTypeId();
+  }
+
+  /**
+   * @return the String representation of a hashed global key. It is only materialized for code
+   *     paths which still require a String key, e.g. transitions, visibility outputs or debugging.
+   */
+  static String getKeyForHash(long globalKeyHash) {
+    return HASHED_KEY_PREFIX + Long.toHexString(globalKeyHash);
+  }
+
+  /**
+   * @return the hash of the global key of the given component, which is derived from the String
+   *     global key if the component does not have a hashed one.
+   */
+  static long getGlobalKeyHash(Component component) {
+    if (component.hasGlobalKeyHash()) {
+      return component.getGlobalKeyHash();
+    }
+
+    final String globalKey = component.getGlobalKey();
+    return globalKey == null ? 0 : getKeyHash(globalKey);
+  }
+
+  /**
+   * The hashed counterpart of {@link #generateGlobalKey(Component, Component)}, used when {@link
+   * com.facebook.litho.config.ComponentsConfiguration#useHashedGlobalKeys} is enabled.
+   */
+  static long generateGlobalKeyHash(@Nullable Component parentComponent, Component childComponent) {
+    final long keyHash = getLocalKeyHash(childComponent);
+
+    if (parentComponent == null) {
+      return keyHash;
+    }
+
+    final long childKeyHash = getKeyHashWithSeparator(getGlobalKeyHash(parentComponent), keyHash);
+    final int index;
+
+    if (childComponent.hasManualKey()) {
+      index = parentComponent.getManualKeyUsagesCountAndIncrement(childComponent.getKey());
+
+      if (index != 0) {
+        logDuplicateManualKeyWarning(childComponent, childComponent.getKey());
+      }
+
+    } else {
+      index = parentComponent.getChildCountAndIncrement(childComponent);
+    }
+
+    return getKeyHashForChildPosition(childKeyHash, index);
+  }
+
+  private static long mix(long hash) {
+    // Finalizer of MurmurHash3, spreads the bits of the combined hash.
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
   /**
    * Generate a global key for the given component that is unique among all of this component's
    * children of the same type. If a manual key has been set on the child component using the .key()
@@ -255,6 +255,11 @@ public abstract class ComponentLifecycle implements EventDispatcher, EventTrigge
     return false;
   }
 
+  /** @return true if this component can be mounted on a background thread ahead of time. */
+  protected boolean canPremount() {
+    return false;
+  }
+
   protected void createInitialState(ComponentContext c) {}
 
   protected void dispatchOnEnteredRange(String name) {
@@ -406,6 +411,16 @@ public abstract class ComponentLifecycle implements EventDispatcher, EventTrigge
    * @return the MountContentPool that should be used to recycle mount content for this mount spec.
    */
   protected MountContentPool onCreateMountContentPool() {
+    if (ComponentsConfiguration.useAdaptiveMountContentPool) {
+      return new AdaptiveMountContentPool(
+          getClass().getSimpleName(),
+          poolSize(),
+          ComponentsConfiguration.adaptiveMountContentPoolMinSize,
+          ComponentsConfiguration.adaptiveMountContentPoolMaxSize);
+    }
+    if (ComponentsConfiguration.useLockFreeMountContentPool) {
+      return new LockFreeMountContentPool(getClass().getSimpleName(), poolSize());
+    }
     return new DefaultMountContentPool(getClass().getSimpleName(), poolSize(), true);
   }
 
@@ -164,6 +164,7 @@ public class ComponentTree {
 
   @Nullable private final IncrementalMountHelper mIncrementalMountHelper;
   private final boolean mShouldPreallocatePerMountSpec;
+  private final boolean mShouldPremountContent;
   private final Runnable mPreAllocateMountContentRunnable =
       new Runnable() {
         @Override
@@ -209,6 +210,8 @@ public class ComponentTree {
   @ThreadConfined(ThreadConfined.UI)
   private LithoHandler mLayoutThreadHandler;
 
+  private volatile @LayoutScheduler.Priority int mLayoutPriority = LayoutScheduler.PRIORITY_VISIBLE;
+
   private LithoHandler mMainThreadHandler = new DefaultLithoHandler(Looper.getMainLooper());
   private final Runnable mBackgroundLayoutStateUpdateRunnable =
       new Runnable() {
@@ -276,6 +279,12 @@ public class ComponentTree {
   // no lock held, or read from any other thread with the lock held.
   @Nullable private LayoutState mMainThreadLayoutState;
 
+  // The first screen of a layout whose remaining outputs are still being collected. It is mounted
+  // instead of mMainThreadLayoutState until a newer layout is promoted to the UI.
+  @ThreadConfined(ThreadConfined.UI)
+  @Nullable
+  private LayoutState mFirstOutputsChunk;
+
   @GuardedBy("this")
   @Nullable
   private LayoutState mCommittedLayoutState;
@@ -327,6 +336,7 @@ public class ComponentTree {
     mIsLayoutDiffingEnabled = builder.isLayoutDiffingEnabled;
     mLayoutThreadHandler = builder.layoutThreadHandler;
     mShouldPreallocatePerMountSpec = builder.shouldPreallocatePerMountSpec;
+    mShouldPremountContent = builder.shouldPremountContent;
     mPreAllocateMountContentHandler = builder.preAllocateMountContentHandler;
     mIsAsyncUpdateStateEnabled = builder.asyncStateUpdates;
     mHasMounted = builder.hasMounted;
@@ -419,10 +429,16 @@ public class ComponentTree {
   private static LithoHandler ensureAndInstrumentLayoutThreadHandler(
       @Nullable LithoHandler handler) {
     if (handler == null) {
-      handler =
-          ComponentsConfiguration.threadPoolForBackgroundThreadsConfig == null
-              ? new DefaultLithoHandler(getDefaultLayoutThreadLooper())
-              : ThreadPoolLayoutHandler.getDefaultInstance();
+      if (ComponentsConfiguration.sharedLayoutSchedulerConfig != null) {
+        handler =
+            LayoutScheduler.getDefaultInstance(ComponentsConfiguration.sharedLayoutSchedulerConfig)
+                .newHandler();
+      } else {
+        handler =
+            ComponentsConfiguration.threadPoolForBackgroundThreadsConfig == null
+                ? new DefaultLithoHandler(getDefaultLayoutThreadLooper())
+                : ThreadPoolLayoutHandler.getDefaultInstance();
+      }
     } else {
       if (sDefaultLayoutThreadLooper != null
           && sBoostPerfLayoutStateFuture == false
@@ -485,6 +501,23 @@ public class ComponentTree {
       }
     }
     mLayoutThreadHandler = ensureAndInstrumentLayoutThreadHandler(layoutThreadHandler);
+    applyLayoutPriority(mLayoutThreadHandler, mLayoutPriority);
+  }
+
+  /**
+   * Sets how urgently the layouts of this tree are needed, if its layouts are computed on a {@link
+   * LayoutScheduler}. Has no effect otherwise.
+   */
+  public void setLayoutPriority(@LayoutScheduler.Priority int priority) {
+    mLayoutPriority = priority;
+    applyLayoutPriority(mLayoutThreadHandler, priority);
+  }
+
+  private static void applyLayoutPriority(
+      LithoHandler handler, @LayoutScheduler.Priority int priority) {
+    if (handler instanceof LayoutScheduler.TreeHandler) {
+      ((LayoutScheduler.TreeHandler) handler).setPriority(priority);
+    }
   }
 
   @VisibleForTesting
@@ -760,7 +793,8 @@ public class ComponentTree {
 
   private void mountComponentInternal(
       @Nullable Rect currentVisibleArea, boolean processVisibilityOutputs) {
-    final LayoutState layoutState = mMainThreadLayoutState;
+    final LayoutState layoutState =
+        mFirstOutputsChunk != null ? mFirstOutputsChunk : mMainThreadLayoutState;
     if (layoutState == null) {
       Log.w(TAG, "Main Thread Layout state is not found");
       return;
@@ -928,7 +962,11 @@ public class ComponentTree {
     if (mCommittedLayoutState == mMainThreadLayoutState) {
       return;
     }
+    if (mMainThreadLayoutState != null) {
+      mMainThreadLayoutState.releasePremountedContent(mRecyclingMode);
+    }
     mMainThreadLayoutState = mCommittedLayoutState;
+    mFirstOutputsChunk = null;
     if (mLithoView != null) {
       mLithoView.setMountStateDirty();
     }
@@ -947,6 +985,15 @@ public class ComponentTree {
           promoteCommittedLayoutStateToUI();
         }
 
+        if (mFirstOutputsChunk != null
+            && isCompatibleComponentAndSpec(
+                mFirstOutputsChunk, mRoot.getId(), widthSpec, heightSpec)) {
+          // The chunk already has the size of the layout that is still being collected.
+          measureOutput[0] = mFirstOutputsChunk.getWidth();
+          measureOutput[1] = mFirstOutputsChunk.getHeight();
+          return;
+        }
+
         final boolean hasExactSameSpecs =
             mMainThreadLayoutState != null
                 && mMainThreadLayoutState.getWidthSpec() == widthSpec
@@ -1095,6 +1142,9 @@ public class ComponentTree {
             : null;
 
     toPrePopulate.preAllocateMountContent(shouldPreallocatePerMountSpec, mRecyclingMode);
+    if (mShouldPremountContent) {
+      toPrePopulate.premountContent(mRecyclingMode);
+    }
 
     if (event != null) {
       logger.logPerfEvent(event);
@@ -1305,7 +1355,11 @@ public class ComponentTree {
   }
 
   void recordEventHandler(Component component, EventHandler eventHandler) {
-    mEventHandlersController.recordEventHandler(component.getGlobalKey(), eventHandler);
+    if (component.hasGlobalKeyHash()) {
+      mEventHandlersController.recordEventHandler(component.getGlobalKeyHash(), eventHandler);
+    } else {
+      mEventHandlersController.recordEventHandler(component.getGlobalKey(), eventHandler);
+    }
   }
 
   private void bindTriggerHandler(Component component) {
@@ -1967,6 +2021,7 @@ public class ComponentTree {
     int rootWidth = 0;
     int rootHeight = 0;
     boolean committedNewLayout = false;
+    LayoutState supersededLayoutState = null;
     synchronized (this) {
       // We don't want to compute, layout, or reduce trees while holding a lock. However this means
       // that another thread could compute a layout and commit it before we get to this point. To
@@ -1976,6 +2031,10 @@ public class ComponentTree {
       if (localLayoutVersion > mCommittedLayoutVersion
           && !localLayoutState.isCommitted()
           && isCompatibleSpec(localLayoutState, mWidthSpec, mHeightSpec)) {
+        if (mCommittedLayoutState != mMainThreadLayoutState) {
+          // The previous layout was never promoted to the UI thread, so it won't be mounted.
+          supersededLayoutState = mCommittedLayoutState;
+        }
         mCommittedLayoutVersion = localLayoutVersion;
         mCommittedLayoutState = localLayoutState;
         localLayoutState.markCommitted();
@@ -2019,6 +2078,10 @@ public class ComponentTree {
       }
     }
 
+    if (supersededLayoutState != null) {
+      supersededLayoutState.releasePremountedContent(mRecyclingMode);
+    }
+
     if (committedNewLayout) {
       final List<MeasureListener> measureListeners;
       synchronized (this) {
@@ -2069,8 +2132,13 @@ public class ComponentTree {
     clearUnusedTriggerHandlers();
 
     for (final Component component : components) {
-      mEventHandlersController.bindEventHandlers(
-          component.getScopedContext(), component, component.getGlobalKey());
+      if (component.hasGlobalKeyHash()) {
+        mEventHandlersController.bindEventHandlers(
+            component.getScopedContext(), component, component.getGlobalKeyHash());
+      } else {
+        mEventHandlersController.bindEventHandlers(
+            component.getScopedContext(), component, component.getGlobalKey());
+      }
       bindTriggerHandler(component);
     }
 
@@ -2097,6 +2165,53 @@ public class ComponentTree {
     }
   }
 
+  /**
+   * Called from a background layout of a tall tree with a LayoutState holding only the outputs of
+   * its first screen. See {@link ComponentsConfiguration#collectLayoutOutputsInChunks}.
+   */
+  void onFirstOutputsChunkCollected(final LayoutState chunk) {
+    String tag = EMPTY_STRING;
+    if (mMainThreadHandler.isTracing()) {
+      tag = "mountFirstOutputsChunk";
+    }
+    mMainThreadHandler.post(
+        new Runnable() {
+          @Override
+          public void run() {
+            mountFirstOutputsChunk(chunk);
+          }
+        },
+        tag);
+  }
+
+  @UiThread
+  private void mountFirstOutputsChunk(LayoutState chunk) {
+    assertMainThread();
+
+    synchronized (this) {
+      // Drop the chunk if its complete layout, or a newer one, has been committed already.
+      if (mRoot == null
+          || chunk.mLayoutVersion <= mCommittedLayoutVersion
+          || !isCompatibleComponentAndSpec(chunk)) {
+        return;
+      }
+    }
+
+    if (mLithoView == null || !mIsAttached || mIsMeasuring || mIsMounting) {
+      return;
+    }
+
+    mFirstOutputsChunk = chunk;
+    mLithoView.setMountStateDirty();
+
+    if (chunk.getWidth() == mLithoView.getMeasuredWidth()
+        && chunk.getHeight() == mLithoView.getMeasuredHeight()) {
+      mountComponentIfNeeded();
+    } else {
+      mLithoView.requestLayout();
+    }
+  }
+
   /**
    * The contract is that in order to release a ComponentTree, you must do so from the main thread,
    * or guarantee that it will never be accessed from the main thread again. Usually HostView will
@@ -2149,7 +2264,14 @@ public class ComponentTree {
       // dispatch OnExitRange events.
       clearWorkingRangeStatusHandler();
 
+      if (mMainThreadLayoutState != null) {
+        mMainThreadLayoutState.releasePremountedContent(mRecyclingMode);
+      }
+      if (mCommittedLayoutState != null) {
+        mCommittedLayoutState.releasePremountedContent(mRecyclingMode);
+      }
       mMainThreadLayoutState = null;
+      mFirstOutputsChunk = null;
       mCommittedLayoutState = null;
       mStateHandler = null;
       mHooksHandler = null;
@@ -2334,6 +2456,9 @@ public class ComponentTree {
         }
       }
       if (!canReuse) {
+        if (mUseCancelableLayoutFutures) {
+          cancelSupersededLayoutStateFutures(localLayoutStateFuture);
+        }
         mLayoutStateFutures.add(localLayoutStateFuture);
       }
 
@@ -2374,6 +2499,22 @@ public class ComponentTree {
     return layoutState;
   }
 
+  /**
+   * Releases the running async layouts for an older version of the root or size specs than the
+   * given one. Their results would be replaced by the new layout anyway, so they stop at the next
+   * cancellation checkpoint instead of running to completion.
+   */
+  @GuardedBy("mLayoutStateFutureLock")
+  private void cancelSupersededLayoutStateFutures(LayoutStateFuture newLayoutStateFuture) {
+    for (int i = 0, size = mLayoutStateFutures.size(); i < size; i++) {
+      final LayoutStateFuture runningLsf = mLayoutStateFutures.get(i);
+      if (runningLsf.canBeCancelled()
+          && runningLsf.layoutVersion < newLayoutStateFuture.layoutVersion) {
+        runningLsf.release();
+      }
+    }
+  }
+
   @VisibleForTesting
   List<LayoutStateFuture> getLayoutStateFutures() {
     return mLayoutStateFutures;
@@ -2869,6 +3010,7 @@ public class ComponentTree {
     private @Nullable MeasureListener mMeasureListener;
     private boolean shouldPreallocatePerMountSpec;
     private boolean canPreallocateOnDefaultHandler;
+    private boolean shouldPremountContent;
     private boolean isReconciliationEnabled = ComponentsConfiguration.isReconciliationEnabled;
     private boolean canInterruptAndMoveLayoutsBetweenThreads =
         ComponentsConfiguration.canInterruptAndMoveLayoutsBetweenThreads;
@@ -2965,6 +3107,17 @@ public class ComponentTree {
       return this;
     }
 
+    /**
+     * If true, after preallocating mount content this ComponentTree also acquires and mounts the
+     * content of components enabled for it with {@link MountSpec#canPremount()}, on the
+     * preallocation handler, so that mounting them on the UI thread only attaches and binds them.
+     * Requires a preallocation handler.
+     */
+    public Builder shouldPremountContent(boolean premountContent) {
+      shouldPremountContent = premountContent;
+      return this;
+    }
+
     /**
      * Specify the looper to use for running layouts on. Note that in rare cases layout must run on
      * the UI thread. For example, if you rotate the screen, we must measure on the UI thread. If
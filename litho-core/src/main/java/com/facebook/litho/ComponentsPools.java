@@ -19,8 +19,10 @@ package com.facebook.litho;
 import android.annotation.TargetApi;
 import android.app.Activity;
 import android.app.Application;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.ContextWrapper;
+import android.content.res.Configuration;
 import android.os.Build;
 import android.os.Bundle;
 import android.util.SparseArray;
@@ -28,11 +30,11 @@ import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import com.facebook.litho.config.ComponentsConfiguration;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.concurrent.GuardedBy;
 
 /**
@@ -45,11 +47,14 @@ public class ComponentsPools {
 
   private ComponentsPools() {}
 
+  /**
+   * Only guards the creation and removal of per-context pools and the activity callbacks. Looking
+   * up an existing pool doesn't take any lock, see {@link MountContentPools}.
+   */
   private static final Object sMountContentLock = new Object();
 
-  @GuardedBy("sMountContentLock")
-  private static final Map<Context, SparseArray<MountContentPool>> sMountContentPoolsByContext =
-      new HashMap<>(4);
+  private static final Map<Context, MountContentPools> sMountContentPoolsByContext =
+      new ConcurrentHashMap<>(4);
 
   // This Map is used as a set and the values are ignored.
   @GuardedBy("sMountContentLock")
@@ -58,6 +63,13 @@ public class ComponentsPools {
   @GuardedBy("sMountContentLock")
   private static PoolsActivityCallback sActivityCallbacks;
 
+  @GuardedBy("sMountContentLock")
+  private static PoolsComponentCallbacks sComponentCallbacks;
+
+  /** The application context {@link #sComponentCallbacks} is registered with. */
+  @GuardedBy("sMountContentLock")
+  private static Context sComponentCallbacksContext;
+
   /**
    * To support Gingerbread (where the registerActivityLifecycleCallbacks API doesn't exist), we
    * allow apps to explicitly invoke activity callbacks. If this is enabled we'll throw if we are
@@ -113,26 +125,32 @@ public class ComponentsPools {
       context = context.getApplicationContext();
     }
 
+    MountContentPools pools = sMountContentPoolsByContext.get(context);
+    if (pools == null) {
+      pools = createMountContentPools(context);
+      if (pools == null) {
+        return null;
+      }
+    }
+
+    return pools.getOrCreate(lifecycle);
+  }
+
+  private static @Nullable MountContentPools createMountContentPools(Context context) {
     synchronized (sMountContentLock) {
-      SparseArray<MountContentPool> poolsArray = sMountContentPoolsByContext.get(context);
-      if (poolsArray == null) {
+      MountContentPools pools = sMountContentPoolsByContext.get(context);
+      if (pools == null) {
         final Context rootContext = ContextUtils.getRootContext(context);
         if (sDestroyedRootContexts.containsKey(rootContext)) {
           return null;
         }
 
         ensureActivityCallbacks(context);
-        poolsArray = new SparseArray<>();
-        sMountContentPoolsByContext.put(context, poolsArray);
-      }
-
-      MountContentPool pool = poolsArray.get(lifecycle.getTypeId());
-      if (pool == null) {
-        pool = PoolBisectUtil.getPoolForComponent((Component) lifecycle);
-        poolsArray.put(lifecycle.getTypeId(), pool);
+        pools = new MountContentPools();
+        sMountContentPoolsByContext.put(context, pools);
       }
 
-      return pool;
+      return pools;
     }
   }
 
@@ -152,6 +170,36 @@ public class ComponentsPools {
       ((Application) context.getApplicationContext())
           .registerActivityLifecycleCallbacks(sActivityCallbacks);
     }
+
+    // Trimming on memory pressure only comes with the new pools, so that it doesn't change the
+    // behaviour of the default ones.
+    if (sComponentCallbacks == null
+        && !sIsManualCallbacks
+        && (ComponentsConfiguration.useLockFreeMountContentPool
+            || ComponentsConfiguration.useAdaptiveMountContentPool)) {
+      sComponentCallbacks = new PoolsComponentCallbacks();
+      sComponentCallbacksContext = context.getApplicationContext();
+      sComponentCallbacksContext.registerComponentCallbacks(sComponentCallbacks);
+    }
+  }
+
+  /** Releases pooled mount content when the system is running low on memory. */
+  private static class PoolsComponentCallbacks implements ComponentCallbacks2 {
+
+    @Override
+    public void onTrimMemory(int level) {
+      ComponentsPools.onTrimMemory(level);
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+      // Do nothing.
+    }
+
+    @Override
+    public void onLowMemory() {
+      ComponentsPools.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+    }
   }
 
   /** Empty implementation of the {@link Application.ActivityLifecycleCallbacks} interface */
@@ -208,7 +256,7 @@ public class ComponentsPools {
       sMountContentPoolsByContext.remove(context);
 
       // Clear any context wrappers holding a reference to this activity.
-      final Iterator<Map.Entry<Context, SparseArray<MountContentPool>>> it =
+      final Iterator<Map.Entry<Context, MountContentPools>> it =
           sMountContentPoolsByContext.entrySet().iterator();
 
       while (it.hasNext()) {
@@ -222,6 +270,34 @@ public class ComponentsPools {
     }
   }
 
+  /**
+   * Releases pooled mount content according to the memory pressure described by the given {@link
+   * ComponentCallbacks2} trim level. Invoked automatically when {@link
+   * ComponentsConfiguration#useLockFreeMountContentPool} or {@link
+   * ComponentsConfiguration#useAdaptiveMountContentPool} is enabled, unless callbacks are manual,
+   * in which case apps should forward their own onTrimMemory calls.
+   */
+  public static void onTrimMemory(int level) {
+    final boolean shouldClear =
+        level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE
+            || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL;
+    final boolean shouldHalve =
+        level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+            || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW;
+
+    if (!shouldClear && !shouldHalve) {
+      return;
+    }
+
+    for (MountContentPool pool : getMountContentPools()) {
+      if (pool instanceof LockFreeMountContentPool) {
+        ((LockFreeMountContentPool) pool).trim(shouldClear ? 0 : pool.getCurrentSize() / 2);
+      } else if (pool instanceof RecyclePool && shouldClear) {
+        ((RecyclePool) pool).clear();
+      }
+    }
+  }
+
   /** Call from tests to clear external references. */
   public static void clearMountContentPools() {
     synchronized (sMountContentLock) {
@@ -245,20 +321,58 @@ public class ComponentsPools {
 
   static List<MountContentPool> getMountContentPools() {
     final ArrayList<MountContentPool> pools = new ArrayList<>();
-    synchronized (sMountContentLock) {
-      for (SparseArray<MountContentPool> contentPools :
-          ComponentsPools.sMountContentPoolsByContext.values()) {
-        for (int i = 0, count = contentPools.size(); i < count; i++) {
-          pools.add(contentPools.valueAt(i));
+    for (MountContentPools contentPools : ComponentsPools.sMountContentPoolsByContext.values()) {
+      contentPools.addAllTo(pools);
+    }
+    return pools;
+  }
+
+  /**
+   * The pools of one context, indexed by component type id. Lookups read a volatile snapshot of
+   * the pools without locking; adding a pool for a new type copies the snapshot under this
+   * context's own lock, so contention is limited to the first use of a type in a context.
+   */
+  private static class MountContentPools {
+
+    private volatile SparseArray<MountContentPool> mPools = new SparseArray<>();
+
+    MountContentPool getOrCreate(ComponentLifecycle lifecycle) {
+      final int typeId = lifecycle.getTypeId();
+      final MountContentPool pool = mPools.get(typeId);
+      if (pool != null) {
+        return pool;
+      }
+
+      synchronized (this) {
+        final SparseArray<MountContentPool> pools = mPools;
+        MountContentPool newPool = pools.get(typeId);
+        if (newPool == null) {
+          newPool = PoolBisectUtil.getPoolForComponent((Component) lifecycle);
+          final SparseArray<MountContentPool> newPools = pools.clone();
+          newPools.put(typeId, newPool);
+          mPools = newPools;
         }
+
+        return newPool;
+      }
+    }
+
+    void addAllTo(List<MountContentPool> out) {
+      final SparseArray<MountContentPool> pools = mPools;
+      for (int i = 0, count = pools.size(); i < count; i++) {
+        out.add(pools.valueAt(i));
       }
     }
-    return pools;
   }
 
   @VisibleForTesting
   @GuardedBy("sMountContentLock")
   static void clearActivityCallbacks() {
     sActivityCallbacks = null;
+    if (sComponentCallbacks != null) {
+      sComponentCallbacksContext.unregisterComponentCallbacks(sComponentCallbacks);
+      sComponentCallbacks = null;
+      sComponentCallbacksContext = null;
+    }
   }
 }
@@ -64,6 +64,7 @@ import com.facebook.yoga.YogaJustify;
 import com.facebook.yoga.YogaMeasureFunction;
 import com.facebook.yoga.YogaNode;
 import com.facebook.yoga.YogaPositionType;
+import com.facebook.yoga.YogaStyleInputs;
 import com.facebook.yoga.YogaWrap;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -125,40 +126,49 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   private static final long PFLAG_TRANSITION_KEY_TYPE_IS_SET = 1L << 32;
   private static final long PFLAG_DUPLICATE_CHILDREN_STATES_IS_SET = 1L << 33;
 
+  // Keys of the attributes that are rarely set, kept in mAttributes rather than in fields.
+  private static final int ATTR_VISIBLE_HANDLER = 0;
+  private static final int ATTR_FOCUSED_HANDLER = 1;
+  private static final int ATTR_UNFOCUSED_HANDLER = 2;
+  private static final int ATTR_FULL_IMPRESSION_HANDLER = 3;
+  private static final int ATTR_INVISIBLE_HANDLER = 4;
+  private static final int ATTR_VISIBILITY_CHANGED_HANDLER = 5;
+  private static final int ATTR_VISIBLE_HEIGHT_RATIO = 6;
+  private static final int ATTR_VISIBLE_WIDTH_RATIO = 7;
+  private static final int ATTR_STATE_LIST_ANIMATOR = 8;
+  private static final int ATTR_STATE_LIST_ANIMATOR_RES = 9;
+  private static final int ATTR_TOUCH_EXPANSION = 10;
+  private static final int ATTR_TRANSITION_KEY = 11;
+  private static final int ATTR_TRANSITION_OWNER_KEY = 12;
+  private static final int ATTR_TRANSITION_KEY_TYPE = 13;
+  private static final int ATTR_TRANSITIONS = 14;
+  private static final int ATTR_BORDER_COLORS = 15;
+  private static final int ATTR_BORDER_RADIUS = 16;
+  private static final int ATTR_BORDER_PATH_EFFECT = 17;
+  private static final int ATTR_TEST_KEY = 18;
+  private static final int ATTR_WORKING_RANGE_REGISTRATIONS = 19;
+  private static final int ATTR_COMPONENTS_NEEDING_PREVIOUS_RENDER_DATA = 20;
+  private static final int ATTR_UNRESOLVED_COMPONENTS = 21;
+
+  private static final int[] EMPTY_BORDER_COLORS = new int[Border.EDGE_COUNT];
+  private static final float[] EMPTY_BORDER_RADIUS = new float[Border.RADIUS_COUNT];
+
   private YogaNode mYogaNode;
+  private @Nullable YogaStyleInputsBuffer mStyleInputs;
   private ComponentContext mComponentContext;
 
   @ThreadConfined(ThreadConfined.ANY)
   private List<Component> mComponents = new ArrayList<>(1);
 
-  private final int[] mBorderColors = new int[Border.EDGE_COUNT];
-  private final float[] mBorderRadius = new float[Border.RADIUS_COUNT];
-
   private @Nullable DiffNode mDiffNode;
   private @Nullable NodeInfo mNodeInfo;
   private @Nullable NestedTreeProps mNestedTreeProps;
   private @Nullable Outputs mOutputs;
-  private @Nullable EventHandler<VisibleEvent> mVisibleHandler;
-  private @Nullable EventHandler<FocusedVisibleEvent> mFocusedHandler;
-  private @Nullable EventHandler<UnfocusedVisibleEvent> mUnfocusedHandler;
-  private @Nullable EventHandler<FullImpressionVisibleEvent> mFullImpressionHandler;
-  private @Nullable EventHandler<InvisibleEvent> mInvisibleHandler;
-  private @Nullable EventHandler<VisibilityChangedEvent> mVisibilityChangedHandler;
+  private @Nullable SparseNodeAttributes mAttributes;
   private @Nullable Drawable mBackground;
   private @Nullable Drawable mForeground;
-  private @Nullable PathEffect mBorderPathEffect;
-  private @Nullable StateListAnimator mStateListAnimator;
   private @Nullable boolean[] mIsPaddingPercent;
-  private @Nullable Edges mTouchExpansion;
-  private @Nullable String mTransitionKey;
-  private @Nullable String mTransitionOwnerKey;
-  private @Nullable Transition.TransitionKeyType mTransitionKeyType;
-  private @Nullable ArrayList<Transition> mTransitions;
-  private @Nullable ArrayList<Component> mComponentsNeedingPreviousRenderData;
-  private @Nullable ArrayList<WorkingRangeContainer.Registration> mWorkingRangeRegistrations;
-  private @Nullable String mTestKey;
   private @Nullable Set<DebugComponent> mDebugComponents;
-  private @Nullable List<Component> mUnresolvedComponents;
 
   private boolean mDuplicateParentState;
   private boolean mDuplicateChildrenStates;
@@ -166,10 +176,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   private boolean mCachedMeasuresValid;
 
   private int mImportantForAccessibility = ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_AUTO;
-  private @DrawableRes int mStateListAnimatorRes;
 
-  private float mVisibleHeightRatio;
-  private float mVisibleWidthRatio;
   private float mResolvedTouchExpansionLeft = YogaConstants.UNDEFINED;
   private float mResolvedTouchExpansionRight = YogaConstants.UNDEFINED;
   private float mResolvedX = YogaConstants.UNDEFINED;
@@ -209,6 +216,10 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
     }
     mYogaNode = yogaNode;
 
+    if (ComponentsConfiguration.batchYogaStyleInputs) {
+      mStyleInputs = new YogaStyleInputsBuffer();
+    }
+
     if (createDebugComponentsInCtor) {
       mDebugComponents = new HashSet<>();
     }
@@ -221,44 +232,63 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
 
   @Override
   public void addComponentNeedingPreviousRenderData(Component component) {
-    if (mComponentsNeedingPreviousRenderData == null) {
-      mComponentsNeedingPreviousRenderData = new ArrayList<>(1);
+    ArrayList<Component> components = getAttribute(ATTR_COMPONENTS_NEEDING_PREVIOUS_RENDER_DATA);
+    if (components == null) {
+      components = new ArrayList<>(1);
+      setAttribute(ATTR_COMPONENTS_NEEDING_PREVIOUS_RENDER_DATA, components);
     }
-    mComponentsNeedingPreviousRenderData.add(component);
+    components.add(component);
   }
 
   @Override
   public void addTransition(Transition transition) {
-    if (mTransitions == null) {
-      mTransitions = new ArrayList<>(1);
+    ArrayList<Transition> transitions = getAttribute(ATTR_TRANSITIONS);
+    if (transitions == null) {
+      transitions = new ArrayList<>(1);
+      setAttribute(ATTR_TRANSITIONS, transitions);
     }
-    mTransitions.add(transition);
+    transitions.add(transition);
   }
 
   @Override
   public void addWorkingRanges(List<WorkingRangeContainer.Registration> registrations) {
-    if (mWorkingRangeRegistrations == null) {
-      mWorkingRangeRegistrations = new ArrayList<>(registrations.size());
+    ArrayList<WorkingRangeContainer.Registration> workingRanges =
+        getAttribute(ATTR_WORKING_RANGE_REGISTRATIONS);
+    if (workingRanges == null) {
+      workingRanges = new ArrayList<>(registrations.size());
+      setAttribute(ATTR_WORKING_RANGE_REGISTRATIONS, workingRanges);
     }
-    mWorkingRangeRegistrations.addAll(registrations);
+    workingRanges.addAll(registrations);
   }
 
   @Override
   public InternalNode alignContent(YogaAlign alignContent) {
-    mYogaNode.setAlignContent(alignContent);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.ALIGN_CONTENT, alignContent.intValue());
+    } else {
+      mYogaNode.setAlignContent(alignContent);
+    }
     return this;
   }
 
   @Override
   public InternalNode alignItems(YogaAlign alignItems) {
-    mYogaNode.setAlignItems(alignItems);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.ALIGN_ITEMS, alignItems.intValue());
+    } else {
+      mYogaNode.setAlignItems(alignItems);
+    }
     return this;
   }
 
   @Override
   public void alignSelf(YogaAlign alignSelf) {
     mPrivateFlags |= PFLAG_ALIGN_SELF_IS_SET;
-    mYogaNode.setAlignSelf(alignSelf);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.ALIGN_SELF, alignSelf.intValue());
+    } else {
+      mYogaNode.setAlignSelf(alignSelf);
+    }
   }
 
   @Override
@@ -268,11 +298,13 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
 
   @Override
   public void appendUnresolvedComponent(Component component) {
-    if (mUnresolvedComponents == null) {
-      mUnresolvedComponents = new ArrayList<>();
+    List<Component> unresolvedComponents = getAttribute(ATTR_UNRESOLVED_COMPONENTS);
+    if (unresolvedComponents == null) {
+      unresolvedComponents = new ArrayList<>();
+      setAttribute(ATTR_UNRESOLVED_COMPONENTS, unresolvedComponents);
     }
 
-    mUnresolvedComponents.add(component);
+    unresolvedComponents.add(component);
   }
 
   @Override
@@ -283,7 +315,11 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   @Override
   public void aspectRatio(float aspectRatio) {
     mPrivateFlags |= PFLAG_ASPECT_RATIO_IS_SET;
-    mYogaNode.setAspectRatio(aspectRatio);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.ASPECT_RATIO, aspectRatio);
+    } else {
+      mYogaNode.setAspectRatio(aspectRatio);
+    }
   }
 
   @Override
@@ -314,9 +350,8 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
     for (int i = 0, length = border.mEdgeWidths.length; i < length; ++i) {
       setBorderWidth(Border.edgeFromIndex(i), border.mEdgeWidths[i]);
     }
-    System.arraycopy(border.mEdgeColors, 0, mBorderColors, 0, mBorderColors.length);
-    System.arraycopy(border.mRadius, 0, mBorderRadius, 0, mBorderRadius.length);
-    mBorderPathEffect = border.mPathEffect;
+    setBorderColorsAndRadius(border.mEdgeColors, border.mRadius);
+    setAttribute(ATTR_BORDER_PATH_EFFECT, border.mPathEffect);
     return this;
   }
 
@@ -324,23 +359,25 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   public void border(Edges width, int[] colors, float[] radii) {
     mPrivateFlags |= PFLAG_BORDER_IS_SET;
 
-    mYogaNode.setBorder(LEFT, width.getRaw(YogaEdge.LEFT));
-    mYogaNode.setBorder(TOP, width.getRaw(YogaEdge.TOP));
-    mYogaNode.setBorder(RIGHT, width.getRaw(YogaEdge.RIGHT));
-    mYogaNode.setBorder(BOTTOM, width.getRaw(YogaEdge.BOTTOM));
-    mYogaNode.setBorder(VERTICAL, width.getRaw(YogaEdge.VERTICAL));
-    mYogaNode.setBorder(HORIZONTAL, width.getRaw(YogaEdge.HORIZONTAL));
-    mYogaNode.setBorder(START, width.getRaw(YogaEdge.START));
-    mYogaNode.setBorder(END, width.getRaw(YogaEdge.END));
-    mYogaNode.setBorder(ALL, width.getRaw(YogaEdge.ALL));
+    setYogaBorder(LEFT, width.getRaw(YogaEdge.LEFT));
+    setYogaBorder(TOP, width.getRaw(YogaEdge.TOP));
+    setYogaBorder(RIGHT, width.getRaw(YogaEdge.RIGHT));
+    setYogaBorder(BOTTOM, width.getRaw(YogaEdge.BOTTOM));
+    setYogaBorder(VERTICAL, width.getRaw(YogaEdge.VERTICAL));
+    setYogaBorder(HORIZONTAL, width.getRaw(YogaEdge.HORIZONTAL));
+    setYogaBorder(START, width.getRaw(YogaEdge.START));
+    setYogaBorder(END, width.getRaw(YogaEdge.END));
+    setYogaBorder(ALL, width.getRaw(YogaEdge.ALL));
 
-    System.arraycopy(colors, 0, mBorderColors, 0, colors.length);
-    System.arraycopy(radii, 0, mBorderRadius, 0, radii.length);
+    setBorderColorsAndRadius(colors, radii);
   }
 
   @Override
   public void calculateLayout(float width, float height) {
     applyOverridesRecursive(this);
+    if (mStyleInputs != null) {
+      flushStyleInputsRecursive(this);
+    }
     mYogaNode.calculateLayout(width, height);
   }
 
@@ -392,50 +429,78 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   @Override
   public void flex(float flex) {
     mPrivateFlags |= PFLAG_FLEX_IS_SET;
-    mYogaNode.setFlex(flex);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.FLEX, flex);
+    } else {
+      mYogaNode.setFlex(flex);
+    }
   }
 
   // Used by stetho to re-set auto value
   @Override
   public InternalNode flexBasisAuto() {
-    mYogaNode.setFlexBasisAuto();
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.FLEX_BASIS_AUTO);
+    } else {
+      mYogaNode.setFlexBasisAuto();
+    }
     return this;
   }
 
   @Override
   public void flexBasisPercent(float percent) {
     mPrivateFlags |= PFLAG_FLEX_BASIS_IS_SET;
-    mYogaNode.setFlexBasisPercent(percent);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.FLEX_BASIS_PERCENT, percent);
+    } else {
+      mYogaNode.setFlexBasisPercent(percent);
+    }
   }
 
   @Override
   public void flexBasisPx(@Px int flexBasis) {
     mPrivateFlags |= PFLAG_FLEX_BASIS_IS_SET;
-    mYogaNode.setFlexBasis(flexBasis);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.FLEX_BASIS, flexBasis);
+    } else {
+      mYogaNode.setFlexBasis(flexBasis);
+    }
   }
 
   @Override
   public InternalNode flexDirection(YogaFlexDirection direction) {
-    mYogaNode.setFlexDirection(direction);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.FLEX_DIRECTION, direction.intValue());
+    } else {
+      mYogaNode.setFlexDirection(direction);
+    }
     return this;
   }
 
   @Override
   public void flexGrow(float flexGrow) {
     mPrivateFlags |= PFLAG_FLEX_GROW_IS_SET;
-    mYogaNode.setFlexGrow(flexGrow);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.FLEX_GROW, flexGrow);
+    } else {
+      mYogaNode.setFlexGrow(flexGrow);
+    }
   }
 
   @Override
   public void flexShrink(float flexShrink) {
     mPrivateFlags |= PFLAG_FLEX_SHRINK_IS_SET;
-    mYogaNode.setFlexShrink(flexShrink);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.FLEX_SHRINK, flexShrink);
+    } else {
+      mYogaNode.setFlexShrink(flexShrink);
+    }
   }
 
   @Override
   public InternalNode focusedHandler(@Nullable EventHandler<FocusedVisibleEvent> focusedHandler) {
     mPrivateFlags |= PFLAG_FOCUSED_HANDLER_IS_SET;
-    mFocusedHandler = addVisibilityHandler(mFocusedHandler, focusedHandler);
+    addVisibilityHandler(ATTR_FOCUSED_HANDLER, focusedHandler);
     return this;
   }
 
@@ -464,23 +529,25 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   public InternalNode fullImpressionHandler(
       @Nullable EventHandler<FullImpressionVisibleEvent> fullImpressionHandler) {
     mPrivateFlags |= PFLAG_FULL_IMPRESSION_HANDLER_IS_SET;
-    mFullImpressionHandler = addVisibilityHandler(mFullImpressionHandler, fullImpressionHandler);
+    addVisibilityHandler(ATTR_FULL_IMPRESSION_HANDLER, fullImpressionHandler);
     return this;
   }
 
   @Override
   public int[] getBorderColors() {
-    return mBorderColors;
+    final int[] borderColors = getAttribute(ATTR_BORDER_COLORS);
+    return borderColors != null ? borderColors : EMPTY_BORDER_COLORS;
   }
 
   @Override
   public @Nullable PathEffect getBorderPathEffect() {
-    return mBorderPathEffect;
+    return getAttribute(ATTR_BORDER_PATH_EFFECT);
   }
 
   @Override
   public float[] getBorderRadius() {
-    return mBorderRadius;
+    final float[] borderRadius = getAttribute(ATTR_BORDER_RADIUS);
+    return borderRadius != null ? borderRadius : EMPTY_BORDER_RADIUS;
   }
 
   @Override
@@ -558,12 +625,12 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
 
   @Override
   public @Nullable List<Component> getUnresolvedComponents() {
-    return mUnresolvedComponents;
+    return getAttribute(ATTR_UNRESOLVED_COMPONENTS);
   }
 
   @Override
   public @Nullable ArrayList<Component> getComponentsNeedingPreviousRenderData() {
-    return mComponentsNeedingPreviousRenderData;
+    return getAttribute(ATTR_COMPONENTS_NEEDING_PREVIOUS_RENDER_DATA);
   }
 
   @Override
@@ -587,7 +654,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
 
   @Override
   public @Nullable EventHandler<FocusedVisibleEvent> getFocusedHandler() {
-    return mFocusedHandler;
+    return getAttribute(ATTR_FOCUSED_HANDLER);
   }
 
   @Override
@@ -597,7 +664,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
 
   @Override
   public @Nullable EventHandler<FullImpressionVisibleEvent> getFullImpressionHandler() {
-    return mFullImpressionHandler;
+    return getAttribute(ATTR_FULL_IMPRESSION_HANDLER);
   }
 
   @Override
@@ -613,7 +680,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   @Nullable
   @Override
   public EventHandler<InvisibleEvent> getInvisibleHandler() {
-    return mInvisibleHandler;
+    return getAttribute(ATTR_INVISIBLE_HANDLER);
   }
 
   @Override
@@ -681,21 +748,25 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
 
   @Override
   public float getMaxHeight() {
+    flushStyleInputs();
     return mYogaNode.getMaxHeight().value;
   }
 
   @Override
   public float getMaxWidth() {
+    flushStyleInputs();
     return mYogaNode.getMaxWidth().value;
   }
 
   @Override
   public float getMinHeight() {
+    flushStyleInputs();
     return mYogaNode.getMinHeight().value;
   }
 
   @Override
   public float getMinWidth() {
+    flushStyleInputs();
     return mYogaNode.getMinWidth().value;
   }
 
@@ -774,26 +845,30 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
 
   @Override
   public @Nullable StateListAnimator getStateListAnimator() {
-    return mStateListAnimator;
+    return getAttribute(ATTR_STATE_LIST_ANIMATOR);
   }
 
   @Override
   public @DrawableRes int getStateListAnimatorRes() {
-    return mStateListAnimatorRes;
+    final Integer resId = getAttribute(ATTR_STATE_LIST_ANIMATOR_RES);
+    return resId != null ? resId : 0;
   }
 
   @Override
   public YogaDirection getStyleDirection() {
+    flushStyleInputs();
     return mYogaNode.getStyleDirection();
   }
 
   @Override
   public float getStyleHeight() {
+    flushStyleInputs();
     return mYogaNode.getHeight().value;
   }
 
   @Override
   public float getStyleWidth() {
+    flushStyleInputs();
     return mYogaNode.getWidth().value;
   }
 
@@ -802,12 +877,12 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
    */
   @Override
   public @Nullable String getTestKey() {
-    return mTestKey;
+    return getAttribute(ATTR_TEST_KEY);
   }
 
   @Override
   public @Nullable Edges getTouchExpansion() {
-    return mTouchExpansion;
+    return getAttribute(ATTR_TOUCH_EXPANSION);
   }
 
   @Override
@@ -816,7 +891,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
       return 0;
     }
 
-    return FastMath.round(mTouchExpansion.get(YogaEdge.BOTTOM));
+    return FastMath.round(getTouchExpansion().get(YogaEdge.BOTTOM));
   }
 
   @Override
@@ -826,7 +901,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
     }
 
     if (YogaConstants.isUndefined(mResolvedTouchExpansionLeft)) {
-      mResolvedTouchExpansionLeft = resolveHorizontalEdges(mTouchExpansion, YogaEdge.LEFT);
+      mResolvedTouchExpansionLeft = resolveHorizontalEdges(getTouchExpansion(), YogaEdge.LEFT);
     }
 
     return FastMath.round(mResolvedTouchExpansionLeft);
@@ -839,7 +914,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
     }
 
     if (YogaConstants.isUndefined(mResolvedTouchExpansionRight)) {
-      mResolvedTouchExpansionRight = resolveHorizontalEdges(mTouchExpansion, YogaEdge.RIGHT);
+      mResolvedTouchExpansionRight = resolveHorizontalEdges(getTouchExpansion(), YogaEdge.RIGHT);
     }
 
     return FastMath.round(mResolvedTouchExpansionRight);
@@ -851,67 +926,75 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
       return 0;
     }
 
-    return FastMath.round(mTouchExpansion.get(YogaEdge.TOP));
+    return FastMath.round(getTouchExpansion().get(YogaEdge.TOP));
   }
 
   @Override
   public @Nullable String getTransitionKey() {
-    return mTransitionKey;
+    return getAttribute(ATTR_TRANSITION_KEY);
   }
 
   @Override
   public @Nullable String getTransitionOwnerKey() {
-    return mTransitionOwnerKey;
+    return getAttribute(ATTR_TRANSITION_OWNER_KEY);
   }
 
   @Override
   public @Nullable Transition.TransitionKeyType getTransitionKeyType() {
-    return mTransitionKeyType;
+    return getAttribute(ATTR_TRANSITION_KEY_TYPE);
   }
 
   @Override
   public @Nullable ArrayList<Transition> getTransitions() {
-    return mTransitions;
+    return getAttribute(ATTR_TRANSITIONS);
   }
 
   @Override
   public @Nullable EventHandler<UnfocusedVisibleEvent> getUnfocusedHandler() {
-    return mUnfocusedHandler;
+    return getAttribute(ATTR_UNFOCUSED_HANDLER);
   }
 
   @Override
   public @Nullable EventHandler<VisibilityChangedEvent> getVisibilityChangedHandler() {
-    return mVisibilityChangedHandler;
+    return getAttribute(ATTR_VISIBILITY_CHANGED_HANDLER);
   }
 
   @Override
   public @Nullable EventHandler<VisibleEvent> getVisibleHandler() {
-    return mVisibleHandler;
+    return getAttribute(ATTR_VISIBLE_HANDLER);
   }
 
   @Override
   public float getVisibleHeightRatio() {
-    return mVisibleHeightRatio;
+    final Float ratio = getAttribute(ATTR_VISIBLE_HEIGHT_RATIO);
+    return ratio != null ? ratio : 0;
   }
 
   @Override
   public float getVisibleWidthRatio() {
-    return mVisibleWidthRatio;
+    final Float ratio = getAttribute(ATTR_VISIBLE_WIDTH_RATIO);
+    return ratio != null ? ratio : 0;
   }
 
   @Override
   public @Nullable ArrayList<WorkingRangeContainer.Registration> getWorkingRangeRegistrations() {
-    return mWorkingRangeRegistrations;
+    return getAttribute(ATTR_WORKING_RANGE_REGISTRATIONS);
   }
 
   @Override
   public YogaNode getYogaNode() {
+    flushStyleInputs();
     return mYogaNode;
   }
 
   @Override
   public boolean hasBorderColor() {
-    for (int color : mBorderColors) {
+    final int[] borderColors = getAttribute(ATTR_BORDER_COLORS);
+    if (borderColors == null) {
+      return false;
+    }
+
+    for (int color : borderColors) {
       if (color != Color.TRANSPARENT) {
         return true;
       }
@@ -942,36 +1025,45 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
 
   @Override
   public boolean hasTransitionKey() {
-    return !TextUtils.isEmpty(mTransitionKey);
+    return !TextUtils.isEmpty(getTransitionKey());
   }
 
   @Override
   public boolean hasVisibilityHandlers() {
-    return mVisibleHandler != null
-        || mFocusedHandler != null
-        || mUnfocusedHandler != null
-        || mFullImpressionHandler != null
-        || mInvisibleHandler != null
-        || mVisibilityChangedHandler != null;
+    return mAttributes != null
+        && (mAttributes.get(ATTR_VISIBLE_HANDLER) != null
+            || mAttributes.get(ATTR_FOCUSED_HANDLER) != null
+            || mAttributes.get(ATTR_UNFOCUSED_HANDLER) != null
+            || mAttributes.get(ATTR_FULL_IMPRESSION_HANDLER) != null
+            || mAttributes.get(ATTR_INVISIBLE_HANDLER) != null
+            || mAttributes.get(ATTR_VISIBILITY_CHANGED_HANDLER) != null);
   }
 
   // Used by stetho to re-set auto value
   @Override
   public InternalNode heightAuto() {
-    mYogaNode.setHeightAuto();
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.HEIGHT_AUTO);
+    } else {
+      mYogaNode.setHeightAuto();
+    }
     return this;
   }
 
   @Override
   public void heightPercent(float percent) {
     mPrivateFlags |= PFLAG_HEIGHT_IS_SET;
-    mYogaNode.setHeightPercent(percent);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.HEIGHT_PERCENT, percent);
+    } else {
+      mYogaNode.setHeightPercent(percent);
+    }
   }
 
   @Override
   public void heightPx(@Px int height) {
     mPrivateFlags |= PFLAG_HEIGHT_IS_SET;
-    mYogaNode.setHeight(height);
+    setYogaHeight(height);
   }
 
   @Override
@@ -984,7 +1076,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   @Override
   public InternalNode invisibleHandler(@Nullable EventHandler<InvisibleEvent> invisibleHandler) {
     mPrivateFlags |= PFLAG_INVISIBLE_HANDLER_IS_SET;
-    mInvisibleHandler = addVisibilityHandler(mInvisibleHandler, invisibleHandler);
+    addVisibilityHandler(ATTR_INVISIBLE_HANDLER, invisibleHandler);
     return this;
   }
 
@@ -1035,37 +1127,61 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
 
   @Override
   public void isReferenceBaseline(boolean isReferenceBaseline) {
-    mYogaNode.setIsReferenceBaseline(isReferenceBaseline);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.IS_REFERENCE_BASELINE, isReferenceBaseline ? 1 : 0);
+    } else {
+      mYogaNode.setIsReferenceBaseline(isReferenceBaseline);
+    }
   }
 
   @Override
   public InternalNode justifyContent(YogaJustify justifyContent) {
-    mYogaNode.setJustifyContent(justifyContent);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.JUSTIFY_CONTENT, justifyContent.intValue());
+    } else {
+      mYogaNode.setJustifyContent(justifyContent);
+    }
     return this;
   }
 
   @Override
   public void layoutDirection(YogaDirection direction) {
     mPrivateFlags |= PFLAG_LAYOUT_DIRECTION_IS_SET;
-    mYogaNode.setDirection(direction);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.LAYOUT_DIRECTION, direction.intValue());
+    } else {
+      mYogaNode.setDirection(direction);
+    }
   }
 
   @Override
   public void marginAuto(YogaEdge edge) {
     mPrivateFlags |= PFLAG_MARGIN_IS_SET;
-    mYogaNode.setMarginAuto(edge);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.MARGIN_AUTO, edge.intValue());
+    } else {
+      mYogaNode.setMarginAuto(edge);
+    }
   }
 
   @Override
   public void marginPercent(YogaEdge edge, float percent) {
     mPrivateFlags |= PFLAG_MARGIN_IS_SET;
-    mYogaNode.setMarginPercent(edge, percent);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.MARGIN_PERCENT, edge, percent);
+    } else {
+      mYogaNode.setMarginPercent(edge, percent);
+    }
   }
 
   @Override
   public void marginPx(YogaEdge edge, @Px int margin) {
     mPrivateFlags |= PFLAG_MARGIN_IS_SET;
-    mYogaNode.setMargin(edge, margin);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.MARGIN, edge, margin);
+    } else {
+      mYogaNode.setMargin(edge, margin);
+    }
   }
 
   /** Mark this node as a nested tree root holder. */
@@ -1083,49 +1199,73 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   @Override
   public void maxHeightPercent(float percent) {
     mPrivateFlags |= PFLAG_MAX_HEIGHT_IS_SET;
-    mYogaNode.setMaxHeightPercent(percent);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.MAX_HEIGHT_PERCENT, percent);
+    } else {
+      mYogaNode.setMaxHeightPercent(percent);
+    }
   }
 
   @Override
   public void maxHeightPx(@Px int maxHeight) {
     mPrivateFlags |= PFLAG_MAX_HEIGHT_IS_SET;
-    mYogaNode.setMaxHeight(maxHeight);
+    setYogaMaxHeight(maxHeight);
   }
 
   @Override
   public void maxWidthPercent(float percent) {
     mPrivateFlags |= PFLAG_MAX_WIDTH_IS_SET;
-    mYogaNode.setMaxWidthPercent(percent);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.MAX_WIDTH_PERCENT, percent);
+    } else {
+      mYogaNode.setMaxWidthPercent(percent);
+    }
   }
 
   @Override
   public void maxWidthPx(@Px int maxWidth) {
     mPrivateFlags |= PFLAG_MAX_WIDTH_IS_SET;
-    mYogaNode.setMaxWidth(maxWidth);
+    setYogaMaxWidth(maxWidth);
   }
 
   @Override
   public void minHeightPercent(float percent) {
     mPrivateFlags |= PFLAG_MIN_HEIGHT_IS_SET;
-    mYogaNode.setMinHeightPercent(percent);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.MIN_HEIGHT_PERCENT, percent);
+    } else {
+      mYogaNode.setMinHeightPercent(percent);
+    }
   }
 
   @Override
   public void minHeightPx(@Px int minHeight) {
     mPrivateFlags |= PFLAG_MIN_HEIGHT_IS_SET;
-    mYogaNode.setMinHeight(minHeight);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.MIN_HEIGHT, minHeight);
+    } else {
+      mYogaNode.setMinHeight(minHeight);
+    }
   }
 
   @Override
   public void minWidthPercent(float percent) {
     mPrivateFlags |= PFLAG_MIN_WIDTH_IS_SET;
-    mYogaNode.setMinWidthPercent(percent);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.MIN_WIDTH_PERCENT, percent);
+    } else {
+      mYogaNode.setMinWidthPercent(percent);
+    }
   }
 
   @Override
   public void minWidthPx(@Px int minWidth) {
     mPrivateFlags |= PFLAG_MIN_WIDTH_IS_SET;
-    mYogaNode.setMinWidth(minWidth);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.MIN_WIDTH, minWidth);
+    } else {
+      mYogaNode.setMinWidth(minWidth);
+    }
   }
 
   @Override
@@ -1135,7 +1275,11 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
       getNestedTreePadding().set(edge, percent);
       setIsPaddingPercent(edge, true);
     } else {
-      mYogaNode.setPaddingPercent(edge, percent);
+      if (mStyleInputs != null) {
+        mStyleInputs.add(YogaStyleInputs.PADDING_PERCENT, edge, percent);
+      } else {
+        mYogaNode.setPaddingPercent(edge, percent);
+      }
     }
   }
 
@@ -1146,26 +1290,42 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
       getNestedTreePadding().set(edge, padding);
       setIsPaddingPercent(edge, false);
     } else {
-      mYogaNode.setPadding(edge, padding);
+      if (mStyleInputs != null) {
+        mStyleInputs.add(YogaStyleInputs.PADDING, edge, padding);
+      } else {
+        mYogaNode.setPadding(edge, padding);
+      }
     }
   }
 
   @Override
   public void positionPercent(YogaEdge edge, float percent) {
     mPrivateFlags |= PFLAG_POSITION_IS_SET;
-    mYogaNode.setPositionPercent(edge, percent);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.POSITION_PERCENT, edge, percent);
+    } else {
+      mYogaNode.setPositionPercent(edge, percent);
+    }
   }
 
   @Override
   public void positionPx(YogaEdge edge, @Px int position) {
     mPrivateFlags |= PFLAG_POSITION_IS_SET;
-    mYogaNode.setPosition(edge, position);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.POSITION, edge, position);
+    } else {
+      mYogaNode.setPosition(edge, position);
+    }
   }
 
   @Override
   public void positionType(@Nullable YogaPositionType positionType) {
     mPrivateFlags |= PFLAG_POSITION_TYPE_IS_SET;
-    mYogaNode.setPositionType(positionType);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.POSITION_TYPE, positionType.intValue());
+    } else {
+      mYogaNode.setPositionType(positionType);
+    }
   }
 
   /** Continually walks the node hierarchy until a node returns a non inherited layout direction */
@@ -1212,7 +1372,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
 
       props.mNestedTreeBorderWidth.set(edge, borderWidth);
     } else {
-      mYogaNode.setBorder(edge, borderWidth);
+      setYogaBorder(edge, borderWidth);
     }
   }
 
@@ -1230,13 +1390,13 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   public void setStyleHeightFromSpec(int heightSpec) {
     switch (SizeSpec.getMode(heightSpec)) {
       case SizeSpec.UNSPECIFIED:
-        mYogaNode.setHeight(YogaConstants.UNDEFINED);
+        setYogaHeight(YogaConstants.UNDEFINED);
         break;
       case SizeSpec.AT_MOST:
-        mYogaNode.setMaxHeight(SizeSpec.getSize(heightSpec));
+        setYogaMaxHeight(SizeSpec.getSize(heightSpec));
         break;
       case SizeSpec.EXACTLY:
-        mYogaNode.setHeight(SizeSpec.getSize(heightSpec));
+        setYogaHeight(SizeSpec.getSize(heightSpec));
         break;
     }
   }
@@ -1245,13 +1405,13 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   public void setStyleWidthFromSpec(int widthSpec) {
     switch (SizeSpec.getMode(widthSpec)) {
       case SizeSpec.UNSPECIFIED:
-        mYogaNode.setWidth(YogaConstants.UNDEFINED);
+        setYogaWidth(YogaConstants.UNDEFINED);
         break;
       case SizeSpec.AT_MOST:
-        mYogaNode.setMaxWidth(SizeSpec.getSize(widthSpec));
+        setYogaMaxWidth(SizeSpec.getSize(widthSpec));
         break;
       case SizeSpec.EXACTLY:
-        mYogaNode.setWidth(SizeSpec.getSize(widthSpec));
+        setYogaWidth(SizeSpec.getSize(widthSpec));
         break;
     }
   }
@@ -1268,7 +1428,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   @Override
   public InternalNode stateListAnimator(@Nullable StateListAnimator stateListAnimator) {
     mPrivateFlags |= PFLAG_STATE_LIST_ANIMATOR_SET;
-    mStateListAnimator = stateListAnimator;
+    setAttribute(ATTR_STATE_LIST_ANIMATOR, stateListAnimator);
     wrapInView();
     return this;
   }
@@ -1276,25 +1436,27 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   @Override
   public InternalNode stateListAnimatorRes(@DrawableRes int resId) {
     mPrivateFlags |= PFLAG_STATE_LIST_ANIMATOR_RES_SET;
-    mStateListAnimatorRes = resId;
+    setAttribute(ATTR_STATE_LIST_ANIMATOR_RES, resId);
     wrapInView();
     return this;
   }
 
   @Override
   public InternalNode testKey(@Nullable String testKey) {
-    mTestKey = testKey;
+    setAttribute(ATTR_TEST_KEY, testKey);
     return this;
   }
 
   @Override
   public InternalNode touchExpansionPx(YogaEdge edge, @Px int touchExpansion) {
-    if (mTouchExpansion == null) {
-      mTouchExpansion = new Edges();
+    Edges touchExpansionEdges = getTouchExpansion();
+    if (touchExpansionEdges == null) {
+      touchExpansionEdges = new Edges();
+      setAttribute(ATTR_TOUCH_EXPANSION, touchExpansionEdges);
     }
 
     mPrivateFlags |= PFLAG_TOUCH_EXPANSION_IS_SET;
-    mTouchExpansion.set(edge, touchExpansion);
+    touchExpansionEdges.set(edge, touchExpansion);
 
     return this;
   }
@@ -1303,8 +1465,8 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   public InternalNode transitionKey(@Nullable String key, @Nullable String ownerKey) {
     if (SDK_INT >= ICE_CREAM_SANDWICH && !TextUtils.isEmpty(key)) {
       mPrivateFlags |= PFLAG_TRANSITION_KEY_IS_SET;
-      mTransitionKey = key;
-      mTransitionOwnerKey = ownerKey;
+      setAttribute(ATTR_TRANSITION_KEY, key);
+      setAttribute(ATTR_TRANSITION_OWNER_KEY, ownerKey);
     }
 
     return this;
@@ -1313,7 +1475,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   @Override
   public InternalNode transitionKeyType(@Nullable Transition.TransitionKeyType type) {
     mPrivateFlags |= PFLAG_TRANSITION_KEY_TYPE_IS_SET;
-    mTransitionKeyType = type;
+    setAttribute(ATTR_TRANSITION_KEY_TYPE, type);
     return this;
   }
 
@@ -1321,7 +1483,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   public InternalNode unfocusedHandler(
       @Nullable EventHandler<UnfocusedVisibleEvent> unfocusedHandler) {
     mPrivateFlags |= PFLAG_UNFOCUSED_HANDLER_IS_SET;
-    mUnfocusedHandler = addVisibilityHandler(mUnfocusedHandler, unfocusedHandler);
+    addVisibilityHandler(ATTR_UNFOCUSED_HANDLER, unfocusedHandler);
     return this;
   }
 
@@ -1342,51 +1504,62 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   public InternalNode visibilityChangedHandler(
       @Nullable EventHandler<VisibilityChangedEvent> visibilityChangedHandler) {
     mPrivateFlags |= PFLAG_VISIBLE_RECT_CHANGED_HANDLER_IS_SET;
-    mVisibilityChangedHandler =
-        addVisibilityHandler(mVisibilityChangedHandler, visibilityChangedHandler);
+    addVisibilityHandler(ATTR_VISIBILITY_CHANGED_HANDLER, visibilityChangedHandler);
     return this;
   }
 
   @Override
   public InternalNode visibleHandler(@Nullable EventHandler<VisibleEvent> visibleHandler) {
     mPrivateFlags |= PFLAG_VISIBLE_HANDLER_IS_SET;
-    mVisibleHandler = addVisibilityHandler(mVisibleHandler, visibleHandler);
+    addVisibilityHandler(ATTR_VISIBLE_HANDLER, visibleHandler);
     return this;
   }
 
   @Override
   public InternalNode visibleHeightRatio(float visibleHeightRatio) {
-    mVisibleHeightRatio = visibleHeightRatio;
+    setAttribute(ATTR_VISIBLE_HEIGHT_RATIO, visibleHeightRatio);
     return this;
   }
 
   @Override
   public InternalNode visibleWidthRatio(float visibleWidthRatio) {
-    mVisibleWidthRatio = visibleWidthRatio;
+    setAttribute(ATTR_VISIBLE_WIDTH_RATIO, visibleWidthRatio);
     return this;
   }
 
   @Override
   public InternalNode widthAuto() {
-    mYogaNode.setWidthAuto();
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.WIDTH_AUTO);
+    } else {
+      mYogaNode.setWidthAuto();
+    }
     return this;
   }
 
   @Override
   public void widthPercent(float percent) {
     mPrivateFlags |= PFLAG_WIDTH_IS_SET;
-    mYogaNode.setWidthPercent(percent);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.WIDTH_PERCENT, percent);
+    } else {
+      mYogaNode.setWidthPercent(percent);
+    }
   }
 
   @Override
   public void widthPx(@Px int width) {
     mPrivateFlags |= PFLAG_WIDTH_IS_SET;
-    mYogaNode.setWidth(width);
+    setYogaWidth(width);
   }
 
   @Override
   public InternalNode wrap(YogaWrap wrap) {
-    mYogaNode.setWrap(wrap);
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.FLEX_WRAP, wrap.intValue());
+    } else {
+      mYogaNode.setWrap(wrap);
+    }
     return this;
   }
 
@@ -1510,25 +1683,26 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
       target.wrapInView();
     }
     if ((mPrivateFlags & PFLAG_VISIBLE_HANDLER_IS_SET) != 0L) {
-      target.visibleHandler(mVisibleHandler);
+      target.visibleHandler(getAttribute(ATTR_VISIBLE_HANDLER));
     }
     if ((mPrivateFlags & PFLAG_FOCUSED_HANDLER_IS_SET) != 0L) {
-      target.focusedHandler(mFocusedHandler);
+      target.focusedHandler(getAttribute(ATTR_FOCUSED_HANDLER));
     }
     if ((mPrivateFlags & PFLAG_FULL_IMPRESSION_HANDLER_IS_SET) != 0L) {
-      target.fullImpressionHandler(mFullImpressionHandler);
+      target.fullImpressionHandler(getAttribute(ATTR_FULL_IMPRESSION_HANDLER));
     }
     if ((mPrivateFlags & PFLAG_INVISIBLE_HANDLER_IS_SET) != 0L) {
-      target.invisibleHandler(mInvisibleHandler);
+      target.invisibleHandler(getAttribute(ATTR_INVISIBLE_HANDLER));
     }
     if ((mPrivateFlags & PFLAG_UNFOCUSED_HANDLER_IS_SET) != 0L) {
-      target.unfocusedHandler(mUnfocusedHandler);
+      target.unfocusedHandler(getAttribute(ATTR_UNFOCUSED_HANDLER));
     }
     if ((mPrivateFlags & PFLAG_VISIBLE_RECT_CHANGED_HANDLER_IS_SET) != 0L) {
-      target.visibilityChangedHandler(mVisibilityChangedHandler);
+      target.visibilityChangedHandler(getAttribute(ATTR_VISIBILITY_CHANGED_HANDLER));
     }
-    if (mTestKey != null) {
-      target.testKey(mTestKey);
+    final String testKey = getTestKey();
+    if (testKey != null) {
+      target.testKey(testKey);
     }
     if ((mPrivateFlags & PFLAG_PADDING_IS_SET) != 0L) {
       if (mNestedTreeProps == null || mNestedTreeProps.mNestedTreePadding == null) {
@@ -1553,25 +1727,28 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
             "copyInto() must be used when resolving a nestedTree.If border width was set on the holder node, we must have a mNestedTreeBorderWidth instance");
       }
 
-      target.border(mNestedTreeProps.mNestedTreeBorderWidth, mBorderColors, mBorderRadius);
+      target.border(
+          mNestedTreeProps.mNestedTreeBorderWidth, getBorderColors(), getBorderRadius());
     }
     if ((mPrivateFlags & PFLAG_TRANSITION_KEY_IS_SET) != 0L) {
-      target.transitionKey(mTransitionKey, mTransitionOwnerKey);
+      target.transitionKey(getTransitionKey(), getTransitionOwnerKey());
     }
     if ((mPrivateFlags & PFLAG_TRANSITION_KEY_TYPE_IS_SET) != 0L) {
-      target.transitionKeyType(mTransitionKeyType);
+      target.transitionKeyType(getTransitionKeyType());
     }
-    if (mVisibleHeightRatio != 0) {
-      target.visibleHeightRatio(mVisibleHeightRatio);
+    final float visibleHeightRatio = getVisibleHeightRatio();
+    if (visibleHeightRatio != 0) {
+      target.visibleHeightRatio(visibleHeightRatio);
     }
-    if (mVisibleWidthRatio != 0) {
-      target.visibleWidthRatio(mVisibleWidthRatio);
+    final float visibleWidthRatio = getVisibleWidthRatio();
+    if (visibleWidthRatio != 0) {
+      target.visibleWidthRatio(visibleWidthRatio);
     }
     if ((mPrivateFlags & PFLAG_STATE_LIST_ANIMATOR_SET) != 0L) {
-      target.stateListAnimator(mStateListAnimator);
+      target.stateListAnimator(getStateListAnimator());
     }
     if ((mPrivateFlags & PFLAG_STATE_LIST_ANIMATOR_RES_SET) != 0L) {
-      target.stateListAnimatorRes(mStateListAnimatorRes);
+      target.stateListAnimatorRes(getStateListAnimatorRes());
     }
   }
 
@@ -1719,6 +1896,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
     final DefaultInternalNode copy = clone();
 
     // 3. Clone the YogaNode of this layout and set it on the cloned layout.
+    flushStyleInputs();
     YogaNode node = mYogaNode.cloneWithoutChildren();
     copy.mYogaNode = node;
     node.setData(copy);
@@ -1765,6 +1943,8 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
     }
 
     node.mLayoutParams = mLayoutParams != null ? mLayoutParams.makeCopy() : null;
+    node.mStyleInputs = mStyleInputs != null ? new YogaStyleInputsBuffer() : null;
+    node.mAttributes = mAttributes != null ? mAttributes.copy() : null;
 
     return node;
   }
@@ -1773,6 +1953,95 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
     return mIsPaddingPercent != null && mIsPaddingPercent[edge.intValue()];
   }
 
+  @SuppressWarnings("unchecked")
+  private @Nullable <T> T getAttribute(int key) {
+    return mAttributes != null ? (T) mAttributes.get(key) : null;
+  }
+
+  private void setAttribute(int key, @Nullable Object value) {
+    if (mAttributes == null) {
+      if (value == null) {
+        return;
+      }
+      mAttributes = new SparseNodeAttributes();
+    }
+    mAttributes.put(key, value);
+  }
+
+  private <T> void addVisibilityHandler(int key, @Nullable EventHandler<T> handler) {
+    setAttribute(key, addVisibilityHandler(this.<EventHandler<T>>getAttribute(key), handler));
+  }
+
+  private void setBorderColorsAndRadius(int[] colors, float[] radii) {
+    int[] borderColors = getAttribute(ATTR_BORDER_COLORS);
+    float[] borderRadius = getAttribute(ATTR_BORDER_RADIUS);
+    if (borderColors == null) {
+      borderColors = new int[Border.EDGE_COUNT];
+      borderRadius = new float[Border.RADIUS_COUNT];
+      setAttribute(ATTR_BORDER_COLORS, borderColors);
+      setAttribute(ATTR_BORDER_RADIUS, borderRadius);
+    }
+    System.arraycopy(colors, 0, borderColors, 0, colors.length);
+    System.arraycopy(radii, 0, borderRadius, 0, radii.length);
+  }
+
+  /** Applies the style inputs buffered since the last flush to the YogaNode. */
+  private void flushStyleInputs() {
+    if (mStyleInputs != null) {
+      mStyleInputs.flushTo(mYogaNode);
+    }
+  }
+
+  private static void flushStyleInputsRecursive(InternalNode node) {
+    if (node instanceof DefaultInternalNode) {
+      ((DefaultInternalNode) node).flushStyleInputs();
+    }
+
+    for (int i = 0, count = node.getChildCount(); i < count; i++) {
+      flushStyleInputsRecursive(node.getChildAt(i));
+    }
+  }
+
+  private void setYogaBorder(YogaEdge edge, float width) {
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.BORDER, edge, width);
+    } else {
+      mYogaNode.setBorder(edge, width);
+    }
+  }
+
+  private void setYogaHeight(float height) {
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.HEIGHT, height);
+    } else {
+      mYogaNode.setHeight(height);
+    }
+  }
+
+  private void setYogaMaxHeight(float maxHeight) {
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.MAX_HEIGHT, maxHeight);
+    } else {
+      mYogaNode.setMaxHeight(maxHeight);
+    }
+  }
+
+  private void setYogaWidth(float width) {
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.WIDTH, width);
+    } else {
+      mYogaNode.setWidth(width);
+    }
+  }
+
+  private void setYogaMaxWidth(float maxWidth) {
+    if (mStyleInputs != null) {
+      mStyleInputs.add(YogaStyleInputs.MAX_WIDTH, maxWidth);
+    } else {
+      mYogaNode.setMaxWidth(maxWidth);
+    }
+  }
+
   private void applyOverridesRecursive(@Nullable InternalNode node) {
     if (ComponentsConfiguration.isDebugModeEnabled && node != null) {
       DebugComponent.applyOverrides(mComponentContext, node);
@@ -1843,7 +2112,7 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
   }
 
   private boolean shouldApplyTouchExpansion() {
-    return mTouchExpansion != null && mNodeInfo != null && mNodeInfo.hasTouchEventHandlers();
+    return getTouchExpansion() != null && mNodeInfo != null && mNodeInfo.hasTouchEventHandlers();
   }
 
   /**
@@ -1874,22 +2143,24 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
 
     // 2. Update props.
 
-    mComponentsNeedingPreviousRenderData = null;
+    setAttribute(ATTR_COMPONENTS_NEEDING_PREVIOUS_RENDER_DATA, null);
     for (Component component : components) {
       if (component.needsPreviousRenderData()) {
         addComponentNeedingPreviousRenderData(component);
       }
     }
 
-    ArrayList<WorkingRangeContainer.Registration> ranges = mWorkingRangeRegistrations;
-    mWorkingRangeRegistrations = null;
+    ArrayList<WorkingRangeContainer.Registration> ranges = getWorkingRangeRegistrations();
+    setAttribute(ATTR_WORKING_RANGE_REGISTRATIONS, null);
     if (ranges != null && !ranges.isEmpty()) {
-      mWorkingRangeRegistrations = new ArrayList<>(ranges.size());
+      final ArrayList<WorkingRangeContainer.Registration> updatedRanges =
+          new ArrayList<>(ranges.size());
       for (WorkingRangeContainer.Registration old : ranges) {
         final Component component = old.mComponent.makeUpdatedShallowCopy(c);
-        mWorkingRangeRegistrations.add(
+        updatedRanges.add(
             new WorkingRangeContainer.Registration(old.mName, old.mWorkingRange, component));
       }
+      setAttribute(ATTR_WORKING_RANGE_REGISTRATIONS, updatedRanges);
     }
   }
 
@@ -2222,6 +2493,12 @@ public class DefaultInternalNode implements InternalNode, Cloneable {
     }
 
     // 2.0 Check if any descendants have mutations
+    if (root.hasGlobalKeyHash()) {
+      // Hashed global keys don't encode the ancestry of a component, so any of the mutated
+      // components could be a descendant.
+      return keys.isEmpty() ? ReconciliationMode.COPY : ReconciliationMode.RECONCILE;
+    }
+
     for (String key : keys) {
       if (key.startsWith(root.getGlobalKey())) {
         return ReconciliationMode.RECONCILE;
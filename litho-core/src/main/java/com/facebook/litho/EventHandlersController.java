@@ -17,6 +17,7 @@
 package com.facebook.litho;
 
 import androidx.annotation.VisibleForTesting;
+import androidx.collection.LongSparseArray;
 import androidx.collection.SparseArrayCompat;
 import com.facebook.infer.annotation.ThreadSafe;
 import java.util.HashMap;
@@ -29,6 +30,10 @@ public class EventHandlersController {
 
   private final Map<String, EventHandlersWrapper> mEventHandlers = new HashMap<>();
 
+  /** Event handlers of dispatchers with hashed global keys. */
+  private final LongSparseArray<EventHandlersWrapper> mHashedEventHandlers =
+      new LongSparseArray<>();
+
   /**
    * Update all the known event handlers for a dispatcher with the given key with the new dispacher
    * instance.
@@ -50,6 +55,20 @@ public class EventHandlersController {
     eventHandlers.bindToDispatcher(c, dispatcher);
   }
 
+  /** Same as {@link #bindEventHandlers(ComponentContext, HasEventDispatcher, String)}. */
+  public synchronized void bindEventHandlers(
+      ComponentContext c, HasEventDispatcher dispatcher, long globalKeyHash) {
+    final EventHandlersWrapper eventHandlers = mHashedEventHandlers.get(globalKeyHash);
+
+    if (eventHandlers == null) {
+      return;
+    }
+
+    // Mark that the list of event handlers for this component is still needed.
+    eventHandlers.mUsedInCurrentTree = true;
+    eventHandlers.bindToDispatcher(c, dispatcher);
+  }
+
   /** Remove entries for dispatchers that are no longer present in the tree. */
   public synchronized void clearUnusedEventHandlers() {
     final Iterator iterator = mEventHandlers.keySet().iterator();
@@ -62,6 +81,16 @@ public class EventHandlersController {
         eventHandlersWrapper.mUsedInCurrentTree = false;
       }
     }
+
+    for (int i = mHashedEventHandlers.size() - 1; i >= 0; i--) {
+      final EventHandlersWrapper eventHandlersWrapper = mHashedEventHandlers.valueAt(i);
+
+      if (eventHandlersWrapper == null || !eventHandlersWrapper.mUsedInCurrentTree) {
+        mHashedEventHandlers.removeAt(i);
+      } else {
+        eventHandlersWrapper.mUsedInCurrentTree = false;
+      }
+    }
   }
 
   /** Map the given event handler to a dispatcher with the given global key. */
@@ -80,11 +109,28 @@ public class EventHandlersController {
     eventHandlers.addEventHandler(eventHandler);
   }
 
+  /** Same as {@link #recordEventHandler(String, EventHandler)} for a hashed global key. */
+  public synchronized void recordEventHandler(long globalKeyHash, EventHandler eventHandler) {
+    EventHandlersWrapper eventHandlers = mHashedEventHandlers.get(globalKeyHash);
+
+    if (eventHandlers == null) {
+      eventHandlers = new EventHandlersWrapper();
+      mHashedEventHandlers.put(globalKeyHash, eventHandlers);
+    }
+
+    eventHandlers.addEventHandler(eventHandler);
+  }
+
   @VisibleForTesting
   public synchronized Map<String, EventHandlersWrapper> getEventHandlers() {
     return mEventHandlers;
   }
 
+  @VisibleForTesting
+  public synchronized LongSparseArray<EventHandlersWrapper> getHashedEventHandlers() {
+    return mHashedEventHandlers;
+  }
+
   /** Used to hold a dispatcher's event handlers. */
   @VisibleForTesting
   public static class EventHandlersWrapper {
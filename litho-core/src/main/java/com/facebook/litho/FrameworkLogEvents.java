@@ -47,6 +47,7 @@ public interface FrameworkLogEvents {
   int EVENT_RESUME_CALCULATE_LAYOUT_STATE = 19;
   int EVENT_INIT_RANGE = 20;
   int EVENT_LAYOUT_STATE_FUTURE_GET_WAIT = 21;
+  int EVENT_MOUNT_DEFERRED_OUTPUTS = 22;
 
   @IntDef({
     FrameworkLogEvents.EVENT_MOUNT,
@@ -61,6 +62,7 @@ public interface FrameworkLogEvents {
     FrameworkLogEvents.EVENT_RESUME_CALCULATE_LAYOUT_STATE,
     FrameworkLogEvents.EVENT_INIT_RANGE,
     FrameworkLogEvents.EVENT_LAYOUT_STATE_FUTURE_GET_WAIT,
+    FrameworkLogEvents.EVENT_MOUNT_DEFERRED_OUTPUTS,
   })
   @Retention(RetentionPolicy.SOURCE)
   @interface LogEventId {}
@@ -88,6 +90,7 @@ public interface FrameworkLogEvents {
   String PARAM_CURRENT_ROOT_COUNT = "current_root_count";
   String PARAM_ATTRIBUTION = "attribution";
   String PARAM_NO_OP_COUNT = "no_op_count";
+  String PARAM_DEFERRED_COUNT = "deferred_count";
   String PARAM_IS_DIRTY = "is_dirty";
   String PARAM_VISIBILITY_HANDLERS_TOTAL_TIME = "visibility_handlers_total_time_ms";
   String PARAM_VISIBILITY_HANDLER = "visibility_handler";
@@ -96,6 +99,7 @@ public interface FrameworkLogEvents {
   String PARAM_SECTION_NEXT = "section_next";
   String PARAM_SECTION_SET_ROOT_SOURCE = "section_set_root_source";
   String PARAM_SET_ROOT_ON_BG_THREAD = "sections_set_root_bg_thread";
+  String PARAM_CHANGESET_QUEUEING_DELAY_MS = "changeset_queueing_delay_ms";
   String PARAM_LAYOUT_STATE_SOURCE = "calculate_layout_state_source";
   String PARAM_ROOT_COMPONENT = "root_component";
   String PARAM_LAYOUT_FUTURE_WAIT_FOR_RESULT = "wait_for_result";
@@ -109,4 +113,9 @@ public interface FrameworkLogEvents {
   String PARAM_CHANGESET_UPDATE_SINGLE_COUNT = "changeset_update_single_count";
   String PARAM_CHANGESET_UPDATE_RANGE_COUNT = "changeset_update_range_count";
   String PARAM_CHANGESET_MOVE_COUNT = "changeset_move_count";
+
+  String PARAM_DATA_DIFF_STRATEGY = "data_diff_strategy";
+  String PARAM_DATA_DIFF_DURATION_MS = "data_diff_duration_ms";
+  String PARAM_DATA_DIFF_PREVIOUS_COUNT = "data_diff_previous_count";
+  String PARAM_DATA_DIFF_NEXT_COUNT = "data_diff_next_count";
 }
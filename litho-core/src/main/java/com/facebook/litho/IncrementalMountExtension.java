@@ -25,11 +25,13 @@ import android.view.View;
 import android.view.ViewGroup;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.stats.LithoStats;
 import com.facebook.rendercore.MountDelegate;
 import com.facebook.rendercore.MountDelegate.MountDelegateInput;
 import com.facebook.rendercore.MountDelegateExtension;
 import com.facebook.rendercore.RenderTreeNode;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -44,6 +46,9 @@ public class IncrementalMountExtension extends MountDelegateExtension
   private final Rect mPreviousLocalVisibleRect = new Rect();
   private final Set<Long> mComponentIdsMountedInThisFrame = new HashSet<>();
   private IncrementalMountExtensionInput mInput;
+  private @Nullable MountableOutputIndex mMountableOutputIndex;
+  private int[] mVisibleOutputPositions = new int[0];
+  private int[] mPreviousVisibleOutputPositions = new int[0];
 
   public interface IncrementalMountExtensionInput extends MountDelegateInput {
     int getMountableOutputCount();
@@ -62,6 +67,7 @@ public class IncrementalMountExtension extends MountDelegateExtension
   @Override
   public void beforeMount(IncrementalMountExtensionInput input, Rect localVisibleRect) {
     mInput = input;
+    mMountableOutputIndex = null;
     mPreviousLocalVisibleRect.setEmpty();
     resetAcquiredReferences();
 
@@ -88,10 +94,17 @@ public class IncrementalMountExtension extends MountDelegateExtension
   public void onVisibleBoundsChanged(Rect localVisibleRect) {
     assertMainThread();
 
-    // Horizontally scrolling or no visible rect. Can't incrementally mount.
-    if (localVisibleRect.isEmpty()
-        || localVisibleRect.left != mPreviousLocalVisibleRect.left
-        || localVisibleRect.right != mPreviousLocalVisibleRect.right) {
+    final boolean isHorizontalChange =
+        localVisibleRect.left != mPreviousLocalVisibleRect.left
+            || localVisibleRect.right != mPreviousLocalVisibleRect.right;
+
+    if (isHorizontalChange
+        && ComponentsConfiguration.useSpatialIndexForIncrementalMount
+        && !localVisibleRect.isEmpty()
+        && !mPreviousLocalVisibleRect.isEmpty()) {
+      performSpatialIncrementalMount(localVisibleRect);
+    } else if (localVisibleRect.isEmpty() || isHorizontalChange) {
+      // Horizontally scrolling or no visible rect. Can't incrementally mount.
       initIncrementalMount(localVisibleRect, true);
     } else {
       performIncrementalMount(localVisibleRect);
@@ -229,6 +242,60 @@ public class IncrementalMountExtension extends MountDelegateExtension
       }
     }
 
+    mountChildLithoViewsIncrementally();
+
+    return true;
+  }
+
+  /**
+   * Acquires and releases the mount references of the outputs entering and leaving the visible
+   * rect using a 2-D index of the outputs, which works whatever the direction of the scroll.
+   */
+  private void performSpatialIncrementalMount(Rect localVisibleRect) {
+    if (mMountableOutputIndex == null) {
+      mMountableOutputIndex =
+          MountableOutputIndex.create(mInput, mInput.getMountableOutputCount());
+    }
+
+    final MountableOutputIndex index = mMountableOutputIndex;
+    if (mVisibleOutputPositions.length < index.getCount()) {
+      mVisibleOutputPositions = new int[index.getCount()];
+      mPreviousVisibleOutputPositions = new int[index.getCount()];
+    }
+
+    final int previousCount =
+        index.query(mPreviousLocalVisibleRect, mPreviousVisibleOutputPositions);
+    final int count = index.query(localVisibleRect, mVisibleOutputPositions);
+
+    // Release children before their hosts, so that hosts left without children are released too.
+    for (int i = previousCount - 1; i >= 0; i--) {
+      final int position = mPreviousVisibleOutputPositions[i];
+      if (Arrays.binarySearch(mVisibleOutputPositions, 0, count, position) >= 0) {
+        continue;
+      }
+
+      final RenderTreeNode node = mInput.getMountableOutputAt(position);
+      if (ownsReference(node)
+          && !isMountedHostWithChildContent(getContentAt(position))
+          && !isRootItem(position)) {
+        releaseMountReference(node, position, true);
+      }
+    }
+
+    for (int i = 0; i < count; i++) {
+      final int position = mVisibleOutputPositions[i];
+      final RenderTreeNode node = mInput.getMountableOutputAt(position);
+      if (!ownsReference(node)) {
+        acquireMountReference(node, position, mInput, true);
+        mComponentIdsMountedInThisFrame.add(getLayoutOutput(node).getId());
+      }
+    }
+
+    setupPreviousMountableOutputData(localVisibleRect);
+    mountChildLithoViewsIncrementally();
+  }
+
+  private void mountChildLithoViewsIncrementally() {
     for (int i = 0, size = mInput.getMountableOutputCount(); i < size; i++) {
       final RenderTreeNode node = mInput.getMountableOutputAt(i);
       final LayoutOutput layoutOutput = getLayoutOutput(node);
@@ -246,8 +313,6 @@ public class IncrementalMountExtension extends MountDelegateExtension
     }
 
     mComponentIdsMountedInThisFrame.clear();
-
-    return true;
   }
 
   private void setupPreviousMountableOutputData(Rect localVisibleRect) {
@@ -255,25 +320,12 @@ public class IncrementalMountExtension extends MountDelegateExtension
       return;
     }
 
-    final List<RenderTreeNode> layoutOutputTops = mInput.getMountableOutputTops();
-    final List<RenderTreeNode> layoutOutputBottoms = mInput.getMountableOutputBottoms();
-    final int mountableOutputCount = mInput.getMountableOutputCount();
-
-    mPreviousTopsIndex = mInput.getMountableOutputCount();
-    for (int i = 0; i < mountableOutputCount; i++) {
-      if (localVisibleRect.bottom <= layoutOutputTops.get(i).getBounds().top) {
-        mPreviousTopsIndex = i;
-        break;
-      }
-    }
-
-    mPreviousBottomsIndex = mInput.getMountableOutputCount();
-    for (int i = 0; i < mountableOutputCount; i++) {
-      if (localVisibleRect.top < layoutOutputBottoms.get(i).getBounds().bottom) {
-        mPreviousBottomsIndex = i;
-        break;
-      }
-    }
+    mPreviousTopsIndex =
+        MountableOutputIndex.findFirstTopAtOrBelow(
+            mInput.getMountableOutputTops(), localVisibleRect.bottom);
+    mPreviousBottomsIndex =
+        MountableOutputIndex.findFirstBottomBelow(
+            mInput.getMountableOutputBottoms(), localVisibleRect.top);
   }
 
   private static boolean isMountedHostWithChildContent(@Nullable Object content) {
@@ -75,6 +75,11 @@ class Layout {
     if (current == null) {
       layout = create(c, component, true);
 
+      // Don't measure the partially created tree of a canceled layout.
+      if (c.wasLayoutCanceled()) {
+        return NULL_LAYOUT;
+      }
+
       // This needs to finish layout on the UI thread.
       if (c.wasLayoutInterrupted()) {
         if (layoutStatePerfEvent != null) {
@@ -90,6 +95,10 @@ class Layout {
     } else {
       Component updated = update(c, component, true);
       layout = current.reconcile(c, updated);
+
+      if (c.wasLayoutCanceled()) {
+        return NULL_LAYOUT;
+      }
     }
 
     if (layoutStatePerfEvent != null) {
@@ -121,9 +130,22 @@ class Layout {
 
   static InternalNode create(
       final ComponentContext parent,
-      Component component,
+      final Component component,
       final boolean resolveNestedTree,
       final boolean reuseGlobalKey) {
+    return create(parent, component, resolveNestedTree, reuseGlobalKey, false);
+  }
+
+  /**
+   * @param isUpdated whether the component was already updated with {@link #update} against the
+   *     parent, in which case its layout created in {@code willRender} was already consumed too.
+   */
+  static InternalNode create(
+      final ComponentContext parent,
+      Component component,
+      final boolean resolveNestedTree,
+      final boolean reuseGlobalKey,
+      final boolean isUpdated) {
 
     final boolean isTracing = ComponentsSystrace.isTracing();
     if (isTracing) {
@@ -135,16 +157,24 @@ class Layout {
 
     try {
 
-      // 1. Consume the layout created in `willrender`.
-      final InternalNode cached = component.consumeLayoutCreatedInWillRender();
-
-      // 2. Return immediately if cached layout is available.
-      if (cached != null) {
-        return cached;
+      // 0. Stop creating the tree if the layout was canceled.
+      if (parent.wasLayoutCanceled()) {
+        return NULL_LAYOUT;
       }
 
-      // 4. Update the component.
-      component = update(parent, component, reuseGlobalKey);
+      if (!isUpdated) {
+
+        // 1. Consume the layout created in `willrender`.
+        final InternalNode cached = component.consumeLayoutCreatedInWillRender();
+
+        // 2. Return immediately if cached layout is available.
+        if (cached != null) {
+          return cached;
+        }
+
+        // 4. Update the component.
+        component = update(parent, component, reuseGlobalKey);
+      }
 
       // 5. Get the scoped context of the updated component.
       c = component.getScopedContext();
@@ -180,8 +210,10 @@ class Layout {
         // Calls the onCreateLayout or onCreateLayoutWithSizeSpec on the Spec.
         final Component root = onCreateLayout(c, component);
 
-        // TODO: (T57741374) this step is required because of a bug in redex.
-        if (root == component) {
+        if (c.wasLayoutCanceled()) {
+          node = NULL_LAYOUT;
+        } else if (root == component) {
+          // TODO: (T57741374) this step is required because of a bug in redex.
           node = (InternalNode) root.resolve(c);
         } else if (root != null) {
           node = create(c, root, false);
@@ -369,7 +401,7 @@ class Layout {
     final Component component = original.getThreadSafeInstance();
 
     if (reuseGlobalKey) {
-      component.setGlobalKey(original.getGlobalKey());
+      component.copyGlobalKey(original);
     }
 
     final TreeProps ancestor = parent.getTreeProps();
@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.IntDef;
+import androidx.annotation.Nullable;
+import com.facebook.litho.config.LayoutThreadPoolConfiguration;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Schedules layout computations of many ComponentTrees on a shared set of worker threads.
+ *
+ * <p>Each tree posts through its own {@link TreeHandler}, whose priority says how urgently the
+ * tree's layouts are needed (see {@link Priority}). A task posted to a handler supersedes any
+ * pending task of the same type posted to the same handler, so a tree never waits behind its own
+ * outdated layout requests.
+ *
+ * <p>Every worker has its own queue, ordered by priority and then by submission order. A task
+ * posted from a worker goes to that worker's queue, other tasks are distributed round robin. An
+ * idle worker takes the most urgent task at the head of any queue, so work is stolen across
+ * workers and an urgent task is never stuck behind a busy worker.
+ */
+public class LayoutScheduler {
+
+  /** The tree is on screen. */
+  public static final int PRIORITY_VISIBLE = 0;
+  /** The tree is close to the viewport and will likely be on screen soon. */
+  public static final int PRIORITY_WORKING_RANGE = 1;
+  /** The tree is laid out ahead of time in case it will be shown. */
+  public static final int PRIORITY_PREFETCH = 2;
+
+  @IntDef({PRIORITY_VISIBLE, PRIORITY_WORKING_RANGE, PRIORITY_PREFETCH})
+  @Retention(RetentionPolicy.SOURCE)
+  public @interface Priority {}
+
+  /** Used for {@link LithoHandler#postAtFront}, which runs before any prioritized task. */
+  private static final int PRIORITY_FRONT = -1;
+
+  private static final int TASK_PENDING = 0;
+  private static final int TASK_RUNNING = 1;
+  private static final int TASK_CANCELLED = 2;
+
+  private static @Nullable LayoutScheduler sDefaultInstance;
+
+  private final WorkQueue[] mQueues;
+  private final LayoutThreadFactory mThreadFactory;
+  private final Semaphore mPermits = new Semaphore(0);
+  private final AtomicInteger mNextQueue = new AtomicInteger();
+  private final AtomicLong mNextSequence = new AtomicLong();
+  private final ThreadLocal<WorkQueue> mCurrentQueue = new ThreadLocal<>();
+
+  @GuardedBy("this")
+  private boolean mStarted;
+
+  private final AtomicInteger mQueueDepth = new AtomicInteger();
+  private final AtomicLong mCompletedTaskCount = new AtomicLong();
+  private final AtomicLong mStolenTaskCount = new AtomicLong();
+  private final AtomicLong mTotalWaitTimeNanos = new AtomicLong();
+  private final AtomicLong mMaxWaitTimeNanos = new AtomicLong();
+
+  public LayoutScheduler(LayoutThreadPoolConfiguration configuration) {
+    final int workerCount = Math.max(1, configuration.getMaxPoolSize());
+    mQueues = new WorkQueue[workerCount];
+    for (int i = 0; i < workerCount; i++) {
+      mQueues[i] = new WorkQueue(i);
+    }
+    mThreadFactory = new LayoutThreadFactory(configuration.getThreadPriority());
+  }
+
+  /**
+   * @return the scheduler shared by all trees. It is created with the configuration given to the
+   *     first call, the configuration given to later calls is ignored.
+   */
+  public static synchronized LayoutScheduler getDefaultInstance(
+      LayoutThreadPoolConfiguration configuration) {
+    if (sDefaultInstance == null) {
+      sDefaultInstance = new LayoutScheduler(configuration);
+    }
+    return sDefaultInstance;
+  }
+
+  /** @return a new handler to post the layouts of one tree with. */
+  public TreeHandler newHandler() {
+    return new TreeHandler(this);
+  }
+
+  /** @return the number of tasks waiting to run. */
+  public int getQueueDepth() {
+    return mQueueDepth.get();
+  }
+
+  /** @return the number of tasks that ran. */
+  public long getCompletedTaskCount() {
+    return mCompletedTaskCount.get();
+  }
+
+  /** @return the number of tasks that ran on a worker other than the one they were queued on. */
+  public long getStolenTaskCount() {
+    return mStolenTaskCount.get();
+  }
+
+  /** @return the average time tasks waited in the queue before running, in nanoseconds. */
+  public long getAverageWaitTimeNanos() {
+    final long completed = mCompletedTaskCount.get();
+    return completed == 0 ? 0 : mTotalWaitTimeNanos.get() / completed;
+  }
+
+  /** @return the longest time a task waited in the queue before running, in nanoseconds. */
+  public long getMaxWaitTimeNanos() {
+    return mMaxWaitTimeNanos.get();
+  }
+
+  private void enqueue(Task task) {
+    ensureStarted();
+
+    WorkQueue queue = mCurrentQueue.get();
+    if (queue == null) {
+      queue = mQueues[(mNextQueue.getAndIncrement() & Integer.MAX_VALUE) % mQueues.length];
+    }
+
+    mQueueDepth.incrementAndGet();
+    synchronized (queue) {
+      queue.mTasks.add(task);
+    }
+    mPermits.release();
+  }
+
+  private synchronized void ensureStarted() {
+    if (mStarted) {
+      return;
+    }
+    mStarted = true;
+    for (WorkQueue queue : mQueues) {
+      startWorker(queue);
+    }
+  }
+
+  private void startWorker(final WorkQueue queue) {
+    final Thread thread =
+        mThreadFactory.newThread(
+            new Runnable() {
+              @Override
+              public void run() {
+                mCurrentQueue.set(queue);
+                try {
+                  runWorker(queue);
+                } finally {
+                  // The worker only stops when a task throws. Replace it before the failure
+                  // reaches the thread's uncaught exception handler, so that its queue is still
+                  // drained by a worker of its own.
+                  startWorker(queue);
+                }
+              }
+            });
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private void runWorker(WorkQueue self) {
+    while (true) {
+      mPermits.acquireUninterruptibly();
+      Task task;
+      while ((task = pollMostUrgent(self)) != null) {
+        if (task.claim()) {
+          runTask(task, self);
+          break;
+        }
+      }
+    }
+  }
+
+  /** @return the most urgent task at the head of any queue, preferring the worker's own queue. */
+  private @Nullable Task pollMostUrgent(WorkQueue self) {
+    while (true) {
+      WorkQueue best = null;
+      Task bestTask = null;
+      for (int i = 0; i < mQueues.length; i++) {
+        final WorkQueue queue = mQueues[(self.mIndex + i) % mQueues.length];
+        final Task head;
+        synchronized (queue) {
+          head = queue.peekPending();
+        }
+        if (head != null && (bestTask == null || head.compareTo(bestTask) < 0)) {
+          best = queue;
+          bestTask = head;
+        }
+      }
+
+      if (best == null) {
+        return null;
+      }
+
+      synchronized (best) {
+        // Another worker may have taken the task since it was peeked, if so look again.
+        if (best.mTasks.peek() == bestTask) {
+          best.mTasks.poll();
+          if (best != self) {
+            mStolenTaskCount.incrementAndGet();
+          }
+          return bestTask;
+        }
+      }
+    }
+  }
+
+  private void runTask(Task task, WorkQueue self) {
+    mQueueDepth.decrementAndGet();
+    final long waitTime = System.nanoTime() - task.mEnqueueTimeNanos;
+    mTotalWaitTimeNanos.addAndGet(waitTime);
+    long max;
+    while (waitTime > (max = mMaxWaitTimeNanos.get())
+        && !mMaxWaitTimeNanos.compareAndSet(max, waitTime)) {
+      // Retry until the max is updated or another thread set a larger one.
+    }
+
+    task.mHandler.onTaskStarted(task);
+    try {
+      task.mRunnable.run();
+    } finally {
+      mCompletedTaskCount.incrementAndGet();
+    }
+  }
+
+  /** A {@link LithoHandler} posting the layouts of a single tree to a {@link LayoutScheduler}. */
+  public static final class TreeHandler implements LithoHandler {
+
+    private final LayoutScheduler mScheduler;
+
+    /** Pending tasks by the type of their runnable. */
+    @GuardedBy("this")
+    private final Map<Class<?>, Task> mPendingTasks = new HashMap<>();
+
+    @GuardedBy("this")
+    private @Priority int mPriority = PRIORITY_VISIBLE;
+
+    private TreeHandler(LayoutScheduler scheduler) {
+      mScheduler = scheduler;
+    }
+
+    public LayoutScheduler getScheduler() {
+      return mScheduler;
+    }
+
+    public synchronized @Priority int getPriority() {
+      return mPriority;
+    }
+
+    /** Updates the priority of the pending and future tasks of this handler. */
+    public void setPriority(@Priority int priority) {
+      final List<Task> requeued = new ArrayList<>();
+      synchronized (this) {
+        if (mPriority == priority) {
+          return;
+        }
+        mPriority = priority;
+
+        for (Map.Entry<Class<?>, Task> entry : mPendingTasks.entrySet()) {
+          final Task task = entry.getValue();
+          if (task.mPriority != PRIORITY_FRONT && mScheduler.cancel(task)) {
+            final Task copy = new Task(this, task.mRunnable, priority, task.mEnqueueTimeNanos);
+            entry.setValue(copy);
+            requeued.add(copy);
+          }
+        }
+      }
+
+      for (int i = 0, size = requeued.size(); i < size; i++) {
+        mScheduler.enqueue(requeued.get(i));
+      }
+    }
+
+    @Override
+    public boolean isTracing() {
+      return false;
+    }
+
+    @Override
+    public void post(Runnable runnable, String tag) {
+      final Task task;
+      synchronized (this) {
+        task = newTask(runnable, mPriority);
+      }
+      mScheduler.enqueue(task);
+    }
+
+    @Override
+    public void postAtFront(Runnable runnable, String tag) {
+      final Task task;
+      synchronized (this) {
+        task = newTask(runnable, PRIORITY_FRONT);
+      }
+      mScheduler.enqueue(task);
+    }
+
+    @Override
+    public synchronized void remove(Runnable runnable) {
+      final Task task = mPendingTasks.get(runnable.getClass());
+      if (task != null && task.mRunnable == runnable) {
+        mPendingTasks.remove(runnable.getClass());
+        mScheduler.cancel(task);
+      }
+    }
+
+    @GuardedBy("this")
+    private Task newTask(Runnable runnable, int priority) {
+      final Task task = new Task(this, runnable, priority, System.nanoTime());
+      final Task superseded = mPendingTasks.put(runnable.getClass(), task);
+      if (superseded != null) {
+        mScheduler.cancel(superseded);
+      }
+      return task;
+    }
+
+    private synchronized void onTaskStarted(Task task) {
+      if (mPendingTasks.get(task.mRunnable.getClass()) == task) {
+        mPendingTasks.remove(task.mRunnable.getClass());
+      }
+    }
+  }
+
+  /** @return whether the task was cancelled before it started running. */
+  private boolean cancel(Task task) {
+    if (task.cancel()) {
+      mQueueDepth.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  private static final class Task implements Comparable<Task> {
+    private final TreeHandler mHandler;
+    private final Runnable mRunnable;
+    private final int mPriority;
+    private final long mEnqueueTimeNanos;
+    private final long mSequence;
+    private final AtomicInteger mState = new AtomicInteger(TASK_PENDING);
+
+    Task(TreeHandler handler, Runnable runnable, int priority, long enqueueTimeNanos) {
+      mHandler = handler;
+      mRunnable = runnable;
+      mPriority = priority;
+      mEnqueueTimeNanos = enqueueTimeNanos;
+      mSequence = handler.mScheduler.mNextSequence.getAndIncrement();
+    }
+
+    boolean claim() {
+      return mState.compareAndSet(TASK_PENDING, TASK_RUNNING);
+    }
+
+    boolean cancel() {
+      return mState.compareAndSet(TASK_PENDING, TASK_CANCELLED);
+    }
+
+    boolean isCancelled() {
+      return mState.get() == TASK_CANCELLED;
+    }
+
+    @Override
+    public int compareTo(Task other) {
+      if (mPriority != other.mPriority) {
+        return mPriority < other.mPriority ? -1 : 1;
+      }
+      return mSequence < other.mSequence ? -1 : (mSequence == other.mSequence ? 0 : 1);
+    }
+  }
+
+  private static final class WorkQueue {
+    private final int mIndex;
+
+    @GuardedBy("this")
+    private final PriorityQueue<Task> mTasks = new PriorityQueue<>();
+
+    WorkQueue(int index) {
+      mIndex = index;
+    }
+
+    /** Drops cancelled tasks from the head of the queue and returns the first pending one. */
+    @GuardedBy("this")
+    @Nullable
+    Task peekPending() {
+      Task head;
+      while ((head = mTasks.peek()) != null && head.isCancelled()) {
+        mTasks.poll();
+      }
+      return head;
+    }
+  }
+}
@@ -54,6 +54,7 @@ import androidx.annotation.IntDef;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import androidx.collection.LongSparseArray;
+import com.facebook.infer.annotation.ThreadConfined;
 import com.facebook.infer.annotation.ThreadSafe;
 import com.facebook.litho.ComponentTree.LayoutStateFuture;
 import com.facebook.litho.EndToEndTestingExtension.EndToEndTestingExtensionInput;
@@ -63,6 +64,7 @@ import com.facebook.litho.VisibilityOutputsExtension.VisibilityOutputsExtensionI
 import com.facebook.litho.annotations.ImportantForAccessibility;
 import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.drawable.BorderColorDrawable;
+import com.facebook.litho.internal.LongIntHashMap;
 import com.facebook.litho.stats.LithoStats;
 import com.facebook.rendercore.RenderTree;
 import com.facebook.rendercore.RenderTreeNode;
@@ -73,10 +75,12 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.CheckReturnValue;
 
@@ -237,6 +241,9 @@ public class LayoutState
 
   private @Nullable Map<String, Integer> mGlobalManualKeysCounter;
 
+  /** Same as {@link #mGlobalKeysCounter} for {@link ComponentsConfiguration#useHashedGlobalKeys}. */
+  private @Nullable LongIntHashMap mGlobalKeyHashesCounter;
+
   private final ComponentContext mContext;
 
   private Component mComponent;
@@ -250,7 +257,13 @@ public class LayoutState
   private final ArrayList<RenderTreeNode> mMountableOutputTops = new ArrayList<>();
   private final ArrayList<RenderTreeNode> mMountableOutputBottoms = new ArrayList<>();
   private final @Nullable VisibilityModuleInput mVisibilityModuleInput;
+  private final PremountedContent mPremountedContent = new PremountedContent();
+  private @Nullable MountableOutputIndex mMountableOutputIndex;
 
+  /**
+   * Components measured during layout creation, by id. Concurrent because the children of a node
+   * may be created in parallel, see {@link ParallelChildLayout}.
+   */
   private final @Nullable Map<Integer, InternalNode> mLastMeasuredLayouts;
 
   @Nullable private LayoutStateOutputIdCalculator mLayoutStateOutputIdCalculator;
@@ -269,6 +282,14 @@ public class LayoutState
   private int mCurrentX;
   private int mCurrentY;
 
+  // Nodes whose top is at or below this offset are left out of the collected outputs.
+  private int mOutputsChunkBottom = Integer.MAX_VALUE;
+
+  // The nodes collected into the first outputs chunk, which may be mounting while the whole tree
+  // is collected. They were notified of their bounds and had their node state resolved already.
+  private @Nullable Set<InternalNode> mOutputsChunkNodes;
+  private @Nullable Set<InternalNode> mPostedOutputsChunkNodes;
+
   private int mCurrentLevel = 0;
 
   // Holds the current host marker in the layout tree.
@@ -331,7 +352,7 @@ public class LayoutState
     mStateHandler = mContext.getStateHandler();
     mTestOutputs = ComponentsConfiguration.isEndToEndTestRun ? new ArrayList<TestOutput>(8) : null;
     mOrientation = context.getResources().getConfiguration().orientation;
-    mLastMeasuredLayouts = new HashMap<>();
+    mLastMeasuredLayouts = new ConcurrentHashMap<>();
     mComponents = new ArrayList<>();
 
     if (context.getComponentTree() != null) {
@@ -769,9 +790,19 @@ public class LayoutState
       return;
     }
 
+    if (layoutState.mCurrentY + node.getY() >= layoutState.mOutputsChunkBottom) {
+      return;
+    }
+
     if (node.hasNewLayout()) {
       node.markLayoutSeen();
     }
+    if (layoutState.mOutputsChunkNodes != null) {
+      layoutState.mOutputsChunkNodes.add(node);
+    }
+    final boolean isInPostedOutputsChunk =
+        layoutState.mPostedOutputsChunkNodes != null
+            && layoutState.mPostedOutputsChunkNodes.contains(node);
     final Component component = node.getTailComponent();
     final boolean isTracing = ComponentsSystrace.isTracing();
 
@@ -822,8 +853,9 @@ public class LayoutState
 
     // IMPORTANT_FOR_ACCESSIBILITY_YES_HIDE_DESCENDANTS sets node to YES and children to
     // NO_HIDE_DESCENDANTS
-    if (node.getImportantForAccessibility()
-        == ImportantForAccessibility.IMPORTANT_FOR_ACCESSIBILITY_YES_HIDE_DESCENDANTS) {
+    if (!isInPostedOutputsChunk
+        && node.getImportantForAccessibility()
+            == ImportantForAccessibility.IMPORTANT_FOR_ACCESSIBILITY_YES_HIDE_DESCENDANTS) {
       node.importantForAccessibility(ImportantForAccessibility.IMPORTANT_FOR_ACCESSIBILITY_YES);
       for (int i = 0, size = node.getChildCount(); i < size; i++) {
         node.getChildAt(i)
@@ -852,7 +884,7 @@ public class LayoutState
     }
 
     // If the parent of this node is disabled, this node has to be disabled too.
-    if (layoutState.mParentEnabledState == ENABLED_SET_FALSE) {
+    if (!isInPostedOutputsChunk && layoutState.mParentEnabledState == ENABLED_SET_FALSE) {
       node.getOrCreateNodeInfo().setEnabled(false);
     }
 
@@ -941,13 +973,15 @@ public class LayoutState
 
     // 3. Now add the MountSpec (either View or Drawable) to the Outputs.
     if (isMountSpec(component)) {
-      // Notify component about its final size.
-      if (isTracing) {
-        ComponentsSystrace.beginSection("onBoundsDefined:" + node.getSimpleName());
-      }
-      component.onBoundsDefined(component.getScopedContext(), node);
-      if (isTracing) {
-        ComponentsSystrace.endSection();
+      // Notify component about its final size, unless the chunk being mounted already did.
+      if (!isInPostedOutputsChunk) {
+        if (isTracing) {
+          ComponentsSystrace.beginSection("onBoundsDefined:" + node.getSimpleName());
+        }
+        component.onBoundsDefined(component.getScopedContext(), node);
+        if (isTracing) {
+          ComponentsSystrace.endSection();
+        }
       }
 
       addMountableOutput(layoutState, layoutOutput, parent);
@@ -1537,6 +1571,15 @@ public class LayoutState
                   diffTreeRoot,
                   logLayoutState)
               : layoutCreatedInWillRender;
+
+      // A canceled layout is discarded, so drop the partially created tree right away.
+      if (layoutStateContext.isLayoutReleased()) {
+        layoutState.mIsCreateLayoutInProgress = false;
+        layoutStateContext.releaseReference();
+        LithoStats.incrementComponentCanceledLayoutCount();
+        return layoutState;
+      }
+
       // Null check for tests.
       if (root.getContext() != null) {
         root.getContext().setLayoutStateContext(layoutStateContext);
@@ -1662,6 +1705,86 @@ public class LayoutState
     return layoutState;
   }
 
+  /**
+   * Collects the outputs of the first screen of a tall tree into a separate LayoutState and hands
+   * it to the ComponentTree, which can mount it while the outputs of the whole tree are collected.
+   * The first screen is collected twice, so this is only done for trees taller than two screens.
+   * The second pass doesn't notify or mutate the nodes of a posted chunk again, since the UI thread
+   * may be mounting them.
+   */
+  private static void collectFirstOutputsChunk(
+      ComponentContext c, LayoutState layoutState, InternalNode root) {
+    final ComponentTree componentTree = c.getComponentTree();
+    if (componentTree == null || ThreadUtils.isMainThread()) {
+      // A layout on the main thread finishes before anything could mount the chunk.
+      return;
+    }
+
+    final int chunkBottom = c.getResources().getDisplayMetrics().heightPixels;
+    if (root.getHeight() <= 2 * chunkBottom) {
+      return;
+    }
+
+    final boolean isTracing = ComponentsSystrace.isTracing();
+    if (isTracing) {
+      ComponentsSystrace.beginSection("collectFirstOutputsChunk");
+    }
+
+    final LayoutState chunk = new LayoutState(c);
+    chunk.mComponentTreeId = layoutState.mComponentTreeId;
+    chunk.mLayoutVersion = layoutState.mLayoutVersion;
+    chunk.mAccessibilityManager = layoutState.mAccessibilityManager;
+    chunk.mAccessibilityEnabled = layoutState.mAccessibilityEnabled;
+    chunk.mComponent = layoutState.mComponent;
+    chunk.mWidthSpec = layoutState.mWidthSpec;
+    chunk.mHeightSpec = layoutState.mHeightSpec;
+    chunk.mWidth = layoutState.mWidth;
+    chunk.mHeight = layoutState.mHeight;
+    chunk.mRootComponentName = layoutState.mRootComponentName;
+    chunk.mRootTransitionId = layoutState.mRootTransitionId;
+    chunk.mLayoutRoot = root;
+    chunk.mOutputsChunkBottom = chunkBottom;
+    chunk.mOutputsChunkNodes =
+        Collections.newSetFromMap(new IdentityHashMap<InternalNode, Boolean>());
+
+    collectResults(null, c, null, root, chunk, null);
+    chunk.mLayoutRoot = null;
+
+    // Animations have to run against the complete layout, so such trees are not chunked.
+    final boolean isChunkMountable =
+        !c.wasLayoutCanceled()
+            && chunk.mTransitions == null
+            && chunk.mComponentsNeedingPreviousRenderData == null;
+    if (isChunkMountable) {
+      sortMountableOutputs(chunk);
+      layoutState.mPostedOutputsChunkNodes = chunk.mOutputsChunkNodes;
+      componentTree.onFirstOutputsChunkCollected(chunk);
+    }
+    chunk.mOutputsChunkNodes = null;
+
+    if (isTracing) {
+      ComponentsSystrace.endSection();
+    }
+  }
+
+  private static void sortMountableOutputs(LayoutState layoutState) {
+    final boolean isTracing = ComponentsSystrace.isTracing();
+    if (isTracing) {
+      ComponentsSystrace.beginSection("sortMountableOutputs");
+    }
+    Collections.sort(layoutState.mMountableOutputTops, sTopsComparator);
+    Collections.sort(layoutState.mMountableOutputBottoms, sBottomsComparator);
+
+    if (layoutState.mIncrementalVisibility) {
+      layoutState.mVisibilityModuleInput.setIncrementalModuleItems(layoutState.mVisibilityOutputs);
+      layoutState.mVisibilityOutputs.clear();
+    }
+
+    if (isTracing) {
+      ComponentsSystrace.endSection();
+    }
+  }
+
   RenderTree toRenderTree() {
     final RenderTreeNode root;
 
@@ -1743,34 +1866,31 @@ public class LayoutState
       return;
     }
 
+    if (ComponentsConfiguration.collectLayoutOutputsInChunks) {
+      collectFirstOutputsChunk(c, layoutState, root);
+    }
+
     if (isTracing) {
       ComponentsSystrace.beginSection("collectResults");
     }
     collectResults(null, c, null, root, layoutState, null);
+    layoutState.mPostedOutputsChunkNodes = null;
     if (isTracing) {
       ComponentsSystrace.endSection();
     }
 
-    if (isTracing) {
-      ComponentsSystrace.beginSection("sortMountableOutputs");
-    }
-    Collections.sort(layoutState.mMountableOutputTops, sTopsComparator);
-    Collections.sort(layoutState.mMountableOutputBottoms, sBottomsComparator);
-
-    if (layoutState.mIncrementalVisibility) {
-      layoutState.mVisibilityModuleInput.setIncrementalModuleItems(layoutState.mVisibilityOutputs);
-      layoutState.mVisibilityOutputs.clear();
-    }
-
-    if (isTracing) {
-      ComponentsSystrace.endSection();
-    }
+    sortMountableOutputs(layoutState);
 
     if (!c.isReconciliationEnabled()
         && !ComponentsConfiguration.useInternalNodesForLayoutDiffing
         && !ComponentsConfiguration.isDebugModeEnabled
         && !ComponentsConfiguration.isEndToEndTestRun) {
       layoutState.mLayoutRoot = null;
+      if (ComponentsConfiguration.yogaNodePoolSize > 0) {
+        // Nothing else references the tree once its outputs are collected.
+        layoutState.mLastMeasuredLayouts.clear();
+        YogaNodePool.release(root);
+      }
     }
   }
 
@@ -1870,6 +1990,38 @@ public class LayoutState
     }
   }
 
+  /**
+   * Acquires and mounts on the calling thread the content of the outputs whose component can be
+   * premounted, so that {@link MountState} only has to attach it.
+   */
+  @ThreadSafe(enableChecks = false)
+  void premountContent(int recyclingMode) {
+    final boolean isTracing = ComponentsSystrace.isTracing();
+    if (isTracing) {
+      ComponentsSystrace.beginSection("premountContent:" + mComponent.getSimpleName());
+    }
+
+    mPremountedContent.premount(this, mContext, recyclingMode);
+
+    if (isTracing) {
+      ComponentsSystrace.endSection();
+    }
+  }
+
+  /** @return the premounted content of the given output, or null if it wasn't premounted. */
+  @Nullable
+  Object takePremountedContent(long outputId) {
+    return mPremountedContent.take(outputId);
+  }
+
+  /**
+   * Releases the premounted content that no mount took back to the pool. Called once this
+   * LayoutState finished mounting or was replaced by a newer one.
+   */
+  void releasePremountedContent(int recyclingMode) {
+    mPremountedContent.release(recyclingMode);
+  }
+
   boolean isActivityValid() {
     return getValidActivityForContext(mContext.getAndroidContext()) != null;
   }
@@ -1970,6 +2122,45 @@ public class LayoutState
     return ComponentKeyUtils.getKeyForChildPosition(childKey, childIndex);
   }
 
+  /**
+   * The hashed counterpart of {@link #generateGlobalKey(ComponentContext, Component)}, used when
+   * {@link ComponentsConfiguration#useHashedGlobalKeys} is enabled.
+   */
+  static long generateGlobalKeyHash(ComponentContext parentContext, Component component) {
+    final LayoutState layoutState = parentContext.getLayoutState();
+    if (layoutState == null) {
+      throw new IllegalStateException(
+          component.getSimpleName()
+              + ": Trying to generate global key of component outside of a LayoutState calculation.");
+    }
+
+    final Component parentScope = parentContext.getComponentScope();
+    final long keyHash = ComponentKeyUtils.getLocalKeyHash(component);
+
+    if (parentScope == null) {
+      return keyHash;
+    }
+
+    final long childKeyHash =
+        ComponentKeyUtils.getKeyHashWithSeparator(
+            ComponentKeyUtils.getGlobalKeyHash(parentScope), keyHash);
+    final int index = layoutState.getGlobalKeyHashCountAndIncrement(childKeyHash);
+
+    if (index != 0 && component.hasManualKey()) {
+      ComponentsReporter.emitMessage(
+          ComponentsReporter.LogLevel.WARNING,
+          DUPLICATE_MANUAL_KEY,
+          "The manual key "
+              + component.getKey()
+              + " you are setting on this "
+              + component.getSimpleName()
+              + " is a duplicate and will be changed into a unique one. "
+              + "This will result in unexpected behavior if you don't change it.");
+    }
+
+    return ComponentKeyUtils.getKeyHashForChildPosition(childKeyHash, index);
+  }
+
   @Nullable
   InternalNode getCachedLayout(Component component) {
     return mLastMeasuredLayouts.get(component.getId());
@@ -2050,6 +2241,15 @@ public class LayoutState
     return mMountableOutputBottoms;
   }
 
+  /** @return the 2-D index of the mountable outputs, built the first time it is needed. */
+  @ThreadConfined(ThreadConfined.UI)
+  MountableOutputIndex getMountableOutputIndex() {
+    if (mMountableOutputIndex == null) {
+      mMountableOutputIndex = MountableOutputIndex.create(this, getMountableOutputCount());
+    }
+    return mMountableOutputIndex;
+  }
+
   int getVisibilityOutputCount() {
     return mVisibilityOutputs.size();
   }
@@ -2297,7 +2497,7 @@ public class LayoutState
     return mRootTransitionId;
   }
 
-  private int getGlobalKeyCountAndIncrement(String key) {
+  private synchronized int getGlobalKeyCountAndIncrement(String key) {
     if (mGlobalKeysCounter == null) {
       mGlobalKeysCounter = new HashMap<>();
     }
@@ -2311,7 +2511,15 @@ public class LayoutState
     return count;
   }
 
-  private int getGlobalManualKeyCountAndIncrement(String manualKey) {
+  private synchronized int getGlobalKeyHashCountAndIncrement(long keyHash) {
+    if (mGlobalKeyHashesCounter == null) {
+      mGlobalKeyHashesCounter = new LongIntHashMap();
+    }
+
+    return mGlobalKeyHashesCounter.getAndIncrement(keyHash);
+  }
+
+  private synchronized int getGlobalManualKeyCountAndIncrement(String manualKey) {
     if (mGlobalManualKeysCounter == null) {
       mGlobalManualKeysCounter = new HashMap<>();
     }
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import android.content.Context;
+import androidx.annotation.Nullable;
+import com.facebook.infer.annotation.ThreadSafe;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link MountContentPool} backed by a lock-free stack (Treiber stack), so that concurrent
+ * acquires on the UI thread and pre-allocations on layout threads never block each other. It also
+ * keeps track of hits and misses, see {@link PoolWithStats}.
+ */
+@ThreadSafe
+public class LockFreeMountContentPool implements MountContentPool, PoolWithStats {
+
+  private static final class Node {
+    private final Object mItem;
+    private @Nullable Node mNext;
+
+    private Node(Object item) {
+      mItem = item;
+    }
+  }
+
+  private final String mName;
+  private final int mMaxSize;
+
+  private final AtomicReference<Node> mHead = new AtomicReference<>();
+  private final AtomicInteger mCurrentSize = new AtomicInteger(0);
+  private final AtomicInteger mAllocationCount = new AtomicInteger(0);
+
+  private final AtomicLong mAcquireCount = new AtomicLong(0);
+  private final AtomicLong mHitCount = new AtomicLong(0);
+  private final AtomicLong mMissCount = new AtomicLong(0);
+  private final AtomicLong mReleaseCount = new AtomicLong(0);
+  private final AtomicLong mDroppedCount = new AtomicLong(0);
+
+  public LockFreeMountContentPool(String name, int maxSize) {
+    mName = name;
+    mMaxSize = maxSize;
+  }
+
+  @Override
+  public Object acquire(Context c, ComponentLifecycle lifecycle) {
+    mAcquireCount.incrementAndGet();
+
+    final Object fromPool = pop();
+    if (fromPool != null) {
+      mHitCount.incrementAndGet();
+      onAcquired(true);
+      return fromPool;
+    }
+
+    mMissCount.incrementAndGet();
+    mAllocationCount.incrementAndGet();
+    onAcquired(false);
+    return lifecycle.createMountContent(c);
+  }
+
+  @Override
+  public void release(Object item) {
+    mReleaseCount.incrementAndGet();
+    onReleased();
+
+    // Reserve a slot before pushing so the pool never grows past its max size.
+    if (mCurrentSize.incrementAndGet() > getCapacity()) {
+      mCurrentSize.decrementAndGet();
+      mDroppedCount.incrementAndGet();
+      return;
+    }
+
+    final Node node = new Node(item);
+    Node head;
+    do {
+      head = mHead.get();
+      node.mNext = head;
+    } while (!mHead.compareAndSet(head, node));
+  }
+
+  /**
+   * Pre-allocates one item for the given ComponentLifecycle if the preallocation count is less than
+   * the pool size, otherwise does nothing.
+   */
+  @Override
+  public void maybePreallocateContent(Context c, ComponentLifecycle lifecycle) {
+    // As in DefaultMountContentPool, the race between the size check and the release is benign:
+    // release() drops the content if the pool filled up in the meantime.
+    final int capacity = getCapacity();
+    if (mCurrentSize.get() < capacity && mAllocationCount.getAndIncrement() < capacity) {
+      release(lifecycle.createMountContent(c));
+    }
+  }
+
+  /**
+   * Drops pooled content until at most {@code targetSize} items are left in the pool.
+   *
+   * @return the number of items that were dropped.
+   */
+  public int trim(int targetSize) {
+    int dropped = 0;
+    while (mCurrentSize.get() > targetSize && pop() != null) {
+      dropped++;
+    }
+    return dropped;
+  }
+
+  /** @return the number of items this pool currently holds on to at most. */
+  protected int getCapacity() {
+    return mMaxSize;
+  }
+
+  /** Called after every acquire, with whether it was served with recycled content. */
+  protected void onAcquired(boolean isHit) {}
+
+  /** Called for every release, before the content is added to the pool. */
+  protected void onReleased() {}
+
+  private @Nullable Object pop() {
+    Node head;
+    do {
+      head = mHead.get();
+      if (head == null) {
+        return null;
+      }
+    } while (!mHead.compareAndSet(head, head.mNext));
+
+    mCurrentSize.decrementAndGet();
+    return head.mItem;
+  }
+
+  @Override
+  public String getName() {
+    return mName;
+  }
+
+  @Override
+  public int getMaxSize() {
+    return getCapacity();
+  }
+
+  @Override
+  public int getCurrentSize() {
+    return Math.max(0, mCurrentSize.get());
+  }
+
+  @Override
+  public long getAcquireCount() {
+    return mAcquireCount.get();
+  }
+
+  @Override
+  public long getHitCount() {
+    return mHitCount.get();
+  }
+
+  @Override
+  public long getMissCount() {
+    return mMissCount.get();
+  }
+
+  @Override
+  public long getReleaseCount() {
+    return mReleaseCount.get();
+  }
+
+  @Override
+  public long getDroppedCount() {
+    return mDroppedCount.get();
+  }
+}
@@ -17,33 +17,86 @@
 package com.facebook.litho;
 
 import android.content.res.Configuration;
-import androidx.collection.LruCache;
+import com.facebook.litho.internal.IntLruCache;
 import javax.annotation.Nullable;
 
 class LruResourceCache extends ResourceCache {
-  private final LruCache<Integer, Object> mCache =
-      new LruCache<Integer, Object>(500) {
-        @Override
-        protected int sizeOf(Integer key, Object value) {
-          if (value instanceof String) {
-            return ((String) value).length();
-          }
-          return 1;
-        }
-      };
+
+  /**
+   * Max weight of each type's cache. Strings and arrays weigh as much as their length, anything
+   * else weighs 1.
+   */
+  private static final int[] MAX_WEIGHTS = new int[TYPE_COUNT];
+
+  static {
+    MAX_WEIGHTS[TYPE_STRING] = 500;
+    MAX_WEIGHTS[TYPE_STRING_ARRAY] = 256;
+    MAX_WEIGHTS[TYPE_INT] = 64;
+    MAX_WEIGHTS[TYPE_INT_ARRAY] = 256;
+    MAX_WEIGHTS[TYPE_BOOL] = 64;
+    MAX_WEIGHTS[TYPE_COLOR] = 128;
+    MAX_WEIGHTS[TYPE_DIMEN_SIZE] = 128;
+    MAX_WEIGHTS[TYPE_DIMEN_OFFSET] = 64;
+    MAX_WEIGHTS[TYPE_DIMEN_FLOAT] = 64;
+    MAX_WEIGHTS[TYPE_DRAWABLE] = 32;
+  }
+
+  private final IntLruCache[] mCaches = new IntLruCache[TYPE_COUNT];
 
   LruResourceCache(Configuration configuration) {
     super(configuration);
+    for (int i = 0; i < TYPE_COUNT; i++) {
+      mCaches[i] = new IntLruCache(MAX_WEIGHTS[i]);
+    }
+  }
+
+  @Override
+  synchronized long getInt(@ResourceType int type, int key) {
+    return mCaches[type].getInt(key);
+  }
+
+  @Override
+  synchronized void putInt(@ResourceType int type, int key, int value) {
+    mCaches[type].putInt(key, value);
   }
 
   @Override
   @Nullable
-  <T> T get(int key) {
-    return (T) mCache.get(key);
+  synchronized <T> T get(@ResourceType int type, int key) {
+    return (T) mCaches[type].get(key);
   }
 
   @Override
-  void put(int key, Object object) {
-    mCache.put(key, object);
+  synchronized void put(@ResourceType int type, int key, Object object) {
+    mCaches[type].put(key, object, weightOf(object));
+  }
+
+  @Override
+  public synchronized long getHitCount() {
+    long hitCount = 0;
+    for (IntLruCache cache : mCaches) {
+      hitCount += cache.getHitCount();
+    }
+    return hitCount;
+  }
+
+  @Override
+  public synchronized long getMissCount() {
+    long missCount = 0;
+    for (IntLruCache cache : mCaches) {
+      missCount += cache.getMissCount();
+    }
+    return missCount;
+  }
+
+  private static int weightOf(Object object) {
+    if (object instanceof String) {
+      return ((String) object).length();
+    } else if (object instanceof String[]) {
+      return ((String[]) object).length;
+    } else if (object instanceof int[]) {
+      return ((int[]) object).length;
+    }
+    return 1;
   }
 }
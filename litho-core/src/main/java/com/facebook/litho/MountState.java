@@ -21,6 +21,8 @@ import static com.facebook.litho.Component.isHostSpec;
 import static com.facebook.litho.Component.isMountViewSpec;
 import static com.facebook.litho.ComponentHostUtils.maybeSetDrawableState;
 import static com.facebook.litho.FrameworkLogEvents.EVENT_MOUNT;
+import static com.facebook.litho.FrameworkLogEvents.EVENT_MOUNT_DEFERRED_OUTPUTS;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_DEFERRED_COUNT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_IS_DIRTY;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_MOUNTED_CONTENT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_MOUNTED_COUNT;
@@ -66,6 +68,8 @@ import androidx.core.view.ViewCompat;
 import com.facebook.infer.annotation.ThreadConfined;
 import com.facebook.litho.animation.AnimatedProperties;
 import com.facebook.litho.animation.PropertyHandle;
+import com.facebook.litho.choreographercompat.ChoreographerCompat;
+import com.facebook.litho.choreographercompat.ChoreographerCompatImpl;
 import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.stats.LithoStats;
 import com.facebook.rendercore.Host;
@@ -79,11 +83,14 @@ import com.facebook.rendercore.RenderUnit;
 import com.facebook.rendercore.UnmountDelegateExtension;
 import com.facebook.rendercore.utils.BoundsUtils;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -150,6 +157,22 @@ class MountState
   private final MountStats mMountStats = new MountStats();
   private int mPreviousTopsIndex;
   private int mPreviousBottomsIndex;
+  private int[] mVisibleOutputPositions = new int[0];
+  private int[] mPreviousVisibleOutputPositions = new int[0];
+
+  // Ids of the outputs that entered the visible rect during incremental mount, but whose mount was
+  // deferred to a later frame to stay within ComponentsConfiguration#incrementalMountFrameBudgetMs.
+  private final Set<Long> mDeferredMountOutputIds = new LinkedHashSet<>();
+  private long mFrameStartTimeNs;
+  private boolean mIsDeferredMountScheduled;
+  private final ChoreographerCompat.FrameCallback mDeferredMountFrameCallback =
+      new ChoreographerCompat.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          mIsDeferredMountScheduled = false;
+          mountDeferredOutputs();
+        }
+      };
   private int mLastMountedComponentTreeId = ComponentTree.INVALID_ID;
   private @Nullable LayoutState mLastMountedLayoutState;
   private boolean mIsFirstMountOfComponentTree = false;
@@ -355,8 +378,11 @@ class MountState
       mMountStats.enableLogging();
     }
 
+    mFrameStartTimeNs = System.nanoTime();
     if (!isIncrementalMountEnabled
         || !performIncrementalMount(layoutState, localVisibleRect, processVisibilityOutputs)) {
+      // Everything that is visible is mounted below, whatever the frame budget.
+      mDeferredMountOutputIds.clear();
       final MountItem rootMountItem = mIndexToItemMap.get(ROOT_HOST_ID);
 
       for (int i = 0, size = layoutState.getMountableOutputCount(); i < size; i++) {
@@ -479,6 +505,8 @@ class MountState
     LithoStats.incrementComponentMountCount();
 
     mIsMounting = false;
+
+    releasePremountedContentIfMounted(layoutState);
   }
 
   private void afterMountMaybeUpdateAnimations(boolean shouldAnimateTransitions) {
@@ -678,6 +706,8 @@ class MountState
     LithoStats.incrementComponentMountCount();
 
     mIsMounting = false;
+
+    releasePremountedContentIfMounted(layoutState);
   }
 
   private void mountComponentToContentApplyBinders(
@@ -782,6 +812,7 @@ class MountState
         PARAM_VISIBILITY_HANDLER_TIME, mMountStats.visibilityHandlerTimes.toArray(new Double[0]));
 
     mountPerfEvent.markerAnnotate(PARAM_NO_OP_COUNT, mMountStats.noOpCount);
+    mountPerfEvent.markerAnnotate(PARAM_DEFERRED_COUNT, mMountStats.deferredCount);
     mountPerfEvent.markerAnnotate(PARAM_IS_DIRTY, isDirty);
 
     logger.logPerfEvent(mountPerfEvent);
@@ -1186,25 +1217,12 @@ class MountState
       return;
     }
 
-    final ArrayList<RenderTreeNode> layoutOutputTops = layoutState.getMountableOutputTops();
-    final ArrayList<RenderTreeNode> layoutOutputBottoms = layoutState.getMountableOutputBottoms();
-    final int mountableOutputCount = layoutState.getMountableOutputCount();
-
-    mPreviousTopsIndex = layoutState.getMountableOutputCount();
-    for (int i = 0; i < mountableOutputCount; i++) {
-      if (localVisibleRect.bottom <= layoutOutputTops.get(i).getBounds().top) {
-        mPreviousTopsIndex = i;
-        break;
-      }
-    }
-
-    mPreviousBottomsIndex = layoutState.getMountableOutputCount();
-    for (int i = 0; i < mountableOutputCount; i++) {
-      if (localVisibleRect.top < layoutOutputBottoms.get(i).getBounds().bottom) {
-        mPreviousBottomsIndex = i;
-        break;
-      }
-    }
+    mPreviousTopsIndex =
+        MountableOutputIndex.findFirstTopAtOrBelow(
+            layoutState.getMountableOutputTops(), localVisibleRect.bottom);
+    mPreviousBottomsIndex =
+        MountableOutputIndex.findFirstBottomBelow(
+            layoutState.getMountableOutputBottoms(), localVisibleRect.top);
   }
 
   List<LithoView> getChildLithoViewsFromCurrentlyMountedItems() {
@@ -1840,12 +1858,14 @@ class MountState
     if (component == null) {
       throw new RuntimeException("Trying to mount a LayoutOutput with a null Component.");
     }
-    final Object content =
-        ComponentsPools.acquireMountContent(
-            mContext.getAndroidContext(), component, mRecyclingMode);
-
     final ComponentContext context = getContextForComponent(component);
-    component.mount(context, content);
+    Object content = layoutState.takePremountedContent(layoutOutput.getId());
+    if (content == null) {
+      content =
+          ComponentsPools.acquireMountContent(
+              mContext.getAndroidContext(), component, mRecyclingMode);
+      component.mount(context, content);
+    }
 
     // 3. If it's a ComponentHost, add the mounted View to the list of Hosts.
     if (isHostSpec(component)) {
@@ -2830,6 +2850,7 @@ class MountState
       return;
     }
 
+    cancelDeferredMount();
     for (int i = mLayoutOutputsIds.length - 1; i >= 0; i--) {
       unmountItem(i, mHostsByMarker);
     }
@@ -3424,6 +3445,7 @@ class MountState
     private int unmountedCount;
     private int updatedCount;
     private int noOpCount;
+    private int deferredCount;
 
     private double visibilityHandlersTotalTime;
 
@@ -3453,6 +3475,7 @@ class MountState
       unmountedCount = 0;
       updatedCount = 0;
       noOpCount = 0;
+      deferredCount = 0;
       visibilityHandlersTotalTime = 0;
 
       if (isInitialized) {
@@ -3601,7 +3624,13 @@ class MountState
 
     if (localVisibleRect.left != mPreviousLocalVisibleRect.left
         || localVisibleRect.right != mPreviousLocalVisibleRect.right) {
-      return false;
+      if (!ComponentsConfiguration.useSpatialIndexForIncrementalMount) {
+        return false;
+      }
+
+      performSpatialIncrementalMount(layoutState, localVisibleRect);
+      mountChildLithoViewsIncrementally(layoutState, processVisibilityOutputs);
+      return true;
     }
 
     final ArrayList<RenderTreeNode> layoutOutputTops = layoutState.getMountableOutputTops();
@@ -3632,12 +3661,7 @@ class MountState
         final int layoutOutputIndex =
             layoutState.getLayoutOutputPositionForId(layoutOutput.getId());
         if (getItemAt(layoutOutputIndex) == null) {
-          mountLayoutOutput(
-              layoutState.getLayoutOutputPositionForId(layoutOutput.getId()),
-              node,
-              layoutOutput,
-              layoutState);
-          mComponentIdsMountedInThisFrame.add(layoutOutput.getId());
+          mountLayoutOutputWithinFrameBudget(layoutOutputIndex, node, layoutOutput, layoutState);
         }
       }
     }
@@ -3653,12 +3677,7 @@ class MountState
         final int layoutOutputIndex =
             layoutState.getLayoutOutputPositionForId(layoutOutput.getId());
         if (getItemAt(layoutOutputIndex) == null) {
-          mountLayoutOutput(
-              layoutState.getLayoutOutputPositionForId(layoutOutput.getId()),
-              node,
-              layoutOutput,
-              layoutState);
-          mComponentIdsMountedInThisFrame.add(layoutOutput.getId());
+          mountLayoutOutputWithinFrameBudget(layoutOutputIndex, node, layoutOutput, layoutState);
         }
         mPreviousTopsIndex++;
       }
@@ -3676,6 +3695,58 @@ class MountState
       }
     }
 
+    mountChildLithoViewsIncrementally(layoutState, processVisibilityOutputs);
+
+    return true;
+  }
+
+  /**
+   * Mounts and unmounts the outputs entering and leaving the visible rect using the 2-D index of
+   * the LayoutState, which works whatever the direction of the scroll, then moves the tops and
+   * bottoms indices to the new visible rect.
+   */
+  private void performSpatialIncrementalMount(LayoutState layoutState, Rect localVisibleRect) {
+    final MountableOutputIndex index = layoutState.getMountableOutputIndex();
+    if (mVisibleOutputPositions.length < index.getCount()) {
+      mVisibleOutputPositions = new int[index.getCount()];
+      mPreviousVisibleOutputPositions = new int[index.getCount()];
+    }
+
+    final int previousCount =
+        index.query(mPreviousLocalVisibleRect, mPreviousVisibleOutputPositions);
+    final int count = index.query(localVisibleRect, mVisibleOutputPositions);
+    final MountItem rootMountItem = mIndexToItemMap.get(ROOT_HOST_ID);
+
+    // Unmount children before their hosts, so that hosts left without children are unmounted too.
+    for (int i = previousCount - 1; i >= 0; i--) {
+      final int position = mPreviousVisibleOutputPositions[i];
+      if (Arrays.binarySearch(mVisibleOutputPositions, 0, count, position) >= 0) {
+        continue;
+      }
+
+      final MountItem mountItem = getItemAt(position);
+      final RenderTreeNode node = layoutState.getMountableOutputAt(position);
+      if (mountItem != null
+          && mountItem != rootMountItem
+          && !isMountedHostWithChildContent(mountItem)
+          && !isAnimationLocked(node, position)) {
+        unmountItem(position, mHostsByMarker);
+      }
+    }
+
+    for (int i = 0; i < count; i++) {
+      final int position = mVisibleOutputPositions[i];
+      if (getItemAt(position) == null) {
+        final RenderTreeNode node = layoutState.getMountableOutputAt(position);
+        mountLayoutOutputWithinFrameBudget(position, node, getLayoutOutput(node), layoutState);
+      }
+    }
+
+    setupPreviousMountableOutputData(layoutState, localVisibleRect);
+  }
+
+  private void mountChildLithoViewsIncrementally(
+      LayoutState layoutState, boolean processVisibilityOutputs) {
     for (int i = 0, size = mCanMountIncrementallyMountItems.size(); i < size; i++) {
       final MountItem mountItem = mCanMountIncrementallyMountItems.valueAt(i);
       final long layoutOutputId = mCanMountIncrementallyMountItems.keyAt(i);
@@ -3688,8 +3759,147 @@ class MountState
     }
 
     mComponentIdsMountedInThisFrame.clear();
+  }
 
-    return true;
+  /**
+   * Mounts the given output that entered the visible rect, unless the current frame already spent
+   * its incremental mount budget, in which case its mount is deferred to a later frame.
+   */
+  private void mountLayoutOutputWithinFrameBudget(
+      int index, RenderTreeNode node, LayoutOutput layoutOutput, LayoutState layoutState) {
+    if (isFrameBudgetExceeded()) {
+      mDeferredMountOutputIds.add(layoutOutput.getId());
+      mMountStats.deferredCount++;
+      scheduleDeferredMount();
+      return;
+    }
+
+    mountLayoutOutput(index, node, layoutOutput, layoutState);
+    mComponentIdsMountedInThisFrame.add(layoutOutput.getId());
+  }
+
+  private boolean isFrameBudgetExceeded() {
+    final int frameBudgetMs = ComponentsConfiguration.incrementalMountFrameBudgetMs;
+    return frameBudgetMs > 0
+        && (System.nanoTime() - mFrameStartTimeNs) / NS_IN_MS >= frameBudgetMs;
+  }
+
+  private void scheduleDeferredMount() {
+    if (!mIsDeferredMountScheduled) {
+      mIsDeferredMountScheduled = true;
+      ChoreographerCompatImpl.getInstance().postFrameCallback(mDeferredMountFrameCallback);
+    }
+  }
+
+  private void cancelDeferredMount() {
+    mDeferredMountOutputIds.clear();
+    if (mIsDeferredMountScheduled) {
+      mIsDeferredMountScheduled = false;
+      ChoreographerCompatImpl.getInstance().removeFrameCallback(mDeferredMountFrameCallback);
+    }
+  }
+
+  /**
+   * Mounts the deferred outputs that are still visible, closest to the center of the visible rect
+   * first, until the frame budget is spent. What is left is deferred to the next frame.
+   */
+  @VisibleForTesting
+  void mountDeferredOutputs() {
+    final LayoutState layoutState = mLastMountedLayoutState;
+    final ComponentTree componentTree = mLithoView.getComponentTree();
+    if (layoutState == null || componentTree == null) {
+      mDeferredMountOutputIds.clear();
+      return;
+    }
+
+    if (mIsMounting) {
+      // Mounts can't be nested, so try again on the next frame.
+      scheduleDeferredMount();
+      return;
+    }
+
+    mFrameStartTimeNs = System.nanoTime();
+    final boolean isTracing = ComponentsSystrace.isTracing();
+    if (isTracing) {
+      ComponentsSystrace.beginSection("mountDeferredOutputs");
+    }
+
+    final ComponentsLogger logger = componentTree.getContext().getLogger();
+    final PerfEvent perfEvent =
+        logger == null
+            ? null
+            : LogTreePopulator.populatePerfEventFromLogger(
+                componentTree.getContext(),
+                logger,
+                logger.newPerformanceEvent(
+                    componentTree.getContext(), EVENT_MOUNT_DEFERRED_OUTPUTS));
+
+    // Sort by distance to the center of the visible rect, keeping the position in the low bits.
+    final Rect visibleRect = mPreviousLocalVisibleRect;
+    final long[] keys = new long[mDeferredMountOutputIds.size()];
+    int count = 0;
+    for (Iterator<Long> iterator = mDeferredMountOutputIds.iterator(); iterator.hasNext(); ) {
+      final int position = layoutState.getLayoutOutputPositionForId(iterator.next());
+      final Rect bounds =
+          position == -1 ? null : layoutState.getMountableOutputAt(position).getBounds();
+      if (bounds == null || getItemAt(position) != null || !Rect.intersects(visibleRect, bounds)) {
+        iterator.remove();
+        continue;
+      }
+
+      final int distance =
+          Math.abs(bounds.centerX() - visibleRect.centerX())
+              + Math.abs(bounds.centerY() - visibleRect.centerY());
+      keys[count++] = ((long) distance << 32) | position;
+    }
+    Arrays.sort(keys, 0, count);
+
+    int mountedCount = 0;
+    for (int i = 0; i < count && (mountedCount == 0 || !isFrameBudgetExceeded()); i++) {
+      final int position = (int) keys[i];
+      final RenderTreeNode node = layoutState.getMountableOutputAt(position);
+      final LayoutOutput layoutOutput = getLayoutOutput(node);
+      mDeferredMountOutputIds.remove(layoutOutput.getId());
+      if (getItemAt(position) == null) {
+        mountLayoutOutput(position, node, layoutOutput, layoutState);
+        mComponentIdsMountedInThisFrame.add(layoutOutput.getId());
+        mountedCount++;
+      }
+    }
+
+    // Like an incremental mount, update the child LithoViews and the visibility outputs.
+    if (mountedCount > 0) {
+      mountChildLithoViewsIncrementally(layoutState, true);
+      if (componentTree.isVisibilityProcessingEnabled()) {
+        processVisibilityOutputsInternal(layoutState, visibleRect, visibleRect, false, null, true);
+      }
+    }
+
+    if (!mDeferredMountOutputIds.isEmpty()) {
+      scheduleDeferredMount();
+    } else {
+      releasePremountedContentIfMounted(layoutState);
+    }
+
+    if (perfEvent != null) {
+      perfEvent.markerAnnotate(PARAM_MOUNTED_COUNT, mountedCount);
+      perfEvent.markerAnnotate(PARAM_DEFERRED_COUNT, mDeferredMountOutputIds.size());
+      logger.logPerfEvent(perfEvent);
+    }
+
+    if (isTracing) {
+      ComponentsSystrace.endSection();
+    }
+  }
+
+  /**
+   * Releases the content premounted for outputs of the given LayoutState that its mount skipped,
+   * once no deferred output is left to mount.
+   */
+  private void releasePremountedContentIfMounted(LayoutState layoutState) {
+    if (mDeferredMountOutputIds.isEmpty()) {
+      layoutState.releasePremountedContent(mRecyclingMode);
+    }
   }
 
   private void prepareTransitionManager() {
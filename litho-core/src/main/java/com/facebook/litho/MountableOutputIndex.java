@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import android.graphics.Rect;
+import com.facebook.rendercore.MountDelegate.MountDelegateInput;
+import com.facebook.rendercore.RenderTreeNode;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A static 2-D index over the bounds of the mountable outputs of a layout, which finds the outputs
+ * intersecting a visible rect in O(log n + k) whatever the direction the rect moved in.
+ *
+ * <p>It is a packed R-tree: the outputs are ordered by Sort-Tile-Recursive (sorted by their center
+ * x, cut into vertical slices and sorted by their center y within each slice) and every {@link
+ * #NODE_SIZE} consecutive entries of a level are grouped into an entry of the level above, which
+ * holds the union of their bounds. All the levels are stored in flat arrays, leaves first.
+ *
+ * <p>Queries must all happen on the same thread.
+ */
+final class MountableOutputIndex {
+
+  private static final int NODE_SIZE = 16;
+
+  private final int mCount;
+  private final int[] mLefts;
+  private final int[] mTops;
+  private final int[] mRights;
+  private final int[] mBottoms;
+
+  /** The position in the layout of the output of each leaf. */
+  private final int[] mPositions;
+
+  /** The offset of each level in the bounds arrays, followed by the total number of entries. */
+  private final int[] mLevelOffsets;
+
+  /** Pairs of (entry, level) left to visit by the running query. */
+  private final int[] mStack;
+
+  private MountableOutputIndex(int count, int[] levelOffsets) {
+    final int entryCount = levelOffsets[levelOffsets.length - 1];
+    mCount = count;
+    mLevelOffsets = levelOffsets;
+    mLefts = new int[entryCount];
+    mTops = new int[entryCount];
+    mRights = new int[entryCount];
+    mBottoms = new int[entryCount];
+    mPositions = new int[count];
+    mStack = new int[2 * NODE_SIZE * levelOffsets.length];
+  }
+
+  static MountableOutputIndex create(MountDelegateInput input, int count) {
+    int levelCount = 1;
+    for (int levelSize = count; levelSize > 1; levelSize = divideRoundingUp(levelSize, NODE_SIZE)) {
+      levelCount++;
+    }
+
+    final int[] levelOffsets = new int[levelCount + 1];
+    for (int level = 0, levelSize = count; level < levelCount; level++) {
+      levelOffsets[level + 1] = levelOffsets[level] + levelSize;
+      levelSize = divideRoundingUp(levelSize, NODE_SIZE);
+    }
+
+    final MountableOutputIndex index = new MountableOutputIndex(count, levelOffsets);
+    if (count == 0) {
+      return index;
+    }
+
+    final Rect[] bounds = new Rect[count];
+    for (int i = 0; i < count; i++) {
+      bounds[i] = input.getMountableOutputAt(i).getBounds();
+    }
+
+    index.sortTileRecursive(bounds);
+    index.buildLevels(bounds);
+
+    return index;
+  }
+
+  /**
+   * Collects the positions of the outputs whose bounds intersect the given rect.
+   *
+   * @param out receives the positions in ascending order, must be able to hold all the outputs.
+   * @return the number of positions written to out.
+   */
+  int query(Rect rect, int[] out) {
+    if (mCount == 0) {
+      return 0;
+    }
+
+    final int rootLevel = mLevelOffsets.length - 2;
+    int stackSize = 0;
+    for (int i = mLevelOffsets[rootLevel]; i < mLevelOffsets[rootLevel + 1]; i++) {
+      mStack[stackSize++] = i;
+      mStack[stackSize++] = rootLevel;
+    }
+
+    int resultCount = 0;
+    while (stackSize > 0) {
+      final int level = mStack[--stackSize];
+      final int entry = mStack[--stackSize];
+
+      if (rect.left >= mRights[entry]
+          || mLefts[entry] >= rect.right
+          || rect.top >= mBottoms[entry]
+          || mTops[entry] >= rect.bottom) {
+        continue;
+      }
+
+      if (level == 0) {
+        out[resultCount++] = mPositions[entry];
+        continue;
+      }
+
+      final int firstChild =
+          mLevelOffsets[level - 1] + (entry - mLevelOffsets[level]) * NODE_SIZE;
+      final int lastChild = Math.min(firstChild + NODE_SIZE, mLevelOffsets[level]);
+      for (int child = firstChild; child < lastChild; child++) {
+        mStack[stackSize++] = child;
+        mStack[stackSize++] = level - 1;
+      }
+    }
+
+    Arrays.sort(out, 0, resultCount);
+    return resultCount;
+  }
+
+  int getCount() {
+    return mCount;
+  }
+
+  /**
+   * @return the index of the first output of the given tops, sorted by top, whose top is at or
+   *     below y, or the number of outputs if there is none.
+   */
+  static int findFirstTopAtOrBelow(List<RenderTreeNode> tops, int y) {
+    int low = 0;
+    int high = tops.size();
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (y <= tops.get(middle).getBounds().top) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @return the index of the first output of the given bottoms, sorted by bottom, whose bottom is
+   *     below y, or the number of outputs if there is none.
+   */
+  static int findFirstBottomBelow(List<RenderTreeNode> bottoms, int y) {
+    int low = 0;
+    int high = bottoms.size();
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (y < bottoms.get(middle).getBounds().bottom) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  /** Orders the leaves so that each group of NODE_SIZE consecutive leaves is spatially close. */
+  private void sortTileRecursive(Rect[] bounds) {
+    final long[] keys = new long[mCount];
+    for (int i = 0; i < mCount; i++) {
+      keys[i] = sortKey(bounds[i].centerX(), i);
+    }
+    Arrays.sort(keys);
+
+    final int leafNodeCount = divideRoundingUp(mCount, NODE_SIZE);
+    final int sliceCount = (int) Math.ceil(Math.sqrt(leafNodeCount));
+    final int sliceSize = Math.max(1, divideRoundingUp(leafNodeCount, sliceCount)) * NODE_SIZE;
+    for (int start = 0; start < mCount; start += sliceSize) {
+      final int end = Math.min(start + sliceSize, mCount);
+      for (int i = start; i < end; i++) {
+        final int position = (int) keys[i];
+        keys[i] = sortKey(bounds[position].centerY(), position);
+      }
+      Arrays.sort(keys, start, end);
+    }
+
+    for (int i = 0; i < mCount; i++) {
+      mPositions[i] = (int) keys[i];
+    }
+  }
+
+  private void buildLevels(Rect[] bounds) {
+    for (int i = 0; i < mCount; i++) {
+      final Rect rect = bounds[mPositions[i]];
+      mLefts[i] = rect.left;
+      mTops[i] = rect.top;
+      mRights[i] = rect.right;
+      mBottoms[i] = rect.bottom;
+    }
+
+    for (int level = 1; level < mLevelOffsets.length - 1; level++) {
+      final int childrenEnd = mLevelOffsets[level];
+      for (int entry = mLevelOffsets[level], child = mLevelOffsets[level - 1];
+          entry < mLevelOffsets[level + 1];
+          entry++) {
+        final int lastChild = Math.min(child + NODE_SIZE, childrenEnd);
+        mLefts[entry] = mLefts[child];
+        mTops[entry] = mTops[child];
+        mRights[entry] = mRights[child];
+        mBottoms[entry] = mBottoms[child];
+        for (child++; child < lastChild; child++) {
+          mLefts[entry] = Math.min(mLefts[entry], mLefts[child]);
+          mTops[entry] = Math.min(mTops[entry], mTops[child]);
+          mRights[entry] = Math.max(mRights[entry], mRights[child]);
+          mBottoms[entry] = Math.max(mBottoms[entry], mBottoms[child]);
+        }
+      }
+    }
+  }
+
+  /** Sorts by value first, keeping the position in the low bits to read it back. */
+  private static long sortKey(int value, int position) {
+    return ((long) value << 32) | position;
+  }
+
+  private static int divideRoundingUp(int dividend, int divisor) {
+    return (dividend + divisor - 1) / divisor;
+  }
+}
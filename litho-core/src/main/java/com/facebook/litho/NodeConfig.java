@@ -17,6 +17,7 @@
 package com.facebook.litho;
 
 import androidx.annotation.Nullable;
+import com.facebook.litho.stats.LithoStats;
 import com.facebook.litho.yoga.LithoYogaFactory;
 import com.facebook.yoga.YogaConfig;
 import com.facebook.yoga.YogaNode;
@@ -46,6 +47,12 @@ public class NodeConfig {
 
   @Nullable
   static YogaNode createYogaNode() {
+    final YogaNode pooledNode = YogaNodePool.acquire();
+    if (pooledNode != null) {
+      return pooledNode;
+    }
+
+    LithoStats.incrementYogaNodeCreatedCount();
     final InternalYogaNodeFactory factory = sYogaNodeFactory;
     return factory != null
         ? factory.create(sYogaConfig)
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.Nullable;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.config.LayoutThreadPoolConfiguration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Creates the layouts of the children of a Row or Column in parallel, see {@link
+ * ComponentsConfiguration#parallelChildLayoutThreadPoolConfig}.
+ *
+ * <p>The children are updated sequentially on the calling thread first, which generates their
+ * global keys and applies their state updates in the same order as a sequential layout would. Only
+ * then are their layouts created in parallel. Global keys of descendants are derived from the key
+ * of their parent, so they are deterministic as well.
+ *
+ * <p>The calling thread creates layouts too instead of only waiting for the pool. This way nested
+ * parallel layouts can't deadlock even if all the threads of the pool are busy.
+ */
+final class ParallelChildLayout {
+
+  private static final Object sLock = new Object();
+
+  @GuardedBy("sLock")
+  private static @Nullable ThreadPoolExecutor sExecutor;
+
+  @GuardedBy("sLock")
+  private static @Nullable LayoutThreadPoolConfiguration sExecutorConfig;
+
+  private ParallelChildLayout() {}
+
+  static boolean shouldCreateInParallel(ComponentContext c, @Nullable List<Component> children) {
+    return ComponentsConfiguration.parallelChildLayoutThreadPoolConfig != null
+        && children != null
+        && children.size() >= Math.max(2, ComponentsConfiguration.parallelChildLayoutMinChildren)
+        && !c.wasLayoutInterrupted();
+  }
+
+  /**
+   * Creates the layouts of the children and adds them to the node in order.
+   *
+   * @return false if the layout was canceled.
+   */
+  static boolean createChildren(ComponentContext c, InternalNode node, List<Component> children) {
+    final int count = children.size();
+    final Component[] updated = new Component[count];
+    final InternalNode[] layouts = new InternalNode[count];
+
+    for (int i = 0; i < count; i++) {
+      final Component child = children.get(i);
+      if (child == null) {
+        continue;
+      }
+
+      final InternalNode cached = child.consumeLayoutCreatedInWillRender();
+      if (cached != null) {
+        layouts[i] = cached;
+        continue;
+      }
+
+      try {
+        updated[i] = Layout.update(c, child, false);
+      } catch (Throwable t) {
+        throw new ComponentsChainException(child, t);
+      }
+    }
+
+    final Batch batch = new Batch(c, updated, layouts);
+    final ThreadPoolExecutor executor = getExecutor();
+    final int helpers = Math.min(count - 1, executor.getMaximumPoolSize());
+    for (int i = 0; i < helpers; i++) {
+      executor.execute(batch);
+    }
+
+    batch.run();
+    batch.await();
+
+    if (batch.mError != null) {
+      if (batch.mError instanceof RuntimeException) {
+        throw (RuntimeException) batch.mError;
+      } else if (batch.mError instanceof Error) {
+        throw (Error) batch.mError;
+      }
+      throw new RuntimeException(batch.mError);
+    }
+
+    if (c.wasLayoutCanceled()) {
+      return false;
+    }
+
+    for (InternalNode layout : layouts) {
+      node.child(layout);
+    }
+
+    return true;
+  }
+
+  private static ThreadPoolExecutor getExecutor() {
+    final LayoutThreadPoolConfiguration config =
+        ComponentsConfiguration.parallelChildLayoutThreadPoolConfig;
+    synchronized (sLock) {
+      if (sExecutor == null || sExecutorConfig != config) {
+        if (sExecutor != null) {
+          sExecutor.shutdown();
+        }
+        sExecutor =
+            new LayoutThreadPoolExecutor(
+                config.getCorePoolSize(), config.getMaxPoolSize(), config.getThreadPriority());
+        sExecutorConfig = config;
+      }
+      return sExecutor;
+    }
+  }
+
+  /** Creates the layouts of the children on every thread that runs it until none is left. */
+  private static final class Batch implements Runnable {
+    private final ComponentContext mContext;
+    private final Component[] mComponents;
+    private final InternalNode[] mLayouts;
+    private final AtomicInteger mNextIndex = new AtomicInteger();
+    private final CountDownLatch mRemaining;
+    private volatile @Nullable Throwable mError;
+
+    Batch(ComponentContext c, Component[] components, InternalNode[] layouts) {
+      mContext = c;
+      mComponents = components;
+      mLayouts = layouts;
+      mRemaining = new CountDownLatch(components.length);
+    }
+
+    @Override
+    public void run() {
+      int index;
+      while ((index = mNextIndex.getAndIncrement()) < mComponents.length) {
+        try {
+          final Component component = mComponents[index];
+          if (component != null && mError == null && !mContext.wasLayoutCanceled()) {
+            mLayouts[index] = Layout.create(mContext, component, false, false, true);
+          }
+        } catch (Throwable t) {
+          mError = t;
+        } finally {
+          mRemaining.countDown();
+        }
+      }
+    }
+
+    void await() {
+      boolean interrupted = false;
+      while (true) {
+        try {
+          mRemaining.await();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+/** A {@link PoolWithDebugInfo} which also keeps track of how effective it is at recycling. */
+public interface PoolWithStats extends PoolWithDebugInfo {
+
+  /** @return the number of times an object was requested from the pool. */
+  long getAcquireCount();
+
+  /** @return the number of acquires that were served with a recycled object. */
+  long getHitCount();
+
+  /** @return the number of acquires that required a new object to be created. */
+  long getMissCount();
+
+  /** @return the number of times an object was given back to the pool. */
+  long getReleaseCount();
+
+  /** @return the number of released objects that were dropped because the pool was full. */
+  long getDroppedCount();
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import static com.facebook.litho.Component.isHostSpec;
+import static com.facebook.litho.LayoutOutput.getLayoutOutput;
+
+import androidx.annotation.Nullable;
+import androidx.collection.LongSparseArray;
+import com.facebook.infer.annotation.ThreadSafe;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * The mount content of a {@link LayoutState} that was acquired and mounted on a background thread
+ * before the LayoutState is mounted, for the components that can be premounted (see {@link
+ * com.facebook.litho.annotations.MountSpec#canPremount()}). {@link MountState} then only has to
+ * attach and bind that content on the UI thread.
+ *
+ * <p>Premounting stops as soon as the LayoutState starts being mounted, and an output that was
+ * mounted on the UI thread while its content was being premounted has that content unmounted and
+ * released back to the pool. So is the content that no mount took, once the LayoutState finished
+ * mounting or was replaced by a newer one.
+ */
+@ThreadSafe
+final class PremountedContent {
+
+  @GuardedBy("this")
+  private @Nullable LongSparseArray<Entry> mEntries;
+
+  /** Whether the LayoutState started to be mounted or was released. */
+  @GuardedBy("this")
+  private boolean mIsMounting;
+
+  /** Acquires and mounts the content of the outputs of the LayoutState that can be premounted. */
+  void premount(LayoutState layoutState, ComponentContext layoutContext, int recyclingMode) {
+    final boolean isTracing = ComponentsSystrace.isTracing();
+
+    for (int i = 0, count = layoutState.getMountableOutputCount(); i < count; i++) {
+      final LayoutOutput output = getLayoutOutput(layoutState.getMountableOutputAt(i));
+      final Component component = output.getComponent();
+      if (isHostSpec(component) || !component.canPremount()) {
+        continue;
+      }
+
+      final ComponentContext scopedContext = component.getScopedContext();
+      final ComponentContext c = scopedContext != null ? scopedContext : layoutContext;
+      final Entry entry = new Entry(component, c);
+      synchronized (this) {
+        if (mIsMounting) {
+          return;
+        }
+        if (mEntries == null) {
+          mEntries = new LongSparseArray<>();
+        } else if (mEntries.get(output.getId()) != null) {
+          continue;
+        }
+        mEntries.put(output.getId(), entry);
+      }
+
+      if (isTracing) {
+        ComponentsSystrace.beginSection("premount:" + component.getSimpleName());
+      }
+
+      final Object content =
+          ComponentsPools.acquireMountContent(c.getAndroidContext(), component, recyclingMode);
+      component.mount(c, content);
+
+      final boolean wasTaken;
+      synchronized (this) {
+        wasTaken = entry.mIsTaken;
+        if (!wasTaken) {
+          entry.mContent = content;
+        }
+      }
+
+      if (wasTaken) {
+        // The output was mounted on the UI thread, or the LayoutState released, in the meantime.
+        component.unmount(c, content);
+        ComponentsPools.release(c.getAndroidContext(), component, content, recyclingMode);
+      }
+
+      if (isTracing) {
+        ComponentsSystrace.endSection();
+      }
+    }
+  }
+
+  /**
+   * @return the premounted content of the output with the given id, or null if it has to be
+   *     mounted on the calling thread.
+   */
+  synchronized @Nullable Object take(long outputId) {
+    mIsMounting = true;
+    if (mEntries == null) {
+      return null;
+    }
+
+    final Entry entry = mEntries.get(outputId);
+    if (entry == null) {
+      // Premounting stopped before reaching this output.
+      return null;
+    }
+
+    entry.mIsTaken = true;
+    final Object content = entry.mContent;
+    entry.mContent = null;
+    return content;
+  }
+
+  /**
+   * Stops premounting, and unmounts and releases back to the pool the premounted content that
+   * wasn't taken. Called once the LayoutState finished mounting or was replaced by a newer one.
+   */
+  void release(int recyclingMode) {
+    final List<Entry> untakenEntries = new ArrayList<>();
+    final List<Object> untakenContent = new ArrayList<>();
+    synchronized (this) {
+      mIsMounting = true;
+      if (mEntries == null) {
+        return;
+      }
+
+      for (int i = 0, size = mEntries.size(); i < size; i++) {
+        final Entry entry = mEntries.valueAt(i);
+        if (entry.mIsTaken) {
+          continue;
+        }
+        // Content still being premounted is released by premount() once it sees the flag.
+        entry.mIsTaken = true;
+        if (entry.mContent != null) {
+          untakenEntries.add(entry);
+          untakenContent.add(entry.mContent);
+          entry.mContent = null;
+        }
+      }
+    }
+
+    for (int i = 0, size = untakenEntries.size(); i < size; i++) {
+      final Entry entry = untakenEntries.get(i);
+      final Object content = untakenContent.get(i);
+      entry.mComponent.unmount(entry.mContext, content);
+      ComponentsPools.release(
+          entry.mContext.getAndroidContext(), entry.mComponent, content, recyclingMode);
+    }
+  }
+
+  private static final class Entry {
+    private final Component mComponent;
+    private final ComponentContext mContext;
+    private @Nullable Object mContent;
+    private boolean mIsTaken;
+
+    private Entry(Component component, ComponentContext context) {
+      mComponent = component;
+      mContext = context;
+    }
+  }
+}
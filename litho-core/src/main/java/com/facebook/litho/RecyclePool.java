@@ -37,7 +37,9 @@ public class RecyclePool<T> implements PoolWithDebugInfo {
     mIsSync = sync;
     mName = name;
     mMaxSize = maxSize;
-    mPool = sync ? new Pools.SynchronizedPool<T>(maxSize) : new Pools.SimplePool<T>(maxSize);
+    // Accesses are already synchronized on this pool when sync is true, so there is no need to pay
+    // for the additional monitor of a Pools.SynchronizedPool.
+    mPool = new Pools.SimplePool<T>(maxSize);
   }
 
   public T acquire() {
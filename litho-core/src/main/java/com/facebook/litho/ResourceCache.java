@@ -17,16 +17,78 @@
 package com.facebook.litho;
 
 import android.content.res.Configuration;
+import androidx.annotation.IntDef;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.internal.IntLruCache;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 
+/**
+ * Caches resolved resources for a {@link Configuration}. Values are cached per {@link
+ * ResourceType} so that each type is sized independently and a resource id resolved as different
+ * types (e.g. a dimension as a pixel size and as a pixel offset) doesn't collide.
+ */
 public abstract class ResourceCache {
-  private static ResourceCache latest;
+
+  /** Returned by {@link #getInt(int, int)} if there is no cached value. */
+  static final long MISSING = IntLruCache.MISSING;
+
+  static final int TYPE_STRING = 0;
+  static final int TYPE_STRING_ARRAY = 1;
+  static final int TYPE_INT = 2;
+  static final int TYPE_INT_ARRAY = 3;
+  static final int TYPE_BOOL = 4;
+  static final int TYPE_COLOR = 5;
+  static final int TYPE_DIMEN_SIZE = 6;
+  static final int TYPE_DIMEN_OFFSET = 7;
+  static final int TYPE_DIMEN_FLOAT = 8;
+  static final int TYPE_DRAWABLE = 9;
+  static final int TYPE_COUNT = 10;
+
+  @IntDef({
+    TYPE_STRING,
+    TYPE_STRING_ARRAY,
+    TYPE_INT,
+    TYPE_INT_ARRAY,
+    TYPE_BOOL,
+    TYPE_COLOR,
+    TYPE_DIMEN_SIZE,
+    TYPE_DIMEN_OFFSET,
+    TYPE_DIMEN_FLOAT,
+    TYPE_DRAWABLE
+  })
+  @Retention(RetentionPolicy.SOURCE)
+  @interface ResourceType {}
+
+  /** Caches of the most recently used configurations, the most recent one first. */
+  @GuardedBy("ResourceCache.class")
+  private static final List<ResourceCache> sCaches = new ArrayList<>();
 
   static synchronized ResourceCache getLatest(Configuration configuration) {
-    if (latest == null || !latest.mConfiguration.equals(configuration)) {
-      latest = new LruResourceCache(new Configuration(configuration));
+    for (int i = 0, size = sCaches.size(); i < size; i++) {
+      final ResourceCache cache = sCaches.get(i);
+      if (cache.mConfiguration.equals(configuration)) {
+        if (i != 0) {
+          sCaches.remove(i);
+          sCaches.add(0, cache);
+        }
+        return cache;
+      }
     }
-    return latest;
+
+    final ResourceCache cache = new LruResourceCache(new Configuration(configuration));
+    sCaches.add(0, cache);
+
+    final int maxCaches = Math.max(1, ComponentsConfiguration.resourceCacheConfigurationCount);
+    while (sCaches.size() > maxCaches) {
+      sCaches.remove(sCaches.size() - 1);
+    }
+
+    return cache;
   }
 
   private final Configuration mConfiguration;
@@ -35,8 +97,22 @@ public abstract class ResourceCache {
     mConfiguration = configuration;
   }
 
+  /**
+   * @return the cached int as an unsigned value, or {@link #MISSING} if there is none. Cast the
+   *     result to int to get the original value back.
+   */
+  abstract long getInt(@ResourceType int type, int key);
+
+  abstract void putInt(@ResourceType int type, int key, int value);
+
   @Nullable
-  abstract <T> T get(int key);
+  abstract <T> T get(@ResourceType int type, int key);
+
+  abstract void put(@ResourceType int type, int key, Object object);
+
+  /** @return the number of lookups that found a cached value. */
+  public abstract long getHitCount();
 
-  abstract void put(int key, Object object);
+  /** @return the number of lookups that didn't find a cached value. */
+  public abstract long getMissCount();
 }
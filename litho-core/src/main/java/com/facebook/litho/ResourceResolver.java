@@ -20,6 +20,7 @@ import android.content.Context;
 import android.content.res.Resources;
 import android.content.res.TypedArray;
 import android.graphics.drawable.Drawable;
+import android.os.Build;
 import androidx.annotation.ArrayRes;
 import androidx.annotation.AttrRes;
 import androidx.annotation.BoolRes;
@@ -31,6 +32,7 @@ import androidx.annotation.IntegerRes;
 import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
 import androidx.core.content.ContextCompat;
+import java.lang.ref.WeakReference;
 
 public class ResourceResolver {
   private final Resources mResources;
@@ -45,6 +47,16 @@ public class ResourceResolver {
     mResourceCache = context.getResourceCache();
   }
 
+  /** @return the number of resources resolved from the cache of the current configuration. */
+  public long getCacheHitCount() {
+    return mResourceCache.getHitCount();
+  }
+
+  /** @return the number of resources not found in the cache of the current configuration. */
+  public long getCacheMissCount() {
+    return mResourceCache.getMissCount();
+  }
+
   public int dipsToPixels(float dips) {
     final float scale = mResources.getDisplayMetrics().density;
     return FastMath.round(dips * scale);
@@ -67,13 +79,13 @@ public class ResourceResolver {
 
   public @Nullable String resolveStringRes(@StringRes int resId) {
     if (resId != 0) {
-      String cached = mResourceCache.get(resId);
+      String cached = mResourceCache.get(ResourceCache.TYPE_STRING, resId);
       if (cached != null) {
         return cached;
       }
 
       String result = mResources.getString(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.put(ResourceCache.TYPE_STRING, resId, result);
 
       return result;
     }
@@ -88,13 +100,13 @@ public class ResourceResolver {
   @Nullable
   public String[] resolveStringArrayRes(@ArrayRes int resId) {
     if (resId != 0) {
-      String[] cached = mResourceCache.get(resId);
+      String[] cached = mResourceCache.get(ResourceCache.TYPE_STRING_ARRAY, resId);
       if (cached != null) {
         return cached;
       }
 
       String[] result = mResources.getStringArray(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.put(ResourceCache.TYPE_STRING_ARRAY, resId, result);
 
       return result;
     }
@@ -104,13 +116,13 @@ public class ResourceResolver {
 
   public int resolveIntRes(@IntegerRes int resId) {
     if (resId != 0) {
-      Integer cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getInt(ResourceCache.TYPE_INT, resId);
+      if (cached != ResourceCache.MISSING) {
+        return (int) cached;
       }
 
       int result = mResources.getInteger(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putInt(ResourceCache.TYPE_INT, resId, result);
 
       return result;
     }
@@ -121,13 +133,13 @@ public class ResourceResolver {
   @Nullable
   public final int[] resolveIntArrayRes(@ArrayRes int resId) {
     if (resId != 0) {
-      int[] cached = mResourceCache.get(resId);
+      int[] cached = mResourceCache.get(ResourceCache.TYPE_INT_ARRAY, resId);
       if (cached != null) {
         return cached;
       }
 
       int[] result = mResources.getIntArray(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.put(ResourceCache.TYPE_INT_ARRAY, resId, result);
 
       return result;
     }
@@ -148,13 +160,13 @@ public class ResourceResolver {
 
   public boolean resolveBoolRes(@BoolRes int resId) {
     if (resId != 0) {
-      Boolean cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getInt(ResourceCache.TYPE_BOOL, resId);
+      if (cached != ResourceCache.MISSING) {
+        return cached != 0;
       }
 
       boolean result = mResources.getBoolean(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putInt(ResourceCache.TYPE_BOOL, resId, result ? 1 : 0);
 
       return result;
     }
@@ -164,13 +176,13 @@ public class ResourceResolver {
 
   public @ColorInt int resolveColorRes(@ColorRes int resId) {
     if (resId != 0) {
-      Integer cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getInt(ResourceCache.TYPE_COLOR, resId);
+      if (cached != ResourceCache.MISSING) {
+        return (int) cached;
       }
 
       int result = mResources.getColor(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putInt(ResourceCache.TYPE_COLOR, resId, result);
 
       return result;
     }
@@ -180,13 +192,13 @@ public class ResourceResolver {
 
   public int resolveDimenSizeRes(@DimenRes int resId) {
     if (resId != 0) {
-      Integer cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getInt(ResourceCache.TYPE_DIMEN_SIZE, resId);
+      if (cached != ResourceCache.MISSING) {
+        return (int) cached;
       }
 
       int result = mResources.getDimensionPixelSize(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putInt(ResourceCache.TYPE_DIMEN_SIZE, resId, result);
 
       return result;
     }
@@ -196,13 +208,13 @@ public class ResourceResolver {
 
   public int resolveDimenOffsetRes(@DimenRes int resId) {
     if (resId != 0) {
-      Integer cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getInt(ResourceCache.TYPE_DIMEN_OFFSET, resId);
+      if (cached != ResourceCache.MISSING) {
+        return (int) cached;
       }
 
       int result = mResources.getDimensionPixelOffset(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putInt(ResourceCache.TYPE_DIMEN_OFFSET, resId, result);
 
       return result;
     }
@@ -212,13 +224,14 @@ public class ResourceResolver {
 
   public float resolveFloatRes(@DimenRes int resId) {
     if (resId != 0) {
-      Float cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getInt(ResourceCache.TYPE_DIMEN_FLOAT, resId);
+      if (cached != ResourceCache.MISSING) {
+        return Float.intBitsToFloat((int) cached);
       }
 
       float result = mResources.getDimension(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putInt(
+          ResourceCache.TYPE_DIMEN_FLOAT, resId, Float.floatToRawIntBits(result));
 
       return result;
     }
@@ -231,7 +244,23 @@ public class ResourceResolver {
     if (resId == 0) {
       return null;
     }
-    return ContextCompat.getDrawable(mAndroidContext, resId);
+
+    final CachedDrawable cached = mResourceCache.get(ResourceCache.TYPE_DRAWABLE, resId);
+    if (cached != null && cached.mTheme.get() == mTheme) {
+      return Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP
+          ? cached.mConstantState.newDrawable(mResources, mTheme)
+          : cached.mConstantState.newDrawable(mResources);
+    }
+
+    final Drawable result = ContextCompat.getDrawable(mAndroidContext, resId);
+    final Drawable.ConstantState constantState =
+        result != null ? result.getConstantState() : null;
+    if (constantState != null) {
+      mResourceCache.put(
+          ResourceCache.TYPE_DRAWABLE, resId, new CachedDrawable(mTheme, constantState));
+    }
+
+    return result;
   }
 
   public String resolveStringAttr(@AttrRes int attrResId, @StringRes int defResId) {
@@ -366,4 +395,18 @@ public class ResourceResolver {
       a.recycle();
     }
   }
+
+  /**
+   * Drawables can reference theme attributes, so a cached drawable is only reused for the theme it
+   * was resolved with.
+   */
+  private static final class CachedDrawable {
+    private final WeakReference<Resources.Theme> mTheme;
+    private final Drawable.ConstantState mConstantState;
+
+    CachedDrawable(Resources.Theme theme, Drawable.ConstantState constantState) {
+      mTheme = new WeakReference<>(theme);
+      mConstantState = constantState;
+    }
+  }
 }
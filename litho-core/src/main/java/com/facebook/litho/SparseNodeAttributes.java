@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import androidx.annotation.Nullable;
+
+/**
+ * A sparse table for attributes that are rarely set on an {@link InternalNode}. Each attribute has
+ * a key between 0 and 63; the values of the keys that were set are packed in key order, and the
+ * index of a value is the number of set keys below its own.
+ */
+final class SparseNodeAttributes {
+
+  private static final int MAX_KEY = 63;
+
+  private long mKeys;
+  private Object[] mValues;
+
+  SparseNodeAttributes() {
+    mValues = new Object[2];
+  }
+
+  private SparseNodeAttributes(long keys, Object[] values) {
+    mKeys = keys;
+    mValues = values;
+  }
+
+  @Nullable
+  Object get(int key) {
+    final long bit = bit(key);
+    if ((mKeys & bit) == 0) {
+      return null;
+    }
+    return mValues[index(bit)];
+  }
+
+  void put(int key, @Nullable Object value) {
+    final long bit = bit(key);
+    final int index = index(bit);
+    if ((mKeys & bit) != 0) {
+      mValues[index] = value;
+      return;
+    }
+
+    final int size = Long.bitCount(mKeys);
+    if (size == mValues.length) {
+      final Object[] values = new Object[size * 2];
+      System.arraycopy(mValues, 0, values, 0, index);
+      System.arraycopy(mValues, index, values, index + 1, size - index);
+      mValues = values;
+    } else {
+      System.arraycopy(mValues, index, mValues, index + 1, size - index);
+    }
+    mValues[index] = value;
+    mKeys |= bit;
+  }
+
+  /** @return a copy of this table; the values themselves are not copied. */
+  SparseNodeAttributes copy() {
+    return new SparseNodeAttributes(mKeys, mValues.clone());
+  }
+
+  private int index(long bit) {
+    return Long.bitCount(mKeys & (bit - 1));
+  }
+
+  private static long bit(int key) {
+    if (key < 0 || key > MAX_KEY) {
+      throw new IllegalArgumentException("Attribute key must be between 0 and 63, was " + key);
+    }
+    return 1L << key;
+  }
+}
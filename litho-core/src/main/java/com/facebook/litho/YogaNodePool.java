@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.ComponentContext.NULL_LAYOUT;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.stats.LithoStats;
+import com.facebook.yoga.YogaNode;
+
+/**
+ * Keeps the YogaNodes of discarded layout trees so that later layouts can reuse them instead of
+ * allocating new native nodes and leaving the old ones to the finalizer. The size of the pool is
+ * set by {@link ComponentsConfiguration#yogaNodePoolSize}; pooling is disabled if it is 0.
+ */
+final class YogaNodePool {
+
+  private static final String POOL_NAME = "YogaNode";
+
+  private static volatile @Nullable RecyclePool<YogaNode> sPool;
+
+  private YogaNodePool() {}
+
+  /** @return a reset YogaNode from the pool, or null if there are none. */
+  static @Nullable YogaNode acquire() {
+    final RecyclePool<YogaNode> pool = getPool();
+    final YogaNode node = pool != null ? pool.acquire() : null;
+    if (node != null) {
+      LithoStats.incrementYogaNodeReusedCount();
+    }
+    return node;
+  }
+
+  /**
+   * Detaches and resets the YogaNodes of the given layout tree, including its nested trees, and
+   * keeps them for reuse until the pool is full. The tree must not be used after this call.
+   */
+  static void release(InternalNode root) {
+    final RecyclePool<YogaNode> pool = getPool();
+    if (pool != null) {
+      release(pool, root);
+    }
+  }
+
+  @VisibleForTesting
+  static synchronized void clear() {
+    sPool = null;
+  }
+
+  private static void release(RecyclePool<YogaNode> pool, InternalNode node) {
+    if (node == NULL_LAYOUT || pool.isFull()) {
+      return;
+    }
+
+    if (node.isNestedTreeHolder()) {
+      final InternalNode nestedTree = node.getNestedTree();
+      if (nestedTree != null) {
+        release(pool, nestedTree);
+      }
+    }
+
+    final YogaNode yogaNode = node.getYogaNode();
+    if (yogaNode == null) {
+      return;
+    }
+
+    for (int i = node.getChildCount() - 1; i >= 0; i--) {
+      final InternalNode child = node.getChildAt(i);
+      // A YogaNode shared with another tree has no owner, it is left to that tree.
+      final boolean isOwned = child.getYogaNode().getOwner() == yogaNode;
+      yogaNode.removeChildAt(i);
+      if (isOwned) {
+        release(pool, child);
+      }
+    }
+
+    if (yogaNode.getOwner() != null) {
+      return;
+    }
+
+    yogaNode.reset();
+    pool.release(yogaNode);
+  }
+
+  private static @Nullable RecyclePool<YogaNode> getPool() {
+    final int size = ComponentsConfiguration.yogaNodePoolSize;
+    if (size <= 0) {
+      return null;
+    }
+
+    RecyclePool<YogaNode> pool = sPool;
+    if (pool == null || pool.getMaxSize() != size) {
+      synchronized (YogaNodePool.class) {
+        pool = sPool;
+        if (pool == null || pool.getMaxSize() != size) {
+          pool = new RecyclePool<>(POOL_NAME, size, true);
+          sPool = pool;
+        }
+      }
+    }
+    return pool;
+  }
+}
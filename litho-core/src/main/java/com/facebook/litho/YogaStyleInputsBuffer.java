@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import com.facebook.yoga.YogaEdge;
+import com.facebook.yoga.YogaNode;
+import com.facebook.yoga.YogaStyleInputs;
+
+/**
+ * Accumulates style inputs for a {@link YogaNode} in the format described by {@link
+ * YogaStyleInputs}, so that they can be applied with a single call to {@link
+ * YogaNode#setStyleInputs(float[], int)} instead of one JNI call per setter.
+ */
+final class YogaStyleInputsBuffer {
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final float[] EMPTY = new float[0];
+
+  private float[] mInputs = EMPTY;
+  private int mSize;
+
+  void add(short input) {
+    ensureCapacity(1);
+    mInputs[mSize++] = input;
+  }
+
+  void add(short input, float value) {
+    ensureCapacity(2);
+    mInputs[mSize++] = input;
+    mInputs[mSize++] = value;
+  }
+
+  void add(short input, YogaEdge edge, float value) {
+    ensureCapacity(3);
+    mInputs[mSize++] = input;
+    mInputs[mSize++] = edge.intValue();
+    mInputs[mSize++] = value;
+  }
+
+  /** Applies the buffered inputs to the given node and clears the buffer. */
+  void flushTo(YogaNode node) {
+    if (mSize == 0) {
+      return;
+    }
+    node.setStyleInputs(mInputs, mSize);
+    mSize = 0;
+  }
+
+  private void ensureCapacity(int extra) {
+    if (mSize + extra > mInputs.length) {
+      final float[] inputs = new float[Math.max(INITIAL_CAPACITY, mInputs.length * 2)];
+      System.arraycopy(mInputs, 0, inputs, 0, mSize);
+      mInputs = inputs;
+    }
+  }
+}
@@ -119,6 +119,13 @@ public class ComponentsConfiguration {
    */
   public static boolean useNewGenerateMechanismForGlobalKeys = false;
 
+  /**
+   * If true, global keys are derived as 64-bit rolling hashes of the parent's key and the child's
+   * type, manual key and index instead of concatenated Strings. String keys are then only
+   * materialized on demand.
+   */
+  public static boolean useHashedGlobalKeys = false;
+
   /** Whether to unmount all contents of LithoView when its ComponentTree is set to null. */
   public static boolean unmountAllWhenComponentTreeSetToNull = false;
 
@@ -128,6 +135,23 @@ public class ComponentsConfiguration {
    */
   public static @Nullable LayoutThreadPoolConfiguration threadPoolForBackgroundThreadsConfig = null;
 
+  /**
+   * If non-null, the layouts of the children of a Row or Column are created in parallel on a thread
+   * pool with this configuration. Yoga measurement still happens once all of them are created.
+   */
+  public static @Nullable LayoutThreadPoolConfiguration parallelChildLayoutThreadPoolConfig = null;
+
+  /** Min number of children a Row or Column needs to have their layouts created in parallel. */
+  public static int parallelChildLayoutMinChildren = 4;
+
+  /**
+   * If non-null, ComponentTrees without a custom layout handler compute their layouts on a shared
+   * {@link com.facebook.litho.LayoutScheduler} with this configuration, instead of on the default
+   * layout thread. The configuration is read once, when the first tree uses the shared scheduler,
+   * later changes are ignored.
+   */
+  public static @Nullable LayoutThreadPoolConfiguration sharedLayoutSchedulerConfig = null;
+
   /**
    * If non-null, a thread pool will be used for async layouts instead of a single layout thread.
    */
@@ -235,6 +259,67 @@ public class ComponentsConfiguration {
 
   public static boolean useIncrementalMountExtension = false;
 
+  /**
+   * When {@code true}, incremental mount uses a 2-D index of the layout to find the outputs
+   * entering and leaving the visible rect when it moves horizontally, instead of going through all
+   * of them.
+   */
+  public static boolean useSpatialIndexForIncrementalMount = false;
+
+  /**
+   * Time in ms incremental mount may spend mounting the outputs that enter the visible rect in a
+   * frame. Outputs left when the budget is spent are mounted on the next frames, closest to the
+   * center of the visible rect first. Disabled if 0.
+   */
+  public static int incrementalMountFrameBudgetMs = 0;
+
+  /**
+   * When {@code true}, style set on a {@link com.facebook.litho.DefaultInternalNode} is buffered
+   * and applied to its YogaNode in a single JNI call before layout is calculated.
+   */
+  public static boolean batchYogaStyleInputs = false;
+
+  /**
+   * Maximum number of YogaNodes kept to be reused by later layouts once the layout tree they belong
+   * to is discarded. Pooling is disabled if 0.
+   */
+  public static int yogaNodePoolSize = 0;
+
+  /**
+   * When {@code true}, a background layout of a tree taller than two screens first collects the
+   * outputs of its first screen and hands them to the ComponentTree to be mounted, before the
+   * outputs of the whole tree are collected.
+   */
+  public static boolean collectLayoutOutputsInChunks = false;
+
+  /**
+   * Number of threads shared by SectionTrees without their own change set thread handler to
+   * calculate change sets, so that different trees are calculated in parallel. If 0, they all share
+   * a single change set thread.
+   */
+  public static int changeSetThreadPoolSize = 0;
+
+  /**
+   * Number of threads used to diff sibling subtrees of a section hierarchy concurrently when a
+   * change set is calculated. If 0, the whole hierarchy is diffed on the calculating thread.
+   *
+   * <p>When enabled, the generateChangeSet methods of DiffSectionSpecs, the event handlers they
+   * dispatch to (e.g. the ones of DataDiffSection) and the SectionsDebugLogger of the SectionTree
+   * are called from several threads at the same time, so they must be thread safe. The thread name
+   * passed to the SectionsDebugLogger is still the one of the thread calculating the change set.
+   *
+   * <p>The thread pool is created the first time it is used, later changes of its size are
+   * ignored.
+   */
+  public static int childChangeSetsThreadPoolSize = 0;
+
+  /**
+   * When {@code true}, RecyclerBinders keep their ComponentTreeHolders in a chunked list, so that
+   * inserting, removing or moving items near the head of a long list doesn't shift all the items
+   * after them.
+   */
+  public static boolean useChunkedComponentTreeHolderList = false;
+
   public static boolean useVisibilityExtension = false;
 
   public static boolean useTransitionsExtension = false;
@@ -247,6 +332,36 @@ public class ComponentsConfiguration {
 
   public static boolean isGlobalComponentsPoolEnabled = false;
 
+  /**
+   * When {@code true}, mount specs without a custom pool recycle their content through a {@link
+   * com.facebook.litho.LockFreeMountContentPool} instead of a synchronized one.
+   */
+  public static boolean useLockFreeMountContentPool = false;
+
+  /**
+   * When {@code true}, mount specs without a custom pool recycle their content through a {@link
+   * com.facebook.litho.AdaptiveMountContentPool}, whose capacity starts at the spec's pool size and
+   * then adapts to the observed demand within the bounds below.
+   */
+  public static boolean useAdaptiveMountContentPool = false;
+
+  public static int adaptiveMountContentPoolMinSize = 1;
+
+  public static int adaptiveMountContentPoolMaxSize = 30;
+
+  /**
+   * Number of configurations for which resolved resources are kept, so that toggling between e.g.
+   * light and dark mode doesn't drop the cache.
+   */
+  public static int resourceCacheConfigurationCount = 3;
+
+  /**
+   * Max number of bytes, as estimated from their text and line count, held by the text layouts in
+   * {@code TextLayoutCache}, which lets Text components reuse the layout of an identical label
+   * instead of building it again. Disabled if 0.
+   */
+  public static int textLayoutCacheMaxBytes = 0;
+
   /** When {@code true} internal hooks implementation is applied. */
   public static boolean isHooksImplEnabled = false;
 
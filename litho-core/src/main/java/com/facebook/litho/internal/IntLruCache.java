@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.internal;
+
+import androidx.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Weighted LRU cache keyed by primitive ints. Values are either primitive ints or objects; neither
+ * keys nor int values are boxed. Entries are kept in a doubly linked list of slots indexed by an
+ * open addressing hash table, so lookups, inserts and evictions are all O(1).
+ *
+ * <p>This class is not thread safe.
+ */
+public class IntLruCache {
+
+  /** Returned by {@link #getInt(int)} if there is no value mapped from the key. */
+  public static final long MISSING = -1L;
+
+  private static final int NONE = -1;
+  private static final int INITIAL_CAPACITY = 8;
+
+  private final int mMaxWeight;
+
+  private int[] mKeys;
+  private int[] mIntValues;
+  private @Nullable Object[] mValues;
+  private int[] mWeights;
+  private int[] mPrev;
+  private int[] mNext;
+
+  /** Maps a hash position to a slot index plus one, 0 meaning that the position is free. */
+  private int[] mTable;
+
+  private int mHead = NONE;
+  private int mTail = NONE;
+  private int mFree = NONE;
+  private int mUsedSlots;
+  private int mSize;
+  private int mWeight;
+
+  private long mHitCount;
+  private long mMissCount;
+  private long mEvictionCount;
+
+  public IntLruCache(int maxWeight) {
+    if (maxWeight <= 0) {
+      throw new IllegalArgumentException("maxWeight must be positive: " + maxWeight);
+    }
+    mMaxWeight = maxWeight;
+    allocate(Math.min(INITIAL_CAPACITY, maxWeight));
+  }
+
+  /**
+   * @return the int mapped from the key as an unsigned value, or {@link #MISSING} if there is
+   *     none. Cast the result to int to get the original value back.
+   */
+  public long getInt(int key) {
+    final int slot = find(key);
+    if (slot == NONE || mValues[slot] != null) {
+      mMissCount++;
+      return MISSING;
+    }
+    mHitCount++;
+    moveToFront(slot);
+    return mIntValues[slot] & 0xFFFFFFFFL;
+  }
+
+  /** @return the object mapped from the key, or null if there is none. */
+  public @Nullable Object get(int key) {
+    final int slot = find(key);
+    if (slot == NONE || mValues[slot] == null) {
+      mMissCount++;
+      return null;
+    }
+    mHitCount++;
+    moveToFront(slot);
+    return mValues[slot];
+  }
+
+  /** Maps the key to the given int with a weight of one. */
+  public void putInt(int key, int value) {
+    final int slot = obtainSlot(key, 1);
+    mIntValues[slot] = value;
+    mValues[slot] = null;
+    trimToWeight();
+  }
+
+  /** Maps the key to the given object. Objects heavier than the whole cache are not stored. */
+  public void put(int key, Object value, int weight) {
+    if (weight > mMaxWeight) {
+      remove(key);
+      return;
+    }
+    final int slot = obtainSlot(key, Math.max(1, weight));
+    mValues[slot] = value;
+    trimToWeight();
+  }
+
+  public void remove(int key) {
+    final int position = findPosition(key);
+    if (position != NONE) {
+      removeAt(position);
+    }
+  }
+
+  public void clear() {
+    Arrays.fill(mTable, 0);
+    Arrays.fill(mValues, null);
+    mHead = NONE;
+    mTail = NONE;
+    mFree = NONE;
+    mUsedSlots = 0;
+    mSize = 0;
+    mWeight = 0;
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public int weight() {
+    return mWeight;
+  }
+
+  public int maxWeight() {
+    return mMaxWeight;
+  }
+
+  public long getHitCount() {
+    return mHitCount;
+  }
+
+  public long getMissCount() {
+    return mMissCount;
+  }
+
+  public long getEvictionCount() {
+    return mEvictionCount;
+  }
+
+  private int obtainSlot(int key, int weight) {
+    int slot = find(key);
+    if (slot != NONE) {
+      mWeight += weight - mWeights[slot];
+      mWeights[slot] = weight;
+      moveToFront(slot);
+      return slot;
+    }
+
+    if (mFree != NONE) {
+      slot = mFree;
+      mFree = mNext[slot];
+    } else {
+      if (mUsedSlots == mKeys.length) {
+        allocate(mKeys.length * 2);
+      }
+      slot = mUsedSlots++;
+    }
+
+    mKeys[slot] = key;
+    mWeights[slot] = weight;
+    mWeight += weight;
+    mSize++;
+    insertIntoTable(slot);
+    linkFirst(slot);
+    return slot;
+  }
+
+  private void trimToWeight() {
+    while (mWeight > mMaxWeight && mTail != NONE) {
+      removeAt(findPosition(mKeys[mTail]));
+      mEvictionCount++;
+    }
+  }
+
+  private void removeAt(int position) {
+    final int slot = mTable[position] - 1;
+    unlink(slot);
+    mValues[slot] = null;
+    mWeight -= mWeights[slot];
+    mSize--;
+    mNext[slot] = mFree;
+    mFree = slot;
+
+    // Backward shift deletion keeps probe sequences intact without tombstones.
+    final int mask = mTable.length - 1;
+    int hole = position;
+    int current = position;
+    mTable[hole] = 0;
+    while (true) {
+      current = (current + 1) & mask;
+      final int entry = mTable[current];
+      if (entry == 0) {
+        return;
+      }
+      final int ideal = mix(mKeys[entry - 1]) & mask;
+      if (((current - ideal) & mask) >= ((current - hole) & mask)) {
+        mTable[hole] = entry;
+        mTable[current] = 0;
+        hole = current;
+      }
+    }
+  }
+
+  private int find(int key) {
+    final int position = findPosition(key);
+    return position == NONE ? NONE : mTable[position] - 1;
+  }
+
+  private int findPosition(int key) {
+    final int mask = mTable.length - 1;
+    int position = mix(key) & mask;
+    int entry;
+    while ((entry = mTable[position]) != 0) {
+      if (mKeys[entry - 1] == key) {
+        return position;
+      }
+      position = (position + 1) & mask;
+    }
+    return NONE;
+  }
+
+  private void insertIntoTable(int slot) {
+    final int mask = mTable.length - 1;
+    int position = mix(mKeys[slot]) & mask;
+    while (mTable[position] != 0) {
+      position = (position + 1) & mask;
+    }
+    mTable[position] = slot + 1;
+  }
+
+  private void moveToFront(int slot) {
+    if (slot != mHead) {
+      unlink(slot);
+      linkFirst(slot);
+    }
+  }
+
+  private void linkFirst(int slot) {
+    mPrev[slot] = NONE;
+    mNext[slot] = mHead;
+    if (mHead != NONE) {
+      mPrev[mHead] = slot;
+    }
+    mHead = slot;
+    if (mTail == NONE) {
+      mTail = slot;
+    }
+  }
+
+  private void unlink(int slot) {
+    final int prev = mPrev[slot];
+    final int next = mNext[slot];
+    if (prev != NONE) {
+      mNext[prev] = next;
+    } else {
+      mHead = next;
+    }
+    if (next != NONE) {
+      mPrev[next] = prev;
+    } else {
+      mTail = prev;
+    }
+  }
+
+  private void allocate(int capacity) {
+    mKeys = mKeys == null ? new int[capacity] : Arrays.copyOf(mKeys, capacity);
+    mIntValues = mIntValues == null ? new int[capacity] : Arrays.copyOf(mIntValues, capacity);
+    mValues = mValues == null ? new Object[capacity] : Arrays.copyOf(mValues, capacity);
+    mWeights = mWeights == null ? new int[capacity] : Arrays.copyOf(mWeights, capacity);
+    mPrev = mPrev == null ? new int[capacity] : Arrays.copyOf(mPrev, capacity);
+    mNext = mNext == null ? new int[capacity] : Arrays.copyOf(mNext, capacity);
+
+    // Keep the table at most half full.
+    int tableSize = 4;
+    while (tableSize < capacity * 2) {
+      tableSize <<= 1;
+    }
+    mTable = new int[tableSize];
+    for (int slot = mHead; slot != NONE; slot = mNext[slot]) {
+      insertIntoTable(slot);
+    }
+  }
+
+  private static int mix(int key) {
+    final int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
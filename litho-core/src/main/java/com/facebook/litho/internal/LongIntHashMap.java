@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.internal;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map of primitive longs to primitive ints. Unlike {@link
+ * androidx.collection.LongSparseArray} inserts don't shift the backing arrays and neither keys nor
+ * values are boxed, which makes it suitable for maps of randomly distributed keys like hashes.
+ */
+public class LongIntHashMap {
+  private static final float LOAD_FACTOR = 0.75f;
+
+  private long[] mKeys;
+  private int[] mValues;
+  private boolean[] mUsed;
+  private int mSize;
+
+  public LongIntHashMap() {
+    this(16);
+  }
+
+  public LongIntHashMap(int initialCapacity) {
+    int capacity = 4;
+    while (capacity * LOAD_FACTOR < initialCapacity) {
+      capacity <<= 1;
+    }
+    mKeys = new long[capacity];
+    mValues = new int[capacity];
+    mUsed = new boolean[capacity];
+  }
+
+  /** Gets the int mapped from the specified key, or the specified value if there is none. */
+  public int get(long key, int valueIfKeyNotFound) {
+    final int index = indexOf(key);
+    return index < 0 ? valueIfKeyNotFound : mValues[index];
+  }
+
+  public boolean containsKey(long key) {
+    return indexOf(key) >= 0;
+  }
+
+  /** Adds a mapping from the specified key to the specified value, replacing any previous one. */
+  public void put(long key, int value) {
+    final int mask = mKeys.length - 1;
+    int index = mix(key) & mask;
+    while (mUsed[index]) {
+      if (mKeys[index] == key) {
+        mValues[index] = value;
+        return;
+      }
+      index = (index + 1) & mask;
+    }
+
+    mUsed[index] = true;
+    mKeys[index] = key;
+    mValues[index] = value;
+
+    if (++mSize > mKeys.length * LOAD_FACTOR) {
+      grow();
+    }
+  }
+
+  /**
+   * Returns the value mapped from the specified key, or 0 if there is none, and then increments
+   * the mapped value by one.
+   */
+  public int getAndIncrement(long key) {
+    final int mask = mKeys.length - 1;
+    int index = mix(key) & mask;
+    while (mUsed[index]) {
+      if (mKeys[index] == key) {
+        return mValues[index]++;
+      }
+      index = (index + 1) & mask;
+    }
+
+    put(key, 1);
+    return 0;
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public void clear() {
+    Arrays.fill(mUsed, false);
+    mSize = 0;
+  }
+
+  private int indexOf(long key) {
+    final int mask = mKeys.length - 1;
+    int index = mix(key) & mask;
+    while (mUsed[index]) {
+      if (mKeys[index] == key) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void grow() {
+    final long[] oldKeys = mKeys;
+    final int[] oldValues = mValues;
+    final boolean[] oldUsed = mUsed;
+
+    final int capacity = oldKeys.length << 1;
+    mKeys = new long[capacity];
+    mValues = new int[capacity];
+    mUsed = new boolean[capacity];
+    mSize = 0;
+
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldUsed[i]) {
+        put(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+
+  private static int mix(long key) {
+    final long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
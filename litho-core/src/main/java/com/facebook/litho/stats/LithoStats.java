@@ -26,7 +26,12 @@ public final class LithoStats {
   private static final AtomicLong sComponentTriggeredAsyncStateUpdateCount = new AtomicLong(0);
   private static final AtomicLong sComponentCalculateLayoutCount = new AtomicLong(0);
   private static final AtomicLong sComponentCalculateLayoutOnUICount = new AtomicLong(0);
+  private static final AtomicLong sComponentCanceledLayoutCount = new AtomicLong(0);
   private static final AtomicLong sComponentMountCount = new AtomicLong(0);
+  private static final AtomicLong sYogaNodeCreatedCount = new AtomicLong(0);
+  private static final AtomicLong sYogaNodeReusedCount = new AtomicLong(0);
+  private static final AtomicLong sRecyclerItemBoundWithLayoutCount = new AtomicLong(0);
+  private static final AtomicLong sRecyclerItemBoundWithoutLayoutCount = new AtomicLong(0);
 
   private static final AtomicLong sSectionAppliedStateUpdateCount = new AtomicLong(0);
   private static final AtomicLong sSectionTriggeredSyncStateUpdateCount = new AtomicLong(0);
@@ -74,11 +79,49 @@ public final class LithoStats {
     return sComponentCalculateLayoutOnUICount.get();
   }
 
+  /**
+   * @return the global count of layout calculations in Litho components that were abandoned before
+   *     completing because they were canceled.
+   */
+  public static long getComponentCanceledLayoutCount() {
+    return sComponentCanceledLayoutCount.get();
+  }
+
   /** @return the global count of all mount operations that have happened in the process. */
   public static long getComponentMountCount() {
     return sComponentMountCount.get();
   }
 
+  /** @return the global count of YogaNodes allocated for Litho layouts in the process. */
+  public static long getYogaNodeCreatedCount() {
+    return sYogaNodeCreatedCount.get();
+  }
+
+  /**
+   * @return the global count of YogaNodes taken from the pool of released nodes instead of being
+   *     allocated, see {@link com.facebook.litho.config.ComponentsConfiguration#yogaNodePoolSize}.
+   */
+  public static long getYogaNodeReusedCount() {
+    return sYogaNodeReusedCount.get();
+  }
+
+  /**
+   * @return the global count of RecyclerBinder items bound to a view with their layout already
+   *     computed. Together with {@link #getRecyclerItemBoundWithoutLayoutCount()} this gives the
+   *     hit rate of the layout range.
+   */
+  public static long getRecyclerItemBoundWithLayoutCount() {
+    return sRecyclerItemBoundWithLayoutCount.get();
+  }
+
+  /**
+   * @return the global count of RecyclerBinder items whose layout had to be computed synchronously
+   *     when they were bound to a view.
+   */
+  public static long getRecyclerItemBoundWithoutLayoutCount() {
+    return sRecyclerItemBoundWithoutLayoutCount.get();
+  }
+
   /**
    * @return the global count of all applied state updates (async, lazy and sync) in Litho sections
    *     that have happened in the process.
@@ -169,6 +212,15 @@ public final class LithoStats {
     return sComponentCalculateLayoutOnUICount.addAndGet(1);
   }
 
+  /**
+   * Increment the count of canceled layout calculations in Litho components (by one).
+   *
+   * @return The new total number of canceled layout calculations recorded.
+   */
+  public static long incrementComponentCanceledLayoutCount() {
+    return sComponentCanceledLayoutCount.addAndGet(1);
+  }
+
   /**
    * Increment the count of mount operations (by one).
    *
@@ -178,6 +230,42 @@ public final class LithoStats {
     return sComponentMountCount.addAndGet(1);
   }
 
+  /**
+   * Increment the count of YogaNodes allocated for Litho layouts (by one).
+   *
+   * @return The new total number of allocated YogaNodes recorded.
+   */
+  public static long incrementYogaNodeCreatedCount() {
+    return sYogaNodeCreatedCount.addAndGet(1);
+  }
+
+  /**
+   * Increment the count of YogaNodes reused from the pool (by one).
+   *
+   * @return The new total number of reused YogaNodes recorded.
+   */
+  public static long incrementYogaNodeReusedCount() {
+    return sYogaNodeReusedCount.addAndGet(1);
+  }
+
+  /**
+   * Increment the count of RecyclerBinder items bound with a computed layout (by one).
+   *
+   * @return The new total number of items bound with a computed layout recorded.
+   */
+  public static long incrementRecyclerItemBoundWithLayoutCount() {
+    return sRecyclerItemBoundWithLayoutCount.addAndGet(1);
+  }
+
+  /**
+   * Increment the count of RecyclerBinder items bound without a computed layout (by one).
+   *
+   * @return The new total number of items bound without a computed layout recorded.
+   */
+  public static long incrementRecyclerItemBoundWithoutLayoutCount() {
+    return sRecyclerItemBoundWithoutLayoutCount.addAndGet(1);
+  }
+
   /**
    * Increment the count of all applied state updates in Litho sections by {@param num}.
    *
@@ -232,7 +320,12 @@ public final class LithoStats {
     sComponentTriggeredAsyncStateUpdateCount.set(0);
     sComponentCalculateLayoutCount.set(0);
     sComponentCalculateLayoutOnUICount.set(0);
+    sComponentCanceledLayoutCount.set(0);
     sComponentMountCount.set(0);
+    sYogaNodeCreatedCount.set(0);
+    sYogaNodeReusedCount.set(0);
+    sRecyclerItemBoundWithLayoutCount.set(0);
+    sRecyclerItemBoundWithoutLayoutCount.set(0);
     sSectionAppliedStateUpdateCount.set(0);
     sSectionTriggeredSyncStateUpdateCount.set(0);
     sSectionTriggeredAsyncStateUpdateCount.set(0);
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.content.Context;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class AdaptiveMountContentPoolTest {
+
+  private final Component mLifecycle =
+      new Component("Lifecycle") {
+        @Override
+        int getTypeId() {
+          return 1;
+        }
+
+        @Override
+        public Object onCreateMountContent(Context context) {
+          return new Object();
+        }
+      };
+
+  private Context mContext;
+
+  @Before
+  public void setup() {
+    mContext = getApplicationContext();
+  }
+
+  @Test
+  public void testInitialCapacityIsClampedToBounds() {
+    assertThat(new AdaptiveMountContentPool("Pool", 50, 1, 10).getMaxSize()).isEqualTo(10);
+    assertThat(new AdaptiveMountContentPool("Pool", 0, 2, 10).getMaxSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void testCapacityGrowsWhenAcquiresMiss() {
+    final AdaptiveMountContentPool pool = new AdaptiveMountContentPool("Pool", 3, 1, 20);
+
+    // Acquire a whole window of content without releasing any: every acquire misses.
+    final List<Object> inUse = new ArrayList<>();
+    for (int i = 0; i < AdaptiveMountContentPool.WINDOW_SIZE; i++) {
+      inUse.add(pool.acquire(mContext, mLifecycle));
+    }
+
+    assertThat(pool.getMaxSize()).isEqualTo(20);
+
+    for (Object content : inUse) {
+      pool.release(content);
+    }
+    assertThat(pool.getCurrentSize()).isEqualTo(20);
+  }
+
+  @Test
+  public void testCapacityShrinksWhenUsageIsLow() {
+    final AdaptiveMountContentPool pool = new AdaptiveMountContentPool("Pool", 16, 2, 20);
+    for (int i = 0; i < 16; i++) {
+      pool.release(new Object());
+    }
+
+    // Only one item is ever in use at a time, so every acquire hits.
+    for (int i = 0; i < AdaptiveMountContentPool.WINDOW_SIZE; i++) {
+      pool.release(pool.acquire(mContext, mLifecycle));
+    }
+
+    assertThat(pool.getMaxSize()).isEqualTo(8);
+    assertThat(pool.getCurrentSize()).isEqualTo(8);
+    assertThat(pool.getMissCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testCapacityNeverShrinksBelowMinSize() {
+    final AdaptiveMountContentPool pool = new AdaptiveMountContentPool("Pool", 4, 3, 20);
+    pool.release(new Object());
+
+    for (int i = 0; i < AdaptiveMountContentPool.WINDOW_SIZE * 4; i++) {
+      pool.release(pool.acquire(mContext, mLifecycle));
+    }
+
+    assertThat(pool.getMaxSize()).isEqualTo(3);
+  }
+
+  @Test
+  public void testTrim() {
+    final AdaptiveMountContentPool pool = new AdaptiveMountContentPool("Pool", 5, 1, 10);
+    for (int i = 0; i < 5; i++) {
+      pool.release(new Object());
+    }
+
+    assertThat(pool.trim(2)).isEqualTo(3);
+    assertThat(pool.getCurrentSize()).isEqualTo(2);
+    assertThat(pool.trim(0)).isEqualTo(2);
+    assertThat(pool.getCurrentSize()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.annotations.Comparable;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class ComparableFieldsTest {
+
+  @Test
+  public void testFieldsAreResolvedOncePerClass() {
+    assertThat(ComparableFields.getComparableFields(TestComponent.class))
+        .isSameAs(ComparableFields.getComparableFields(TestComponent.class));
+    assertThat(ComparableFields.getPrivateFinalFields(TestComponent.class))
+        .isSameAs(ComparableFields.getPrivateFinalFields(TestComponent.class));
+  }
+
+  @Test
+  public void testComparableFieldsIgnoreFieldsWithoutAnnotation() {
+    final TestComponent first = new TestComponent(1, "a");
+    final TestComponent second = new TestComponent(1, "b");
+
+    assertThat(
+            ComparableFields.getComparableFields(TestComponent.class)
+                .areEquivalent(first, second, true))
+        .isTrue();
+
+    second.prop = 2;
+    assertThat(
+            ComparableFields.getComparableFields(TestComponent.class)
+                .areEquivalent(first, second, true))
+        .isFalse();
+  }
+
+  @Test
+  public void testPrivateFinalFieldsAreCompared() {
+    final ComparableFields fields = ComparableFields.getPrivateFinalFields(TestComponent.class);
+
+    assertThat(fields.areEquivalent(new TestComponent(1, "a"), new TestComponent(2, "a"), true))
+        .isTrue();
+    assertThat(fields.areEquivalent(new TestComponent(1, "a"), new TestComponent(1, "b"), true))
+        .isFalse();
+  }
+
+  private static class TestComponent extends Component {
+    @Comparable(type = Comparable.PRIMITIVE)
+    int prop;
+
+    private final String mLabel;
+
+    TestComponent(int prop, String label) {
+      super("TestComponent");
+      this.prop = prop;
+      mLabel = label;
+    }
+  }
+}
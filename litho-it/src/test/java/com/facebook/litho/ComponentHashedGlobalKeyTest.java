@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.LayoutOutput.getLayoutOutput;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.view.View;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.SimpleMountSpecTester;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class ComponentHashedGlobalKeyTest {
+
+  private ComponentContext mContext;
+  private boolean mDefaultUseHashedGlobalKeys;
+
+  @Before
+  public void setup() {
+    mDefaultUseHashedGlobalKeys = ComponentsConfiguration.useHashedGlobalKeys;
+    ComponentsConfiguration.useHashedGlobalKeys = true;
+    mContext = new ComponentContext(getApplicationContext());
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.useHashedGlobalKeys = mDefaultUseHashedGlobalKeys;
+  }
+
+  @Test
+  public void testKeyHashForChildPosition() {
+    final long keyHash = ComponentKeyUtils.getKeyHash("key");
+
+    assertThat(ComponentKeyUtils.getKeyHashForChildPosition(keyHash, 0)).isEqualTo(keyHash);
+    assertThat(ComponentKeyUtils.getKeyHashForChildPosition(keyHash, 1)).isNotEqualTo(keyHash);
+    assertThat(ComponentKeyUtils.getKeyHashForChildPosition(keyHash, 1))
+        .isNotEqualTo(ComponentKeyUtils.getKeyHashForChildPosition(keyHash, 2));
+  }
+
+  @Test
+  public void testKeyHashWithSeparatorDependsOnOrder() {
+    final long a = ComponentKeyUtils.getKeyHash("a");
+    final long b = ComponentKeyUtils.getKeyHash("b");
+
+    assertThat(ComponentKeyUtils.getKeyHashWithSeparator(a, b))
+        .isNotEqualTo(ComponentKeyUtils.getKeyHashWithSeparator(b, a));
+  }
+
+  @Test
+  public void testRootComponentHasHashedGlobalKey() {
+    final Component component =
+        SimpleMountSpecTester.create(mContext).widthDip(10).heightDip(10).build();
+    final LithoView lithoView = getLithoView(component);
+
+    final Component mounted = getLayoutOutput(lithoView.getMountItemAt(0)).getComponent();
+    assertThat(mounted.hasGlobalKeyHash()).isTrue();
+    assertThat(mounted.getGlobalKeyHash()).isEqualTo((long) component.getTypeId());
+    assertThat(mounted.getGlobalKey())
+        .isEqualTo(ComponentKeyUtils.getKeyForHash(mounted.getGlobalKeyHash()));
+  }
+
+  @Test
+  public void testSiblingsOfSameTypeHaveUniqueHashedGlobalKeys() {
+    final Component component =
+        Column.create(mContext)
+            .child(SimpleMountSpecTester.create(mContext).widthDip(10).heightDip(10))
+            .child(SimpleMountSpecTester.create(mContext).widthDip(10).heightDip(10))
+            .child(SimpleMountSpecTester.create(mContext).widthDip(10).heightDip(10).key("a"))
+            .child(SimpleMountSpecTester.create(mContext).widthDip(10).heightDip(10).key("a"))
+            .build();
+    final LithoView lithoView = getLithoView(component);
+
+    final Set<Long> keyHashes = new HashSet<>();
+    for (int i = 0; i < lithoView.getMountItemCount(); i++) {
+      final Component mounted = getLayoutOutput(lithoView.getMountItemAt(i)).getComponent();
+      if (mounted instanceof SimpleMountSpecTester) {
+        assertThat(mounted.hasGlobalKeyHash()).isTrue();
+        keyHashes.add(mounted.getGlobalKeyHash());
+      }
+    }
+
+    assertThat(keyHashes).hasSize(4);
+  }
+
+  private LithoView getLithoView(Component component) {
+    LithoView lithoView = new LithoView(mContext);
+    lithoView.setComponent(component);
+    lithoView.measure(
+        View.MeasureSpec.makeMeasureSpec(640, View.MeasureSpec.UNSPECIFIED),
+        View.MeasureSpec.makeMeasureSpec(480, View.MeasureSpec.UNSPECIFIED));
+    lithoView.layout(0, 0, lithoView.getMeasuredWidth(), lithoView.getMeasuredHeight());
+    return lithoView;
+  }
+}
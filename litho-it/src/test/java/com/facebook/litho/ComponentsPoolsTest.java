@@ -23,11 +23,14 @@ import static com.facebook.litho.ComponentsPools.release;
 import static org.assertj.core.api.Java6Assertions.assertThat;
 
 import android.app.Activity;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.ContextWrapper;
 import android.graphics.Color;
 import android.graphics.drawable.ColorDrawable;
 import android.view.View;
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.testing.testrunner.LithoTestRunner;
 import org.junit.After;
 import org.junit.Before;
@@ -82,6 +85,7 @@ public class ComponentsPoolsTest {
   private Activity mActivity;
   private ColorDrawable mMountContent;
   private View mNewMountContent;
+  private boolean mDefaultUseLockFreeMountContentPool;
 
   @Before
   public void setup() {
@@ -91,11 +95,13 @@ public class ComponentsPoolsTest {
     mActivity = mActivityController.get();
     mMountContent = new ColorDrawable(Color.RED);
     mNewMountContent = new View(mContext1);
+    mDefaultUseLockFreeMountContentPool = ComponentsConfiguration.useLockFreeMountContentPool;
   }
 
   @After
   public void tearDown() {
     ComponentsPools.clearActivityCallbacks();
+    ComponentsConfiguration.useLockFreeMountContentPool = mDefaultUseLockFreeMountContentPool;
   }
 
   @Test
@@ -240,4 +246,32 @@ public class ComponentsPoolsTest {
                 mContext1, mLifecycleWithEmptyPoolSize, ComponentTree.RecyclingMode.DEFAULT))
         .isSameAs(mNewMountContent);
   }
+
+  @Test
+  public void testTrimMemoryReleasesPooledContent() {
+    release(mContext1, mLifecycle, mMountContent, ComponentTree.RecyclingMode.DEFAULT);
+
+    // Running low on memory while in the foreground only applies to pools that can be trimmed.
+    ComponentsPools.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+    assertThat(acquireMountContent(mContext1, mLifecycle, ComponentTree.RecyclingMode.DEFAULT))
+        .isSameAs(mMountContent);
+
+    release(mContext1, mLifecycle, mMountContent, ComponentTree.RecyclingMode.DEFAULT);
+    ComponentsPools.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+
+    assertThat(acquireMountContent(mContext1, mLifecycle, ComponentTree.RecyclingMode.DEFAULT))
+        .isSameAs(mNewMountContent);
+  }
+
+  @Test
+  public void testClearActivityCallbacksUnregistersTrimMemoryCallbacks() {
+    ComponentsConfiguration.useLockFreeMountContentPool = true;
+    release(mContext1, mLifecycle, mMountContent, ComponentTree.RecyclingMode.DEFAULT);
+
+    ComponentsPools.clearActivityCallbacks();
+    ((Application) getApplicationContext()).onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+
+    assertThat(acquireMountContent(mContext1, mLifecycle, ComponentTree.RecyclingMode.DEFAULT))
+        .isSameAs(mMountContent);
+  }
 }
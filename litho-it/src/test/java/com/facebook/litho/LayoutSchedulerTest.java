@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class LayoutSchedulerTest {
+
+  private LayoutScheduler mScheduler;
+  private List<String> mRan;
+  private CountDownLatch mUnblock;
+
+  @Before
+  public void setup() {
+    mScheduler = new LayoutScheduler(new LayoutThreadPoolConfigurationImpl(1, 1));
+    mRan = Collections.synchronizedList(new ArrayList<String>());
+    mUnblock = new CountDownLatch(1);
+  }
+
+  @After
+  public void tearDown() {
+    mUnblock.countDown();
+  }
+
+  @Test
+  public void testRunsPostedTasks() throws InterruptedException {
+    final CountDownLatch done = new CountDownLatch(2);
+    mScheduler.newHandler().post(new RecordingRunnable("first", done), "");
+    mScheduler.newHandler().post(new RecordingRunnable("second", done), "");
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(mRan).containsOnly("first", "second");
+    assertThat(mScheduler.getCompletedTaskCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testFailingTaskDoesNotStopWorker() throws InterruptedException {
+    final CountDownLatch done = new CountDownLatch(1);
+    final CountDownLatch failureHandled = new CountDownLatch(1);
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final Thread.UncaughtExceptionHandler defaultHandler =
+        Thread.getDefaultUncaughtExceptionHandler();
+    Thread.setDefaultUncaughtExceptionHandler(
+        new Thread.UncaughtExceptionHandler() {
+          @Override
+          public void uncaughtException(Thread thread, Throwable throwable) {
+            failure.set(throwable);
+            failureHandled.countDown();
+          }
+        });
+
+    try {
+      mScheduler
+          .newHandler()
+          .post(
+              new Runnable() {
+                @Override
+                public void run() {
+                  throw new IllegalStateException("Layout failed");
+                }
+              },
+              "");
+      mScheduler.newHandler().post(new RecordingRunnable("afterFailure", done), "");
+
+      assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(failureHandled.await(5, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      Thread.setDefaultUncaughtExceptionHandler(defaultHandler);
+    }
+    assertThat(mRan).containsExactly("afterFailure");
+    assertThat(failure.get()).isInstanceOf(IllegalStateException.class).hasMessage("Layout failed");
+  }
+
+  @Test
+  public void testNewerTaskSupersedesPendingTaskOfSameTree() throws InterruptedException {
+    final CountDownLatch done = new CountDownLatch(1);
+    blockWorker();
+
+    final LayoutScheduler.TreeHandler handler = mScheduler.newHandler();
+    handler.post(new RecordingRunnable("outdated", done), "");
+    handler.post(new RecordingRunnable("latest", done), "");
+    assertThat(mScheduler.getQueueDepth()).isEqualTo(1);
+
+    mUnblock.countDown();
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(mRan).containsExactly("latest");
+  }
+
+  @Test
+  public void testMoreUrgentTasksRunFirst() throws InterruptedException {
+    final CountDownLatch done = new CountDownLatch(3);
+    blockWorker();
+
+    final LayoutScheduler.TreeHandler prefetch = mScheduler.newHandler();
+    prefetch.setPriority(LayoutScheduler.PRIORITY_PREFETCH);
+    final LayoutScheduler.TreeHandler workingRange = mScheduler.newHandler();
+    workingRange.setPriority(LayoutScheduler.PRIORITY_WORKING_RANGE);
+    final LayoutScheduler.TreeHandler visible = mScheduler.newHandler();
+
+    prefetch.post(new RecordingRunnable("prefetch", done), "");
+    workingRange.post(new RecordingRunnable("workingRange", done), "");
+    visible.post(new RecordingRunnable("visible", done), "");
+
+    mUnblock.countDown();
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(mRan).containsExactly("visible", "workingRange", "prefetch");
+  }
+
+  @Test
+  public void testSetPriorityReordersPendingTasks() throws InterruptedException {
+    final CountDownLatch done = new CountDownLatch(2);
+    blockWorker();
+
+    final LayoutScheduler.TreeHandler first = mScheduler.newHandler();
+    first.setPriority(LayoutScheduler.PRIORITY_PREFETCH);
+    final LayoutScheduler.TreeHandler second = mScheduler.newHandler();
+    second.setPriority(LayoutScheduler.PRIORITY_PREFETCH);
+
+    first.post(new RecordingRunnable("first", done), "");
+    second.post(new RecordingRunnable("second", done), "");
+    second.setPriority(LayoutScheduler.PRIORITY_VISIBLE);
+    assertThat(mScheduler.getQueueDepth()).isEqualTo(2);
+
+    mUnblock.countDown();
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(mRan).containsExactly("second", "first");
+  }
+
+  @Test
+  public void testRemovedTaskDoesNotRun() throws InterruptedException {
+    final CountDownLatch done = new CountDownLatch(1);
+    blockWorker();
+
+    final LayoutScheduler.TreeHandler handler = mScheduler.newHandler();
+    final Runnable removed = new RecordingRunnable("removed", done);
+    handler.post(removed, "");
+    handler.remove(removed);
+    mScheduler.newHandler().post(new RecordingRunnable("kept", done), "");
+
+    mUnblock.countDown();
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(mRan).containsExactly("kept");
+    assertThat(mScheduler.getQueueDepth()).isEqualTo(0);
+  }
+
+  /** Occupies the only worker until {@link #mUnblock} is counted down. */
+  private void blockWorker() throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    mScheduler
+        .newHandler()
+        .post(
+            new Runnable() {
+              @Override
+              public void run() {
+                started.countDown();
+                try {
+                  mUnblock.await();
+                } catch (InterruptedException e) {
+                  throw new RuntimeException(e);
+                }
+              }
+            },
+            "");
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private class RecordingRunnable implements Runnable {
+    private final String mName;
+    private final CountDownLatch mDone;
+
+    RecordingRunnable(String name, CountDownLatch done) {
+      mName = name;
+      mDone = done;
+    }
+
+    @Override
+    public void run() {
+      mRan.add(mName);
+      mDone.countDown();
+    }
+  }
+}
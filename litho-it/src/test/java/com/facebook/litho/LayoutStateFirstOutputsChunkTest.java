@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.LayoutOutput.getLayoutOutput;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.UNSPECIFIED;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.TestComponent;
+import com.facebook.litho.testing.TestDrawableComponent;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.SolidColor;
+import com.facebook.rendercore.RenderTreeNode;
+import java.util.concurrent.CountDownLatch;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+@RunWith(LithoTestRunner.class)
+public class LayoutStateFirstOutputsChunkTest {
+
+  private ComponentContext mContext;
+  private ComponentTree mComponentTree;
+  private int mScreenHeight;
+
+  @Before
+  public void setup() {
+    ComponentsConfiguration.collectLayoutOutputsInChunks = true;
+    final ComponentContext c = new ComponentContext(getApplicationContext());
+    mComponentTree = spy(ComponentTree.create(c).build());
+    mContext = ComponentContext.withComponentTree(c, mComponentTree);
+    mScreenHeight = c.getResources().getDisplayMetrics().heightPixels;
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.collectLayoutOutputsInChunks = false;
+  }
+
+  @Test
+  public void testTallTreeDispatchesFirstScreenChunk() throws InterruptedException {
+    final LayoutState layoutState = calculateInBackground(createColumn(10));
+
+    final ArgumentCaptor<LayoutState> chunkCaptor = ArgumentCaptor.forClass(LayoutState.class);
+    verify(mComponentTree).onFirstOutputsChunkCollected(chunkCaptor.capture());
+    final LayoutState chunk = chunkCaptor.getValue();
+
+    // The root host and the first child are the only outputs on the first screen.
+    assertThat(layoutState.getMountableOutputCount()).isEqualTo(11);
+    assertThat(chunk.getMountableOutputCount()).isEqualTo(2);
+    assertThat(chunk.getWidth()).isEqualTo(layoutState.getWidth());
+    assertThat(chunk.getHeight()).isEqualTo(layoutState.getHeight());
+
+    for (int i = 0; i < chunk.getMountableOutputCount(); i++) {
+      final RenderTreeNode node = chunk.getMountableOutputAt(i);
+      assertThat(getLayoutOutput(node).getId())
+          .isEqualTo(getLayoutOutput(layoutState.getMountableOutputAt(i)).getId());
+      assertThat(node.getBounds().top).isLessThan(mScreenHeight);
+    }
+  }
+
+  @Test
+  public void testFullCollectionDoesNotRedefineBoundsOfChunk() throws InterruptedException {
+    final TestComponent[] chunkComponent = new TestComponent[1];
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) {
+                final LayoutState chunk = (LayoutState) invocation.getArguments()[0];
+                chunkComponent[0] =
+                    (TestComponent) getLayoutOutput(chunk.getMountableOutputAt(1)).getComponent();
+                chunkComponent[0].resetInteractions();
+                return null;
+              }
+            })
+        .when(mComponentTree)
+        .onFirstOutputsChunkCollected(any(LayoutState.class));
+
+    final Column.Builder builder = Column.create(mContext);
+    for (int i = 0; i < 10; i++) {
+      builder.child(TestDrawableComponent.create(mContext).heightPx(mScreenHeight));
+    }
+    final LayoutState layoutState = calculateInBackground(builder.build());
+
+    final TestComponent firstComponent =
+        (TestComponent) getLayoutOutput(layoutState.getMountableOutputAt(1)).getComponent();
+    final TestComponent lastComponent =
+        (TestComponent) getLayoutOutput(layoutState.getMountableOutputAt(10)).getComponent();
+    assertThat(firstComponent).isSameAs(chunkComponent[0]);
+    assertThat(firstComponent.wasOnBoundsDefinedCalled()).isFalse();
+    assertThat(lastComponent.wasOnBoundsDefinedCalled()).isTrue();
+  }
+
+  @Test
+  public void testShortTreeDoesNotDispatchChunk() throws InterruptedException {
+    calculateInBackground(createColumn(2));
+
+    verify(mComponentTree, never()).onFirstOutputsChunkCollected(any(LayoutState.class));
+  }
+
+  @Test
+  public void testDisabledConfigDoesNotDispatchChunk() throws InterruptedException {
+    ComponentsConfiguration.collectLayoutOutputsInChunks = false;
+
+    calculateInBackground(createColumn(10));
+
+    verify(mComponentTree, never()).onFirstOutputsChunkCollected(any(LayoutState.class));
+  }
+
+  @Test
+  public void testMainThreadLayoutDoesNotDispatchChunk() {
+    LayoutState.calculate(
+        mContext,
+        createColumn(10),
+        -1,
+        SizeSpec.makeSizeSpec(100, EXACTLY),
+        SizeSpec.makeSizeSpec(0, UNSPECIFIED),
+        LayoutState.CalculateLayoutSource.TEST);
+
+    verify(mComponentTree, never()).onFirstOutputsChunkCollected(any(LayoutState.class));
+  }
+
+  private Component createColumn(int childCount) {
+    final Column.Builder builder = Column.create(mContext);
+    for (int i = 0; i < childCount; i++) {
+      builder.child(SolidColor.create(mContext).color(0).heightPx(mScreenHeight));
+    }
+    return builder.build();
+  }
+
+  private LayoutState calculateInBackground(final Component component)
+      throws InterruptedException {
+    final LayoutState[] result = new LayoutState[1];
+    final CountDownLatch latch = new CountDownLatch(1);
+
+    new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                result[0] =
+                    LayoutState.calculate(
+                        mContext,
+                        component,
+                        -1,
+                        SizeSpec.makeSizeSpec(100, EXACTLY),
+                        SizeSpec.makeSizeSpec(0, UNSPECIFIED),
+                        LayoutState.CalculateLayoutSource.TEST);
+                latch.countDown();
+              }
+            })
+        .start();
+    latch.await();
+
+    return result[0];
+  }
+}
@@ -138,6 +138,35 @@ public class LayoutStateFutureReleaseTest {
     assertEquals(result, ComponentContext.NULL_LAYOUT);
   }
 
+  @Test
+  public void testDoNotMeasureLayoutIfLsfReleasedDuringCreation() {
+    final ComponentTree.LayoutStateFuture layoutStateFuture =
+        mock(ComponentTree.LayoutStateFuture.class);
+
+    when(layoutStateFuture.isReleased()).thenReturn(false);
+    final ComponentContext c = new ComponentContext(mContext, null, null, null);
+    final LayoutState layoutState = new LayoutState(c);
+    final LayoutStateContext layoutStateContext =
+        new LayoutStateContext(layoutState, layoutStateFuture);
+    c.setLayoutStateContext(layoutStateContext);
+
+    final TestChildComponent component =
+        new TestChildComponent(
+            null,
+            null,
+            new WaitActions() {
+              @Override
+              public void unblock(ComponentTree.LayoutStateFuture lsf) {
+                when(layoutStateFuture.isReleased()).thenReturn(true);
+              }
+            });
+
+    final InternalNode result =
+        Layout.createAndMeasureComponent(c, component, mWidthSpec, mHeightSpec);
+
+    assertEquals(result, ComponentContext.NULL_LAYOUT);
+  }
+
   // This test is similar to testMainWaitingOnBgBeforeRelease, except that the bg thread
   // LayoutStateFuture gets released after the sync layout is triggered. In this case the UI thread
   // should not be blocked on the bg thread anymore, because the released Lsf will return a null
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.content.Context;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class LockFreeMountContentPoolTest {
+
+  private static final int POOL_SIZE = 3;
+
+  private final AtomicInteger mCreatedCount = new AtomicInteger();
+  private final Component mLifecycle =
+      new Component("Lifecycle") {
+        @Override
+        int getTypeId() {
+          return 1;
+        }
+
+        @Override
+        protected int poolSize() {
+          return POOL_SIZE;
+        }
+
+        @Override
+        public Object onCreateMountContent(Context context) {
+          mCreatedCount.incrementAndGet();
+          return new Object();
+        }
+      };
+
+  private Context mContext;
+  private LockFreeMountContentPool mPool;
+
+  @Before
+  public void setup() {
+    mContext = getApplicationContext();
+    mPool = new LockFreeMountContentPool("TestPool", POOL_SIZE);
+  }
+
+  @Test
+  public void testAcquireFromEmptyPoolCreatesContent() {
+    final Object content = mPool.acquire(mContext, mLifecycle);
+
+    assertThat(content).isNotNull();
+    assertThat(mCreatedCount.get()).isEqualTo(1);
+    assertThat(mPool.getAcquireCount()).isEqualTo(1);
+    assertThat(mPool.getMissCount()).isEqualTo(1);
+    assertThat(mPool.getHitCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testAcquireReturnsReleasedContentInLifoOrder() {
+    final Object first = new Object();
+    final Object second = new Object();
+
+    mPool.release(first);
+    mPool.release(second);
+
+    assertThat(mPool.getCurrentSize()).isEqualTo(2);
+    assertThat(mPool.acquire(mContext, mLifecycle)).isSameAs(second);
+    assertThat(mPool.acquire(mContext, mLifecycle)).isSameAs(first);
+    assertThat(mPool.getCurrentSize()).isEqualTo(0);
+    assertThat(mPool.getHitCount()).isEqualTo(2);
+    assertThat(mPool.getMissCount()).isEqualTo(0);
+    assertThat(mCreatedCount.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void testReleaseDropsContentWhenFull() {
+    for (int i = 0; i < POOL_SIZE + 2; i++) {
+      mPool.release(new Object());
+    }
+
+    assertThat(mPool.getCurrentSize()).isEqualTo(POOL_SIZE);
+    assertThat(mPool.getReleaseCount()).isEqualTo(POOL_SIZE + 2);
+    assertThat(mPool.getDroppedCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testPreallocateStopsAtPoolSize() {
+    for (int i = 0; i < POOL_SIZE * 2; i++) {
+      mPool.maybePreallocateContent(mContext, mLifecycle);
+    }
+
+    assertThat(mCreatedCount.get()).isEqualTo(POOL_SIZE);
+    assertThat(mPool.getCurrentSize()).isEqualTo(POOL_SIZE);
+  }
+
+  @Test
+  public void testConcurrentAcquireAndReleaseNeverExceedsMaxSize() throws Exception {
+    final int threadCount = 4;
+    final int iterations = 1000;
+    final CountDownLatch start = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(threadCount);
+    final List<Thread> threads = new ArrayList<>();
+
+    for (int t = 0; t < threadCount; t++) {
+      final Thread thread =
+          new Thread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  try {
+                    start.await();
+                    for (int i = 0; i < iterations; i++) {
+                      mPool.release(mPool.acquire(mContext, mLifecycle));
+                      assertThat(mPool.getCurrentSize()).isLessThanOrEqualTo(POOL_SIZE);
+                    }
+                  } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                  } finally {
+                    done.countDown();
+                  }
+                }
+              });
+      threads.add(thread);
+      thread.start();
+    }
+
+    start.countDown();
+    done.await();
+
+    assertThat(mPool.getAcquireCount()).isEqualTo(threadCount * iterations);
+    assertThat(mPool.getReleaseCount()).isEqualTo(threadCount * iterations);
+    assertThat(mPool.getHitCount() + mPool.getMissCount()).isEqualTo(threadCount * iterations);
+    assertThat(mPool.getCurrentSize()).isLessThanOrEqualTo(POOL_SIZE);
+  }
+}
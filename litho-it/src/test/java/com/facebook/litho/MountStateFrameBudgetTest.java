@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.graphics.Rect;
+import androidx.annotation.Nullable;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.LithoViewRule;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.MountSpecLifecycleTester;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.shadows.ShadowLooper;
+
+@RunWith(LithoTestRunner.class)
+public class MountStateFrameBudgetTest {
+
+  private static final int FRAME_BUDGET_MS = 1;
+
+  public final @Rule LithoViewRule mLithoViewRule = new LithoViewRule();
+
+  private final List<String> mMountOrder = new ArrayList<>();
+  private ComponentContext mContext;
+  private int mDefaultFrameBudgetMs;
+
+  @Before
+  public void setup() {
+    mContext = mLithoViewRule.getContext();
+    mDefaultFrameBudgetMs = ComponentsConfiguration.incrementalMountFrameBudgetMs;
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.incrementalMountFrameBudgetMs = mDefaultFrameBudgetMs;
+    ShadowLooper.unPauseMainLooper();
+  }
+
+  @Test
+  public void testOutputsOverFrameBudgetAreDeferred() {
+    final SlowMountTracker[] trackers = createTrackers(3);
+    final LithoView lithoView = mountScrolledOut(trackers);
+
+    lithoView.getComponentTree().mountComponent(new Rect(0, 0, 10, 30), true);
+
+    assertThat(trackers[0].isMounted()).isTrue();
+    assertThat(trackers[1].isMounted()).isFalse();
+    assertThat(trackers[2].isMounted()).isFalse();
+
+    lithoView.getMountState().mountDeferredOutputs();
+
+    assertThat(trackers[1].isMounted()).isTrue();
+    assertThat(trackers[2].isMounted()).isFalse();
+
+    lithoView.getMountState().mountDeferredOutputs();
+
+    assertThat(trackers[2].isMounted()).isTrue();
+  }
+
+  @Test
+  public void testDeferredOutputsClosestToCenterAreMountedFirst() {
+    final SlowMountTracker[] trackers = createTrackers(6);
+    final LithoView lithoView = mountScrolledOut(trackers);
+
+    lithoView.getComponentTree().mountComponent(new Rect(0, 0, 10, 60), true);
+    for (int i = 0; i < 5; i++) {
+      lithoView.getMountState().mountDeferredOutputs();
+    }
+
+    // The center of the visible rect is at 30, between the 3rd and 4th children.
+    assertThat(mMountOrder).containsExactly("0", "2", "3", "1", "4", "5");
+  }
+
+  @Test
+  public void testDeferredMountDuringMountIsRescheduled() {
+    final SlowMountTracker[] trackers = createTrackers(4);
+    final LithoView lithoView = mountScrolledOut(trackers);
+    trackers[3].mOnMount =
+        new Runnable() {
+          @Override
+          public void run() {
+            lithoView.getMountState().mountDeferredOutputs();
+          }
+        };
+
+    lithoView.getComponentTree().mountComponent(new Rect(0, 0, 10, 30), true);
+    lithoView.getComponentTree().mountComponent(new Rect(0, 0, 10, 40), true);
+
+    assertThat(trackers[1].isMounted()).isFalse();
+    assertThat(trackers[2].isMounted()).isFalse();
+
+    lithoView.getMountState().mountDeferredOutputs();
+    lithoView.getMountState().mountDeferredOutputs();
+
+    assertThat(mMountOrder).containsExactly("0", "3", "1", "2");
+  }
+
+  private SlowMountTracker[] createTrackers(int count) {
+    final SlowMountTracker[] trackers = new SlowMountTracker[count];
+    for (int i = 0; i < count; i++) {
+      trackers[i] = new SlowMountTracker(String.valueOf(i), mMountOrder);
+    }
+    return trackers;
+  }
+
+  /**
+   * Mounts a column with a 10px square child per tracker, then moves the visible rect above it, so
+   * that the children enter the visible rect during the next incremental mount.
+   */
+  private LithoView mountScrolledOut(SlowMountTracker[] trackers) {
+    final Column.Builder builder = Column.create(mContext);
+    for (SlowMountTracker tracker : trackers) {
+      builder.child(
+          MountSpecLifecycleTester.create(mContext)
+              .lifecycleTracker(tracker)
+              .widthPx(10)
+              .heightPx(10));
+    }
+
+    mLithoViewRule
+        .setRoot(builder.build())
+        .attachToWindow()
+        .setSizeSpecs(makeSizeSpec(1000, EXACTLY), makeSizeSpec(1000, EXACTLY))
+        .measure()
+        .layout();
+
+    final LithoView lithoView = mLithoViewRule.getLithoView();
+    lithoView.getComponentTree().mountComponent(new Rect(0, -10, 10, -5), true);
+    mMountOrder.clear();
+
+    // Deferred outputs are only mounted when the tests ask for it.
+    ShadowLooper.pauseMainLooper();
+    ComponentsConfiguration.incrementalMountFrameBudgetMs = FRAME_BUDGET_MS;
+
+    return lithoView;
+  }
+
+  /** Spends more than the frame budget on each mount and records the order of the mounts. */
+  private static class SlowMountTracker extends LifecycleTracker {
+    private final String mName;
+    private final List<String> mMountOrder;
+    private @Nullable Runnable mOnMount;
+
+    private SlowMountTracker(String name, List<String> mountOrder) {
+      mName = name;
+      mMountOrder = mountOrder;
+    }
+
+    @Override
+    public void addStep(LifecycleStep step, Object... args) {
+      super.addStep(step, args);
+      if (step != LifecycleStep.ON_MOUNT) {
+        return;
+      }
+
+      mMountOrder.add(mName);
+      try {
+        Thread.sleep(2 * FRAME_BUDGET_MS);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      if (mOnMount != null) {
+        mOnMount.run();
+      }
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Rect;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.rendercore.MountDelegate;
+import com.facebook.rendercore.RenderTreeNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class MountableOutputIndexTest {
+
+  @Test
+  public void testQueryEmptyIndex() {
+    final MountableOutputIndex index = MountableOutputIndex.create(new TestInput(), 0);
+
+    assertThat(index.query(new Rect(0, 0, 100, 100), new int[0])).isEqualTo(0);
+  }
+
+  @Test
+  public void testQueryHorizontalCarousel() {
+    final TestInput input = new TestInput();
+    for (int i = 0; i < 100; i++) {
+      input.add(new Rect(i * 10, 0, (i + 1) * 10, 10));
+    }
+    final MountableOutputIndex index = MountableOutputIndex.create(input, input.size());
+    final int[] out = new int[index.getCount()];
+
+    final int count = index.query(new Rect(255, 0, 300, 10), out);
+
+    assertThat(Arrays.copyOf(out, count)).containsExactly(25, 26, 27, 28, 29);
+  }
+
+  @Test
+  public void testQueryMatchesFullScan() {
+    final Random random = new Random(42);
+    final TestInput input = new TestInput();
+    for (int i = 0; i < 1000; i++) {
+      final int left = random.nextInt(1000);
+      final int top = random.nextInt(1000);
+      input.add(new Rect(left, top, left + random.nextInt(200), top + random.nextInt(200)));
+    }
+    final MountableOutputIndex index = MountableOutputIndex.create(input, input.size());
+    final int[] out = new int[index.getCount()];
+
+    for (int i = 0; i < 100; i++) {
+      final int left = random.nextInt(1000);
+      final int top = random.nextInt(1000);
+      final Rect rect = new Rect(left, top, left + random.nextInt(400), top + random.nextInt(400));
+
+      final int count = index.query(rect, out);
+
+      assertThat(Arrays.copyOf(out, count)).containsExactly(input.fullScan(rect));
+    }
+  }
+
+  @Test
+  public void testFindFirstTopAtOrBelowAndFirstBottomBelow() {
+    final TestInput input = new TestInput();
+    for (int i = 0; i < 10; i++) {
+      input.add(new Rect(0, i * 10, 10, (i + 1) * 10));
+    }
+
+    assertThat(MountableOutputIndex.findFirstTopAtOrBelow(input.mNodes, 0)).isEqualTo(0);
+    assertThat(MountableOutputIndex.findFirstTopAtOrBelow(input.mNodes, 45)).isEqualTo(5);
+    assertThat(MountableOutputIndex.findFirstTopAtOrBelow(input.mNodes, 50)).isEqualTo(5);
+    assertThat(MountableOutputIndex.findFirstTopAtOrBelow(input.mNodes, 200)).isEqualTo(10);
+
+    assertThat(MountableOutputIndex.findFirstBottomBelow(input.mNodes, 0)).isEqualTo(0);
+    assertThat(MountableOutputIndex.findFirstBottomBelow(input.mNodes, 45)).isEqualTo(4);
+    assertThat(MountableOutputIndex.findFirstBottomBelow(input.mNodes, 50)).isEqualTo(5);
+    assertThat(MountableOutputIndex.findFirstBottomBelow(input.mNodes, 200)).isEqualTo(10);
+  }
+
+  private static class TestInput implements MountDelegate.MountDelegateInput {
+    private final List<RenderTreeNode> mNodes = new ArrayList<>();
+    private final List<Rect> mBounds = new ArrayList<>();
+
+    void add(Rect bounds) {
+      final RenderTreeNode node = mock(RenderTreeNode.class);
+      when(node.getBounds()).thenReturn(bounds);
+      mNodes.add(node);
+      mBounds.add(bounds);
+    }
+
+    int size() {
+      return mNodes.size();
+    }
+
+    int[] fullScan(Rect rect) {
+      final List<Integer> positions = new ArrayList<>();
+      for (int i = 0; i < mBounds.size(); i++) {
+        if (Rect.intersects(rect, mBounds.get(i))) {
+          positions.add(i);
+        }
+      }
+
+      final int[] result = new int[positions.size()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = positions.get(i);
+      }
+      return result;
+    }
+
+    @Override
+    public int getLayoutOutputPositionForId(long id) {
+      return -1;
+    }
+
+    @Override
+    public RenderTreeNode getMountableOutputAt(int position) {
+      return mNodes.get(position);
+    }
+  }
+}
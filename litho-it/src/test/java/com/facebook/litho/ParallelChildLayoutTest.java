@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.LayoutOutput.getLayoutOutput;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.UNSPECIFIED;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.config.LayoutThreadPoolConfiguration;
+import com.facebook.litho.testing.inlinelayoutspec.InlineLayoutSpec;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.Text;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class ParallelChildLayoutTest {
+
+  private ComponentContext mContext;
+  private LayoutThreadPoolConfiguration mDefaultConfig;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+    mDefaultConfig = ComponentsConfiguration.parallelChildLayoutThreadPoolConfig;
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.parallelChildLayoutThreadPoolConfig = mDefaultConfig;
+  }
+
+  @Test
+  public void testParallelLayoutMatchesSequentialLayout() {
+    ComponentsConfiguration.parallelChildLayoutThreadPoolConfig = null;
+    final LayoutState sequential = calculateLayoutState(createGrid());
+
+    ComponentsConfiguration.parallelChildLayoutThreadPoolConfig =
+        new LayoutThreadPoolConfigurationImpl(2, 2);
+    final LayoutState parallel = calculateLayoutState(createGrid());
+
+    assertSameOutputs(parallel, sequential);
+  }
+
+  @Test
+  public void testParallelLayoutOfChildrenMeasuringDuringCreation() {
+    ComponentsConfiguration.parallelChildLayoutThreadPoolConfig = null;
+    final LayoutState sequential = calculateLayoutState(createMeasuringGrid());
+
+    ComponentsConfiguration.parallelChildLayoutThreadPoolConfig =
+        new LayoutThreadPoolConfigurationImpl(4, 4);
+    final LayoutState parallel = calculateLayoutState(createMeasuringGrid());
+
+    assertSameOutputs(parallel, sequential);
+  }
+
+  @Test
+  public void testShouldCreateInParallelRequiresEnoughChildren() {
+    ComponentsConfiguration.parallelChildLayoutThreadPoolConfig =
+        new LayoutThreadPoolConfigurationImpl(2, 2);
+    final List<Component> children = new ArrayList<>();
+    children.add(Text.create(mContext).text("text").build());
+
+    assertThat(ParallelChildLayout.shouldCreateInParallel(mContext, children)).isFalse();
+
+    for (int i = 0; i < ComponentsConfiguration.parallelChildLayoutMinChildren; i++) {
+      children.add(Text.create(mContext).text("text").build());
+    }
+
+    assertThat(ParallelChildLayout.shouldCreateInParallel(mContext, children)).isTrue();
+  }
+
+  private static void assertSameOutputs(LayoutState parallel, LayoutState sequential) {
+    assertThat(parallel.getMountableOutputCount())
+        .isEqualTo(sequential.getMountableOutputCount());
+    for (int i = 0, count = sequential.getMountableOutputCount(); i < count; i++) {
+      final LayoutOutput expected = getLayoutOutput(sequential.getMountableOutputAt(i));
+      final LayoutOutput actual = getLayoutOutput(parallel.getMountableOutputAt(i));
+      assertThat(actual.getComponent().getGlobalKey())
+          .isEqualTo(expected.getComponent().getGlobalKey());
+      assertThat(actual.getBounds()).isEqualTo(expected.getBounds());
+    }
+  }
+
+  private Component createGrid() {
+    final Column.Builder grid = Column.create(mContext);
+    for (int i = 0; i < 4; i++) {
+      final Row.Builder row = Row.create(mContext);
+      for (int j = 0; j < 4; j++) {
+        row.child(
+            Column.create(mContext)
+                .child(Text.create(mContext).text("title").textSizePx(10))
+                .child(Text.create(mContext).text("subtitle").textSizePx(8)));
+      }
+      grid.child(row);
+    }
+    return grid.build();
+  }
+
+  /** A grid whose cells measure their title while creating their layout, filling the cache. */
+  private Component createMeasuringGrid() {
+    final Column.Builder grid = Column.create(mContext);
+    for (int i = 0; i < 8; i++) {
+      final Row.Builder row = Row.create(mContext);
+      for (int j = 0; j < 8; j++) {
+        final String title = "title " + i + " " + j;
+        row.child(
+            new InlineLayoutSpec() {
+              @Override
+              protected Component onCreateLayout(ComponentContext c) {
+                final Component text = Text.create(c).text(title).textSizePx(10).build();
+                final Size size = new Size();
+                text.measure(c, makeSizeSpec(50, EXACTLY), makeSizeSpec(0, UNSPECIFIED), size);
+                return Column.create(c).child(text).heightPx(size.height * 2).build();
+              }
+            });
+      }
+      grid.child(row);
+    }
+    return grid.build();
+  }
+
+  private LayoutState calculateLayoutState(Component component) {
+    return LayoutState.calculate(
+        mContext,
+        component,
+        -1,
+        makeSizeSpec(400, EXACTLY),
+        makeSizeSpec(400, EXACTLY),
+        LayoutState.CalculateLayoutSource.TEST);
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.LayoutOutput.getLayoutOutput;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.testing.TestDrawableComponent;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.CardShadow;
+import com.facebook.litho.widget.CardShadowDrawable;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class PremountedContentTest {
+
+  private ComponentContext mContext;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+  }
+
+  @Test
+  public void testPremountedContentIsTakenOnMount() {
+    final LayoutState layoutState = calculateLayoutState();
+
+    layoutState.premountContent(ComponentTree.RecyclingMode.DEFAULT);
+
+    assertThat(layoutState.takePremountedContent(getOutputId(layoutState, "CardShadow")))
+        .isInstanceOf(CardShadowDrawable.class);
+    assertThat(layoutState.takePremountedContent(getOutputId(layoutState, "CardShadow")))
+        .isNull();
+  }
+
+  @Test
+  public void testComponentsThatCannotPremountAreNotPremounted() {
+    final LayoutState layoutState = calculateLayoutState();
+
+    layoutState.premountContent(ComponentTree.RecyclingMode.DEFAULT);
+
+    assertThat(layoutState.takePremountedContent(getOutputId(layoutState, "TestDrawableComponent")))
+        .isNull();
+  }
+
+  @Test
+  public void testPremountIsSkippedOnceMountStarted() {
+    final LayoutState layoutState = calculateLayoutState();
+
+    assertThat(layoutState.takePremountedContent(getOutputId(layoutState, "TestDrawableComponent")))
+        .isNull();
+
+    layoutState.premountContent(ComponentTree.RecyclingMode.DEFAULT);
+
+    assertThat(layoutState.takePremountedContent(getOutputId(layoutState, "CardShadow")))
+        .isNull();
+  }
+
+  @Test
+  public void testReleasedContentIsNotTaken() {
+    final LayoutState layoutState = calculateLayoutState();
+
+    layoutState.premountContent(ComponentTree.RecyclingMode.DEFAULT);
+    layoutState.releasePremountedContent(ComponentTree.RecyclingMode.DEFAULT);
+
+    assertThat(layoutState.takePremountedContent(getOutputId(layoutState, "CardShadow")))
+        .isNull();
+  }
+
+  @Test
+  public void testPremountIsSkippedOnceReleased() {
+    final LayoutState layoutState = calculateLayoutState();
+
+    layoutState.releasePremountedContent(ComponentTree.RecyclingMode.DEFAULT);
+    layoutState.premountContent(ComponentTree.RecyclingMode.DEFAULT);
+
+    assertThat(layoutState.takePremountedContent(getOutputId(layoutState, "CardShadow")))
+        .isNull();
+  }
+
+  private LayoutState calculateLayoutState() {
+    final Component component =
+        Column.create(mContext)
+            .child(CardShadow.create(mContext).widthPx(100).heightPx(100))
+            .child(TestDrawableComponent.create(mContext).widthPx(100).heightPx(100))
+            .build();
+
+    return LayoutState.calculate(
+        mContext,
+        component,
+        -1,
+        makeSizeSpec(100, EXACTLY),
+        makeSizeSpec(200, EXACTLY),
+        LayoutState.CalculateLayoutSource.TEST);
+  }
+
+  private static long getOutputId(LayoutState layoutState, String componentName) {
+    for (int i = 0, count = layoutState.getMountableOutputCount(); i < count; i++) {
+      final LayoutOutput output = getLayoutOutput(layoutState.getMountableOutputAt(i));
+      if (componentName.equals(output.getComponent().getSimpleName())) {
+        return output.getId();
+      }
+    }
+    throw new IllegalStateException("No output for " + componentName);
+  }
+}
@@ -55,6 +55,40 @@ public class ResourceCacheTest {
     assertThat(cache).isNotEqualTo(ResourceCache.getLatest(configuration));
   }
 
+  @Test
+  public void testRecentConfigurationsAreRetained() {
+    Configuration configuration =
+        new Configuration(getApplicationContext().getResources().getConfiguration());
+    setLocale(configuration, new Locale("en"));
+    ResourceCache englishCache = ResourceCache.getLatest(configuration);
+
+    setLocale(configuration, new Locale("it"));
+    ResourceCache italianCache = ResourceCache.getLatest(configuration);
+
+    setLocale(configuration, new Locale("en"));
+    assertThat(ResourceCache.getLatest(configuration)).isSameAs(englishCache);
+
+    setLocale(configuration, new Locale("it"));
+    assertThat(ResourceCache.getLatest(configuration)).isSameAs(italianCache);
+  }
+
+  @Test
+  public void testValuesAreCachedPerType() {
+    ResourceCache cache =
+        new LruResourceCache(getApplicationContext().getResources().getConfiguration());
+
+    cache.putInt(ResourceCache.TYPE_DIMEN_SIZE, 1, 10);
+    cache.putInt(ResourceCache.TYPE_DIMEN_OFFSET, 1, 9);
+    cache.put(ResourceCache.TYPE_STRING, 1, "string");
+
+    assertThat((int) cache.getInt(ResourceCache.TYPE_DIMEN_SIZE, 1)).isEqualTo(10);
+    assertThat((int) cache.getInt(ResourceCache.TYPE_DIMEN_OFFSET, 1)).isEqualTo(9);
+    assertThat(cache.getInt(ResourceCache.TYPE_COLOR, 1)).isEqualTo(ResourceCache.MISSING);
+    assertThat((String) cache.get(ResourceCache.TYPE_STRING, 1)).isEqualTo("string");
+    assertThat(cache.getHitCount()).isEqualTo(3);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
   private static void setLocale(Configuration configuration, Locale locale) {
     if (Build.VERSION.SDK_INT >= 17) {
       configuration.setLocale(locale);
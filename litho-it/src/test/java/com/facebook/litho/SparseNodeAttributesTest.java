@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class SparseNodeAttributesTest {
+
+  @Test
+  public void testGetUnsetKeyReturnsNull() {
+    final SparseNodeAttributes attributes = new SparseNodeAttributes();
+    attributes.put(3, "three");
+
+    assertThat(attributes.get(0)).isNull();
+    assertThat(attributes.get(63)).isNull();
+  }
+
+  @Test
+  public void testPutOutOfOrderKeepsValues() {
+    final SparseNodeAttributes attributes = new SparseNodeAttributes();
+    attributes.put(40, "forty");
+    attributes.put(2, "two");
+    attributes.put(63, "sixty-three");
+    attributes.put(0, "zero");
+    attributes.put(2, "two again");
+
+    assertThat(attributes.get(0)).isEqualTo("zero");
+    assertThat(attributes.get(2)).isEqualTo("two again");
+    assertThat(attributes.get(40)).isEqualTo("forty");
+    assertThat(attributes.get(63)).isEqualTo("sixty-three");
+  }
+
+  @Test
+  public void testCopyIsIndependent() {
+    final SparseNodeAttributes attributes = new SparseNodeAttributes();
+    attributes.put(1, "one");
+
+    final SparseNodeAttributes copy = attributes.copy();
+    copy.put(1, "copy");
+    copy.put(5, "five");
+
+    assertThat(attributes.get(1)).isEqualTo("one");
+    assertThat(attributes.get(5)).isNull();
+    assertThat(copy.get(1)).isEqualTo("copy");
+    assertThat(copy.get(5)).isEqualTo("five");
+  }
+
+  @Test
+  public void testMatchesMap() {
+    final Random random = new Random(42);
+    final SparseNodeAttributes attributes = new SparseNodeAttributes();
+    final Map<Integer, Object> expected = new HashMap<>();
+
+    for (int i = 0; i < 200; i++) {
+      final int key = random.nextInt(64);
+      final Object value = random.nextBoolean() ? random.nextInt() : null;
+      attributes.put(key, value);
+      expected.put(key, value);
+    }
+
+    for (int key = 0; key < 64; key++) {
+      assertThat(attributes.get(key)).isEqualTo(expected.get(key));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testKeyOutOfRangeThrows() {
+    new SparseNodeAttributes().put(64, "too big");
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.Layout.createAndMeasureComponent;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.stats.LithoStats;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.SolidColor;
+import com.facebook.yoga.YogaNode;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class YogaNodePoolTest {
+
+  private ComponentContext mContext;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+    mContext.setLayoutStateContextForTesting();
+    ComponentsConfiguration.yogaNodePoolSize = 10;
+    YogaNodePool.clear();
+    LithoStats.resetAllCounters();
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.yogaNodePoolSize = 0;
+    YogaNodePool.clear();
+  }
+
+  @Test
+  public void testReleasedTreeNodesAreReused() {
+    final InternalNode root = createTree();
+    final Set<YogaNode> treeNodes = new HashSet<>();
+    treeNodes.add(root.getYogaNode());
+    treeNodes.add(root.getChildAt(0).getYogaNode());
+    treeNodes.add(root.getChildAt(1).getYogaNode());
+
+    YogaNodePool.release(root);
+
+    final Set<YogaNode> reusedNodes = new HashSet<>();
+    for (int i = 0; i < 3; i++) {
+      final YogaNode node = NodeConfig.createYogaNode();
+      assertThat(node.getChildCount()).isEqualTo(0);
+      assertThat(node.getOwner()).isNull();
+      assertThat(node.getData()).isNull();
+      reusedNodes.add(node);
+    }
+
+    assertThat(reusedNodes).isEqualTo(treeNodes);
+    assertThat(YogaNodePool.acquire()).isNull();
+    assertThat(LithoStats.getYogaNodeReusedCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void testReleaseIsLimitedByPoolSize() {
+    ComponentsConfiguration.yogaNodePoolSize = 2;
+    final InternalNode root = createTree();
+
+    YogaNodePool.release(root);
+
+    assertThat(YogaNodePool.acquire()).isNotNull();
+    assertThat(YogaNodePool.acquire()).isNotNull();
+    assertThat(YogaNodePool.acquire()).isNull();
+  }
+
+  @Test
+  public void testNothingIsPooledWhenDisabled() {
+    final InternalNode root = createTree();
+    ComponentsConfiguration.yogaNodePoolSize = 0;
+
+    YogaNodePool.release(root);
+
+    assertThat(YogaNodePool.acquire()).isNull();
+    assertThat(root.getChildCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testReusedNodeHasNoPreviousStyle() {
+    final InternalNode root = createTree();
+
+    YogaNodePool.release(root);
+
+    for (YogaNode node = YogaNodePool.acquire(); node != null; node = YogaNodePool.acquire()) {
+      assertThat(node.getWidth().value).isNaN();
+    }
+  }
+
+  private InternalNode createTree() {
+    return createAndMeasureComponent(
+        mContext,
+        Column.create(mContext)
+            .child(SolidColor.create(mContext).color(0).widthPx(10).heightPx(10))
+            .child(SolidColor.create(mContext).color(0).widthPx(20).heightPx(20))
+            .build(),
+        makeSizeSpec(100, EXACTLY),
+        makeSizeSpec(100, EXACTLY));
+  }
+}
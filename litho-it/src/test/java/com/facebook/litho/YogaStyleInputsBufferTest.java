@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.LayoutOutput.getLayoutOutput;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.UNSPECIFIED;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import android.graphics.Color;
+import android.graphics.Rect;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import com.facebook.litho.widget.SolidColor;
+import com.facebook.yoga.YogaAlign;
+import com.facebook.yoga.YogaEdge;
+import com.facebook.yoga.YogaNode;
+import com.facebook.yoga.YogaPositionType;
+import com.facebook.yoga.YogaStyleInputs;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+@RunWith(LithoTestRunner.class)
+public class YogaStyleInputsBufferTest {
+
+  private ComponentContext mContext;
+  private boolean mDefaultBatchYogaStyleInputs;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+    mDefaultBatchYogaStyleInputs = ComponentsConfiguration.batchYogaStyleInputs;
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.batchYogaStyleInputs = mDefaultBatchYogaStyleInputs;
+  }
+
+  @Test
+  public void testFlushEncodesInputsInOneCall() {
+    final YogaStyleInputsBuffer buffer = new YogaStyleInputsBuffer();
+    final YogaNode node = mock(YogaNode.class);
+
+    buffer.add(YogaStyleInputs.WIDTH, 100);
+    buffer.add(YogaStyleInputs.ALIGN_SELF, YogaAlign.CENTER.intValue());
+    buffer.add(YogaStyleInputs.PADDING, YogaEdge.LEFT, 8);
+    buffer.add(YogaStyleInputs.HEIGHT_AUTO);
+    buffer.flushTo(node);
+
+    final float[] expected = {
+      YogaStyleInputs.WIDTH,
+      100,
+      YogaStyleInputs.ALIGN_SELF,
+      YogaAlign.CENTER.intValue(),
+      YogaStyleInputs.PADDING,
+      YogaEdge.LEFT.intValue(),
+      8,
+      YogaStyleInputs.HEIGHT_AUTO
+    };
+    final ArgumentCaptor<float[]> inputs = ArgumentCaptor.forClass(float[].class);
+    verify(node).setStyleInputs(inputs.capture(), eq(8));
+    assertThat(Arrays.copyOf(inputs.getValue(), 8)).containsExactly(expected);
+  }
+
+  @Test
+  public void testFlushClearsBuffer() {
+    final YogaStyleInputsBuffer buffer = new YogaStyleInputsBuffer();
+    final YogaNode node = mock(YogaNode.class);
+
+    buffer.add(YogaStyleInputs.FLEX_GROW, 1);
+    buffer.flushTo(node);
+    buffer.flushTo(node);
+
+    verify(node, times(1)).setStyleInputs(any(float[].class), anyInt());
+  }
+
+  @Test
+  public void testFlushEmptyBufferDoesNothing() {
+    final YogaStyleInputsBuffer buffer = new YogaStyleInputsBuffer();
+    final YogaNode node = mock(YogaNode.class);
+
+    buffer.flushTo(node);
+
+    verify(node, never()).setStyleInputs(any(float[].class), anyInt());
+  }
+
+  @Test
+  public void testBufferGrows() {
+    final YogaStyleInputsBuffer buffer = new YogaStyleInputsBuffer();
+    final YogaNode node = mock(YogaNode.class);
+
+    for (int i = 0; i < 20; i++) {
+      buffer.add(YogaStyleInputs.MARGIN, YogaEdge.TOP, i);
+    }
+    buffer.flushTo(node);
+
+    final ArgumentCaptor<float[]> inputs = ArgumentCaptor.forClass(float[].class);
+    verify(node).setStyleInputs(inputs.capture(), eq(60));
+    assertThat(inputs.getValue()[59]).isEqualTo(19f);
+  }
+
+  @Test
+  public void testBatchedStyleInputsProduceSameLayout() {
+    ComponentsConfiguration.batchYogaStyleInputs = false;
+    final List<Rect> expected = calculateOutputBounds();
+
+    ComponentsConfiguration.batchYogaStyleInputs = true;
+    final List<Rect> batched = calculateOutputBounds();
+
+    assertThat(expected).hasSize(6);
+    assertThat(batched).isEqualTo(expected);
+  }
+
+  private List<Rect> calculateOutputBounds() {
+    final ComponentContext c = mContext;
+    final Component component =
+        Column.create(c)
+            .paddingPx(YogaEdge.ALL, 10)
+            .child(
+                Row.create(c)
+                    .heightPx(50)
+                    .marginPx(YogaEdge.BOTTOM, 5)
+                    .child(
+                        SolidColor.create(c)
+                            .color(Color.RED)
+                            .flexGrow(1)
+                            .marginPx(YogaEdge.HORIZONTAL, 7))
+                    .child(
+                        SolidColor.create(c)
+                            .color(Color.BLUE)
+                            .widthPercent(25)
+                            .heightPx(20)
+                            .alignSelf(YogaAlign.CENTER)))
+            .child(
+                SolidColor.create(c)
+                    .color(Color.GREEN)
+                    .aspectRatio(2)
+                    .maxWidthPx(200)
+                    .alignSelf(YogaAlign.FLEX_END))
+            .child(
+                SolidColor.create(c)
+                    .color(Color.BLACK)
+                    .positionType(YogaPositionType.ABSOLUTE)
+                    .positionPx(YogaEdge.TOP, 3)
+                    .positionPx(YogaEdge.RIGHT, 4)
+                    .widthPx(30)
+                    .heightPx(30))
+            .child(
+                Row.create(c)
+                    .paddingPercent(YogaEdge.LEFT, 10)
+                    .minHeightPx(40)
+                    .child(
+                        SolidColor.create(c)
+                            .color(Color.GRAY)
+                            .flexShrink(1)
+                            .widthPx(1000)
+                            .heightPx(10)))
+            .build();
+
+    final LayoutState layoutState =
+        LayoutState.calculate(
+            c,
+            component,
+            -1,
+            makeSizeSpec(500, EXACTLY),
+            makeSizeSpec(0, UNSPECIFIED),
+            LayoutState.CalculateLayoutSource.TEST);
+
+    final List<Rect> bounds = new ArrayList<>();
+    for (int i = 0, count = layoutState.getMountableOutputCount(); i < count; i++) {
+      bounds.add(new Rect(getLayoutOutput(layoutState.getMountableOutputAt(i)).getBounds()));
+    }
+    return bounds;
+  }
+}
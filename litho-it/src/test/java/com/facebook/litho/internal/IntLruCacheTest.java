@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.facebook.litho.internal;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class IntLruCacheTest {
+
+  @Test
+  public void test_getAndPutInt() {
+    IntLruCache cache = new IntLruCache(10);
+
+    assertThat(cache.getInt(1)).isEqualTo(IntLruCache.MISSING);
+
+    cache.putInt(1, -1);
+    cache.putInt(2, Integer.MIN_VALUE);
+
+    assertThat((int) cache.getInt(1)).isEqualTo(-1);
+    assertThat((int) cache.getInt(2)).isEqualTo(Integer.MIN_VALUE);
+    assertThat(cache.getInt(1)).isNotEqualTo(IntLruCache.MISSING);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isEqualTo(3);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void test_intAndObjectValuesDontMix() {
+    IntLruCache cache = new IntLruCache(10);
+
+    cache.put(1, "value", 1);
+    assertThat(cache.getInt(1)).isEqualTo(IntLruCache.MISSING);
+
+    cache.putInt(1, 5);
+    assertThat(cache.get(1)).isNull();
+    assertThat((int) cache.getInt(1)).isEqualTo(5);
+  }
+
+  @Test
+  public void test_evictsLeastRecentlyUsed() {
+    IntLruCache cache = new IntLruCache(3);
+
+    cache.putInt(1, 1);
+    cache.putInt(2, 2);
+    cache.putInt(3, 3);
+    cache.getInt(1);
+    cache.putInt(4, 4);
+
+    assertThat(cache.size()).isEqualTo(3);
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+    assertThat(cache.getInt(2)).isEqualTo(IntLruCache.MISSING);
+    assertThat((int) cache.getInt(1)).isEqualTo(1);
+    assertThat((int) cache.getInt(3)).isEqualTo(3);
+    assertThat((int) cache.getInt(4)).isEqualTo(4);
+  }
+
+  @Test
+  public void test_evictsByWeight() {
+    IntLruCache cache = new IntLruCache(10);
+
+    cache.put(1, "first", 5);
+    cache.put(2, "second", 6);
+
+    assertThat(cache.get(1)).isNull();
+    assertThat(cache.get(2)).isEqualTo("second");
+    assertThat(cache.weight()).isEqualTo(6);
+
+    cache.put(3, "too heavy", 11);
+    assertThat(cache.get(3)).isNull();
+    assertThat(cache.get(2)).isEqualTo("second");
+  }
+
+  @Test
+  public void test_manyKeysSurviveGrowthAndRemoval() {
+    IntLruCache cache = new IntLruCache(1000);
+
+    for (int i = 0; i < 1000; i++) {
+      cache.putInt(i * 31, i);
+    }
+    for (int i = 0; i < 1000; i += 2) {
+      cache.remove(i * 31);
+    }
+
+    assertThat(cache.size()).isEqualTo(500);
+    for (int i = 0; i < 1000; i++) {
+      if (i % 2 == 0) {
+        assertThat(cache.getInt(i * 31)).isEqualTo(IntLruCache.MISSING);
+      } else {
+        assertThat((int) cache.getInt(i * 31)).isEqualTo(i);
+      }
+    }
+  }
+}
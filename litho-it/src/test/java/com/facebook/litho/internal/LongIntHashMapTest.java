@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.internal;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class LongIntHashMapTest {
+
+  @Test
+  public void test_getAndPut() {
+    LongIntHashMap map = new LongIntHashMap();
+
+    assertThat(map.get(1L, -1)).isEqualTo(-1);
+    assertThat(map.containsKey(1L)).isFalse();
+
+    map.put(1L, 5);
+    map.put(0L, 7);
+    map.put(Long.MIN_VALUE, 9);
+
+    assertThat(map.get(1L, -1)).isEqualTo(5);
+    assertThat(map.get(0L, -1)).isEqualTo(7);
+    assertThat(map.get(Long.MIN_VALUE, -1)).isEqualTo(9);
+    assertThat(map.size()).isEqualTo(3);
+
+    // override
+    map.put(1L, 6);
+    assertThat(map.get(1L, -1)).isEqualTo(6);
+    assertThat(map.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void test_getAndIncrement() {
+    LongIntHashMap map = new LongIntHashMap();
+
+    assertThat(map.getAndIncrement(42L)).isEqualTo(0);
+    assertThat(map.getAndIncrement(42L)).isEqualTo(1);
+    assertThat(map.getAndIncrement(42L)).isEqualTo(2);
+    assertThat(map.getAndIncrement(43L)).isEqualTo(0);
+    assertThat(map.get(42L, -1)).isEqualTo(3);
+  }
+
+  @Test
+  public void test_grow() {
+    LongIntHashMap map = new LongIntHashMap(2);
+
+    for (int i = 0; i < 1000; i++) {
+      map.put(i * 0x100000000L, i);
+    }
+
+    assertThat(map.size()).isEqualTo(1000);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(map.get(i * 0x100000000L, -1)).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void test_clear() {
+    LongIntHashMap map = new LongIntHashMap();
+    map.put(1L, 1);
+    map.put(2L, 2);
+
+    map.clear();
+
+    assertThat(map.size()).isEqualTo(0);
+    assertThat(map.containsKey(1L)).isFalse();
+    assertThat(map.get(2L, -1)).isEqualTo(-1);
+  }
+}
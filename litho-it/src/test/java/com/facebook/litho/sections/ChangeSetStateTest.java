@@ -21,10 +21,14 @@ import static com.facebook.litho.sections.Change.MOVE;
 import static org.assertj.core.api.Java6Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.sections.logger.SectionsDebugLogger;
 import com.facebook.litho.testing.sections.TestSectionCreator;
 import com.facebook.litho.testing.testrunner.LithoTestRunner;
 import com.facebook.litho.widget.ComponentRenderInfo;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -47,6 +51,11 @@ public class ChangeSetStateTest {
     mNextPrefix = "";
   }
 
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.childChangeSetsThreadPoolSize = 0;
+  }
+
   @Test
   public void testNewChangeSetGeneration() {
     final Section leaf1 =
@@ -752,6 +761,109 @@ public class ChangeSetStateTest {
     assertThat(leaf3).isEqualTo(secondChangeSetState.getRemovedComponents().get(0));
   }
 
+  @Test
+  public void testChildrenDiffedInParallelGenerateSameChangeSet() {
+    final List<String> serialChanges = new ArrayList<>();
+    final List<String> serialRemoved = new ArrayList<>();
+    generateChangeSetOfNestedTrees(serialChanges, serialRemoved);
+
+    ComponentsConfiguration.childChangeSetsThreadPoolSize = 2;
+    final List<String> parallelChanges = new ArrayList<>();
+    final List<String> parallelRemoved = new ArrayList<>();
+    generateChangeSetOfNestedTrees(parallelChanges, parallelRemoved);
+
+    assertThat(parallelChanges).isNotEmpty();
+    assertThat(parallelChanges).isEqualTo(serialChanges);
+    assertThat(parallelRemoved).containsExactly("node3", "leaf3");
+    assertThat(parallelRemoved).isEqualTo(serialRemoved);
+  }
+
+  /**
+   * Moves, removes and inserts children of a root wrapping a single node, so that the children
+   * diffed in parallel are not the direct children of the root.
+   */
+  private void generateChangeSetOfNestedTrees(List<String> changes, List<String> removed) {
+    final Section node1 =
+        TestSectionCreator.createSectionComponent(
+            "node1",
+            true,
+            createChangeSetComponent("leaf1", 3),
+            createChangeSetComponent("leaf2", 2),
+            createChangeSetComponent("leaf3", 2));
+    final Section node2 =
+        TestSectionCreator.createSectionComponent(
+            "node2", true, createChangeSetComponent("leaf4", 1));
+    final Section node3 =
+        TestSectionCreator.createSectionComponent(
+            "node3", true, createChangeSetComponent("leaf5", 4));
+    final Section root =
+        TestSectionCreator.createSectionComponent(
+            "root",
+            true,
+            TestSectionCreator.createSectionComponent("wrapper", true, node1, node2, node3));
+    TestSectionCreator.createTree(root, mSectionContext);
+
+    ChangeSetState.generateChangeSet(
+        mSectionContext,
+        null,
+        root,
+        mSectionsDebugLogger,
+        mSectionTreeTag,
+        mCurrentPrefix,
+        mNextPrefix,
+        false);
+
+    final Section newNode1 =
+        TestSectionCreator.createSectionComponent(
+            "node1",
+            true,
+            createChangeSetComponent("leaf2", 2),
+            createChangeSetComponent("leaf1", 3),
+            createChangeSetComponent("leaf6", 2));
+    final Section newNode2 =
+        TestSectionCreator.createSectionComponent(
+            "node2", true, createChangeSetComponent("leaf4", 1));
+    final Section newNode4 =
+        TestSectionCreator.createSectionComponent(
+            "node4", true, createChangeSetComponent("leaf7", 3));
+    final Section newRoot =
+        TestSectionCreator.createSectionComponent(
+            "root",
+            true,
+            TestSectionCreator.createSectionComponent(
+                "wrapper", true, newNode2, newNode1, newNode4));
+    TestSectionCreator.createTree(newRoot, mSectionContext);
+
+    final ChangeSetState changeSetState =
+        ChangeSetState.generateChangeSet(
+            mSectionContext,
+            root,
+            newRoot,
+            mSectionsDebugLogger,
+            mSectionTreeTag,
+            mCurrentPrefix,
+            mNextPrefix,
+            false);
+
+    final ChangeSet changeSet = changeSetState.getChangeSet();
+    changes.add("count=" + changeSet.getCount());
+    for (int i = 0, size = changeSet.getChangeCount(); i < size; i++) {
+      final Change change = changeSet.getChangeAt(i);
+      changes.add(
+          change.getType()
+              + ":"
+              + change.getIndex()
+              + ":"
+              + change.getToIndex()
+              + ":"
+              + change.getCount());
+    }
+
+    for (Section section : changeSetState.getRemovedComponents()) {
+      removed.add(section.getKey());
+    }
+  }
+
   private static Section createChangeSetComponent(String key, int numChildren) {
     Change[] changes = new Change[numChildren];
     for (int i = 0; i < numChildren; i++) {
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.sections;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Tests {@link ChangeSetThreadPoolHandler} */
+@RunWith(LithoTestRunner.class)
+public class ChangeSetThreadPoolHandlerTest {
+
+  private static final long TIMEOUT_SECONDS = 5;
+
+  @Test
+  public void testRunsDifferentRunnablesInParallel() throws InterruptedException {
+    final ChangeSetThreadPoolHandler handler = new ChangeSetThreadPoolHandler(2);
+    final CountDownLatch bothRunning = new CountDownLatch(2);
+    final CountDownLatch done = new CountDownLatch(2);
+    final Runnable runnable =
+        new Runnable() {
+          @Override
+          public void run() {
+            bothRunning.countDown();
+            try {
+              // Only returns once the other runnable runs at the same time.
+              if (bothRunning.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                done.countDown();
+              }
+            } catch (InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+          }
+        };
+
+    handler.post(runnable, "");
+    handler.post(copyOf(runnable), "");
+
+    assertThat(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void testCoalescesQueuedRunnable() throws InterruptedException {
+    final ChangeSetThreadPoolHandler handler = new ChangeSetThreadPoolHandler(1);
+    final CountDownLatch blocker = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+    final CountingRunnable runnable = new CountingRunnable(null);
+
+    handler.post(awaiting(blocker), "");
+    handler.post(runnable, "");
+    handler.post(runnable, "");
+    handler.post(countingDown(done), "");
+    blocker.countDown();
+
+    assertThat(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(runnable.mRunCount.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testRunsAgainWhenPostedWhileRunning() throws InterruptedException {
+    final ChangeSetThreadPoolHandler handler = new ChangeSetThreadPoolHandler(2);
+    final CountDownLatch blocker = new CountDownLatch(1);
+    final CountingRunnable runnable = new CountingRunnable(blocker);
+
+    handler.post(runnable, "");
+    assertThat(runnable.mStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    handler.post(runnable, "");
+    handler.post(runnable, "");
+    blocker.countDown();
+
+    assertThat(runnable.mSecondRun.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(runnable.mRunCount.get()).isEqualTo(2);
+    assertThat(runnable.mMaxConcurrentRuns.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testRemoveQueuedRunnable() throws InterruptedException {
+    final ChangeSetThreadPoolHandler handler = new ChangeSetThreadPoolHandler(1);
+    final CountDownLatch blocker = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+    final CountingRunnable runnable = new CountingRunnable(null);
+
+    handler.post(awaiting(blocker), "");
+    handler.post(runnable, "");
+    handler.remove(runnable);
+    handler.post(countingDown(done), "");
+    blocker.countDown();
+
+    assertThat(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(runnable.mRunCount.get()).isEqualTo(0);
+  }
+
+  private static Runnable copyOf(final Runnable runnable) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        runnable.run();
+      }
+    };
+  }
+
+  private static Runnable awaiting(final CountDownLatch latch) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        try {
+          latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    };
+  }
+
+  private static Runnable countingDown(final CountDownLatch latch) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        latch.countDown();
+      }
+    };
+  }
+
+  private static class CountingRunnable implements Runnable {
+
+    private final AtomicInteger mRunCount = new AtomicInteger();
+    private final AtomicInteger mConcurrentRuns = new AtomicInteger();
+    private final AtomicInteger mMaxConcurrentRuns = new AtomicInteger();
+    private final CountDownLatch mStarted = new CountDownLatch(1);
+    private final CountDownLatch mSecondRun = new CountDownLatch(2);
+    private final CountDownLatch mBlocker;
+
+    private CountingRunnable(CountDownLatch blocker) {
+      mBlocker = blocker;
+    }
+
+    @Override
+    public void run() {
+      final int concurrentRuns = mConcurrentRuns.incrementAndGet();
+      mMaxConcurrentRuns.set(Math.max(mMaxConcurrentRuns.get(), concurrentRuns));
+      mRunCount.incrementAndGet();
+      mStarted.countDown();
+      try {
+        if (mBlocker != null) {
+          mBlocker.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      } finally {
+        mConcurrentRuns.decrementAndGet();
+        mSecondRun.countDown();
+      }
+    }
+  }
+}
@@ -494,6 +494,83 @@ public class DataDiffSectionSpecTest {
     assertThat(reporter.containsMessage(DataDiffSectionSpec.DUPLICATES_EXIST_MSG)).isTrue();
   }
 
+  @Test
+  public void testKeyedAppendData() {
+    final List<String> oldData = generateData(100);
+    mSectionTree.setRoot(
+        TestGroupSection.create(mSectionContext).data(oldData).keyedDiff(true).build());
+    mTestTarget.clear();
+
+    final List<String> newData = generateData(200);
+    mSectionTree.setRoot(
+        TestGroupSection.create(mSectionContext).data(newData).keyedDiff(true).build());
+    final List<Operation> executedOperations = mTestTarget.getOperations();
+
+    assertThat(executedOperations.size()).isEqualTo(1);
+    final Operation operation = executedOperations.get(0);
+    assertRangeOperation(operation, INSERT_RANGE, 100, 100);
+    assertOperation(operation, INSERT_RANGE, 100, -1, 100, null, newData.subList(100, 200));
+  }
+
+  @Test
+  public void testKeyedPrependData() {
+    final List<String> oldData = generateData(100);
+    mSectionTree.setRoot(
+        TestGroupSection.create(mSectionContext).data(oldData).keyedDiff(true).build());
+    mTestTarget.clear();
+
+    final List<String> newData = generateData(100);
+    newData.add(0, "new item 1");
+    newData.add(0, "new item 0");
+    mSectionTree.setRoot(
+        TestGroupSection.create(mSectionContext).data(newData).keyedDiff(true).build());
+    final List<Operation> executedOperations = mTestTarget.getOperations();
+
+    assertThat(executedOperations.size()).isEqualTo(1);
+    final Operation operation = executedOperations.get(0);
+    assertRangeOperation(operation, INSERT_RANGE, 0, 2);
+    assertOperation(operation, INSERT_RANGE, 0, -1, 2, null, newData.subList(0, 2));
+  }
+
+  @Test
+  public void testKeyedSingleEdit() {
+    final List<String> oldData = generateData(100);
+    mSectionTree.setRoot(
+        TestGroupSection.create(mSectionContext).data(oldData).keyedDiff(true).build());
+    mTestTarget.clear();
+
+    final List<String> newData = generateData(100);
+    newData.set(50, "new item");
+    mSectionTree.setRoot(
+        TestGroupSection.create(mSectionContext).data(newData).keyedDiff(true).build());
+    final List<Operation> executedOperations = mTestTarget.getOperations();
+
+    assertThat(executedOperations.size()).isEqualTo(2);
+    assertOperation(executedOperations.get(0), DELETE, 50, -1, 1, "50", null);
+    assertOperation(executedOperations.get(1), INSERT, 50, -1, 1, null, "new item");
+  }
+
+  @Test
+  public void testKeyedDiffFallsBackToFullDiff() {
+    final List<String> oldData = generateData(100);
+    mSectionTree.setRoot(
+        TestGroupSection.create(mSectionContext).data(oldData).keyedDiff(true).build());
+    mTestTarget.clear();
+
+    final List<String> newData = generateData(100);
+    newData.add(6, "new item");
+    newData.add(9, "new item");
+    newData.add(12, "new item");
+    mSectionTree.setRoot(
+        TestGroupSection.create(mSectionContext).data(newData).keyedDiff(true).build());
+    final List<Operation> executedOperations = mTestTarget.getOperations();
+
+    assertThat(executedOperations.size()).isEqualTo(3);
+    assertOperation(executedOperations.get(0), INSERT, 10, -1, 1, null, "new item");
+    assertOperation(executedOperations.get(1), INSERT, 8, -1, 1, null, "new item");
+    assertOperation(executedOperations.get(2), INSERT, 6, -1, 1, null, "new item");
+  }
+
   private void assertRangeOperation(
       Operation operation, int opType, int startIndex, int rangeCount) {
     assertEquals("opreation type", operation.mOp, opType);
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.widget;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class ChunkedListTest {
+
+  @Test
+  public void testPrependKeepsOrderAndSplitsChunks() {
+    final ChunkedList<Integer> list = new ChunkedList<>();
+    final int count = ChunkedList.MAX_CHUNK_SIZE * 10;
+    for (int i = 0; i < count; i++) {
+      list.add(0, i);
+    }
+
+    assertThat(list.size()).isEqualTo(count);
+    assertThat(list.getChunkCount()).isGreaterThan(10);
+    for (int i = 0; i < count; i++) {
+      assertThat(list.get(i)).isEqualTo(count - 1 - i);
+    }
+  }
+
+  @Test
+  public void testRemovingMergesChunks() {
+    final ChunkedList<Integer> list = new ChunkedList<>();
+    final int count = ChunkedList.MAX_CHUNK_SIZE * 10;
+    for (int i = 0; i < count; i++) {
+      list.add(i);
+    }
+
+    while (list.size() > ChunkedList.MAX_CHUNK_SIZE / 2) {
+      list.remove(list.size() / 2);
+    }
+
+    assertThat(list.getChunkCount()).isEqualTo(1);
+
+    while (!list.isEmpty()) {
+      list.remove(0);
+    }
+
+    assertThat(list.getChunkCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testMatchesArrayList() {
+    final Random random = new Random(42);
+    final ChunkedList<Integer> chunkedList = new ChunkedList<>();
+    final List<Integer> arrayList = new ArrayList<>();
+
+    for (int i = 0; i < 10000; i++) {
+      final int operation = random.nextInt(4);
+      if (operation == 0 || arrayList.isEmpty()) {
+        final int index = random.nextInt(arrayList.size() + 1);
+        chunkedList.add(index, i);
+        arrayList.add(index, i);
+      } else if (operation == 1) {
+        final int index = random.nextInt(arrayList.size());
+        assertThat(chunkedList.remove(index)).isEqualTo(arrayList.remove(index));
+      } else if (operation == 2) {
+        final int from = random.nextInt(arrayList.size());
+        final int to = random.nextInt(arrayList.size());
+        chunkedList.add(to, chunkedList.remove(from));
+        arrayList.add(to, arrayList.remove(from));
+      } else {
+        final int index = random.nextInt(arrayList.size());
+        assertThat(chunkedList.set(index, i)).isEqualTo(arrayList.set(index, i));
+      }
+    }
+
+    assertThat(chunkedList).isEqualTo(arrayList);
+  }
+
+  @Test
+  public void testManyChunksKeepOrder() {
+    final ChunkedList<Integer> chunkedList = new ChunkedList<>();
+    final List<Integer> arrayList = new ArrayList<>();
+    // Enough chunks for the tree to need several levels of inner nodes.
+    final int count = ChunkedList.MAX_CHUNK_SIZE * ChunkedList.MAX_CHUNK_SIZE * 4;
+    for (int i = 0; i < count; i++) {
+      chunkedList.add(i / 2, i);
+      arrayList.add(i / 2, i);
+    }
+
+    assertThat(chunkedList).isEqualTo(arrayList);
+
+    for (int i = count - 1; i >= 0; i -= 3) {
+      assertThat(chunkedList.remove(i)).isEqualTo(arrayList.remove(i));
+    }
+
+    assertThat(chunkedList).isEqualTo(arrayList);
+  }
+
+  @Test
+  public void testIteratorRemove() {
+    final ChunkedList<Integer> list = new ChunkedList<>();
+    for (int i = 0; i < ChunkedList.MAX_CHUNK_SIZE * 3; i++) {
+      list.add(i);
+    }
+
+    final Iterator<Integer> iterator = list.iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next() % 2 == 0) {
+        iterator.remove();
+      }
+    }
+
+    assertThat(list.size()).isEqualTo(ChunkedList.MAX_CHUNK_SIZE * 3 / 2);
+    for (int i = 0; i < list.size(); i++) {
+      assertThat(list.get(i)).isEqualTo(i * 2 + 1);
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetOutOfBounds() {
+    final ChunkedList<Integer> list = new ChunkedList<>();
+    list.add(0);
+    list.get(1);
+  }
+}
@@ -5571,6 +5571,122 @@ public class RecyclerBinderTest {
     public void onDataRendered(boolean isMounted, long uptimeMillis) {}
   }
 
+  @Test
+  public void testInitRangeUsesCachedItemSizeAndCorrectsIt() {
+    final RecyclerItemSizeCache cache = new RecyclerItemSizeCache();
+    final RecyclerBinder recyclerBinder =
+        new RecyclerBinder.Builder()
+            .rangeRatio(0)
+            .layoutInfo(mLayoutInfo)
+            .componentTreeHolderFactory(mComponentTreeHolderFactoryLayoutFinishedListener)
+            .itemSizeCache(cache)
+            .build(mComponentContext);
+    final List<RenderInfo> renderInfos = createRenderInfosWithItemIds(3);
+    final int childSpec = makeSizeSpec(100, EXACTLY);
+    cache.put(renderInfos.get(0), childSpec, childSpec, 50, 70);
+
+    recyclerBinder.insertRangeAt(0, renderInfos);
+    recyclerBinder.notifyChangeSetComplete(true, NO_OP_CHANGE_SET_COMPLETE_CALLBACK);
+    recyclerBinder.measure(
+        new Size(), makeSizeSpec(200, EXACTLY), makeSizeSpec(200, EXACTLY), null);
+
+    final TestComponentTreeHolder holder =
+        mHoldersForComponents.get(renderInfos.get(0).getComponent());
+    assertThat(holder.mLayoutSyncCalled).isFalse();
+    assertThat(holder.mLayoutAsyncCalled).isTrue();
+
+    // The test holder commits its layout with the size of its specs, which replaces the cached one.
+    assertThat(recyclerBinder.getRangeCalculationResult().measuredSize).isEqualTo(100);
+  }
+
+  @Test
+  public void testInitRangeDoesNotUseCachedItemSizeWhenItSizesTheRecycler() {
+    final RecyclerItemSizeCache cache = new RecyclerItemSizeCache();
+    final RecyclerBinder recyclerBinder =
+        mRecyclerBinderBuilder.itemSizeCache(cache).build(mComponentContext);
+    final List<RenderInfo> renderInfos = createRenderInfosWithItemIds(3);
+    final int childSpec = makeSizeSpec(100, EXACTLY);
+    cache.put(renderInfos.get(0), childSpec, childSpec, 50, 70);
+
+    recyclerBinder.insertRangeAt(0, renderInfos);
+    recyclerBinder.notifyChangeSetComplete(true, NO_OP_CHANGE_SET_COMPLETE_CALLBACK);
+    recyclerBinder.measure(
+        new Size(),
+        makeSizeSpec(200, AT_MOST),
+        makeSizeSpec(200, EXACTLY),
+        mock(EventHandler.class));
+
+    final TestComponentTreeHolder holder =
+        mHoldersForComponents.get(renderInfos.get(0).getComponent());
+    assertThat(holder.mLayoutSyncCalled).isTrue();
+    assertThat(recyclerBinder.getRangeCalculationResult().measuredSize).isEqualTo(100);
+  }
+
+  @Test
+  public void testFillViewportUsesCachedItemSizes() {
+    final RecyclerItemSizeCache cache = new RecyclerItemSizeCache();
+    final RecyclerBinder recyclerBinder =
+        mRecyclerBinderBuilder.itemSizeCache(cache).build(mComponentContext);
+    recyclerBinder.measure(
+        new Size(), makeSizeSpec(200, EXACTLY), makeSizeSpec(200, EXACTLY), null);
+
+    final List<RenderInfo> renderInfos = createRenderInfosWithItemIds(2);
+    final int childSpec = makeSizeSpec(100, EXACTLY);
+    cache.put(renderInfos.get(0), childSpec, childSpec, 50, 70);
+    final TestComponentTreeHolder cachedHolder = new TestComponentTreeHolder(renderInfos.get(0));
+    final TestComponentTreeHolder holder = new TestComponentTreeHolder(renderInfos.get(1));
+
+    final LayoutInfo.ViewportFiller filler = mock(LayoutInfo.ViewportFiller.class);
+    when(filler.wantsMore()).thenReturn(true, true, false);
+    when(mLayoutInfo.createViewportFiller(anyInt(), anyInt())).thenReturn(filler);
+
+    final int inserted =
+        recyclerBinder.computeLayoutsToFillListViewport(
+            Arrays.<ComponentTreeHolder>asList(cachedHolder, holder), 0, 200, 200, null);
+
+    assertThat(inserted).isEqualTo(2);
+    assertThat(cachedHolder.mLayoutSyncCalled).isFalse();
+    assertThat(cachedHolder.mLayoutAsyncCalled).isTrue();
+    assertThat(holder.mLayoutSyncCalled).isTrue();
+    verify(filler).add(renderInfos.get(0), 50, 70);
+    verify(filler).add(renderInfos.get(1), 100, 100);
+  }
+
+  @Test
+  public void testEstimateOffsetOfPosition() {
+    final RecyclerItemSizeCache cache = new RecyclerItemSizeCache();
+    final RecyclerBinder recyclerBinder =
+        mRecyclerBinderBuilder.itemSizeCache(cache).build(mComponentContext);
+    final List<RenderInfo> renderInfos = createRenderInfosWithItemIds(4);
+    final int childSpec = makeSizeSpec(100, EXACTLY);
+    cache.put(renderInfos.get(0), childSpec, childSpec, 100, 100);
+    cache.put(renderInfos.get(2), childSpec, childSpec, 100, 200);
+
+    recyclerBinder.insertRangeAt(0, renderInfos);
+    recyclerBinder.notifyChangeSetComplete(true, NO_OP_CHANGE_SET_COMPLETE_CALLBACK);
+
+    // Nothing can be estimated before the child size specs are known.
+    assertThat(recyclerBinder.estimateOffsetOfPosition(2)).isEqualTo(-1);
+
+    recyclerBinder.measure(
+        new Size(), makeSizeSpec(200, EXACTLY), makeSizeSpec(200, EXACTLY), null);
+
+    assertThat(recyclerBinder.estimateOffsetOfPosition(0)).isEqualTo(0);
+    assertThat(recyclerBinder.estimateOffsetOfPosition(1)).isEqualTo(100);
+    // The uncached item in position 1 counts for the average cached size.
+    assertThat(recyclerBinder.estimateOffsetOfPosition(3)).isEqualTo(450);
+  }
+
+  private static List<RenderInfo> createRenderInfosWithItemIds(int count) {
+    final List<RenderInfo> renderInfos = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final RenderInfo renderInfo = create().component(mock(Component.class)).build();
+      renderInfo.addCustomAttribute(RecyclerItemSizeCache.ITEM_ID, "item" + i);
+      renderInfos.add(renderInfo);
+    }
+    return renderInfos;
+  }
+
   private static class FakeRecyclerAdapter extends RecyclerView.Adapter {
 
     @Override
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.widget;
+
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.UNSPECIFIED;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.Size;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class RecyclerItemSizeCacheTest {
+
+  private static final int WIDTH_SPEC = makeSizeSpec(1080, EXACTLY);
+  private static final int HEIGHT_SPEC = makeSizeSpec(0, UNSPECIFIED);
+
+  @Rule public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testGetReturnsRecordedSize() {
+    final RecyclerItemSizeCache cache = new RecyclerItemSizeCache();
+    cache.put(createRenderInfo("story1"), WIDTH_SPEC, HEIGHT_SPEC, 1080, 420);
+
+    final Size size = new Size();
+    assertThat(cache.get(createRenderInfo("story1"), WIDTH_SPEC, HEIGHT_SPEC, size)).isTrue();
+    assertThat(size.width).isEqualTo(1080);
+    assertThat(size.height).isEqualTo(420);
+
+    assertThat(cache.get(createRenderInfo("story2"), WIDTH_SPEC, HEIGHT_SPEC, size)).isFalse();
+    assertThat(
+            cache.get(
+                createRenderInfo("story1"), makeSizeSpec(720, EXACTLY), HEIGHT_SPEC, new Size()))
+        .isFalse();
+  }
+
+  @Test
+  public void testItemsWithoutIdAreNotCached() {
+    final RecyclerItemSizeCache cache = new RecyclerItemSizeCache();
+    final RenderInfo renderInfo = ComponentRenderInfo.createEmpty();
+    cache.put(renderInfo, WIDTH_SPEC, HEIGHT_SPEC, 1080, 420);
+
+    assertThat(cache.get(renderInfo, WIDTH_SPEC, HEIGHT_SPEC, new Size())).isFalse();
+  }
+
+  @Test
+  public void testLoadSavedCache() throws IOException {
+    final File file = new File(mTemporaryFolder.getRoot(), "sizes");
+    final RecyclerItemSizeCache cache = new RecyclerItemSizeCache();
+    for (int i = 0; i < 100; i++) {
+      cache.put(createRenderInfo("story" + i), WIDTH_SPEC, HEIGHT_SPEC, 1080, i * 10);
+    }
+    cache.save(file);
+
+    final RecyclerItemSizeCache loadedCache = RecyclerItemSizeCache.load(file);
+    final Size size = new Size();
+    for (int i = 0; i < 100; i++) {
+      assertThat(loadedCache.get(createRenderInfo("story" + i), WIDTH_SPEC, HEIGHT_SPEC, size))
+          .isTrue();
+      assertThat(size.width).isEqualTo(1080);
+      assertThat(size.height).isEqualTo(i * 10);
+    }
+    assertThat(loadedCache.get(createRenderInfo("story100"), WIDTH_SPEC, HEIGHT_SPEC, size))
+        .isFalse();
+  }
+
+  @Test
+  public void testSaveOnlyKeepsItemsUsedSinceLoad() throws IOException {
+    final File file = new File(mTemporaryFolder.getRoot(), "sizes");
+    final RecyclerItemSizeCache cache = new RecyclerItemSizeCache();
+    cache.put(createRenderInfo("story1"), WIDTH_SPEC, HEIGHT_SPEC, 1080, 100);
+    cache.put(createRenderInfo("story2"), WIDTH_SPEC, HEIGHT_SPEC, 1080, 200);
+    cache.save(file);
+
+    final RecyclerItemSizeCache secondSession = RecyclerItemSizeCache.load(file);
+    assertThat(secondSession.get(createRenderInfo("story1"), WIDTH_SPEC, HEIGHT_SPEC, new Size()))
+        .isTrue();
+    secondSession.put(createRenderInfo("story3"), WIDTH_SPEC, HEIGHT_SPEC, 1080, 300);
+    secondSession.save(file);
+
+    final RecyclerItemSizeCache thirdSession = RecyclerItemSizeCache.load(file);
+    assertThat(thirdSession.get(createRenderInfo("story1"), WIDTH_SPEC, HEIGHT_SPEC, new Size()))
+        .isTrue();
+    assertThat(thirdSession.get(createRenderInfo("story2"), WIDTH_SPEC, HEIGHT_SPEC, new Size()))
+        .isFalse();
+    assertThat(thirdSession.get(createRenderInfo("story3"), WIDTH_SPEC, HEIGHT_SPEC, new Size()))
+        .isTrue();
+  }
+
+  @Test
+  public void testLoadMissingOrCorruptFileReturnsEmptyCache() throws IOException {
+    final File missingFile = new File(mTemporaryFolder.getRoot(), "missing");
+    assertThat(
+            RecyclerItemSizeCache.load(missingFile)
+                .get(createRenderInfo("story1"), WIDTH_SPEC, HEIGHT_SPEC, new Size()))
+        .isFalse();
+
+    final File corruptFile = mTemporaryFolder.newFile("corrupt");
+    final FileOutputStream out = new FileOutputStream(corruptFile);
+    out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+    out.close();
+    assertThat(
+            RecyclerItemSizeCache.load(corruptFile)
+                .get(createRenderInfo("story1"), WIDTH_SPEC, HEIGHT_SPEC, new Size()))
+        .isFalse();
+  }
+
+  private static RenderInfo createRenderInfo(String itemId) {
+    final RenderInfo renderInfo = ComponentRenderInfo.createEmpty();
+    renderInfo.addCustomAttribute(RecyclerItemSizeCache.ITEM_ID, itemId);
+    return renderInfo;
+  }
+}
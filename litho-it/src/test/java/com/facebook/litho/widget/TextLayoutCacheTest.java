@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.widget;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.content.res.ColorStateList;
+import android.graphics.Color;
+import android.text.Layout;
+import android.text.SpannableString;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import com.facebook.litho.ComponentContext;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.helper.ComponentTestHelper;
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(LithoTestRunner.class)
+public class TextLayoutCacheTest {
+
+  private ComponentContext mContext;
+  private int mDefaultMaxBytes;
+
+  @Before
+  public void setup() {
+    mContext = new ComponentContext(getApplicationContext());
+    mDefaultMaxBytes = ComponentsConfiguration.textLayoutCacheMaxBytes;
+  }
+
+  @After
+  public void tearDown() {
+    ComponentsConfiguration.textLayoutCacheMaxBytes = mDefaultMaxBytes;
+    TextLayoutCache.getInstance();
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    ComponentsConfiguration.textLayoutCacheMaxBytes = 0;
+    assertThat(TextLayoutCache.getInstance()).isNull();
+  }
+
+  @Test
+  public void testIdenticalTextReusesLayout() {
+    ComponentsConfiguration.textLayoutCacheMaxBytes = 64 * 1024;
+    final TextLayoutCache cache = TextLayoutCache.getInstance();
+    cache.clear();
+
+    final Layout first = mountText(Text.create(mContext).text("Like").textSizePx(20));
+    final Layout second = mountText(Text.create(mContext).text("Like").textSizePx(20));
+
+    assertThat(second).isSameAs(first);
+    assertThat(cache.getHitCount()).isGreaterThan(0);
+    assertThat(cache.getBytesHeld()).isGreaterThan(0);
+  }
+
+  @Test
+  public void testDifferentStyleDoesNotReuseLayout() {
+    ComponentsConfiguration.textLayoutCacheMaxBytes = 64 * 1024;
+    TextLayoutCache.getInstance().clear();
+
+    final Layout first = mountText(Text.create(mContext).text("Like").textSizePx(20));
+    final Layout second = mountText(Text.create(mContext).text("Like").textSizePx(30));
+
+    assertThat(second).isNotSameAs(first);
+  }
+
+  @Test
+  public void testSpannedTextIsNotCached() {
+    ComponentsConfiguration.textLayoutCacheMaxBytes = 64 * 1024;
+    final TextLayoutCache cache = TextLayoutCache.getInstance();
+    cache.clear();
+
+    mountText(Text.create(mContext).text(new SpannableString("Like")));
+
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testPressingTextDoesNotRecolorOtherText() {
+    ComponentsConfiguration.textLayoutCacheMaxBytes = 64 * 1024;
+    TextLayoutCache.getInstance().clear();
+    final ColorStateList colors =
+        new ColorStateList(
+            new int[][] {{android.R.attr.state_pressed}, {}}, new int[] {Color.RED, Color.BLUE});
+
+    final TextDrawable pressed =
+        mountTextDrawable(Text.create(mContext).text("Like").textColorStateList(colors));
+    final TextDrawable other =
+        mountTextDrawable(Text.create(mContext).text("Like").textColorStateList(colors));
+    pressed.setState(new int[] {android.R.attr.state_pressed});
+
+    assertThat(other.getLayout()).isNotSameAs(pressed.getLayout());
+    assertThat(pressed.getColor()).isEqualTo(Color.RED);
+    assertThat(other.getColor()).isEqualTo(Color.BLUE);
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsedLayoutsOverMaxBytes() {
+    final TextLayoutCache cache = new TextLayoutCache(700);
+    final TextLayoutCache.Key first = createKey("first");
+    final TextLayoutCache.Key second = createKey("second");
+    final TextLayoutCache.Key third = createKey("third");
+
+    cache.put(first, createLayout("first"));
+    cache.put(second, createLayout("second"));
+    cache.get(first);
+    cache.put(third, createLayout("third"));
+
+    assertThat(cache.getBytesHeld()).isLessThanOrEqualTo(700);
+    assertThat(cache.getEvictionCount()).isGreaterThan(0);
+    assertThat(cache.get(second)).isNull();
+    assertThat(cache.get(third)).isNotNull();
+  }
+
+  private Layout mountText(Text.Builder builder) {
+    return mountTextDrawable(builder).getLayout();
+  }
+
+  private TextDrawable mountTextDrawable(Text.Builder builder) {
+    return (TextDrawable)
+        ComponentTestHelper.mountComponent(mContext, builder.build()).getDrawables().get(0);
+  }
+
+  private static TextLayoutCache.Key createKey(String text) {
+    return new TextLayoutCache.Key(
+        text, makeSizeSpec(100, EXACTLY), new int[] {1}, new float[] {1f}, new Object[] {null});
+  }
+
+  private static Layout createLayout(String text) {
+    return new StaticLayout(
+        text, new TextPaint(), 100, Layout.Alignment.ALIGN_NORMAL, 1f, 0f, false);
+  }
+}
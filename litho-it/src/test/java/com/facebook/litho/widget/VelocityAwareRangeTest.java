@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.widget;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.testing.testrunner.LithoTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Tests for {@link VelocityAwareRange} */
+@RunWith(LithoTestRunner.class)
+public class VelocityAwareRangeTest {
+
+  @Test
+  public void testIdleRangeIsHalfOfRangeRatio() {
+    assertThat(VelocityAwareRange.getRangeExtent(10, 2f, 0f)).isEqualTo(10);
+  }
+
+  @Test
+  public void testRangeBehindScrollIsHalfOfRangeRatio() {
+    assertThat(VelocityAwareRange.getRangeExtent(10, 2f, -50f)).isEqualTo(10);
+  }
+
+  @Test
+  public void testRangeAheadOfScrollGrowsWithVelocity() {
+    assertThat(VelocityAwareRange.getRangeExtent(10, 2f, 20f)).isEqualTo(30);
+    assertThat(VelocityAwareRange.getRangeExtent(10, 2f, 60f)).isEqualTo(50);
+  }
+
+  @Test
+  public void testRangeAheadOfScrollIsCapped() {
+    assertThat(VelocityAwareRange.getRangeExtent(10, 2f, 1000f)).isEqualTo(80);
+  }
+}
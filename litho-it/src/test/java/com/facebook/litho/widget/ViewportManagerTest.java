@@ -24,6 +24,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import android.os.SystemClock;
+import androidx.recyclerview.widget.RecyclerView;
 import com.facebook.litho.testing.testrunner.LithoTestRunner;
 import org.junit.Before;
 import org.junit.Test;
@@ -216,6 +218,48 @@ public class ViewportManagerTest {
     assertThat(viewportManager.removeAffectsVisibleRange(6, 2)).isTrue();
   }
 
+  @Test
+  public void testScrollVelocityWhileScrolling() {
+    ViewportManager viewportManager = getViewportManager(0, 5);
+    setFullyVisibleItemPositionInMockedLayoutManager(-1, -1);
+    setTotalItemInMockedLayoutManager(100);
+
+    setVisibleItemPositionInMockedLayoutManager(2, 7);
+    viewportManager.onViewportChanged(SCROLLING);
+    assertThat(viewportManager.getScrollVelocity()).isEqualTo(0f);
+
+    SystemClock.sleep(100);
+    setVisibleItemPositionInMockedLayoutManager(4, 9);
+    viewportManager.onViewportChanged(SCROLLING);
+    assertThat(viewportManager.getScrollVelocity()).isEqualTo(20f);
+
+    SystemClock.sleep(100);
+    setVisibleItemPositionInMockedLayoutManager(8, 13);
+    viewportManager.onViewportChanged(SCROLLING);
+    assertThat(viewportManager.getScrollVelocity()).isEqualTo(30f);
+
+    viewportManager
+        .getScrollListener()
+        .onScrollStateChanged(mock(RecyclerView.class), RecyclerView.SCROLL_STATE_IDLE);
+    assertThat(viewportManager.getScrollVelocity()).isEqualTo(0f);
+  }
+
+  @Test
+  public void testScrollVelocityIgnoresDataChanges() {
+    ViewportManager viewportManager = getViewportManager(0, 5);
+    setFullyVisibleItemPositionInMockedLayoutManager(-1, -1);
+    setTotalItemInMockedLayoutManager(100);
+
+    setVisibleItemPositionInMockedLayoutManager(2, 7);
+    viewportManager.onViewportChanged(SCROLLING);
+
+    SystemClock.sleep(100);
+    setVisibleItemPositionInMockedLayoutManager(10, 15);
+    viewportManager.onViewportChanged(DATA_CHANGES);
+
+    assertThat(viewportManager.getScrollVelocity()).isEqualTo(0f);
+  }
+
   private void setVisibleItemPositionInMockedLayoutManager(
       int firstVisibleItemPosition, int lastVisibleItemPosition) {
     when(mLayoutInfo.findFirstVisibleItemPosition()).thenReturn(firstVisibleItemPosition);
@@ -78,6 +78,22 @@ public class MountSpecGenerator {
         .build();
   }
 
+  public static TypeSpecDataHolder generateCanPremount(MountSpecModel specModel) {
+    TypeSpecDataHolder.Builder dataHolder = TypeSpecDataHolder.newBuilder();
+
+    if (specModel.canPremount()) {
+      dataHolder.addMethod(
+          MethodSpec.methodBuilder("canPremount")
+              .addAnnotation(Override.class)
+              .addModifiers(Modifier.PROTECTED)
+              .returns(TypeName.BOOLEAN)
+              .addStatement("return true")
+              .build());
+    }
+
+    return dataHolder.build();
+  }
+
   public static TypeSpecDataHolder generateGetMountType(MountSpecModel specModel) {
     return TypeSpecDataHolder.newBuilder()
         .addMethod(
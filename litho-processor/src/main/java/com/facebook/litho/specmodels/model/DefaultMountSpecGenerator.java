@@ -87,6 +87,7 @@ public class DefaultMountSpecGenerator implements SpecGenerator<MountSpecModel>
         .addTypeSpecDataHolder(MountSpecGenerator.generateGetMountType(mountSpecModel))
         .addTypeSpecDataHolder(MountSpecGenerator.generatePoolSize(mountSpecModel))
         .addTypeSpecDataHolder(MountSpecGenerator.generateCanPreallocate(mountSpecModel))
+        .addTypeSpecDataHolder(MountSpecGenerator.generateCanPremount(mountSpecModel))
         .addTypeSpecDataHolder(MountSpecGenerator.generateHasChildLithoViews(mountSpecModel))
         .addTypeSpecDataHolder(MountSpecGenerator.generateIsMountSizeDependent(mountSpecModel))
         .addTypeSpecDataHolder(MountSpecGenerator.generateCallsShouldUpdateOnMount(mountSpecModel))
@@ -35,6 +35,7 @@ public class MountSpecModel implements SpecModel, HasPureRender {
   private final boolean mHasChildLithosViews;
   private final int mPoolSize;
   private final boolean mCanPreallocate;
+  private final boolean mCanPremount;
   private final TypeName mMountType;
   private final SpecGenerator<MountSpecModel> mMountSpecGenerator;
 
@@ -61,6 +62,7 @@ public class MountSpecModel implements SpecModel, HasPureRender {
       boolean hasChildLithosViews,
       int poolSize,
       boolean canPreallocate,
+      boolean canPremount,
       TypeName mountType,
       SpecElementType specElementType,
       Object representedObject,
@@ -97,6 +99,7 @@ public class MountSpecModel implements SpecModel, HasPureRender {
     mHasChildLithosViews = hasChildLithosViews;
     mPoolSize = poolSize;
     mCanPreallocate = canPreallocate;
+    mCanPremount = canPremount;
     mMountType = mountType;
     mMountSpecGenerator = mountSpecGenerator;
   }
@@ -358,6 +361,10 @@ public class MountSpecModel implements SpecModel, HasPureRender {
     return mCanPreallocate;
   }
 
+  public boolean canPremount() {
+    return mCanPremount;
+  }
+
   public TypeName getMountType() {
     return mMountType;
   }
@@ -145,6 +145,7 @@ public class MountSpecModelFactory implements SpecModelFactory<MountSpecModel> {
         element.getAnnotation(MountSpec.class).hasChildLithoViews(),
         element.getAnnotation(MountSpec.class).poolSize(),
         element.getAnnotation(MountSpec.class).canPreallocate(),
+        element.getAnnotation(MountSpec.class).canPremount(),
         getMountType(elements, element, runMode),
         SpecElementTypeDeterminator.determine(element),
         element,
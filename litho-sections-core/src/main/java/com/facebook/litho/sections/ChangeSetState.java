@@ -36,11 +36,18 @@ import androidx.annotation.Nullable;
 import androidx.core.util.Pair;
 import com.facebook.litho.ComponentsLogger;
 import com.facebook.litho.ComponentsSystrace;
+import com.facebook.litho.LayoutThreadPoolExecutor;
 import com.facebook.litho.PerfEvent;
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.sections.logger.SectionsDebugLogger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import javax.annotation.concurrent.GuardedBy;
 
 /**
  * ChangeSetState is responsible to generate a global ChangeSet between two {@link Section}s trees.
@@ -49,6 +56,10 @@ public class ChangeSetState {
 
   private static final List<Section> sEmptyList = new ArrayList<>();
 
+  @GuardedBy("ChangeSetState.class")
+  @Nullable
+  private static Executor sChildChangeSetsExecutor;
+
   private Section mCurrentRoot;
   private Section mNewRoot;
   private ChangeSet mChangeSet;
@@ -77,6 +88,8 @@ public class ChangeSetState {
     changeSetState.mCurrentRoot = currentRoot;
     changeSetState.mNewRoot = newRoot;
 
+    final boolean diffChildrenInParallel =
+        ComponentsConfiguration.childChangeSetsThreadPoolSize > 0;
     final ComponentsLogger logger = sectionContext.getLogger();
     final PerfEvent logEvent =
         SectionsLogEventUtils.getSectionsPerformanceEvent(
@@ -96,7 +109,8 @@ public class ChangeSetState {
               currentPrefix,
               nextPrefix,
               Thread.currentThread().getName(),
-              enableStats);
+              enableStats,
+              diffChildrenInParallel);
 
       ChangeSet add =
           generateChangeSetRecursive(
@@ -109,7 +123,8 @@ public class ChangeSetState {
               currentPrefix,
               nextPrefix,
               Thread.currentThread().getName(),
-              enableStats);
+              enableStats,
+              diffChildrenInParallel);
       changeSetState.mChangeSet = ChangeSet.merge(remove, add);
     } else {
       changeSetState.mChangeSet =
@@ -123,7 +138,8 @@ public class ChangeSetState {
               currentPrefix,
               nextPrefix,
               Thread.currentThread().getName(),
-              enableStats);
+              enableStats,
+              diffChildrenInParallel);
     }
 
     if (logger != null && logEvent != null) {
@@ -170,7 +186,8 @@ public class ChangeSetState {
       String currentPrefix,
       String newPrefix,
       String thread,
-      boolean enableStats) {
+      boolean enableStats,
+      boolean diffChildrenInParallel) {
 
     boolean currentRootIsNull = currentRoot == null;
     boolean newRootIsNull = newRoot == null;
@@ -312,7 +329,8 @@ public class ChangeSetState {
             updateCurrentPrefix,
             updateNewPrefix,
             thread,
-            enableStats);
+            enableStats,
+            diffChildrenInParallel);
 
     for (int i = 0, size = changeSets.size(); i < size; i++) {
       ChangeSet changeSet = changeSets.valueAt(i);
@@ -338,6 +356,10 @@ public class ChangeSetState {
    * still guarantees a correct ordering while preserving the validity of indexes in the children of
    * currentRoot. Re-ordering a child is not supported and will trigger an {@link
    * IllegalStateException}.
+   *
+   * <p>If diffChildrenInParallel is true and there is more than one child to diff, the {@link
+   * ChangeSet}s of the children are generated concurrently and then merged in the same order as the
+   * serial path, so the result is identical.
    */
   private static SparseArray<ChangeSet> generateChildrenChangeSets(
       SectionContext sectionContext,
@@ -351,8 +373,29 @@ public class ChangeSetState {
       String currentPrefix,
       String newPrefix,
       String thread,
-      boolean enableStats) {
+      boolean enableStats,
+      boolean diffChildrenInParallel) {
     final SparseArray<ChangeSet> changeSets = acquireChangeSetSparseArray();
+    final ChangeSet[] childChangeSets =
+        diffChildrenInParallel
+            ? generateChildChangeSetsInParallel(
+                sectionContext,
+                currentChildren,
+                newChildren,
+                currentChildrenList,
+                newChildrenList,
+                removedComponents,
+                sectionsDebugLogger,
+                sectionTreeTag,
+                currentPrefix,
+                newPrefix,
+                thread,
+                enableStats)
+            : null;
+    // Children diffed in parallel don't diff their own children in parallel. Until then, keep
+    // looking for a level with siblings to diff.
+    final boolean diffGrandchildrenInParallel = diffChildrenInParallel && childChangeSets == null;
+    int childChangeSetIndex = 0;
 
     // Find removed current children.
     for (int i = 0; i < currentChildrenList.size(); i++) {
@@ -362,17 +405,20 @@ public class ChangeSetState {
       if (newChildren.get(key) == null) {
         changeSets.put(
             i,
-            generateChangeSetRecursive(
-                sectionContext,
-                currentChild,
-                null,
-                removedComponents,
-                sectionsDebugLogger,
-                sectionTreeTag,
-                currentPrefix,
-                newPrefix,
-                thread,
-                enableStats));
+            childChangeSets != null
+                ? childChangeSets[childChangeSetIndex++]
+                : generateChangeSetRecursive(
+                    sectionContext,
+                    currentChild,
+                    null,
+                    removedComponents,
+                    sectionsDebugLogger,
+                    sectionTreeTag,
+                    currentPrefix,
+                    newPrefix,
+                    thread,
+                    enableStats,
+                    diffGrandchildrenInParallel));
       }
     }
 
@@ -386,17 +432,20 @@ public class ChangeSetState {
       if (currentChildIndex < 0) {
         final ChangeSet currentChangeSet = changeSets.get(activeChildIndex);
         final ChangeSet changeSet =
-            generateChangeSetRecursive(
-                sectionContext,
-                null,
-                newChild,
-                removedComponents,
-                sectionsDebugLogger,
-                sectionTreeTag,
-                currentPrefix,
-                newPrefix,
-                thread,
-                enableStats);
+            childChangeSets != null
+                ? childChangeSets[childChangeSetIndex++]
+                : generateChangeSetRecursive(
+                    sectionContext,
+                    null,
+                    newChild,
+                    removedComponents,
+                    sectionsDebugLogger,
+                    sectionTreeTag,
+                    currentPrefix,
+                    newPrefix,
+                    thread,
+                    enableStats,
+                    diffGrandchildrenInParallel);
 
         changeSets.put(activeChildIndex, ChangeSet.merge(currentChangeSet, changeSet));
 
@@ -410,17 +459,20 @@ public class ChangeSetState {
 
         final ChangeSet currentChangeSet = changeSets.get(activeChildIndex);
         final ChangeSet changeSet =
-            generateChangeSetRecursive(
-                sectionContext,
-                currentChildrenList.get(currentChildIndex),
-                newChild,
-                removedComponents,
-                sectionsDebugLogger,
-                sectionTreeTag,
-                currentPrefix,
-                newPrefix,
-                thread,
-                enableStats);
+            childChangeSets != null
+                ? childChangeSets[childChangeSetIndex++]
+                : generateChangeSetRecursive(
+                    sectionContext,
+                    currentChildrenList.get(currentChildIndex),
+                    newChild,
+                    removedComponents,
+                    sectionsDebugLogger,
+                    sectionTreeTag,
+                    currentPrefix,
+                    newPrefix,
+                    thread,
+                    enableStats,
+                    diffGrandchildrenInParallel);
 
         changeSets.put(activeChildIndex, ChangeSet.merge(currentChangeSet, changeSet));
 
@@ -438,6 +490,134 @@ public class ChangeSetState {
     return changeSets;
   }
 
+  /**
+   * Generates the {@link ChangeSet}s of the children of a section concurrently, in the order in
+   * which {@link #generateChildrenChangeSets} consumes them: first the removed current children,
+   * then the new children. The sections removed while diffing are added to removedComponents in
+   * that same order.
+   *
+   * <p>The children are diffed on several threads at the same time, see {@link
+   * ComponentsConfiguration#childChangeSetsThreadPoolSize} for what this means for DiffSectionSpecs
+   * and the {@link SectionsDebugLogger}.
+   *
+   * @return the generated {@link ChangeSet}s, or null if there are less than two children to diff.
+   */
+  @Nullable
+  private static ChangeSet[] generateChildChangeSetsInParallel(
+      final SectionContext sectionContext,
+      Map<String, Pair<Section, Integer>> currentChildren,
+      Map<String, Pair<Section, Integer>> newChildren,
+      List<Section> currentChildrenList,
+      List<Section> newChildrenList,
+      List<Section> removedComponents,
+      final SectionsDebugLogger sectionsDebugLogger,
+      final String sectionTreeTag,
+      final String currentPrefix,
+      final String newPrefix,
+      final String thread,
+      final boolean enableStats) {
+    final List<Section> currentSections = new ArrayList<>();
+    final List<Section> newSections = new ArrayList<>();
+
+    for (int i = 0; i < currentChildrenList.size(); i++) {
+      final Section currentChild = currentChildrenList.get(i);
+      if (newChildren.get(currentChild.getGlobalKey()) == null) {
+        currentSections.add(currentChild);
+        newSections.add(null);
+      }
+    }
+
+    for (int i = 0; i < newChildrenList.size(); i++) {
+      final Section newChild = newChildrenList.get(i);
+      final Pair<Section, Integer> valueAndPosition = currentChildren.get(newChild.getGlobalKey());
+      currentSections.add(
+          valueAndPosition != null ? currentChildrenList.get(valueAndPosition.second) : null);
+      newSections.add(newChild);
+    }
+
+    final int count = newSections.size();
+    if (count < 2) {
+      return null;
+    }
+
+    final List<FutureTask<ChangeSet>> tasks = new ArrayList<>(count);
+    final List<List<Section>> removedSections = new ArrayList<>(count);
+    final Executor executor = getChildChangeSetsExecutor();
+
+    for (int i = 0; i < count; i++) {
+      final Section currentSection = currentSections.get(i);
+      final Section newSection = newSections.get(i);
+      final List<Section> removed = new ArrayList<>();
+      final FutureTask<ChangeSet> task =
+          new FutureTask<>(
+              new Callable<ChangeSet>() {
+                @Override
+                public ChangeSet call() {
+                  return generateChangeSetRecursive(
+                      sectionContext,
+                      currentSection,
+                      newSection,
+                      removed,
+                      sectionsDebugLogger,
+                      sectionTreeTag,
+                      currentPrefix,
+                      newPrefix,
+                      thread,
+                      enableStats,
+                      false);
+                }
+              });
+
+      tasks.add(task);
+      removedSections.add(removed);
+
+      // The calling thread takes care of the first child itself.
+      if (i > 0) {
+        executor.execute(task);
+      }
+    }
+
+    final ChangeSet[] changeSets = new ChangeSet[count];
+    for (int i = 0; i < count; i++) {
+      final FutureTask<ChangeSet> task = tasks.get(i);
+      // Run the task here if no thread of the pool has picked it up yet, this is a no-op otherwise.
+      task.run();
+      changeSets[i] = getChildChangeSet(task);
+      removedComponents.addAll(removedSections.get(i));
+    }
+
+    return changeSets;
+  }
+
+  private static ChangeSet getChildChangeSet(FutureTask<ChangeSet> task) {
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
+  private static synchronized Executor getChildChangeSetsExecutor() {
+    if (sChildChangeSetsExecutor == null) {
+      final int poolSize = ComponentsConfiguration.childChangeSetsThreadPoolSize;
+      sChildChangeSetsExecutor =
+          new LayoutThreadPoolExecutor(
+              poolSize, poolSize, ComponentsConfiguration.DEFAULT_CHANGE_SET_THREAD_PRIORITY);
+    }
+
+    return sChildChangeSetsExecutor;
+  }
+
   private static SparseArray<ChangeSet> acquireChangeSetSparseArray() {
     // TODO use pools instead t11953296
     return new SparseArray<>();
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.sections;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.litho.LayoutThreadPoolExecutor;
+import com.facebook.litho.LithoHandler;
+import com.facebook.litho.config.ComponentsConfiguration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * {@link LithoHandler} that calculates the change sets of different {@link SectionTree}s in
+ * parallel on a fixed size thread pool. A runnable posted again while it is queued only runs once,
+ * and one posted again while it is running runs once more after it finishes, so the change sets of
+ * a single tree are still calculated one at a time.
+ */
+final class ChangeSetThreadPoolHandler implements LithoHandler {
+
+  private static volatile @Nullable ChangeSetThreadPoolHandler sInstance;
+
+  private final ThreadPoolExecutor mExecutor;
+
+  @GuardedBy("this")
+  private final Map<Runnable, Task> mTasks = new HashMap<>();
+
+  @VisibleForTesting
+  ChangeSetThreadPoolHandler(int poolSize) {
+    mExecutor =
+        new LayoutThreadPoolExecutor(
+            poolSize, poolSize, ComponentsConfiguration.DEFAULT_CHANGE_SET_THREAD_PRIORITY);
+  }
+
+  /**
+   * @return the handler shared by all the SectionTrees without a change set thread handler, see
+   *     {@link ComponentsConfiguration#changeSetThreadPoolSize}.
+   */
+  static ChangeSetThreadPoolHandler getDefaultInstance() {
+    if (sInstance == null) {
+      synchronized (ChangeSetThreadPoolHandler.class) {
+        if (sInstance == null) {
+          sInstance =
+              new ChangeSetThreadPoolHandler(ComponentsConfiguration.changeSetThreadPoolSize);
+        }
+      }
+    }
+    return sInstance;
+  }
+
+  @Override
+  public boolean isTracing() {
+    return false;
+  }
+
+  @Override
+  public synchronized void post(Runnable runnable, String tag) {
+    final Task task = mTasks.get(runnable);
+    if (task == null) {
+      final Task newTask = new Task(runnable);
+      mTasks.put(runnable, newTask);
+      mExecutor.execute(newTask);
+    } else if (task.mIsRunning) {
+      task.mRunAgain = true;
+    }
+  }
+
+  /** The pool has no queue to jump, the runnable is posted like any other. */
+  @Override
+  public void postAtFront(Runnable runnable, String tag) {
+    post(runnable, tag);
+  }
+
+  @Override
+  public synchronized void remove(Runnable runnable) {
+    final Task task = mTasks.get(runnable);
+    if (task == null) {
+      return;
+    }
+
+    if (task.mIsRunning) {
+      task.mRunAgain = false;
+    } else {
+      mTasks.remove(runnable);
+      mExecutor.remove(task);
+    }
+  }
+
+  private final class Task implements Runnable {
+
+    private final Runnable mRunnable;
+
+    @GuardedBy("ChangeSetThreadPoolHandler.this")
+    private boolean mIsRunning;
+
+    @GuardedBy("ChangeSetThreadPoolHandler.this")
+    private boolean mRunAgain;
+
+    private Task(Runnable runnable) {
+      mRunnable = runnable;
+    }
+
+    @Override
+    public void run() {
+      synchronized (ChangeSetThreadPoolHandler.this) {
+        if (mTasks.get(mRunnable) != this) {
+          // Removed after the executor had already dequeued it.
+          return;
+        }
+        mIsRunning = true;
+      }
+
+      try {
+        mRunnable.run();
+      } finally {
+        synchronized (ChangeSetThreadPoolHandler.this) {
+          mIsRunning = false;
+          if (mRunAgain) {
+            mRunAgain = false;
+            mExecutor.execute(this);
+          } else {
+            mTasks.remove(mRunnable);
+          }
+        }
+      }
+    }
+  }
+}
@@ -21,6 +21,7 @@ import static com.facebook.litho.FrameworkLogEvents.EVENT_SECTIONS_CREATE_NEW_TR
 import static com.facebook.litho.FrameworkLogEvents.EVENT_SECTIONS_ON_CREATE_CHILDREN;
 import static com.facebook.litho.FrameworkLogEvents.EVENT_SECTIONS_SET_ROOT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_ATTRIBUTION;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_CHANGESET_QUEUEING_DELAY_MS;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_SECTION_SET_ROOT_SOURCE;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_SET_ROOT_ON_BG_THREAD;
 import static com.facebook.litho.HandlerInstrumenter.instrumentLithoHandler;
@@ -29,6 +30,7 @@ import static com.facebook.litho.ThreadUtils.isMainThread;
 
 import android.os.HandlerThread;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.util.Log;
 import androidx.annotation.UiThread;
@@ -191,6 +193,9 @@ public class SectionTree {
     @GuardedBy("this")
     private @Nullable String mAttribution;
 
+    @GuardedBy("this")
+    private long mPostedTimeMs;
+
     private @Nullable ChangesetDebugInfo mChangesetDebugInfo;
 
     public CalculateChangeSetRunnable(LithoHandler handler) {
@@ -221,6 +226,7 @@ public class SectionTree {
         mHandler.post(this, tag);
         mSource = source;
         mAttribution = attribution;
+        mPostedTimeMs = SystemClock.uptimeMillis();
         mChangesetDebugInfo = changesetDebugInfo;
       }
     }
@@ -238,6 +244,7 @@ public class SectionTree {
     public void tracedRun(ThreadTracingRunnable prevTracingRunnable) {
       @ApplyNewChangeSet int source;
       final String attribution;
+      final long queueingDelayMs;
       final ChangesetDebugInfo changesetDebugInfo = mChangesetDebugInfo;
       synchronized (this) {
         if (!mIsPosted) {
@@ -245,13 +252,15 @@ public class SectionTree {
         }
         source = mSource;
         attribution = mAttribution;
+        queueingDelayMs = SystemClock.uptimeMillis() - mPostedTimeMs;
         mSource = ApplyNewChangeSet.NONE;
         mAttribution = null;
         mIsPosted = false;
       }
 
       try {
-        applyNewChangeSet(source, attribution, prevTracingRunnable, changesetDebugInfo);
+        applyNewChangeSet(
+            source, attribution, prevTracingRunnable, changesetDebugInfo, queueingDelayMs);
       } catch (IndexOutOfBoundsException e) {
         throw new RuntimeException(
             INDEX_OUT_OF_BOUNDS_DEBUG_MESSAGE + getDebugInfo(SectionTree.this) + e.getMessage(), e);
@@ -346,10 +355,14 @@ public class SectionTree {
     mContext = SectionContext.withSectionTree(builder.mContext, this);
     mPendingChangeSets = new ArrayList<>();
     mPendingStateUpdates = SectionsPools.acquireStateUpdatesHolder();
-    LithoHandler changeSetThreadHandler =
-        builder.mChangeSetThreadHandler != null
-            ? builder.mChangeSetThreadHandler
-            : new DefaultLithoHandler(getDefaultChangeSetThreadLooper());
+    LithoHandler changeSetThreadHandler;
+    if (builder.mChangeSetThreadHandler != null) {
+      changeSetThreadHandler = builder.mChangeSetThreadHandler;
+    } else if (ComponentsConfiguration.changeSetThreadPoolSize > 0) {
+      changeSetThreadHandler = ChangeSetThreadPoolHandler.getDefaultInstance();
+    } else {
+      changeSetThreadHandler = new DefaultLithoHandler(getDefaultChangeSetThreadLooper());
+    }
     changeSetThreadHandler = instrumentLithoHandler(changeSetThreadHandler);
     mCalculateChangeSetRunnable = new CalculateChangeSetRunnable(changeSetThreadHandler);
     mCalculateChangeSetOnMainThreadRunnable = new CalculateChangeSetRunnable(mMainThreadHandler);
@@ -416,7 +429,7 @@ public class SectionTree {
                   ApplyNewChangeSet.SET_ROOT,
                   section.getSimpleName(),
                   Thread.currentThread().getStackTrace());
-      applyNewChangeSet(ApplyNewChangeSet.SET_ROOT, null, null, changesetDebugInfo);
+      applyNewChangeSet(ApplyNewChangeSet.SET_ROOT, null, null, changesetDebugInfo, -1);
     }
   }
 
@@ -1049,11 +1062,13 @@ public class SectionTree {
     }
   }
 
+  /** @param queueingDelayMs how long the calculation waited for its thread, or -1 if not posted */
   private void applyNewChangeSet(
       @ApplyNewChangeSet int source,
       @Nullable String attribution,
       ThreadTracingRunnable prevTracingRunnable,
-      ChangesetDebugInfo changesetDebugInfo) {
+      ChangesetDebugInfo changesetDebugInfo,
+      long queueingDelayMs) {
     if (attribution == null) {
       attribution = mTag;
     }
@@ -1118,6 +1133,9 @@ public class SectionTree {
             PARAM_SECTION_SET_ROOT_SOURCE,
             SectionsLogEventUtils.applyNewChangeSetSourceToString(source));
         logEvent.markerAnnotate(PARAM_SET_ROOT_ON_BG_THREAD, !ThreadUtils.isMainThread());
+        if (queueingDelayMs >= 0) {
+          logEvent.markerAnnotate(PARAM_CHANGESET_QUEUEING_DELAY_MS, (int) queueingDelayMs);
+        }
       }
 
       clearUnusedTriggerHandlers();
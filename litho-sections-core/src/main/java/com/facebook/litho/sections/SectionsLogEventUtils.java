@@ -16,6 +16,10 @@
 
 package com.facebook.litho.sections;
 
+import static com.facebook.litho.FrameworkLogEvents.PARAM_DATA_DIFF_DURATION_MS;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_DATA_DIFF_NEXT_COUNT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_DATA_DIFF_PREVIOUS_COUNT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_DATA_DIFF_STRATEGY;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_SECTION_CURRENT;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_SECTION_NEXT;
 
@@ -47,6 +51,15 @@ public class SectionsLogEventUtils {
     int UPDATE_STATE_ASYNC = 3;
   }
 
+  @IntDef({DataDiffStrategy.MYERS, DataDiffStrategy.KEYED})
+  @Retention(RetentionPolicy.SOURCE)
+  public @interface DataDiffStrategy {
+    /** The diff was computed by {@code DiffUtil}. */
+    int MYERS = 0;
+    /** The diff was resolved in linear time by matching unique identifiers. */
+    int KEYED = 1;
+  }
+
   /**
    * Create a performance event that will add the names of the current and next section as params.
    */
@@ -72,6 +85,37 @@ public class SectionsLogEventUtils {
     return logEvent;
   }
 
+  /**
+   * Annotate a data diff performance event with the strategy that computed the diff, the size of
+   * the lists that were diffed and how long computing and dispatching the diff took.
+   */
+  public static void annotateDataDiff(
+      @Nullable PerfEvent logEvent,
+      @DataDiffStrategy int strategy,
+      int previousCount,
+      int nextCount,
+      long durationNanos) {
+    if (logEvent == null) {
+      return;
+    }
+
+    logEvent.markerAnnotate(PARAM_DATA_DIFF_STRATEGY, dataDiffStrategyToString(strategy));
+    logEvent.markerAnnotate(PARAM_DATA_DIFF_PREVIOUS_COUNT, previousCount);
+    logEvent.markerAnnotate(PARAM_DATA_DIFF_NEXT_COUNT, nextCount);
+    logEvent.markerAnnotate(PARAM_DATA_DIFF_DURATION_MS, durationNanos / 1000000.0);
+  }
+
+  public static String dataDiffStrategyToString(@DataDiffStrategy int strategy) {
+    switch (strategy) {
+      case DataDiffStrategy.MYERS:
+        return "myers";
+      case DataDiffStrategy.KEYED:
+        return "keyed";
+      default:
+        throw new IllegalStateException("Unknown strategy");
+    }
+  }
+
   public static String applyNewChangeSetSourceToString(@ApplyNewChangeSet int source) {
     switch (source) {
       case ApplyNewChangeSet.NONE:
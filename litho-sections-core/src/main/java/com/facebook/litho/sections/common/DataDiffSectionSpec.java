@@ -21,7 +21,9 @@ import static com.facebook.litho.widget.RenderInfoDebugInfoRegistry.SONAR_SECTIO
 
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
+import androidx.recyclerview.widget.BatchingListUpdateCallback;
 import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
 import com.facebook.litho.Component;
 import com.facebook.litho.ComponentContext;
 import com.facebook.litho.ComponentsLogger;
@@ -37,6 +39,8 @@ import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.sections.ChangeSet;
 import com.facebook.litho.sections.Section;
 import com.facebook.litho.sections.SectionContext;
+import com.facebook.litho.sections.SectionsLogEventUtils;
+import com.facebook.litho.sections.SectionsLogEventUtils.DataDiffStrategy;
 import com.facebook.litho.sections.annotations.DiffSectionSpec;
 import com.facebook.litho.sections.annotations.OnDiff;
 import com.facebook.litho.widget.RecyclerBinderUpdateCallback;
@@ -44,8 +48,10 @@ import com.facebook.litho.widget.RecyclerBinderUpdateCallback.ComponentContainer
 import com.facebook.litho.widget.RecyclerBinderUpdateCallback.Operation;
 import com.facebook.litho.widget.RenderInfo;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Set;
 
 /**
  * A {@link DiffSectionSpec} that creates a changeSet diffing a generic {@link List<T>} of data.
@@ -60,6 +66,10 @@ import java.util.ListIterator;
  * <p>{@link OnCheckIsSameContentEvent} whenever during a diffing it wants to check whether two
  * items that represent the same piece of data have exactly the same content.
  *
+ * <p>{@link GetUniqueIdentifierEvent} once per item when a handler for it is provided. Two items
+ * with equal identifiers are then considered to represent the same piece of data, which lets
+ * appends, prepends and single item edits be diffed in linear time instead of running a full diff.
+ *
  * <p>Diffing happens when the new {@code List<? extends T> data} is provided. Changes in {@link
  * com.facebook.litho.annotations.State} alone will not trigger diffing.
  *
@@ -108,7 +118,12 @@ import java.util.ListIterator;
  * </pre>
  */
 @DiffSectionSpec(
-    events = {OnCheckIsSameContentEvent.class, OnCheckIsSameItemEvent.class, RenderEvent.class})
+    events = {
+      OnCheckIsSameContentEvent.class,
+      OnCheckIsSameItemEvent.class,
+      GetUniqueIdentifierEvent.class,
+      RenderEvent.class
+    })
 public class DataDiffSectionSpec<T> {
 
   public static final String DUPLICATES_EXIST_MSG =
@@ -131,7 +146,9 @@ public class DataDiffSectionSpec<T> {
     final RecyclerBinderUpdateCallback<T> updatesCallback;
     final boolean isTracing = ComponentsSystrace.isTracing();
 
-    final Callback<T> callback = new Callback<>(c, data.getPrevious(), data.getNext());
+    final Callback<T> callback =
+        new Callback<>(
+            c, previousData, nextData, DataDiffSection.getGetUniqueIdentifierEventHandler(c));
 
     final ComponentsLogger logger = c.getLogger();
     final PerfEvent logEvent =
@@ -143,49 +160,144 @@ public class DataDiffSectionSpec<T> {
     if (nextData != null && isDetectDuplicatesEnabled(alwaysDetectDuplicates)) {
       detectDuplicates(c, nextData, callback);
     }
-    if (isTracing) {
-      ComponentsSystrace.beginSection("DiffUtil.calculateDiff");
+
+    updatesCallback =
+        new RecyclerBinderUpdateCallback<>(
+            previousData, nextData, componentRenderer, operationExecutor);
+
+    final long startTime = System.nanoTime();
+    @DataDiffStrategy int strategy = DataDiffStrategy.MYERS;
+    if (callback.isKeyed()) {
+      if (isTracing) {
+        ComponentsSystrace.beginSection("DataDiffSection.dispatchKeyedDiff");
+      }
+      if (dispatchKeyedDiff(callback, updatesCallback)) {
+        strategy = DataDiffStrategy.KEYED;
+      }
+      if (isTracing) {
+        ComponentsSystrace.endSection();
+      }
     }
-    final DiffUtil.DiffResult result =
-        DiffUtil.calculateDiff(callback, isDetectMovesEnabled(detectMoves));
-    if (isTracing) {
-      ComponentsSystrace.endSection();
+
+    if (strategy == DataDiffStrategy.MYERS) {
+      if (isTracing) {
+        ComponentsSystrace.beginSection("DiffUtil.calculateDiff");
+      }
+      final DiffUtil.DiffResult result =
+          DiffUtil.calculateDiff(callback, isDetectMovesEnabled(detectMoves));
+      if (isTracing) {
+        ComponentsSystrace.endSection();
+      }
+      result.dispatchUpdatesTo(updatesCallback);
     }
 
     if (logEvent != null) {
+      SectionsLogEventUtils.annotateDataDiff(
+          logEvent,
+          strategy,
+          callback.getOldListSize(),
+          callback.getNewListSize(),
+          System.nanoTime() - startTime);
       logger.logPerfEvent(logEvent);
     }
 
-    updatesCallback =
-        new RecyclerBinderUpdateCallback<>(
-            previousData, nextData, componentRenderer, operationExecutor);
-    result.dispatchUpdatesTo(updatesCallback);
-
     updatesCallback.applyChangeset(c);
   }
 
+  /**
+   * Dispatches the updates between the previous and the next data without running {@link
+   * DiffUtil} when they only differ by a contiguous insertion, a contiguous removal or a single
+   * replaced item, which covers appends, prepends and single item edits. Items are matched by
+   * their unique identifier and the updates are dispatched in the same order {@link DiffUtil}
+   * would dispatch them.
+   *
+   * @return false, without dispatching anything, if the data changed in any other way.
+   */
+  @VisibleForTesting
+  static boolean dispatchKeyedDiff(Callback<?> callback, ListUpdateCallback updatesCallback) {
+    final int oldSize = callback.getOldListSize();
+    final int newSize = callback.getNewListSize();
+    final int minSize = Math.min(oldSize, newSize);
+
+    int prefix = 0;
+    while (prefix < minSize && callback.areItemsTheSame(prefix, prefix)) {
+      prefix++;
+    }
+
+    int suffix = 0;
+    while (suffix < minSize - prefix
+        && callback.areItemsTheSame(oldSize - 1 - suffix, newSize - 1 - suffix)) {
+      suffix++;
+    }
+
+    final int removed = oldSize - prefix - suffix;
+    final int inserted = newSize - prefix - suffix;
+    if (removed > 0 && inserted > 0 && removed + inserted > 2) {
+      return false;
+    }
+
+    final BatchingListUpdateCallback batchingCallback =
+        new BatchingListUpdateCallback(updatesCallback);
+
+    // Updates are dispatched from the end of the list so that earlier positions stay valid.
+    for (int i = 0; i < suffix; i++) {
+      final int oldPosition = oldSize - suffix + i;
+      if (!callback.areContentsTheSame(oldPosition, newSize - suffix + i)) {
+        batchingCallback.onChanged(oldPosition, 1, null);
+      }
+    }
+
+    if (removed > 0) {
+      batchingCallback.onRemoved(prefix, removed);
+    }
+    if (inserted > 0) {
+      batchingCallback.onInserted(prefix, inserted);
+    }
+
+    for (int i = 0; i < prefix; i++) {
+      if (!callback.areContentsTheSame(i, i)) {
+        batchingCallback.onChanged(i, 1, null);
+      }
+    }
+
+    batchingCallback.dispatchLastEvent();
+    return true;
+  }
+
   private static <T> void detectDuplicates(
       SectionContext c, List<? extends T> data, Callback<T> callback) {
+    if (callback.isKeyed()) {
+      final int duplicateIndex = callback.findDuplicateNextIdentifier();
+      if (duplicateIndex >= 0) {
+        emitDuplicateMessage(data.get(duplicateIndex));
+      }
+      return;
+    }
+
     for (ListIterator<? extends T> it = data.listIterator(); it.hasNext(); ) {
       int nextIdx = it.nextIndex() + 1;
       T item = it.next();
       for (ListIterator<? extends T> jt = data.listIterator(nextIdx); jt.hasNext(); ) {
         T other = jt.next();
         if (callback.areItemsTheSame(item, other)) {
-          ComponentsReporter.emitMessage(
-              ComponentsReporter.LogLevel.ERROR,
-              "sections_duplicate_item",
-              DUPLICATES_EXIST_MSG
-                  + ", type: "
-                  + item.getClass().getSimpleName()
-                  + ", hash: "
-                  + System.identityHashCode(item));
+          emitDuplicateMessage(item);
           return; /* we don't need to know how many, just that there is at least one duplicate */
         }
       }
     }
   }
 
+  private static void emitDuplicateMessage(Object item) {
+    ComponentsReporter.emitMessage(
+        ComponentsReporter.LogLevel.ERROR,
+        "sections_duplicate_item",
+        DUPLICATES_EXIST_MSG
+            + ", type: "
+            + item.getClass().getSimpleName()
+            + ", hash: "
+            + System.identityHashCode(item));
+  }
+
   /**
    * @return true if detect moves should be enabled when performing the Diff. Detect moves is
    *     enabled by default
@@ -345,9 +457,14 @@ public class DataDiffSectionSpec<T> {
     private final SectionContext mSectionContext;
     private final EventHandler<OnCheckIsSameItemEvent> mIsSameItemEventHandler;
     private final EventHandler<OnCheckIsSameContentEvent> mIsSameContentEventHandler;
+    private final @Nullable Object[] mPreviousIdentifiers;
+    private final @Nullable Object[] mNextIdentifiers;
 
     Callback(
-        SectionContext sectionContext, List<? extends T> previousData, List<? extends T> nextData) {
+        SectionContext sectionContext,
+        List<? extends T> previousData,
+        List<? extends T> nextData,
+        @Nullable EventHandler<GetUniqueIdentifierEvent> uniqueIdentifierEventHandler) {
       mSectionContext = sectionContext;
       mIsSameItemEventHandler = DataDiffSection.getOnCheckIsSameItemEventHandler(mSectionContext);
       mIsSameContentEventHandler =
@@ -355,6 +472,44 @@ public class DataDiffSectionSpec<T> {
 
       mPreviousData = previousData;
       mNextData = nextData;
+
+      if (uniqueIdentifierEventHandler != null) {
+        mPreviousIdentifiers = collectIdentifiers(uniqueIdentifierEventHandler, previousData);
+        mNextIdentifiers = collectIdentifiers(uniqueIdentifierEventHandler, nextData);
+      } else {
+        mPreviousIdentifiers = null;
+        mNextIdentifiers = null;
+      }
+    }
+
+    private static Object[] collectIdentifiers(
+        EventHandler<GetUniqueIdentifierEvent> uniqueIdentifierEventHandler,
+        @Nullable List<?> data) {
+      final int size = data == null ? 0 : data.size();
+      final Object[] identifiers = new Object[size];
+      for (int i = 0; i < size; i++) {
+        identifiers[i] =
+            DataDiffSection.dispatchGetUniqueIdentifierEvent(
+                uniqueIdentifierEventHandler, data.get(i));
+      }
+      return identifiers;
+    }
+
+    /** @return true if items are matched by their {@link GetUniqueIdentifierEvent} identifier. */
+    boolean isKeyed() {
+      return mPreviousIdentifiers != null;
+    }
+
+    /** @return the index of the first next item whose identifier was already seen, or -1. */
+    int findDuplicateNextIdentifier() {
+      final Set<Object> identifiers = new HashSet<>(mNextIdentifiers.length);
+      for (int i = 0; i < mNextIdentifiers.length; i++) {
+        final Object identifier = mNextIdentifiers[i];
+        if (identifier != null && !identifiers.add(identifier)) {
+          return i;
+        }
+      }
+      return -1;
     }
 
     @Override
@@ -369,6 +524,14 @@ public class DataDiffSectionSpec<T> {
 
     @Override
     public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+      if (mPreviousIdentifiers != null) {
+        final Object previousIdentifier = mPreviousIdentifiers[oldItemPosition];
+        final Object nextIdentifier = mNextIdentifiers[newItemPosition];
+        if (previousIdentifier != null && nextIdentifier != null) {
+          return previousIdentifier.equals(nextIdentifier);
+        }
+      }
+
       final T previous = mPreviousData.get(oldItemPosition);
       final T next = mNextData.get(newItemPosition);
 
@@ -42,6 +42,17 @@ public class BenchmarkTestHelper {
     lithoView.layout(0, 0, lithoView.getMeasuredWidth(), lithoView.getMeasuredHeight());
   }
 
+  public static LayoutState calculateLayoutState(
+      ComponentContext c, Component component, int widthSpec, int heightSpec) {
+    return LayoutState.calculate(
+        c,
+        component,
+        ComponentTree.generateComponentTreeId(),
+        widthSpec,
+        heightSpec,
+        LayoutState.CalculateLayoutSource.TEST);
+  }
+
   public static void mountLithoView(LithoView lithoView) {
     lithoView.getComponentTree().mountComponent(null, true);
   }
@@ -26,6 +26,7 @@ import com.facebook.litho.sections.SectionContext;
 import com.facebook.litho.sections.annotations.GroupSectionSpec;
 import com.facebook.litho.sections.annotations.OnCreateChildren;
 import com.facebook.litho.sections.common.DataDiffSection;
+import com.facebook.litho.sections.common.GetUniqueIdentifierEvent;
 import com.facebook.litho.sections.common.OnCheckIsSameContentEvent;
 import com.facebook.litho.sections.common.OnCheckIsSameItemEvent;
 import com.facebook.litho.sections.common.RenderEvent;
@@ -43,7 +44,8 @@ public class TestGroupSectionSpec {
       SectionContext c,
       @Prop List data,
       @Prop(optional = true) Comparator isSameItemComparator,
-      @Prop(optional = true) Comparator isSameContentComparator) {
+      @Prop(optional = true) Comparator isSameContentComparator,
+      @Prop(optional = true) boolean keyedDiff) {
 
     DataDiffSection.Builder builder =
         DataDiffSection.create(c).data(data).renderEventHandler(TestGroupSection.onRender(c, c));
@@ -56,6 +58,10 @@ public class TestGroupSectionSpec {
       builder.onCheckIsSameContentEventHandler(TestGroupSection.onCheckIsSameContent(c));
     }
 
+    if (keyedDiff) {
+      builder.getUniqueIdentifierEventHandler(TestGroupSection.getUniqueIdentifier(c));
+    }
+
     return Children.create().child(builder.build()).build();
   }
 
@@ -68,6 +74,11 @@ public class TestGroupSectionSpec {
         .build();
   }
 
+  @OnEvent(GetUniqueIdentifierEvent.class)
+  protected static Object getUniqueIdentifier(SectionContext c, @FromEvent Object model) {
+    return model;
+  }
+
   @OnEvent(OnCheckIsSameItemEvent.class)
   protected static boolean onCheckIsSameItem(
       SectionContext c,
@@ -36,7 +36,7 @@ import com.facebook.litho.annotations.ResType;
  * @prop shadowDx The x offset of the shadow.
  * @prop shadowDy The y offset of the shadow.
  */
-@MountSpec(isPureRender = true)
+@MountSpec(isPureRender = true, canPremount = true)
 class CardShadowSpec {
 
   @PropDefault static final float shadowDx = CardShadowDrawable.UNDEFINED;
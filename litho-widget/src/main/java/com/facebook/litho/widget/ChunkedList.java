@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.widget;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.util.AbstractList;
+
+/**
+ * A {@link java.util.List} stored as a sequence of small arrays, so that inserting or removing an
+ * item only shifts the items of one array instead of all the items after it.
+ *
+ * <p>The arrays are the leaves of a B-tree whose inner nodes count the items below each child, so
+ * finding the array holding a position walks down the O(log n) levels of the tree. Positional
+ * reads and writes, inserts, removals and moves are all O(log n): a change shifts at most {@link
+ * #MAX_CHUNK_SIZE} items of one array and a bounded number of children in each level above it,
+ * where full nodes are split in two and small neighbours merged.
+ *
+ * <p>Iterating in order is O(1) per item, as the array of the last accessed position is cached.
+ * Not thread safe.
+ */
+final class ChunkedList<E> extends AbstractList<E> {
+
+  @VisibleForTesting static final int MAX_CHUNK_SIZE = 64;
+
+  private static final int MAX_CHILDREN = 32;
+
+  /** A chunk of items if it's a leaf, or the nodes below it otherwise. */
+  private static final class Node {
+    private final @Nullable Object[] mItems;
+    private final @Nullable Node[] mChildren;
+
+    // The number of items of a leaf, or of children of an inner node.
+    private int mCount;
+
+    // The number of items in this node and below it.
+    private int mSize;
+
+    private Node(boolean isLeaf) {
+      mItems = isLeaf ? new Object[MAX_CHUNK_SIZE] : null;
+      mChildren = isLeaf ? null : new Node[MAX_CHILDREN];
+    }
+
+    private boolean isLeaf() {
+      return mItems != null;
+    }
+
+    private int getCapacity() {
+      return isLeaf() ? MAX_CHUNK_SIZE : MAX_CHILDREN;
+    }
+  }
+
+  private @Nullable Node mRoot;
+
+  private int mSize;
+
+  // The leaf found by the last lookup, and the position of its first item.
+  private @Nullable Node mCachedLeaf;
+  private int mCachedLeafStart;
+
+  @Override
+  public int size() {
+    return mSize;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E get(int index) {
+    checkIndex(index, mSize);
+    return (E) findLeaf(index).mItems[index - mCachedLeafStart];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E set(int index, E element) {
+    checkIndex(index, mSize);
+    final Node leaf = findLeaf(index);
+    final int offset = index - mCachedLeafStart;
+    final E previous = (E) leaf.mItems[offset];
+    leaf.mItems[offset] = element;
+    return previous;
+  }
+
+  @Override
+  public void add(int index, E element) {
+    checkIndex(index, mSize + 1);
+
+    if (mRoot == null) {
+      mRoot = new Node(true);
+    }
+
+    final Node split = insertBelow(mRoot, index, element);
+    if (split != null) {
+      final Node root = new Node(false);
+      addChild(root, 0, mRoot);
+      addChild(root, 1, split);
+      mRoot = root;
+    }
+
+    mSize++;
+    modCount++;
+    mCachedLeaf = null;
+  }
+
+  @Override
+  public E remove(int index) {
+    checkIndex(index, mSize);
+    final E removed = removeBelow(mRoot, index);
+
+    while (!mRoot.isLeaf() && mRoot.mCount == 1) {
+      mRoot = mRoot.mChildren[0];
+    }
+    if (mRoot.mSize == 0) {
+      mRoot = null;
+    }
+
+    mSize--;
+    modCount++;
+    mCachedLeaf = null;
+    return removed;
+  }
+
+  @Override
+  public void clear() {
+    mRoot = null;
+    mSize = 0;
+    modCount++;
+    mCachedLeaf = null;
+  }
+
+  @VisibleForTesting
+  int getChunkCount() {
+    return countLeaves(mRoot);
+  }
+
+  /**
+   * @return the leaf holding the item at the given position, and caches it with the position of
+   *     its first item.
+   */
+  private Node findLeaf(int index) {
+    if (mCachedLeaf != null
+        && index >= mCachedLeafStart
+        && index < mCachedLeafStart + mCachedLeaf.mSize) {
+      return mCachedLeaf;
+    }
+
+    Node node = mRoot;
+    int start = 0;
+    while (!node.isLeaf()) {
+      int i = 0;
+      while (index - start >= node.mChildren[i].mSize) {
+        start += node.mChildren[i].mSize;
+        i++;
+      }
+      node = node.mChildren[i];
+    }
+
+    mCachedLeaf = node;
+    mCachedLeafStart = start;
+    return node;
+  }
+
+  /**
+   * Inserts the item at the given position below the node.
+   *
+   * @return the node holding the second half of the node if it was full and had to be split.
+   */
+  private static @Nullable Node insertBelow(Node node, int index, Object element) {
+    if (node.isLeaf()) {
+      if (node.mCount < MAX_CHUNK_SIZE) {
+        insertItem(node, index, element);
+        return null;
+      }
+
+      final Node split = splitLeaf(node);
+      if (index > node.mCount) {
+        insertItem(split, index - node.mCount, element);
+      } else {
+        insertItem(node, index, element);
+      }
+      return split;
+    }
+
+    int i = 0;
+    while (i < node.mCount - 1 && index > node.mChildren[i].mSize) {
+      index -= node.mChildren[i].mSize;
+      i++;
+    }
+
+    node.mSize++;
+    final Node childSplit = insertBelow(node.mChildren[i], index, element);
+    if (childSplit == null) {
+      return null;
+    }
+
+    // The items of the new child are still counted in this node, addChild counts them again.
+    node.mSize -= childSplit.mSize;
+    if (node.mCount < MAX_CHILDREN) {
+      addChild(node, i + 1, childSplit);
+      return null;
+    }
+
+    final Node split = splitInnerNode(node);
+    if (i + 1 > node.mCount) {
+      addChild(split, i + 1 - node.mCount, childSplit);
+    } else {
+      addChild(node, i + 1, childSplit);
+    }
+    return split;
+  }
+
+  /** Removes the item at the given position below the node, rebalancing the nodes on the way. */
+  @SuppressWarnings("unchecked")
+  private static <E> E removeBelow(Node node, int index) {
+    if (node.isLeaf()) {
+      final E removed = (E) node.mItems[index];
+      System.arraycopy(node.mItems, index + 1, node.mItems, index, node.mCount - index - 1);
+      node.mCount--;
+      node.mSize--;
+      node.mItems[node.mCount] = null;
+      return removed;
+    }
+
+    int i = 0;
+    while (index >= node.mChildren[i].mSize) {
+      index -= node.mChildren[i].mSize;
+      i++;
+    }
+
+    final E removed = removeBelow(node.mChildren[i], index);
+    node.mSize--;
+    rebalance(node, i);
+    return removed;
+  }
+
+  /**
+   * Drops the child if it's empty, or merges it with a neighbour when they fit in half a node
+   * together. Neighbours then always fill more than half a node together, which keeps the tree
+   * shallow, and removals don't leave behind many small chunks.
+   */
+  private static void rebalance(Node node, int childIndex) {
+    final Node child = node.mChildren[childIndex];
+    if (child.mCount == 0) {
+      removeChild(node, childIndex);
+      return;
+    }
+
+    final int halfCapacity = child.getCapacity() / 2;
+    if (childIndex + 1 < node.mCount
+        && child.mCount + node.mChildren[childIndex + 1].mCount <= halfCapacity) {
+      mergeWithNextChild(node, childIndex);
+    }
+    if (childIndex > 0 && node.mChildren[childIndex - 1].mCount + child.mCount <= halfCapacity) {
+      mergeWithNextChild(node, childIndex - 1);
+    }
+  }
+
+  private static void insertItem(Node leaf, int offset, Object element) {
+    System.arraycopy(leaf.mItems, offset, leaf.mItems, offset + 1, leaf.mCount - offset);
+    leaf.mItems[offset] = element;
+    leaf.mCount++;
+    leaf.mSize++;
+  }
+
+  /** Moves the second half of a full leaf to a new leaf, which is returned. */
+  private static Node splitLeaf(Node leaf) {
+    final Node split = new Node(true);
+    final int firstHalfSize = leaf.mCount / 2;
+    split.mCount = leaf.mCount - firstHalfSize;
+    split.mSize = split.mCount;
+    System.arraycopy(leaf.mItems, firstHalfSize, split.mItems, 0, split.mCount);
+    for (int i = firstHalfSize; i < leaf.mCount; i++) {
+      leaf.mItems[i] = null;
+    }
+    leaf.mCount = firstHalfSize;
+    leaf.mSize = firstHalfSize;
+    return split;
+  }
+
+  /** Moves the second half of the children of a full inner node to a new node it returns. */
+  private static Node splitInnerNode(Node node) {
+    final Node split = new Node(false);
+    final int firstHalfCount = node.mCount / 2;
+    for (int i = firstHalfCount; i < node.mCount; i++) {
+      addChild(split, split.mCount, node.mChildren[i]);
+      node.mSize -= node.mChildren[i].mSize;
+      node.mChildren[i] = null;
+    }
+    node.mCount = firstHalfCount;
+    return split;
+  }
+
+  private static void addChild(Node node, int position, Node child) {
+    System.arraycopy(
+        node.mChildren, position, node.mChildren, position + 1, node.mCount - position);
+    node.mChildren[position] = child;
+    node.mCount++;
+    node.mSize += child.mSize;
+  }
+
+  /** Removes a child whose items, if any, were moved to one of its siblings. */
+  private static void removeChild(Node node, int position) {
+    System.arraycopy(
+        node.mChildren, position + 1, node.mChildren, position, node.mCount - position - 1);
+    node.mCount--;
+    node.mChildren[node.mCount] = null;
+  }
+
+  private static void mergeWithNextChild(Node node, int childIndex) {
+    final Node child = node.mChildren[childIndex];
+    final Node next = node.mChildren[childIndex + 1];
+    if (child.isLeaf()) {
+      System.arraycopy(next.mItems, 0, child.mItems, child.mCount, next.mCount);
+    } else {
+      System.arraycopy(next.mChildren, 0, child.mChildren, child.mCount, next.mCount);
+    }
+    child.mCount += next.mCount;
+    child.mSize += next.mSize;
+    removeChild(node, childIndex + 1);
+  }
+
+  private static int countLeaves(@Nullable Node node) {
+    if (node == null) {
+      return 0;
+    }
+    if (node.isLeaf()) {
+      return 1;
+    }
+
+    int count = 0;
+    for (int i = 0; i < node.mCount; i++) {
+      count += countLeaves(node.mChildren[i]);
+    }
+    return count;
+  }
+
+  private static void checkIndex(int index, int size) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+}
@@ -23,6 +23,7 @@ import com.facebook.litho.ComponentContext;
 import com.facebook.litho.ComponentTree;
 import com.facebook.litho.ComponentTree.MeasureListener;
 import com.facebook.litho.HooksHandler;
+import com.facebook.litho.LayoutScheduler;
 import com.facebook.litho.LithoHandler;
 import com.facebook.litho.Size;
 import com.facebook.litho.StateHandler;
@@ -79,6 +80,9 @@ public class ComponentTreeHolder {
   @GuardedBy("this")
   private @Nullable LithoHandler mLayoutHandler;
 
+  @GuardedBy("this")
+  private @LayoutScheduler.Priority int mLayoutPriority = LayoutScheduler.PRIORITY_VISIBLE;
+
   @GuardedBy("this")
   private boolean mIsInserted = true;
 
@@ -399,6 +403,14 @@ public class ComponentTreeHolder {
     mRenderInfo = renderInfo;
   }
 
+  /** @see ComponentTree#setLayoutPriority(int) */
+  public synchronized void setLayoutPriority(@LayoutScheduler.Priority int priority) {
+    mLayoutPriority = priority;
+    if (mComponentTree != null) {
+      mComponentTree.setLayoutPriority(priority);
+    }
+  }
+
   public synchronized void updateLayoutHandler(@Nullable LithoHandler layoutHandler) {
     mLayoutHandler = layoutHandler;
     if (mComponentTree != null) {
@@ -414,6 +426,14 @@ public class ComponentTreeHolder {
     mLastMeasuredHeight = height;
   }
 
+  synchronized int getLastRequestedWidthSpec() {
+    return mLastRequestedWidthSpec;
+  }
+
+  synchronized int getLastRequestedHeightSpec() {
+    return mLastRequestedHeightSpec;
+  }
+
   synchronized void checkWorkingRangeAndDispatch(
       int position,
       int firstVisibleIndex,
@@ -505,6 +525,7 @@ public class ComponentTreeHolder {
       if (mPendingNewLayoutListener != null) {
         mComponentTree.setNewLayoutStateReadyListener(mPendingNewLayoutListener);
       }
+      mComponentTree.setLayoutPriority(mLayoutPriority);
     }
   }
 
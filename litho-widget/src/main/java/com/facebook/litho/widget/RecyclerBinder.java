@@ -56,6 +56,7 @@ import com.facebook.litho.ComponentsLogger;
 import com.facebook.litho.ComponentsReporter;
 import com.facebook.litho.ComponentsSystrace;
 import com.facebook.litho.EventHandler;
+import com.facebook.litho.LayoutScheduler;
 import com.facebook.litho.LithoHandler;
 import com.facebook.litho.LithoStartupLogger;
 import com.facebook.litho.LithoView;
@@ -72,6 +73,7 @@ import com.facebook.litho.choreographercompat.ChoreographerCompat;
 import com.facebook.litho.choreographercompat.ChoreographerCompatImpl;
 import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.config.LayoutThreadPoolConfiguration;
+import com.facebook.litho.stats.LithoStats;
 import com.facebook.litho.viewcompat.ViewBinder;
 import com.facebook.litho.viewcompat.ViewCreator;
 import com.facebook.litho.widget.ComponentTreeHolder.ComponentTreeMeasureListenerFactory;
@@ -112,7 +114,10 @@ public class RecyclerBinder
   private static Field mViewHolderField;
 
   @GuardedBy("this")
-  private final List<ComponentTreeHolder> mComponentTreeHolders = new ArrayList<>();
+  private final List<ComponentTreeHolder> mComponentTreeHolders =
+      ComponentsConfiguration.useChunkedComponentTreeHolderList
+          ? new ChunkedList<ComponentTreeHolder>()
+          : new ArrayList<ComponentTreeHolder>();
 
   @GuardedBy("this")
   private final List<ComponentTreeHolder> mAsyncComponentTreeHolders = new ArrayList<>();
@@ -125,6 +130,8 @@ public class RecyclerBinder
   private final ComponentTreeHolderFactory mComponentTreeHolderFactory;
   private final Handler mMainThreadHandler = new Handler(Looper.getMainLooper());
   private final float mRangeRatio;
+  private final boolean mVelocityAwareRange;
+  private final @Nullable RecyclerItemSizeCache mItemSizeCache;
   private final AtomicBoolean mIsMeasured = new AtomicBoolean(false);
   private final AtomicBoolean mRequiresRemeasure = new AtomicBoolean(false);
   private final boolean mEnableStableIds;
@@ -204,7 +211,16 @@ public class RecyclerBinder
       @Override
       public void onSetRootAndSizeSpec(
           int layoutVersion, int width, int height, boolean stateUpdate) {
-        if (holder.getMeasuredHeight() == height) {
+        if (mItemSizeCache != null) {
+          mItemSizeCache.put(
+              holder.getRenderInfo(),
+              holder.getLastRequestedWidthSpec(),
+              holder.getLastRequestedHeightSpec(),
+              width,
+              height);
+        }
+
+        if (!mHasDynamicItemHeight || holder.getMeasuredHeight() == height) {
           return;
         }
 
@@ -303,6 +319,18 @@ public class RecyclerBinder
       };
   private int mPostUpdateViewportAttempts;
 
+  // Registered after the ViewportManager's listener, which resets the scroll velocity first, so
+  // that the range shrinks back once the list stops scrolling.
+  private final RecyclerView.OnScrollListener mVelocityAwareRangeScrollListener =
+      new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+          if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+            computeRange(mCurrentFirstVisiblePosition, mCurrentLastVisiblePosition);
+          }
+        }
+      };
+
   @VisibleForTesting final RenderInfoViewCreatorController mRenderInfoViewCreatorController;
 
   private final Runnable mUpdateViewportRunnable =
@@ -418,6 +446,8 @@ public class RecyclerBinder
     public static final float DEFAULT_RANGE_RATIO = 2f;
 
     private float rangeRatio = DEFAULT_RANGE_RATIO;
+    private boolean velocityAwareRange;
+    private @Nullable RecyclerItemSizeCache itemSizeCache;
     private LayoutInfo layoutInfo;
     private @Nullable LayoutHandlerFactory layoutHandlerFactory;
     private ComponentTreeHolderFactory componentTreeHolderFactory =
@@ -469,6 +499,30 @@ public class RecyclerBinder
       return this;
     }
 
+    /**
+     * Defaults to false. If true, the range computed on each side of the viewport is resized from
+     * the scroll velocity: it grows in the direction of a fling, and shrinks to half of what the
+     * {@link #rangeRatio(float)} gives behind the scroll and while the list is idle.
+     */
+    public Builder velocityAwareRange(boolean velocityAwareRange) {
+      this.velocityAwareRange = velocityAwareRange;
+      return this;
+    }
+
+    /**
+     * Records the size of every item laid out in the given cache. Items whose size is already
+     * cached for the same size specs are not laid out synchronously to compute the range and fill
+     * the viewport: their cached size is used and their layout is computed asynchronously. The
+     * cache is not used when the size of the items decides the size of the RecyclerView, i.e. when
+     * it wraps its content or measures an item to size its cross axis, as a stale cached size would
+     * then stay applied. The cache can be warmed from a previous session, see {@link
+     * RecyclerItemSizeCache#load}.
+     */
+    public Builder itemSizeCache(@Nullable RecyclerItemSizeCache itemSizeCache) {
+      this.itemSizeCache = itemSizeCache;
+      return this;
+    }
+
     /**
      * Defaults to true. If false, when a ComponentTreeHolder is released because it exists the
      * prepared range, the StateHandler of the ComponentTree will not be cached and restored when
@@ -878,6 +932,8 @@ public class RecyclerBinder
             : new InternalAdapter();
 
     mRangeRatio = builder.rangeRatio;
+    mVelocityAwareRange = builder.velocityAwareRange;
+    mItemSizeCache = builder.itemSizeCache;
     mLayoutInfo = builder.layoutInfo;
     mLayoutHandlerFactory = builder.layoutHandlerFactory;
     mAsyncInsertHandler = builder.mAsyncInsertLayoutHandler;
@@ -918,7 +974,7 @@ public class RecyclerBinder
     mHasDynamicItemHeight =
         mLayoutInfo.getScrollDirection() == HORIZONTAL ? builder.hasDynamicItemHeight : false;
     mComponentTreeMeasureListenerFactory =
-        !mHasDynamicItemHeight
+        !mHasDynamicItemHeight && mItemSizeCache == null
             ? null
             : new ComponentTreeMeasureListenerFactory() {
               @Override
@@ -2368,11 +2424,15 @@ public class RecyclerBinder
         break;
       }
 
-      holder.computeLayoutSync(
-          mComponentContext,
-          mLayoutInfo.getChildWidthSpec(widthSpec, renderInfo),
-          mLayoutInfo.getChildHeightSpec(heightSpec, renderInfo),
-          outSize);
+      final int childWidthSpec = mLayoutInfo.getChildWidthSpec(widthSpec, renderInfo);
+      final int childHeightSpec = mLayoutInfo.getChildHeightSpec(heightSpec, renderInfo);
+      if (canUseItemSizeCache()
+          && !holder.isTreeValidForSizeSpecs(childWidthSpec, childHeightSpec)
+          && mItemSizeCache.get(renderInfo, childWidthSpec, childHeightSpec, outSize)) {
+        holder.computeLayoutAsync(mComponentContext, childWidthSpec, childHeightSpec);
+      } else {
+        holder.computeLayoutSync(mComponentContext, childWidthSpec, childHeightSpec, outSize);
+      }
 
       filler.add(renderInfo, outSize.width, outSize.height);
 
@@ -2498,6 +2558,45 @@ public class RecyclerBinder
     return mInternalAdapter.getItemCount();
   }
 
+  /**
+   * Estimates the distance along the scroll direction from the start of the list to the item at
+   * the given position from the sizes in the {@link Builder#itemSizeCache}, e.g. to restore a
+   * scroll position before the layouts of the items are computed. Items whose size isn't cached
+   * count for the average cached size. Estimating the offset of {@link #getItemCount()} gives the
+   * size of the content. Only meaningful for layouts with one item per row or column.
+   *
+   * @return the estimated offset, or -1 if there is no cached size to estimate it from.
+   */
+  public synchronized int estimateOffsetOfPosition(int position) {
+    if (mItemSizeCache == null || mLastWidthSpec == LayoutManagerOverrideParams.UNINITIALIZED) {
+      return UNSET;
+    }
+
+    final boolean isVertical = mLayoutInfo.getScrollDirection() == VERTICAL;
+    final int count = Math.min(position, mComponentTreeHolders.size());
+    final Size size = new Size();
+    long cachedOffset = 0;
+    int cachedCount = 0;
+
+    for (int i = 0; i < count; i++) {
+      final ComponentTreeHolder holder = mComponentTreeHolders.get(i);
+      if (mItemSizeCache.get(
+          holder.getRenderInfo(),
+          getActualChildrenWidthSpec(holder),
+          getActualChildrenHeightSpec(holder),
+          size)) {
+        cachedOffset += isVertical ? size.height : size.width;
+        cachedCount++;
+      }
+    }
+
+    if (cachedCount == 0) {
+      return count == 0 ? 0 : UNSET;
+    }
+
+    return (int) (cachedOffset + (count - cachedCount) * cachedOffset / cachedCount);
+  }
+
   /**
    * Insert operation is not supported in case of circular recycler unless it is initial insert
    * because the indexes universe gets messed.
@@ -2658,7 +2757,16 @@ public class RecyclerBinder
 
     try {
       final Size size = new Size();
-      holder.computeLayoutSync(mComponentContext, childWidthSpec, childHeightSpec, size);
+      if (canUseItemSizeCache()
+          && mItemSizeCache.get(holder.getRenderInfo(), childWidthSpec, childHeightSpec, size)) {
+        holder.computeLayoutAsync(
+            mComponentContext,
+            childWidthSpec,
+            childHeightSpec,
+            getCachedSizeCorrectingListener(holder, size, width, height));
+      } else {
+        holder.computeLayoutSync(mComponentContext, childWidthSpec, childHeightSpec, size);
+      }
 
       final int rangeSize =
           Math.max(mLayoutInfo.approximateRangeSize(size.width, size.height, width, height), 1);
@@ -2679,6 +2787,47 @@ public class RecyclerBinder
     }
   }
 
+  /**
+   * The cached size of an item is only used when it doesn't decide the size of the RecyclerView,
+   * as the RecyclerView would keep a wrong size if the cached size is stale.
+   */
+  @GuardedBy("this")
+  private boolean canUseItemSizeCache() {
+    return mItemSizeCache != null
+        && !mWrapContent
+        && mLastWidthSpec != LayoutManagerOverrideParams.UNINITIALIZED
+        && !shouldMeasureItemForSize(
+            mLastWidthSpec, mLastHeightSpec, mLayoutInfo.getScrollDirection(), true);
+  }
+
+  /**
+   * @return a listener replacing the cached size the range was initialized with by the size of the
+   *     item once its layout is computed.
+   */
+  private MeasureListener getCachedSizeCorrectingListener(
+      final ComponentTreeHolder holder, final Size cachedSize, final int width, final int height) {
+    return new MeasureListener() {
+      @Override
+      public void onSetRootAndSizeSpec(
+          int layoutVersion, int itemWidth, int itemHeight, boolean stateUpdate) {
+        holder.clearMeasureListener(this);
+
+        synchronized (RecyclerBinder.this) {
+          if (mSizeForMeasure != cachedSize
+              || (cachedSize.width == itemWidth && cachedSize.height == itemHeight)) {
+            return;
+          }
+
+          cachedSize.width = itemWidth;
+          cachedSize.height = itemHeight;
+          setRangeSize(itemWidth, itemHeight, width, height);
+        }
+
+        computeRange(mCurrentFirstVisiblePosition, mCurrentLastVisiblePosition);
+      }
+    };
+  }
+
   private void setRangeSize(int itemWidth, int itemHeight, int width, int height) {
     if (mHasManualEstimatedViewportCount) {
       throw new RuntimeException(
@@ -2790,6 +2939,9 @@ public class RecyclerBinder
     view.setLayoutManager(layoutManager);
     view.setAdapter(mInternalAdapter);
     view.addOnScrollListener(mViewportManager.getScrollListener());
+    if (mVelocityAwareRange) {
+      view.addOnScrollListener(mVelocityAwareRangeScrollListener);
+    }
 
     if (layoutManager instanceof NeedsBgPaddingInfo) {
       ((NeedsBgPaddingInfo) layoutManager)
@@ -2925,6 +3077,7 @@ public class RecyclerBinder
     }
 
     view.removeOnScrollListener(mViewportManager.getScrollListener());
+    view.removeOnScrollListener(mVelocityAwareRangeScrollListener);
 
     unregisterDrawListener(view);
     maybeDispatchDataRendered();
@@ -3161,6 +3314,8 @@ public class RecyclerBinder
     final int rangeStart;
     final int rangeEnd;
     final int treeHoldersSize;
+    final int visibleStart;
+    final int visibleEnd;
 
     synchronized (this) {
       if (!isMeasured() || mEstimatedViewportCount == UNSET) {
@@ -3175,10 +3330,20 @@ public class RecyclerBinder
       if (mIsCircular) {
         rangeStart = 0;
         rangeEnd = treeHoldersSize;
+      } else if (mVelocityAwareRange) {
+        final float velocity = mViewportManager.getScrollVelocity();
+        rangeStart =
+            firstVisible - VelocityAwareRange.getRangeExtent(rangeSize, mRangeRatio, -velocity);
+        rangeEnd =
+            firstVisible
+                + rangeSize
+                + VelocityAwareRange.getRangeExtent(rangeSize, mRangeRatio, velocity);
       } else {
         rangeStart = firstVisible - (int) (rangeSize * mRangeRatio);
         rangeEnd = firstVisible + rangeSize + (int) (rangeSize * mRangeRatio);
       }
+      visibleStart = firstVisible;
+      visibleEnd = lastVisible;
     }
 
     mRangeTraverser.traverse(
@@ -3189,14 +3354,20 @@ public class RecyclerBinder
         new RecyclerRangeTraverser.Processor() {
           @Override
           public boolean process(int index) {
-            return computeRangeLayoutAt(index, rangeStart, rangeEnd, treeHoldersSize);
+            return computeRangeLayoutAt(
+                index, rangeStart, rangeEnd, visibleStart, visibleEnd, treeHoldersSize);
           }
         });
   }
 
   /** @return Whether or not to continue layout computation for current range */
   private boolean computeRangeLayoutAt(
-      int index, int rangeStart, int rangeEnd, int treeHoldersSize) {
+      int index,
+      int rangeStart,
+      int rangeEnd,
+      int visibleStart,
+      int visibleEnd,
+      int treeHoldersSize) {
 
     final ComponentTreeHolder holder;
     final int childrenWidthSpec, childrenHeightSpec;
@@ -3219,6 +3390,7 @@ public class RecyclerBinder
     }
 
     if ((index >= rangeStart || holder.getRenderInfo().isSticky()) && index <= rangeEnd) {
+      holder.setLayoutPriority(getLayoutPriority(index, visibleStart, visibleEnd));
       if (!holder.isTreeValidForSizeSpecs(childrenWidthSpec, childrenHeightSpec)) {
         holder.computeLayoutAsync(mComponentContext, childrenWidthSpec, childrenHeightSpec);
       }
@@ -3233,6 +3405,22 @@ public class RecyclerBinder
     return true;
   }
 
+  /**
+   * Items on screen are laid out first, then the ones within a viewport of the visible ones, then
+   * the rest of the range.
+   */
+  private static @LayoutScheduler.Priority int getLayoutPriority(
+      int index, int visibleStart, int visibleEnd) {
+    if (index >= visibleStart && index <= visibleEnd) {
+      return LayoutScheduler.PRIORITY_VISIBLE;
+    }
+    final int viewportSize = visibleEnd - visibleStart + 1;
+    if (index >= visibleStart - viewportSize && index <= visibleEnd + viewportSize) {
+      return LayoutScheduler.PRIORITY_WORKING_RANGE;
+    }
+    return LayoutScheduler.PRIORITY_PREFETCH;
+  }
+
   private Runnable getMaybeAcquireStateAndReleaseTreeRunnable(final ComponentTreeHolder holder) {
     return new Runnable() {
       @Override
@@ -3525,9 +3713,12 @@ public class RecyclerBinder
         final int childrenWidthSpec = getActualChildrenWidthSpec(componentTreeHolder);
         final int childrenHeightSpec = getActualChildrenHeightSpec(componentTreeHolder);
         if (!componentTreeHolder.isTreeValidForSizeSpecs(childrenWidthSpec, childrenHeightSpec)) {
+          LithoStats.incrementRecyclerItemBoundWithoutLayoutCount();
           final Size size = new Size();
           componentTreeHolder.computeLayoutSync(
               mComponentContext, childrenWidthSpec, childrenHeightSpec, size);
+        } else {
+          LithoStats.incrementRecyclerItemBoundWithLayoutCount();
         }
         final boolean isOrientationVertical =
             mLayoutInfo.getScrollDirection() == OrientationHelper.VERTICAL;
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.widget;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.infer.annotation.ThreadSafe;
+import com.facebook.litho.Size;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Remembers the size of the items of a {@link RecyclerBinder}, keyed by the identity of their
+ * {@link RenderInfo} and the size specs they were laid out with, so that the binder can estimate
+ * the size of its content and of the items around a scroll position before their layouts are
+ * computed. An item is only cached if its {@link RenderInfo} has a {@link #ITEM_ID} custom
+ * attribute which stays the same for the same content, e.g. the id of a story.
+ *
+ * <p>The cache can be saved to a file and loaded in a later session. A loaded file is memory-mapped
+ * and searched in place, so loading it doesn't depend on how many items it holds. Saving only keeps
+ * the items which were laid out or looked up since the cache was loaded, so the file doesn't grow
+ * from one session to the next.
+ *
+ * <p>Sizes are estimates: an item whose content changed since it was cached is still laid out with
+ * its real size later.
+ */
+@ThreadSafe
+public class RecyclerItemSizeCache {
+
+  /** Custom attribute of a {@link RenderInfo} identifying its content across sessions. */
+  public static final String ITEM_ID = "item_size_cache_id";
+
+  private static final int MAGIC = 0x4c495343;
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 12;
+  // Item id hash, width spec, height spec, width and height.
+  private static final int ENTRY_BYTES = 24;
+
+  private final @Nullable ByteBuffer mLoadedEntries;
+  private final int mLoadedCount;
+
+  @GuardedBy("this")
+  private final Map<Key, Long> mEntries = new HashMap<>();
+
+  /** Creates an empty cache. */
+  public RecyclerItemSizeCache() {
+    this(null, 0);
+  }
+
+  private RecyclerItemSizeCache(@Nullable ByteBuffer loadedEntries, int loadedCount) {
+    mLoadedEntries = loadedEntries;
+    mLoadedCount = loadedCount;
+  }
+
+  /**
+   * Loads a cache saved by {@link #save(File)}. Returns an empty cache if the file doesn't exist or
+   * can't be read.
+   */
+  public static RecyclerItemSizeCache load(File file) {
+    if (!file.exists()) {
+      return new RecyclerItemSizeCache();
+    }
+
+    try {
+      final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+      try {
+        final FileChannel channel = randomAccessFile.getChannel();
+        final long length = channel.size();
+        if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+          return new RecyclerItemSizeCache();
+        }
+
+        // The mapping stays valid after the channel is closed.
+        final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        final int count = buffer.getInt(8);
+        if (buffer.getInt(0) != MAGIC
+            || buffer.getInt(4) != VERSION
+            || count < 0
+            || count > (length - HEADER_BYTES) / ENTRY_BYTES) {
+          return new RecyclerItemSizeCache();
+        }
+
+        return new RecyclerItemSizeCache(buffer, count);
+      } finally {
+        randomAccessFile.close();
+      }
+    } catch (IOException e) {
+      return new RecyclerItemSizeCache();
+    }
+  }
+
+  /**
+   * Writes the items laid out or looked up since this cache was created to the given file, which
+   * is replaced atomically.
+   */
+  public void save(File file) throws IOException {
+    final TreeMap<Key, Long> entries;
+    synchronized (this) {
+      entries = new TreeMap<>(mEntries);
+    }
+
+    final File tempFile = new File(file.getPath() + ".tmp");
+    final DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+    try {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(entries.size());
+      for (Map.Entry<Key, Long> entry : entries.entrySet()) {
+        final Key key = entry.getKey();
+        final long size = entry.getValue();
+        out.writeLong(key.mIdHash);
+        out.writeInt(key.mWidthSpec);
+        out.writeInt(key.mHeightSpec);
+        out.writeInt(getWidth(size));
+        out.writeInt(getHeight(size));
+      }
+    } finally {
+      out.close();
+    }
+
+    if (!tempFile.renameTo(file)) {
+      tempFile.delete();
+      throw new IOException("Could not replace " + file);
+    }
+  }
+
+  /**
+   * Sets outSize to the cached size of the item laid out with the given size specs.
+   *
+   * @return whether the size of this item is cached.
+   */
+  public boolean get(RenderInfo renderInfo, int widthSpec, int heightSpec, Size outSize) {
+    final Object itemId = renderInfo.getCustomAttribute(ITEM_ID);
+    if (itemId == null) {
+      return false;
+    }
+
+    final Key key = new Key(hash(itemId.toString()), widthSpec, heightSpec);
+    Long size;
+    synchronized (this) {
+      size = mEntries.get(key);
+    }
+
+    if (size == null) {
+      size = findLoadedEntry(key);
+      if (size == null) {
+        return false;
+      }
+
+      // Keep the item when this cache is saved again.
+      synchronized (this) {
+        if (!mEntries.containsKey(key)) {
+          mEntries.put(key, size);
+        }
+      }
+    }
+
+    outSize.width = getWidth(size);
+    outSize.height = getHeight(size);
+    return true;
+  }
+
+  /** Records the size of an item laid out with the given size specs. */
+  public void put(RenderInfo renderInfo, int widthSpec, int heightSpec, int width, int height) {
+    final Object itemId = renderInfo.getCustomAttribute(ITEM_ID);
+    if (itemId == null) {
+      return;
+    }
+
+    final Key key = new Key(hash(itemId.toString()), widthSpec, heightSpec);
+    synchronized (this) {
+      mEntries.put(key, ((long) width << 32) | (height & 0xffffffffL));
+    }
+  }
+
+  /** Binary search of the loaded entries, which are sorted by key. */
+  private @Nullable Long findLoadedEntry(Key key) {
+    final ByteBuffer entries = mLoadedEntries;
+    if (entries == null) {
+      return null;
+    }
+
+    int low = 0;
+    int high = mLoadedCount - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final int offset = HEADER_BYTES + middle * ENTRY_BYTES;
+      final int comparison =
+          key.compareTo(
+              entries.getLong(offset), entries.getInt(offset + 8), entries.getInt(offset + 12));
+
+      if (comparison > 0) {
+        low = middle + 1;
+      } else if (comparison < 0) {
+        high = middle - 1;
+      } else {
+        return ((long) entries.getInt(offset + 16) << 32)
+            | (entries.getInt(offset + 20) & 0xffffffffL);
+      }
+    }
+
+    return null;
+  }
+
+  private static int getWidth(long size) {
+    return (int) (size >> 32);
+  }
+
+  private static int getHeight(long size) {
+    return (int) size;
+  }
+
+  /** 64 bit FNV-1a hash, so that different items are very unlikely to share an entry. */
+  @VisibleForTesting
+  static long hash(String itemId) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0, length = itemId.length(); i < length; i++) {
+      hash ^= itemId.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+
+    return hash;
+  }
+
+  private static final class Key implements Comparable<Key> {
+    private final long mIdHash;
+    private final int mWidthSpec;
+    private final int mHeightSpec;
+
+    private Key(long idHash, int widthSpec, int heightSpec) {
+      mIdHash = idHash;
+      mWidthSpec = widthSpec;
+      mHeightSpec = heightSpec;
+    }
+
+    private int compareTo(long idHash, int widthSpec, int heightSpec) {
+      if (mIdHash != idHash) {
+        return mIdHash < idHash ? -1 : 1;
+      }
+      if (mWidthSpec != widthSpec) {
+        return mWidthSpec < widthSpec ? -1 : 1;
+      }
+      if (mHeightSpec != heightSpec) {
+        return mHeightSpec < heightSpec ? -1 : 1;
+      }
+      return 0;
+    }
+
+    @Override
+    public int compareTo(Key other) {
+      return compareTo(other.mIdHash, other.mWidthSpec, other.mHeightSpec);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key key = (Key) o;
+      return mIdHash == key.mIdHash
+          && mWidthSpec == key.mWidthSpec
+          && mHeightSpec == key.mHeightSpec;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = (int) (mIdHash ^ (mIdHash >>> 32));
+      result = 31 * result + mWidthSpec;
+      result = 31 * result + mHeightSpec;
+      return result;
+    }
+  }
+}
@@ -378,7 +378,11 @@ public class TextDrawable extends Drawable implements Touchable, TextContent, Dr
       mColorStateList = colorStateList != null ? colorStateList : TextSpec.textColorStateList;
       mUserColor = mColorStateList.getDefaultColor();
       if (mLayout != null) {
-        mLayout.getPaint().setColor(mColorStateList.getColorForState(getState(), mUserColor));
+        // The layout may be shared through the TextLayoutCache, so avoid redundant writes to it.
+        final int color = mColorStateList.getColorForState(getState(), mUserColor);
+        if (mLayout.getPaint().getColor() != color) {
+          mLayout.getPaint().setColor(color);
+        }
       }
     }
 
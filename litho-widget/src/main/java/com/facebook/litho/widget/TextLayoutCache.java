@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.widget;
+
+import android.text.Layout;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.infer.annotation.ThreadSafe;
+import com.facebook.litho.config.ComponentsConfiguration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * A process-wide LRU cache of text {@link Layout}s, bounded by the estimated number of bytes they
+ * hold, which lets {@link TextSpec} reuse the layout of a label that was already laid out with the
+ * same style and width, e.g. the same button label in every item of a feed, instead of building an
+ * identical {@link android.text.StaticLayout} again.
+ *
+ * <p>Layouts are only read once built, so a cached layout can be shared by any number of
+ * components and be looked up from any thread. Enabled by setting {@link
+ * ComponentsConfiguration#textLayoutCacheMaxBytes} to a positive value.
+ */
+@ThreadSafe
+public class TextLayoutCache {
+
+  /** Rough size of a layout and its paint, excluding its text and lines. */
+  private static final int LAYOUT_OVERHEAD_BYTES = 256;
+
+  /** Size of the ints a StaticLayout keeps per line for its offsets, directions and ellipsis. */
+  private static final int BYTES_PER_LINE = 32;
+
+  private static final Object sInstanceLock = new Object();
+
+  @GuardedBy("sInstanceLock")
+  private static @Nullable TextLayoutCache sInstance;
+
+  private final int mMaxBytes;
+
+  @GuardedBy("this")
+  private final LinkedHashMap<Key, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+  @GuardedBy("this")
+  private long mBytes;
+
+  @GuardedBy("this")
+  private long mHitCount;
+
+  @GuardedBy("this")
+  private long mMissCount;
+
+  @GuardedBy("this")
+  private long mEvictionCount;
+
+  @VisibleForTesting
+  TextLayoutCache(int maxBytes) {
+    mMaxBytes = maxBytes;
+  }
+
+  /** @return the shared cache, or null if it is disabled. */
+  public static @Nullable TextLayoutCache getInstance() {
+    final int maxBytes = ComponentsConfiguration.textLayoutCacheMaxBytes;
+    synchronized (sInstanceLock) {
+      if (maxBytes <= 0) {
+        sInstance = null;
+      } else if (sInstance == null || sInstance.mMaxBytes != maxBytes) {
+        sInstance = new TextLayoutCache(maxBytes);
+      }
+      return sInstance;
+    }
+  }
+
+  synchronized @Nullable Layout get(Key key) {
+    final Entry entry = mEntries.get(key);
+    if (entry == null) {
+      mMissCount++;
+      return null;
+    }
+
+    mHitCount++;
+    return entry.mLayout;
+  }
+
+  synchronized void put(Key key, Layout layout) {
+    final Entry entry = new Entry(layout, estimateSizeBytes(key, layout));
+    if (entry.mBytes > mMaxBytes) {
+      return;
+    }
+
+    final Entry previous = mEntries.put(key, entry);
+    if (previous != null) {
+      mBytes -= previous.mBytes;
+    }
+    mBytes += entry.mBytes;
+
+    trimToSize();
+  }
+
+  @GuardedBy("this")
+  private void trimToSize() {
+    final Iterator<Entry> iterator = mEntries.values().iterator();
+    while (mBytes > mMaxBytes && iterator.hasNext()) {
+      mBytes -= iterator.next().mBytes;
+      iterator.remove();
+      mEvictionCount++;
+    }
+  }
+
+  private static int estimateSizeBytes(Key key, Layout layout) {
+    return LAYOUT_OVERHEAD_BYTES
+        + layout.getLineCount() * BYTES_PER_LINE
+        + key.mText.length() * 2
+        + (key.mInts.length + key.mFloats.length + key.mObjects.length) * 4;
+  }
+
+  /** Drops all cached layouts and resets the stats. */
+  public synchronized void clear() {
+    mEntries.clear();
+    mBytes = 0;
+    mHitCount = 0;
+    mMissCount = 0;
+    mEvictionCount = 0;
+  }
+
+  public synchronized int size() {
+    return mEntries.size();
+  }
+
+  /** @return the estimated number of bytes held by the cached layouts and their keys. */
+  public synchronized long getBytesHeld() {
+    return mBytes;
+  }
+
+  public int getMaxBytes() {
+    return mMaxBytes;
+  }
+
+  public synchronized long getHitCount() {
+    return mHitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return mMissCount;
+  }
+
+  public synchronized long getEvictionCount() {
+    return mEvictionCount;
+  }
+
+  private static final class Entry {
+    private final Layout mLayout;
+    private final int mBytes;
+
+    private Entry(Layout layout, int bytes) {
+      mLayout = layout;
+      mBytes = bytes;
+    }
+  }
+
+  /**
+   * Identifies a text layout by its text, its width spec and every style attribute that affects how
+   * it is laid out or drawn. Objects are compared with {@link Object#equals(Object)}.
+   */
+  static final class Key {
+    private final String mText;
+    private final int mWidthSpec;
+    private final int[] mInts;
+    private final float[] mFloats;
+    private final Object[] mObjects;
+    private final int mHashCode;
+
+    Key(String text, int widthSpec, int[] ints, float[] floats, Object[] objects) {
+      mText = text;
+      mWidthSpec = widthSpec;
+      mInts = ints;
+      mFloats = floats;
+      mObjects = objects;
+
+      int hashCode = text.hashCode();
+      hashCode = 31 * hashCode + widthSpec;
+      hashCode = 31 * hashCode + Arrays.hashCode(ints);
+      hashCode = 31 * hashCode + Arrays.hashCode(floats);
+      hashCode = 31 * hashCode + Arrays.hashCode(objects);
+      mHashCode = hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) o;
+      return mHashCode == other.mHashCode
+          && mWidthSpec == other.mWidthSpec
+          && mText.equals(other.mText)
+          && Arrays.equals(mInts, other.mInts)
+          && Arrays.equals(mFloats, other.mFloats)
+          && Arrays.equals(mObjects, other.mObjects);
+    }
+
+    @Override
+    public int hashCode() {
+      return mHashCode;
+    }
+  }
+}
@@ -443,6 +443,59 @@ class TextSpec {
       int justificationMode,
       TextDirectionHeuristicCompat textDirection,
       float lineHeight) {
+    if (textSize == UNSET) {
+      textSize = context.getResourceResolver().sipsToPixels(DEFAULT_TEXT_SIZE_SP);
+    }
+
+    // Only immutable text can be cached, since the cached layout keeps a reference to it. Layouts
+    // whose paint TextDrawable recolors on state changes can't be shared either.
+    final TextLayoutCache cache =
+        text instanceof String && hasFixedTextColor(textColor, textColorStateList)
+            ? TextLayoutCache.getInstance()
+            : null;
+    final TextLayoutCache.Key cacheKey;
+    if (cache != null) {
+      cacheKey =
+          new TextLayoutCache.Key(
+              (String) text,
+              widthSpec,
+              new int[] {
+                maxLines,
+                shadowColor,
+                textColor,
+                linkColor,
+                textSize,
+                textStyle,
+                minEms,
+                maxEms,
+                minTextWidth,
+                maxTextWidth,
+                breakStrategy,
+                hyphenationFrequency,
+                justificationMode,
+                isSingleLine ? 1 : 0,
+                shouldIncludeFontPadding ? 1 : 0,
+                layoutDirection.ordinal()
+              },
+              new float[] {
+                shadowRadius,
+                shadowDx,
+                shadowDy,
+                extraSpacing,
+                spacingMultiplier,
+                letterSpacing,
+                lineHeight,
+                density
+              },
+              new Object[] {ellipsize, textColorStateList, typeface, textAlignment, textDirection});
+      final Layout cachedLayout = cache.get(cacheKey);
+      if (cachedLayout != null) {
+        return cachedLayout;
+      }
+    } else {
+      cacheKey = null;
+    }
+
     Layout newLayout;
 
     TextLayoutBuilder layoutBuilder = new TextLayoutBuilder();
@@ -490,12 +543,7 @@ class TextSpec {
         .setHyphenationFrequency(hyphenationFrequency);
 
     // text size must be set before the line hight
-    if (textSize != UNSET) {
-      layoutBuilder.setTextSize(textSize);
-    } else {
-      int defaultTextSize = context.getResourceResolver().sipsToPixels(DEFAULT_TEXT_SIZE_SP);
-      layoutBuilder.setTextSize(defaultTextSize);
-    }
+    layoutBuilder.setTextSize(textSize);
 
     if (lineHeight != Float.MAX_VALUE) {
       layoutBuilder.setLineHeight(lineHeight);
@@ -582,6 +630,10 @@ class TextSpec {
       TextureWarmer.getInstance().warmLayout(newLayout);
     }
 
+    if (cache != null) {
+      cache.put(cacheKey, newLayout);
+    }
+
     return newLayout;
   }
 
@@ -818,6 +870,17 @@ class TextSpec {
     return -1;
   }
 
+  /**
+   * Whether the paint of a layout built with these colors is never recolored by {@link
+   * TextDrawable}. With a custom {@link ColorStateList} the drawable sets the paint color on every
+   * state change, so such a layout must not be shared through the {@link TextLayoutCache}.
+   */
+  private static boolean hasFixedTextColor(int textColor, ColorStateList textColorStateList) {
+    return textColor != 0
+        || textColorStateList == null
+        || textColorStateList == TextSpec.textColorStateList;
+  }
+
   @OnCreateMountContent
   static TextDrawable onCreateMountContent(Context c) {
     return new TextDrawable();
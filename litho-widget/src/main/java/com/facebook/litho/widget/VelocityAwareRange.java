@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) Facebook, Inc. and its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.litho.widget;
+
+/**
+ * Sizes the part of a {@link RecyclerBinder} layout range on one side of the viewport from the
+ * scroll velocity reported by the {@link ViewportManager}. While the list is idle both sides shrink
+ * to a fraction of the range given by the range ratio. While scrolling, the side the list scrolls
+ * towards grows with the velocity, so that layouts are ready before items are bound.
+ */
+final class VelocityAwareRange {
+
+  // Below this velocity, in adapter positions per second, the list is considered idle.
+  static final float IDLE_VELOCITY = 1f;
+
+  // How many seconds of scrolling ahead of the viewport should have their layouts computed.
+  static final float LOOKAHEAD_SECONDS = 0.5f;
+
+  // Fraction of the range ratio kept while idle, and behind the viewport while scrolling.
+  static final float IDLE_RANGE_SCALE = 0.5f;
+
+  // Upper bound of the range ahead of the viewport, as a multiple of the range ratio.
+  static final float MAX_RANGE_SCALE = 4f;
+
+  private VelocityAwareRange() {}
+
+  /**
+   * @param rangeSize the number of items in the viewport
+   * @param rangeRatio the range ratio of the {@link RecyclerBinder}
+   * @param velocity the scroll velocity towards this side of the viewport, in adapter positions
+   *     per second
+   * @return how many items on this side of the viewport should have their layout computed
+   */
+  static int getRangeExtent(int rangeSize, float rangeRatio, float velocity) {
+    final float extent = rangeSize * rangeRatio;
+    if (velocity < IDLE_VELOCITY) {
+      return (int) (extent * IDLE_RANGE_SCALE);
+    }
+
+    return (int) Math.min(extent + velocity * LOOKAHEAD_SECONDS, extent * MAX_RANGE_SCALE);
+  }
+}
@@ -16,6 +16,7 @@
 
 package com.facebook.litho.widget;
 
+import android.os.SystemClock;
 import androidx.annotation.AnyThread;
 import androidx.annotation.GuardedBy;
 import androidx.annotation.Nullable;
@@ -39,6 +40,9 @@ import javax.annotation.concurrent.ThreadSafe;
 @ThreadSafe
 final class ViewportManager {
 
+  // Weight of the latest measurement in the smoothed scroll velocity.
+  private static final float VELOCITY_SMOOTHING = 0.5f;
+
   private int mCurrentFirstVisiblePosition;
   private int mCurrentLastVisiblePosition;
   private int mCurrentFirstFullyVisiblePosition;
@@ -46,6 +50,10 @@ final class ViewportManager {
   private int mTotalItemCount;
   private boolean mShouldUpdate;
 
+  // Smoothed scroll velocity in adapter positions per second, positive towards the last item.
+  private volatile float mScrollVelocity;
+  private long mLastScrollTimeMs = -1;
+
   @GuardedBy("this")
   private final List<ViewportChanged> mViewportChangedListeners;
 
@@ -88,6 +96,10 @@ final class ViewportManager {
       return;
     }
 
+    if (state == ViewportInfo.State.SCROLLING) {
+      updateScrollVelocity(firstVisiblePosition, lastVisiblePosition);
+    }
+
     mCurrentFirstVisiblePosition = firstVisiblePosition;
     mCurrentLastVisiblePosition = lastVisiblePosition;
     mCurrentFirstFullyVisiblePosition = firstFullyVisibleItemPosition;
@@ -114,6 +126,37 @@ final class ViewportManager {
     }
   }
 
+  @UiThread
+  private void updateScrollVelocity(int firstVisiblePosition, int lastVisiblePosition) {
+    final long now = SystemClock.uptimeMillis();
+    if (mLastScrollTimeMs >= 0
+        && now > mLastScrollTimeMs
+        && mCurrentFirstVisiblePosition >= 0
+        && mCurrentLastVisiblePosition >= 0) {
+      final float distance =
+          (firstVisiblePosition
+                  + lastVisiblePosition
+                  - mCurrentFirstVisiblePosition
+                  - mCurrentLastVisiblePosition)
+              / 2f;
+      final float velocity = distance * 1000 / (now - mLastScrollTimeMs);
+      mScrollVelocity =
+          mScrollVelocity == 0
+              ? velocity
+              : VELOCITY_SMOOTHING * velocity + (1 - VELOCITY_SMOOTHING) * mScrollVelocity;
+    }
+    mLastScrollTimeMs = now;
+  }
+
+  /**
+   * @return the current scroll velocity in adapter positions per second, positive when scrolling
+   *     towards the last item and 0 when the list is idle.
+   */
+  @AnyThread
+  float getScrollVelocity() {
+    return mScrollVelocity;
+  }
+
   @UiThread
   void setShouldUpdate(boolean shouldUpdate) {
     mShouldUpdate = mShouldUpdate || shouldUpdate;
@@ -223,5 +266,13 @@ final class ViewportManager {
     public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
       onViewportChanged(ViewportInfo.State.SCROLLING);
     }
+
+    @Override
+    public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+      if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+        mScrollVelocity = 0;
+        mLastScrollTimeMs = -1;
+      }
+    }
   }
 }
@@ -92,6 +92,7 @@ class SampleComponentsLogger : ComponentsLogger {
         FrameworkLogEvents.EVENT_RESUME_CALCULATE_LAYOUT_STATE -> "EVENT_RESUME_CALCULATE_LAYOUT_STATE"
         FrameworkLogEvents.EVENT_INIT_RANGE -> "EVENT_INIT_RANGE"
         FrameworkLogEvents.EVENT_LAYOUT_STATE_FUTURE_GET_WAIT -> "EVENT_LAYOUT_STATE_FUTURE_GET_WAIT"
+        FrameworkLogEvents.EVENT_MOUNT_DEFERRED_OUTPUTS -> "EVENT_MOUNT_DEFERRED_OUTPUTS"
         else -> "UNKNOWN"
       }
 